@@ -0,0 +1,11 @@
+#!/usr/bin/env bash
+# Start a long-lived local browser server shared by all test JVMs on this machine.
+# Run tests against it with browser.server.enabled=true. Stop it with Ctrl+C.
+# Usage: scripts/browser-server.sh [chromium|firefox|webkit]
+set -euo pipefail
+
+mvn -B -q test-compile dependency:build-classpath \
+    -Dmdep.outputFile=target/browser-server/classpath.txt -Dmdep.includeScope=test
+
+exec java -cp "target/test-classes:$(cat target/browser-server/classpath.txt)" \
+    com.saucedemo.browser.BrowserServer "${1:-chromium}"
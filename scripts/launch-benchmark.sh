@@ -0,0 +1,11 @@
+#!/usr/bin/env bash
+# Compare Chromium startup time and memory across the launch presets (browser.launch.preset).
+# Run it on the kind of agent the tests run on; results go to target/launch-benchmark.txt.
+# Usage: scripts/launch-benchmark.sh [--presets default,lean,shm] [--runs 5] [--url about:blank]
+set -euo pipefail
+
+mvn -B -q test-compile dependency:build-classpath \
+    -Dmdep.outputFile=target/launch-benchmark/classpath.txt -Dmdep.includeScope=test
+
+exec java -cp "target/test-classes:$(cat target/launch-benchmark/classpath.txt)" \
+    com.saucedemo.browser.LaunchBenchmark "$@"
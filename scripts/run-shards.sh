@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Run the suite as N local shards in parallel JVMs and merge their reports.
+# Each shard saves the durations it measured to its own directory, so all shards plan from the same
+# history; the merger then saves them into .test-history/durations.properties.
+# Usage: scripts/run-shards.sh [shardCount]
+set -euo pipefail
+
+TOTAL="${1:-2}"
+OUT="target/shards"
+# Shards append to the run history under one run id
+RUN_ID="shards-$(date +%Y%m%d-%H%M%S)"
+
+mvn -B -q test-compile dependency:build-classpath \
+    -Dmdep.outputFile=target/shards-classpath.txt -Dmdep.includeScope=test
+rm -rf "$OUT"
+
+pids=()
+for ((i = 0; i < TOTAL; i++)); do
+    mkdir -p "$OUT/$i"
+    (
+        start=$(date +%s%N)
+        rc=0
+        mvn -B -q surefire:test \
+            -Dshard.index="$i" -Dshard.total="$TOTAL" -Drun.id="$RUN_ID" \
+            -Dshard.durations.file="$OUT/$i/durations.properties" \
+            -Dsurefire.reports.dir="$OUT/$i" || rc=$?
+        echo $(( ($(date +%s%N) - start) / 1000000 )) > "$OUT/$i/wall-millis.txt"
+        exit "$rc"
+    ) > "$OUT-$i.log" 2>&1 &
+    pids+=("$!")
+done
+
+status=0
+for pid in "${pids[@]}"; do
+    wait "$pid" || status=1
+done
+
+shard_dirs=()
+for ((i = 0; i < TOTAL; i++)); do
+    shard_dirs+=("$OUT/$i")
+done
+java -cp "target/test-classes:$(cat target/shards-classpath.txt)" \
+    com.saucedemo.execution.ShardReportMerger "$OUT/merged" "${shard_dirs[@]}"
+cat "$OUT/merged/shard-balance.txt"
+
+exit "$status"
@@ -0,0 +1,217 @@
+package com.saucedemo.assertions;
+
+import org.opentest4j.AssertionFailedError;
+import org.opentest4j.MultipleFailuresError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Soft assertions on the DOM of a page. Expectations are collected first and then checked together
+ * by {@link #verify()}: every value they need is read in a single evaluate call, and every mismatch is
+ * reported, not just the first one.
+ * <p>
+ * Selectors are CSS selectors. Texts are compared with whitespace trimmed and runs of whitespace
+ * collapsed, and elements are read as they are, without waiting; wait for the page first.
+ */
+public final class DomExpectations {
+    private static final Logger logger = LoggerFactory.getLogger(DomExpectations.class);
+
+    // Reads every value in one round trip; a bad selector only fails its own reads
+    private static final String READ_SCRIPT = """
+            reads => reads.map(read => {
+                let elements;
+                try {
+                    elements = Array.from(document.querySelectorAll(read.selector));
+                } catch (e) {
+                    return { error: String(e.message) };
+                }
+                switch (read.kind) {
+                    case 'count': return elements.length;
+                    case 'text': return elements.length ? elements[0].textContent : null;
+                    case 'texts': return elements.map(element => element.textContent);
+                    case 'attribute': return elements.length ? elements[0].getAttribute(read.attribute) : null;
+                }
+            })""";
+
+    private final String pageName;
+    private final BiFunction<String, Object, Object> evaluator;
+    private final Map<Read, Integer> reads = new LinkedHashMap<>();
+    private final List<Expectation> expectations = new ArrayList<>();
+
+    /**
+     * Create an empty set of expectations.
+     *
+     * @param pageName Page object name, for the failure heading
+     * @param evaluator Evaluates a script with an argument in the page, e.g. Page#evaluate
+     */
+    public DomExpectations(String pageName, BiFunction<String, Object, Object> evaluator) {
+        this.pageName = pageName;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Expect the text of the first matching element to equal a value.
+     *
+     * @param selector Element selector
+     * @param expected Expected text
+     * @return These expectations for method chaining
+     */
+    public DomExpectations hasText(String selector, String expected) {
+        return expect(new Read("text", selector, null), "text of " + selector, expected,
+                actual -> actual instanceof String text && normalize(text).equals(normalize(expected)));
+    }
+
+    /**
+     * Expect the text of the first matching element to contain a value.
+     *
+     * @param selector Element selector
+     * @param fragment Expected part of the text
+     * @return These expectations for method chaining
+     */
+    public DomExpectations containsText(String selector, String fragment) {
+        return expect(new Read("text", selector, null), "text of " + selector, "containing '" + fragment + "'",
+                actual -> actual instanceof String text && normalize(text).contains(normalize(fragment)));
+    }
+
+    /**
+     * Expect one of the matching elements to have exactly a text, e.g. an item in a list.
+     *
+     * @param selector Selector of the elements
+     * @param expected Expected text of one of them
+     * @return These expectations for method chaining
+     */
+    public DomExpectations includesText(String selector, String expected) {
+        return expect(new Read("texts", selector, null), "texts of " + selector, "including '" + expected + "'",
+                actual -> actual instanceof List<?> texts
+                        && texts.stream().anyMatch(text -> normalize(String.valueOf(text)).equals(normalize(expected))));
+    }
+
+    /**
+     * Expect a number of matching elements.
+     *
+     * @param selector Selector of the elements
+     * @param expected Expected number
+     * @return These expectations for method chaining
+     */
+    public DomExpectations hasCount(String selector, int expected) {
+        return expect(new Read("count", selector, null), "count of " + selector, String.valueOf(expected),
+                actual -> actual instanceof Number count && count.intValue() == expected);
+    }
+
+    /**
+     * Expect an attribute of the first matching element to have a value.
+     *
+     * @param selector Element selector
+     * @param attribute Attribute name
+     * @param expected Expected value
+     * @return These expectations for method chaining
+     */
+    public DomExpectations hasAttribute(String selector, String attribute, String expected) {
+        return expect(new Read("attribute", selector, attribute), attribute + " of " + selector, expected,
+                actual -> Objects.equals(actual, expected));
+    }
+
+    public int size() {
+        return expectations.size();
+    }
+
+    /**
+     * Read the page once and check every expectation.
+     *
+     * @throws MultipleFailuresError listing every expectation that was not met
+     */
+    public void verify() {
+        if (expectations.isEmpty()) {
+            return;
+        }
+        List<Map<String, String>> arguments = reads.keySet().stream().map(Read::toArgument).toList();
+        List<?> values = (List<?>) evaluator.apply(READ_SCRIPT, arguments);
+
+        List<Throwable> failures = new ArrayList<>();
+        for (Expectation expectation : expectations) {
+            Object actual = values.get(expectation.read);
+            if (actual instanceof Map<?, ?> error) {
+                failures.add(new AssertionFailedError(expectation.subject + ": invalid selector, " + error.get("error")));
+            } else if (!expectation.check.test(actual)) {
+                failures.add(new AssertionFailedError(expectation.subject + " should be " + expectation.expected
+                        + " but was " + describe(actual), expectation.expected, actual));
+            }
+        }
+        logger.debug("Checked {} expectation(s) on {} with {} read(s), {} failed",
+                expectations.size(), pageName, reads.size(), failures.size());
+        if (!failures.isEmpty()) {
+            throw new MultipleFailuresError(pageName + ": " + failures.size() + " of " + expectations.size()
+                    + " expectation(s) not met", failures);
+        }
+    }
+
+    private DomExpectations expect(Read read, String subject, String expected, Predicate<Object> check) {
+        // Expectations on the same value share one read
+        int index = reads.computeIfAbsent(read, key -> reads.size());
+        expectations.add(new Expectation(subject, expected, index, check));
+        return this;
+    }
+
+    private static String normalize(String text) {
+        return text.strip().replaceAll("\\s+", " ");
+    }
+
+    private static String describe(Object actual) {
+        if (actual == null) {
+            return "missing (no matching element)";
+        }
+        return actual instanceof String text ? "'" + normalize(text) + "'" : String.valueOf(actual);
+    }
+
+    /**
+     * One value read from the page.
+     */
+    private static final class Read {
+        private final String kind;
+        private final String selector;
+        private final String attribute;
+
+        private Read(String kind, String selector, String attribute) {
+            this.kind = kind;
+            this.selector = selector;
+            this.attribute = attribute;
+        }
+
+        private Map<String, String> toArgument() {
+            return Map.of("kind", kind, "selector", selector, "attribute", attribute != null ? attribute : "");
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Read read && kind.equals(read.kind) && selector.equals(read.selector)
+                    && Objects.equals(attribute, read.attribute);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, selector, attribute);
+        }
+    }
+
+    private static final class Expectation {
+        private final String subject;
+        private final String expected;
+        private final int read;
+        private final Predicate<Object> check;
+
+        private Expectation(String subject, String expected, int read, Predicate<Object> check) {
+            this.subject = subject;
+            this.expected = expected;
+            this.read = read;
+            this.check = check;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.saucedemo.assertions;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.MultipleFailuresError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for soft DOM assertions, with the page replaced by a fake evaluator.
+ */
+public class DomExpectationsTest {
+    private static final Map<String, List<String>> TEXTS = Map.of(
+            ".title", List.of("  Products\n "),
+            ".inventory_item_name", List.of("Sauce Labs Backpack", "Sauce Labs   Bike Light"),
+            ".cart_badge", List.of());
+    private static final Map<String, String> ATTRIBUTES = Map.of(".title", "data-test=title");
+
+    private final List<List<?>> calls = new ArrayList<>();
+
+    @Test
+    public void testReadsEachValueOnceInOneEvaluate() {
+        DomExpectations expectations = new DomExpectations("InventoryPage", fakePage())
+                .hasText(".title", "Products")
+                .containsText(".title", "Prod")
+                .hasCount(".inventory_item_name", 2)
+                .includesText(".inventory_item_name", "Sauce Labs Backpack")
+                .hasCount(".inventory_item_name", 2)
+                .hasAttribute(".title", "data-test", "title");
+
+        expectations.verify();
+
+        assertEquals(6, expectations.size());
+        assertEquals(1, calls.size(), "All values should be read in a single evaluate");
+        assertEquals(List.of(
+                Map.of("kind", "text", "selector", ".title", "attribute", ""),
+                Map.of("kind", "count", "selector", ".inventory_item_name", "attribute", ""),
+                Map.of("kind", "texts", "selector", ".inventory_item_name", "attribute", ""),
+                Map.of("kind", "attribute", "selector", ".title", "attribute", "data-test")), calls.get(0),
+                "Expectations on the same value share one read");
+    }
+
+    @Test
+    public void testWhitespaceIsNormalized() {
+        new DomExpectations("InventoryPage", fakePage())
+                .hasText(".title", " Products ")
+                .includesText(".inventory_item_name", "Sauce Labs Bike Light")
+                .containsText(".inventory_item_name", "Labs Backpack")
+                .verify();
+    }
+
+    @Test
+    public void testEveryMismatchIsReported() {
+        DomExpectations expectations = new DomExpectations("InventoryPage", fakePage())
+                .hasText(".title", "Your Cart")
+                .hasCount(".inventory_item_name", 6)
+                .hasText(".title", "Products")
+                .includesText(".inventory_item_name", "Sauce Labs Onesie");
+
+        MultipleFailuresError error = assertThrows(MultipleFailuresError.class, expectations::verify);
+
+        assertTrue(error.getMessage().startsWith("InventoryPage: 3 of 4 expectation(s) not met"), error.getMessage());
+        assertEquals(List.of(
+                "text of .title should be Your Cart but was 'Products'",
+                "count of .inventory_item_name should be 6 but was 2",
+                "texts of .inventory_item_name should be including 'Sauce Labs Onesie' but was "
+                        + "[Sauce Labs Backpack, Sauce Labs   Bike Light]"),
+                error.getFailures().stream().map(Throwable::getMessage).toList());
+    }
+
+    @Test
+    public void testMissingElementReadsAsNull() {
+        DomExpectations expectations = new DomExpectations("CartPage", fakePage())
+                .hasCount(".cart_badge", 0)
+                .hasText(".cart_badge", "1")
+                .hasAttribute(".cart_badge", "data-test", "badge");
+
+        MultipleFailuresError error = assertThrows(MultipleFailuresError.class, expectations::verify);
+
+        assertEquals(List.of(
+                "text of .cart_badge should be 1 but was missing (no matching element)",
+                "data-test of .cart_badge should be badge but was missing (no matching element)"),
+                error.getFailures().stream().map(Throwable::getMessage).toList());
+    }
+
+    @Test
+    public void testInvalidSelectorFailsOnlyItsOwnExpectations() {
+        DomExpectations expectations = new DomExpectations("InventoryPage", fakePage())
+                .hasText("[data-test=", "Products")
+                .hasText(".title", "Products");
+
+        MultipleFailuresError error = assertThrows(MultipleFailuresError.class, expectations::verify);
+
+        assertEquals(List.of("text of [data-test=: invalid selector, '[data-test=' is not a valid selector"),
+                error.getFailures().stream().map(Throwable::getMessage).toList());
+    }
+
+    @Test
+    public void testNoExpectationsReadNothing() {
+        new DomExpectations("InventoryPage", fakePage()).verify();
+
+        assertTrue(calls.isEmpty());
+    }
+
+    /**
+     * Fake of Page#evaluate running the read script against a fixed set of elements.
+     */
+    private BiFunction<String, Object, Object> fakePage() {
+        return (script, argument) -> {
+            List<?> reads = (List<?>) argument;
+            calls.add(reads);
+            List<Object> values = new ArrayList<>();
+            for (Object item : reads) {
+                Map<?, ?> read = (Map<?, ?>) item;
+                String selector = (String) read.get("selector");
+                if (!selector.startsWith(".")) {
+                    values.add(Map.of("error", "'" + selector + "' is not a valid selector"));
+                    continue;
+                }
+                List<String> texts = TEXTS.getOrDefault(selector, List.of());
+                String attribute = read.get("attribute") + "=";
+                String attributes = ATTRIBUTES.get(selector);
+                values.add(switch ((String) read.get("kind")) {
+                    case "count" -> texts.size();
+                    case "text" -> texts.isEmpty() ? null : texts.get(0);
+                    case "texts" -> texts;
+                    case "attribute" -> attributes != null && attributes.startsWith(attribute)
+                            ? attributes.substring(attribute.length()) : null;
+                    default -> throw new IllegalArgumentException("Unknown read " + read);
+                });
+            }
+            return values;
+        };
+    }
+}
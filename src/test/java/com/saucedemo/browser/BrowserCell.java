@@ -0,0 +1,84 @@
+package com.saucedemo.browser;
+
+import com.saucedemo.config.TestConfig;
+
+import java.util.Objects;
+
+/**
+ * One cell of the browser matrix: an engine and whether it runs headless.
+ */
+public final class BrowserCell {
+    private final BrowserEngine engine;
+    private final boolean headless;
+
+    public BrowserCell(BrowserEngine engine, boolean headless) {
+        this.engine = engine;
+        this.headless = headless;
+    }
+
+    /**
+     * Parse a matrix entry such as "firefox" or "webkit:headed".
+     * Without a suffix the browser.headless setting applies.
+     *
+     * @param entry Matrix entry
+     * @return Parsed cell
+     */
+    public static BrowserCell parse(String entry) {
+        String[] parts = entry.trim().split(":", 2);
+        boolean headless = TestConfig.isHeadless();
+        if (parts.length == 2) {
+            headless = switch (parts[1].trim()) {
+                case "headless" -> true;
+                case "headed" -> false;
+                default -> throw new IllegalArgumentException(
+                        "Invalid browser matrix entry '" + entry + "', expected <engine>[:headless|:headed]");
+            };
+        }
+        return new BrowserCell(BrowserEngine.fromName(parts[0]), headless);
+    }
+
+    public BrowserEngine getEngine() {
+        return engine;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Get the label used in reports, e.g. "firefox" or "chromium:headed" when it differs from browser.headless.
+     *
+     * @return Cell label
+     */
+    public String getLabel() {
+        return headless == TestConfig.isHeadless()
+                ? engine.getName() : engine.getName() + (headless ? ":headless" : ":headed");
+    }
+
+    /**
+     * Qualify a test id with this cell, so that timings of different engines are kept apart.
+     * Tests on the default Chromium cell keep their plain id.
+     *
+     * @param testId Test id, e.g. "CartTest.testAddItemsToCart"
+     * @return Test id, e.g. "CartTest.testAddItemsToCart@firefox"
+     */
+    public String qualify(String testId) {
+        String label = getLabel();
+        return BrowserEngine.CHROMIUM.getName().equals(label) ? testId : testId + "@" + label;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof BrowserCell cell && cell.engine == engine && cell.headless == headless;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(engine, headless);
+    }
+
+    @Override
+    public String toString() {
+        return getLabel();
+    }
+}
@@ -0,0 +1,52 @@
+package com.saucedemo.browser;
+
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+
+import java.util.Locale;
+
+/**
+ * Browser engines supported by Playwright.
+ */
+public enum BrowserEngine {
+    CHROMIUM,
+    FIREFOX,
+    WEBKIT;
+
+    /**
+     * Get the engine name as used by Playwright and in the configuration.
+     *
+     * @return Lower-case name, e.g. "firefox"
+     */
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get the browser type of this engine.
+     *
+     * @param playwright Playwright instance
+     * @return Browser type to launch or connect with
+     */
+    public BrowserType typeOf(Playwright playwright) {
+        return switch (this) {
+            case CHROMIUM -> playwright.chromium();
+            case FIREFOX -> playwright.firefox();
+            case WEBKIT -> playwright.webkit();
+        };
+    }
+
+    /**
+     * Find an engine by name.
+     *
+     * @param name Engine name, e.g. "webkit"
+     * @return Matching engine
+     */
+    public static BrowserEngine fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown browser engine '" + name + "', expected chromium, firefox or webkit");
+        }
+    }
+}
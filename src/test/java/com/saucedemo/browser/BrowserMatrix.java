@@ -0,0 +1,118 @@
+package com.saucedemo.browser;
+
+import com.saucedemo.config.TestConfig;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.engine.UniqueId;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Runs every {@link BrowserTest} once per cell of the browser matrix (browser.matrix) and
+ * resolves the {@link BrowserCell} of the running test for BaseTest. Invocations are ordinary
+ * JUnit tests, so the cells of one test run in parallel like any other tests.
+ * With more than one cell, a per-engine summary is written once the whole run has finished.
+ */
+public class BrowserMatrix implements TestTemplateInvocationContextProvider, ParameterResolver,
+        BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(BrowserMatrix.class);
+    private static final String INVOCATION_SEGMENT = "test-template-invocation";
+    private static final String START_KEY = "start";
+    private static final String SUMMARY_FILE = "target/browser-matrix/summary.txt";
+
+    private static final List<BrowserCell> CELLS = TestConfig.getBrowserMatrix().stream()
+            .map(BrowserCell::parse)
+            .distinct()
+            .toList();
+
+    /**
+     * Get the cells of the matrix in configuration order.
+     *
+     * @return Matrix cells, at least one
+     */
+    public static List<BrowserCell> cells() {
+        return CELLS;
+    }
+
+    /**
+     * Get the cell a test runs in. Tests that are not a {@link BrowserTest} use the first cell.
+     *
+     * @param context Extension context of a test or one of its lifecycle methods
+     * @return Browser cell of the test
+     */
+    public static BrowserCell cellOf(ExtensionContext context) {
+        for (Optional<ExtensionContext> current = Optional.of(context); current.isPresent();
+             current = current.get().getParent()) {
+            UniqueId.Segment segment = UniqueId.parse(current.get().getUniqueId()).getLastSegment();
+            boolean browserTest = current.get().getTestMethod()
+                    .map(method -> method.isAnnotationPresent(BrowserTest.class))
+                    .orElse(false);
+            if (browserTest && INVOCATION_SEGMENT.equals(segment.getType())) {
+                // Invocation segments are "#1", "#2", ... in the order the cells were provided
+                return CELLS.get(Integer.parseInt(segment.getValue().substring(1)) - 1);
+            }
+        }
+        return CELLS.get(0);
+    }
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext context) {
+        return context.getTestMethod().map(method -> method.isAnnotationPresent(BrowserTest.class)).orElse(false);
+    }
+
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+        return CELLS.stream().map(cell -> new TestTemplateInvocationContext() {
+            @Override
+            public String getDisplayName(int invocationIndex) {
+                return CELLS.size() == 1 ? context.getDisplayName() : "[" + cell.getLabel() + "] " + context.getDisplayName();
+            }
+        });
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == BrowserCell.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return cellOf(extensionContext);
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (CELLS.size() > 1) {
+            context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("summary",
+                    key -> (ExtensionContext.Store.CloseableResource) () ->
+                            BrowserMatrixReport.write(Paths.get(SUMMARY_FILE)));
+        }
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove(START_KEY, Long.class);
+        if (start == null || CELLS.size() == 1) {
+            return;
+        }
+        String testId = context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName();
+        BrowserMatrixReport.record(testId, cellOf(context),
+                context.getExecutionException().isEmpty(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,71 @@
+package com.saucedemo.browser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects results and durations of browser matrix tests and writes a per-engine summary:
+ * totals per cell, then each test's duration side by side for every cell.
+ */
+final class BrowserMatrixReport {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserMatrixReport.class);
+
+    // test id -> cell -> duration in milliseconds
+    private static final Map<String, Map<BrowserCell, Long>> DURATIONS = new ConcurrentHashMap<>();
+    private static final Map<BrowserCell, LongAdder> FAILURES = new ConcurrentHashMap<>();
+
+    private BrowserMatrixReport() {
+    }
+
+    static void record(String testId, BrowserCell cell, boolean passed, long millis) {
+        DURATIONS.computeIfAbsent(testId, key -> new ConcurrentHashMap<>()).put(cell, millis);
+        if (!passed) {
+            FAILURES.computeIfAbsent(cell, key -> new LongAdder()).increment();
+        }
+    }
+
+    static void write(Path file) {
+        if (DURATIONS.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+                out.printf(Locale.ROOT, "%-20s %6s %6s %10s %10s%n", "browser", "tests", "failed", "total ms", "mean ms");
+                for (BrowserCell cell : BrowserMatrix.cells()) {
+                    long tests = DURATIONS.values().stream().filter(row -> row.containsKey(cell)).count();
+                    long total = DURATIONS.values().stream().mapToLong(row -> row.getOrDefault(cell, 0L)).sum();
+                    long failed = FAILURES.containsKey(cell) ? FAILURES.get(cell).sum() : 0;
+                    out.printf(Locale.ROOT, "%-20s %6d %6d %10d %10d%n",
+                            cell.getLabel(), tests, failed, total, tests > 0 ? total / tests : 0);
+                }
+
+                out.println();
+                out.printf(Locale.ROOT, "%-50s", "test (ms)");
+                BrowserMatrix.cells().forEach(cell -> out.printf(Locale.ROOT, " %16s", cell.getLabel()));
+                out.println();
+                new TreeMap<>(DURATIONS).forEach((testId, row) -> {
+                    out.printf(Locale.ROOT, "%-50s", testId);
+                    BrowserMatrix.cells().forEach(cell -> {
+                        Long millis = row.get(cell);
+                        out.printf(Locale.ROOT, " %16s", millis != null ? millis.toString() : "-");
+                    });
+                    out.println();
+                });
+            }
+            logger.info("Browser matrix summary written to {}", file);
+        } catch (IOException e) {
+            logger.warn("Failed to write browser matrix summary to {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.saucedemo.browser;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Closes all worker browser sessions once the whole test run has finished,
+ * rather than after each test class.
+ */
+public class BrowserPoolExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(BrowserPoolExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("pool",
+                key -> (ExtensionContext.Store.CloseableResource) WorkerBrowserPool::closeAll);
+    }
+}
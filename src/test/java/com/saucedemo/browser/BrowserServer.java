@@ -0,0 +1,91 @@
+package com.saucedemo.browser;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.impl.driver.Driver;
+import com.saucedemo.config.TestConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Long-lived local browser server that forked test JVMs attach to with {@code BrowserType.connect}.
+ * Runs the Playwright driver's launch-server command, publishes the WebSocket endpoint to
+ * {@code browser.server.endpoint.file} and keeps running until the process is stopped.
+ * Start it with {@code scripts/browser-server.sh}.
+ */
+public final class BrowserServer {
+
+    private BrowserServer() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String browserName = args.length > 0 ? args[0] : "chromium";
+        Path endpointFile = Paths.get(TestConfig.getBrowserServerEndpointFile());
+
+        Process server = start(browserName, TestConfig.isHeadless());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.destroy();
+            try {
+                Files.deleteIfExists(endpointFile);
+            } catch (IOException ignored) {
+                // Nothing left to clean up
+            }
+        }));
+
+        BufferedReader output = new BufferedReader(
+                new InputStreamReader(server.getInputStream(), StandardCharsets.UTF_8));
+        String wsEndpoint = output.readLine();
+        if (wsEndpoint == null || !wsEndpoint.startsWith("ws")) {
+            throw new IllegalStateException("Browser server did not report an endpoint: " + wsEndpoint);
+        }
+
+        Files.createDirectories(endpointFile.toAbsolutePath().getParent());
+        Files.writeString(endpointFile, wsEndpoint);
+        System.out.println("Browser server (" + browserName + ") listening on " + wsEndpoint);
+        System.out.println("Endpoint written to " + endpointFile.toAbsolutePath());
+
+        System.exit(server.waitFor());
+    }
+
+    /**
+     * Launch the Playwright driver's browser server in a child process. Chromium gets the configured
+     * {@link LaunchPreset}.
+     *
+     * @param browserName One of "chromium", "firefox" or "webkit"
+     * @param headless Whether the browser runs headless
+     * @return Server process; its first stdout line is the WebSocket endpoint
+     */
+    public static Process start(String browserName, boolean headless) throws IOException {
+        Path config = Files.createTempFile("browser-server", ".json");
+        config.toFile().deleteOnExit();
+        JsonObject options = new JsonObject();
+        options.addProperty("headless", headless);
+        if (BrowserEngine.fromName(browserName) == BrowserEngine.CHROMIUM) {
+            LaunchPreset preset = LaunchPreset.configured();
+            JsonArray args = new JsonArray();
+            preset.getArgs().forEach(args::add);
+            options.add("args", args);
+            if (!preset.getIgnoredDefaultArgs().isEmpty()) {
+                JsonArray ignored = new JsonArray();
+                preset.getIgnoredDefaultArgs().forEach(ignored::add);
+                options.add("ignoreDefaultArgs", ignored);
+            }
+        }
+        Files.writeString(config, options.toString());
+
+        Driver driver = Driver.ensureDriverInstalled(Collections.emptyMap(), true);
+        ProcessBuilder builder = driver.createProcessBuilder();
+        builder.command().addAll(List.of(
+                "launch-server", "--browser", browserName, "--config", config.toString()));
+        builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        return builder.start();
+    }
+}
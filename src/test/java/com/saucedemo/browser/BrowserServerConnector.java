@@ -0,0 +1,116 @@
+package com.saucedemo.browser;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.PlaywrightException;
+import com.saucedemo.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Attaches to a running {@link BrowserServer} instead of launching a browser in-process.
+ * Returns empty when no healthy server is found, so callers can fall back to a local launch.
+ */
+public final class BrowserServerConnector {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserServerConnector.class);
+    private static final int PROBE_TIMEOUT_MS = 1000;
+
+    private BrowserServerConnector() {
+    }
+
+    /**
+     * Connect to the shared browser server if one is running and healthy.
+     *
+     * @param browserType Browser type matching the server's browser
+     * @return Connected browser, or empty if the server is unavailable
+     */
+    public static Optional<Browser> connect(BrowserType browserType) {
+        Optional<String> endpoint = reachableEndpoint();
+        if (endpoint.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            Browser browser = connect(browserType, endpoint.get());
+            logger.info("Connected to browser server at {}", endpoint.get());
+            return Optional.of(browser);
+        } catch (PlaywrightException e) {
+            logger.warn("Failed to connect to browser server at {}: {}", endpoint.get(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Connect to a browser server at a known endpoint.
+     *
+     * @param browserType Browser type matching the server's browser
+     * @param endpoint WebSocket endpoint of the server
+     * @return Connected browser
+     * @throws PlaywrightException if the connection fails
+     */
+    public static Browser connect(BrowserType browserType, String endpoint) {
+        return browserType.connect(endpoint, new BrowserType.ConnectOptions()
+                .setTimeout(TestConfig.getBrowserServerConnectTimeout())
+                .setSlowMo(TestConfig.getSlowMo()));
+    }
+
+    /**
+     * Get the endpoint of the shared browser server if one is running.
+     *
+     * @return Reachable endpoint, or empty if the server is unavailable
+     */
+    public static Optional<String> reachableEndpoint() {
+        Optional<String> endpoint = resolveEndpoint();
+        if (endpoint.isEmpty()) {
+            logger.warn("No browser server endpoint found in {}", TestConfig.getBrowserServerEndpointFile());
+            return Optional.empty();
+        }
+        if (!isReachable(endpoint.get())) {
+            logger.warn("Browser server at {} is not reachable", endpoint.get());
+            return Optional.empty();
+        }
+        return endpoint;
+    }
+
+    /**
+     * Read the WebSocket endpoint published by the browser server.
+     *
+     * @return Endpoint URL, or empty if the file is missing or blank
+     */
+    static Optional<String> resolveEndpoint() {
+        Path endpointFile = Paths.get(TestConfig.getBrowserServerEndpointFile());
+        if (!Files.isReadable(endpointFile)) {
+            return Optional.empty();
+        }
+        try {
+            String endpoint = Files.readString(endpointFile).trim();
+            return endpoint.isEmpty() ? Optional.empty() : Optional.of(endpoint);
+        } catch (IOException e) {
+            logger.warn("Failed to read browser server endpoint: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Cheap health check: a stale endpoint file should not cost a full connect timeout.
+     */
+    private static boolean isReachable(String endpoint) {
+        try {
+            URI uri = URI.create(endpoint);
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort()), PROBE_TIMEOUT_MS);
+                return true;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.saucedemo.browser;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+
+/**
+ * A Playwright instance and the browser it launched.
+ * Playwright objects are not thread-safe, so a session must only be used by one thread at a time;
+ * {@link WorkerBrowserPool} leases each session to one test at a time.
+ */
+public final class BrowserSession implements AutoCloseable {
+    private final Playwright playwright;
+    private final Browser browser;
+
+    public BrowserSession(Playwright playwright, Browser browser) {
+        this.playwright = playwright;
+        this.browser = browser;
+    }
+
+    public Playwright getPlaywright() {
+        return playwright;
+    }
+
+    public Browser getBrowser() {
+        return browser;
+    }
+
+    /**
+     * Close the browser and its Playwright driver.
+     */
+    @Override
+    public void close() {
+        try {
+            browser.close();
+        } finally {
+            playwright.close();
+        }
+    }
+}
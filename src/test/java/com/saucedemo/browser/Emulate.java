@@ -0,0 +1,19 @@
+package com.saucedemo.browser;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Run a test, or every test of a class, under a named {@link EmulationProfile},
+ * overriding the emulation.profile setting.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Emulate {
+    /**
+     * @return Profile name, e.g. "3g" or "slow-cpu-4x"
+     */
+    String value();
+}
@@ -0,0 +1,115 @@
+package com.saucedemo.browser;
+
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+import com.saucedemo.config.TestConfig;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Named network and CPU conditions applied to a page through the Chromium DevTools protocol.
+ * Network values follow the Chrome DevTools and Lighthouse presets.
+ */
+public enum EmulationProfile {
+    NONE("none", 0, -1, -1, 1),
+    FAST("fast", 20, 10_000, 5_000, 1),
+    LTE("4g", 150, 1_600, 750, 1),
+    THREE_G("3g", 563, 1_440, 675, 1),
+    SLOW_THREE_G("slow-3g", 2_000, 400, 400, 1),
+    SLOW_CPU_4X("slow-cpu-4x", 0, -1, -1, 4),
+    MOBILE("mobile", 150, 1_600, 750, 4);
+
+    private final String profileName;
+    private final int latencyMs;
+    private final int downloadKbps;
+    private final int uploadKbps;
+    private final double cpuSlowdown;
+
+    EmulationProfile(String profileName, int latencyMs, int downloadKbps, int uploadKbps, double cpuSlowdown) {
+        this.profileName = profileName;
+        this.latencyMs = latencyMs;
+        this.downloadKbps = downloadKbps;
+        this.uploadKbps = uploadKbps;
+        this.cpuSlowdown = cpuSlowdown;
+    }
+
+    public String getProfileName() {
+        return profileName;
+    }
+
+    /**
+     * Find a profile by name, e.g. "3g" or "slow-cpu-4x".
+     *
+     * @param name Profile name
+     * @return Matching profile
+     */
+    public static EmulationProfile fromName(String name) {
+        for (EmulationProfile profile : values()) {
+            if (profile.profileName.equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown emulation profile '" + name + "', expected one of "
+                + Arrays.stream(values()).map(EmulationProfile::getProfileName).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * Resolve the profile of a test: {@link Emulate} on the method, then on the class,
+     * then the configured default.
+     *
+     * @param testMethod Test method
+     * @param testClass Test class
+     * @return Profile to run the test under
+     */
+    public static EmulationProfile forTest(Method testMethod, Class<?> testClass) {
+        Emulate annotation = testMethod != null ? testMethod.getAnnotation(Emulate.class) : null;
+        if (annotation == null && testClass != null) {
+            annotation = testClass.getAnnotation(Emulate.class);
+        }
+        return fromName(annotation != null ? annotation.value() : TestConfig.getEmulationProfile());
+    }
+
+    /**
+     * Resolve the profile a test actually runs under in a browser engine: its own profile on Chromium, and
+     * {@link #NONE} on the other engines, which lack the DevTools protocol the profiles are applied with.
+     * Reports and traces use this, so runs on other engines are not recorded under a throttled profile.
+     *
+     * @param testMethod Test method
+     * @param testClass Test class
+     * @param engine Engine of the test's browser matrix cell
+     * @return Profile applied to the test's page
+     */
+    public static EmulationProfile effectiveFor(Method testMethod, Class<?> testClass, BrowserEngine engine) {
+        return engine == BrowserEngine.CHROMIUM ? forTest(testMethod, testClass) : NONE;
+    }
+
+    /**
+     * Apply the profile to a Chromium page. Must be called before the page navigates.
+     *
+     * @param page Page of a Chromium browser context
+     */
+    public void applyTo(Page page) {
+        if (this == NONE) {
+            return;
+        }
+        CDPSession session = page.context().newCDPSession(page);
+        if (downloadKbps > 0 || latencyMs > 0) {
+            JsonObject conditions = new JsonObject();
+            conditions.addProperty("offline", false);
+            conditions.addProperty("latency", latencyMs);
+            // DevTools expects bytes per second
+            conditions.addProperty("downloadThroughput", downloadKbps > 0 ? downloadKbps * 1000 / 8 : -1);
+            conditions.addProperty("uploadThroughput", uploadKbps > 0 ? uploadKbps * 1000 / 8 : -1);
+            session.send("Network.enable");
+            session.send("Network.emulateNetworkConditions", conditions);
+        }
+        if (cpuSlowdown > 1) {
+            JsonObject throttling = new JsonObject();
+            throttling.addProperty("rate", cpuSlowdown);
+            session.send("Emulation.setCPUThrottlingRate", throttling);
+        }
+    }
+}
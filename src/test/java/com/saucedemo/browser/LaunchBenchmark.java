@@ -0,0 +1,248 @@
+package com.saucedemo.browser;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.saucedemo.config.TestConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures how long Chromium takes to become usable with each {@link LaunchPreset}, and how much memory
+ * it then holds, so the preset for a kind of agent can be chosen with data. Every run times
+ * Playwright.create, the browser launch and the first context and page (opening the URL), then a second
+ * context and page in the same browser, which is what every further test on the worker pays:
+ * <ul>
+ *   <li>cold runs start a new Playwright driver each time</li>
+ *   <li>warm runs relaunch the browser with a driver that is already running</li>
+ * </ul>
+ * Presets take turns within each round, so drift on the machine affects them alike. Memory is the
+ * proportional set size of the browser's processes after the first page, read from /proc on Linux.
+ * <p>
+ * Usage: {@code java com.saucedemo.browser.LaunchBenchmark [--presets default,lean,shm] [--runs <n>]
+ * [--url <url>] [--out <file>]}, or {@code scripts/launch-benchmark.sh} with the same arguments.
+ */
+public final class LaunchBenchmark {
+    private static final String CREATE = "create";
+    private static final String LAUNCH = "launch";
+    private static final String FIRST_PAGE = "first page";
+    private static final String NEXT_PAGE = "next page";
+    private static final String TOTAL = "total";
+
+    private final String url;
+
+    private LaunchBenchmark(String url) {
+        this.url = url;
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<LaunchPreset> presets = Arrays.asList(LaunchPreset.values());
+        int runs = 5;
+        String url = "about:blank";
+        Path out = Paths.get("target", "launch-benchmark.txt");
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--presets" -> presets = Arrays.stream(args[++i].split(","))
+                        .map(LaunchPreset::fromName)
+                        .toList();
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--url" -> url = args[++i];
+                case "--out" -> out = Paths.get(args[++i]);
+                default -> {
+                    System.err.println("Usage: LaunchBenchmark [--presets default,lean,shm] [--runs <n>] [--url <url>]"
+                            + " [--out <file>]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        LaunchBenchmark benchmark = new LaunchBenchmark(url);
+        Map<LaunchPreset, Results> cold = new LinkedHashMap<>();
+        Map<LaunchPreset, Results> warm = new LinkedHashMap<>();
+        presets.forEach(preset -> {
+            cold.put(preset, new Results());
+            warm.put(preset, new Results());
+        });
+
+        // One untimed launch, so the first preset does not pay for loading the browser binary from disk
+        benchmark.coldRun(presets.get(0), new Results());
+        for (int round = 1; round <= runs; round++) {
+            System.out.printf("Round %d of %d%n", round, runs);
+            for (LaunchPreset preset : presets) {
+                benchmark.coldRun(preset, cold.get(preset));
+            }
+        }
+        try (Playwright playwright = Playwright.create()) {
+            for (int round = 1; round <= runs; round++) {
+                for (LaunchPreset preset : presets) {
+                    benchmark.warmRun(playwright, preset, warm.get(preset));
+                }
+            }
+        }
+
+        String report = report(presets, runs, url, cold, warm);
+        System.out.print(report);
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Files.writeString(out, report, StandardCharsets.UTF_8);
+    }
+
+    private void coldRun(LaunchPreset preset, Results results) {
+        long start = System.nanoTime();
+        try (Playwright playwright = Playwright.create()) {
+            results.add(CREATE, System.nanoTime() - start);
+            measure(playwright, preset, results, start);
+        }
+    }
+
+    private void warmRun(Playwright playwright, LaunchPreset preset, Results results) {
+        measure(playwright, preset, results, System.nanoTime());
+    }
+
+    private void measure(Playwright playwright, LaunchPreset preset, Results results, long start) {
+        long launchStart = System.nanoTime();
+        try (Browser browser = playwright.chromium().launch(optionsFor(preset))) {
+            long launched = System.nanoTime();
+            results.add(LAUNCH, launched - launchStart);
+
+            BrowserContext first = openPage(browser);
+            long firstOpened = System.nanoTime();
+            results.add(FIRST_PAGE, firstOpened - launched);
+            results.add(TOTAL, firstOpened - start);
+            ProcessMemory.browserPssKb().ifPresent(results::addMemory);
+
+            first.close();
+            long nextStart = System.nanoTime();
+            openPage(browser).close();
+            results.add(NEXT_PAGE, System.nanoTime() - nextStart);
+        }
+    }
+
+    private BrowserContext openPage(Browser browser) {
+        BrowserContext context = browser.newContext();
+        Page page = context.newPage();
+        page.navigate(url);
+        return context;
+    }
+
+    private static BrowserType.LaunchOptions optionsFor(LaunchPreset preset) {
+        BrowserType.LaunchOptions options = new BrowserType.LaunchOptions().setHeadless(true);
+        if (!TestConfig.getBrowserChannel().isEmpty()) {
+            options.setChannel(TestConfig.getBrowserChannel());
+        }
+        return preset.applyTo(options);
+    }
+
+    static String report(List<LaunchPreset> presets, int runs, String url,
+                         Map<LaunchPreset, Results> cold, Map<LaunchPreset, Results> warm) {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT,
+                "Chromium startup, %d run(s) per preset opening %s; median (max) in ms%n", runs, url));
+        text.append(String.format(Locale.ROOT, "%n%-8s %-13s %-13s %-13s %-13s %-13s %-13s %-13s %10s%n", "Preset",
+                "Cold create", "Cold launch", "Cold 1st page", "Cold total", "Warm launch", "Warm 1st page",
+                "Next page", "PSS MB"));
+        for (LaunchPreset preset : presets) {
+            Results coldRuns = cold.get(preset);
+            Results warmRuns = warm.get(preset);
+            text.append(String.format(Locale.ROOT, "%-8s %-13s %-13s %-13s %-13s %-13s %-13s %-13s %10s%n",
+                    preset.getPresetName(), coldRuns.describe(CREATE), coldRuns.describe(LAUNCH),
+                    coldRuns.describe(FIRST_PAGE), coldRuns.describe(TOTAL), warmRuns.describe(LAUNCH),
+                    warmRuns.describe(FIRST_PAGE), warmRuns.describe(NEXT_PAGE), coldRuns.describeMemory()));
+        }
+        text.append(String.format("%n"));
+        for (LaunchPreset preset : presets) {
+            text.append(String.format("%-8s %s%s%n", preset.getPresetName(),
+                    preset.getArgs().isEmpty() ? "Playwright defaults" : String.join(" ", preset.getArgs()),
+                    preset.usesSharedMemory() ? " (using /dev/shm)" : ""));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Samples of one preset.
+     */
+    static final class Results {
+        private final Map<String, List<Long>> millis = new LinkedHashMap<>();
+        private final List<Long> memoryKb = new ArrayList<>();
+
+        void add(String phase, long nanos) {
+            millis.computeIfAbsent(phase, key -> new ArrayList<>()).add(TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+
+        void addMemory(long kb) {
+            memoryKb.add(kb);
+        }
+
+        String describe(String phase) {
+            List<Long> samples = millis.getOrDefault(phase, List.of());
+            return samples.isEmpty() ? "-" : median(samples) + " (" + samples.stream().mapToLong(Long::longValue).max()
+                    .getAsLong() + ")";
+        }
+
+        String describeMemory() {
+            return memoryKb.isEmpty() ? "n/a" : String.valueOf(median(memoryKb) / 1024);
+        }
+
+        private static long median(List<Long> samples) {
+            List<Long> sorted = samples.stream().sorted().collect(Collectors.toList());
+            int middle = sorted.size() / 2;
+            return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+        }
+    }
+
+    /**
+     * Memory of the browser processes started by this JVM, through the Playwright driver.
+     */
+    private static final class ProcessMemory {
+
+        /**
+         * Sum the proportional set size of the running Chromium processes, so that memory they share
+         * is only counted once.
+         *
+         * @return Size in KB, or empty where /proc is not available
+         */
+        static OptionalLong browserPssKb() {
+            List<ProcessHandle> browsers = ProcessHandle.current().descendants()
+                    .filter(process -> process.info().command()
+                            .map(command -> command.contains("chrom") || command.contains("headless_shell"))
+                            .orElse(false))
+                    .toList();
+            long total = 0;
+            for (ProcessHandle process : browsers) {
+                OptionalLong pss = pssKb(process.pid());
+                if (pss.isEmpty()) {
+                    return OptionalLong.empty();
+                }
+                total += pss.getAsLong();
+            }
+            return browsers.isEmpty() ? OptionalLong.empty() : OptionalLong.of(total);
+        }
+
+        private static OptionalLong pssKb(long pid) {
+            try {
+                for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "smaps_rollup"))) {
+                    if (line.startsWith("Pss:")) {
+                        return OptionalLong.of(Long.parseLong(line.replaceAll("\\D", "")));
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // Not Linux, or the process has just exited
+            }
+            return OptionalLong.empty();
+        }
+    }
+}
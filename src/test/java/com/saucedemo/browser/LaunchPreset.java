@@ -0,0 +1,145 @@
+package com.saucedemo.browser;
+
+import com.microsoft.playwright.BrowserType;
+import com.saucedemo.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Named Chromium launch configurations, chosen with browser.launch.preset and compared with
+ * {@link LaunchBenchmark}. Playwright already launches Chromium without extensions, background timer
+ * throttling or background networking, and with /dev/shm replaced by /tmp; the presets only add to that.
+ * Switches that Playwright also passes, such as --disable-features, are left alone, since Chromium would
+ * only honour the last occurrence.
+ */
+public enum LaunchPreset {
+    /** Playwright's own switches */
+    DEFAULT("default", List.of(), false),
+    /** No GPU process and fewer renderer processes */
+    LEAN("lean", List.of("--disable-gpu", "--disable-site-isolation-trials", "--renderer-process-limit=2"), false),
+    /** Lean, and using /dev/shm for shared memory again where it is large enough, e.g. with docker --shm-size */
+    SHARED_MEMORY("shm", LEAN.args, true);
+
+    private static final Logger logger = LoggerFactory.getLogger(LaunchPreset.class);
+    private static final String DEV_SHM_SWITCH = "--disable-dev-shm-usage";
+    // Chromium needs room for a few hundred MB of shared memory with several pages open
+    private static final long MIN_SHARED_MEMORY_BYTES = 512L * 1024 * 1024;
+
+    private final String presetName;
+    private final List<String> args;
+    private final boolean sharedMemory;
+
+    LaunchPreset(String presetName, List<String> args, boolean sharedMemory) {
+        this.presetName = presetName;
+        this.args = args;
+        this.sharedMemory = sharedMemory;
+    }
+
+    public String getPresetName() {
+        return presetName;
+    }
+
+    /**
+     * Get the switches the preset adds to Playwright's.
+     *
+     * @return Command-line switches
+     */
+    public List<String> getArgs() {
+        return args;
+    }
+
+    /**
+     * Check if the preset lets Chromium use /dev/shm on this machine.
+     *
+     * @return true if the preset asks for it and /dev/shm has enough room
+     */
+    public boolean usesSharedMemory() {
+        return sharedMemory && SharedMemory.AVAILABLE;
+    }
+
+    /**
+     * Get the Playwright default switches the preset drops.
+     *
+     * @return Switches to leave out, empty to keep all of Playwright's
+     */
+    public List<String> getIgnoredDefaultArgs() {
+        return usesSharedMemory() ? List.of(DEV_SHM_SWITCH) : List.of();
+    }
+
+    /**
+     * Add the preset's switches to Chromium launch options.
+     *
+     * @param options Launch options
+     * @return The same options
+     */
+    public BrowserType.LaunchOptions applyTo(BrowserType.LaunchOptions options) {
+        if (!args.isEmpty()) {
+            options.setArgs(args);
+        }
+        if (!getIgnoredDefaultArgs().isEmpty()) {
+            options.setIgnoreDefaultArgs(getIgnoredDefaultArgs());
+        }
+        return options;
+    }
+
+    /**
+     * Get the preset selected with browser.launch.preset.
+     *
+     * @return Configured preset
+     */
+    public static LaunchPreset configured() {
+        return fromName(TestConfig.getBrowserLaunchPreset());
+    }
+
+    /**
+     * Find a preset by name, e.g. "lean".
+     *
+     * @param name Preset name
+     * @return Matching preset
+     */
+    public static LaunchPreset fromName(String name) {
+        for (LaunchPreset preset : values()) {
+            if (preset.presetName.equalsIgnoreCase(name.trim())) {
+                return preset;
+            }
+        }
+        throw new IllegalArgumentException("Unknown launch preset '" + name + "', expected one of "
+                + Arrays.stream(values()).map(LaunchPreset::getPresetName).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * Free space of /dev/shm, checked once. Containers often get only 64 MB, too little for Chromium,
+     * which is why Playwright turns it off by default.
+     */
+    private static final class SharedMemory {
+        private static final boolean AVAILABLE = check();
+
+        private static boolean check() {
+            Path shm = Paths.get("/dev/shm");
+            if (!Files.isDirectory(shm)) {
+                logger.info("No /dev/shm on this machine, Chromium keeps using /tmp for shared memory");
+                return false;
+            }
+            try {
+                long usable = Files.getFileStore(shm).getUsableSpace();
+                if (usable < MIN_SHARED_MEMORY_BYTES) {
+                    logger.warn("/dev/shm has only {} MB free, Chromium keeps using /tmp for shared memory",
+                            usable / (1024 * 1024));
+                    return false;
+                }
+                return true;
+            } catch (IOException e) {
+                logger.warn("Cannot check /dev/shm, Chromium keeps using /tmp for shared memory: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.saucedemo.browser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link BrowserServer} started for a single test, so that several Playwright instances of that test, e.g.
+ * the virtual users of a journey, share one browser. It holds a place in the {@link WorkerBrowserPool} of its
+ * cell while it runs, so it counts against the same browser limit as pooled sessions.
+ */
+public final class LocalBrowserServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LocalBrowserServer.class);
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+
+    private final Process process;
+    private final String wsEndpoint;
+    private final WorkerBrowserPool.Reservation place;
+
+    private LocalBrowserServer(Process process, String wsEndpoint, WorkerBrowserPool.Reservation place) {
+        this.process = process;
+        this.wsEndpoint = wsEndpoint;
+        this.place = place;
+    }
+
+    /**
+     * Reserve a place in the cell's pool and start a browser server in it.
+     *
+     * @param cell Browser matrix cell
+     * @return Running server
+     */
+    public static LocalBrowserServer start(BrowserCell cell) {
+        WorkerBrowserPool.Reservation place = WorkerBrowserPool.reserve(cell);
+        Process process = null;
+        try {
+            process = BrowserServer.start(cell.getEngine().getName(), cell.isHeadless());
+            BufferedReader output = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            String wsEndpoint = output.readLine();
+            if (wsEndpoint == null || !wsEndpoint.startsWith("ws")) {
+                throw new IllegalStateException("Browser server did not report an endpoint: " + wsEndpoint);
+            }
+            logger.info("Browser server ({}) started at {}", cell.getLabel(), wsEndpoint);
+            return new LocalBrowserServer(process, wsEndpoint, place);
+        } catch (IOException e) {
+            stop(process);
+            place.close();
+            throw new UncheckedIOException("Failed to start a browser server for " + cell.getLabel(), e);
+        } catch (RuntimeException e) {
+            stop(process);
+            place.close();
+            throw e;
+        }
+    }
+
+    public String getWsEndpoint() {
+        return wsEndpoint;
+    }
+
+    /**
+     * Stop the server and its browser, and free its place in the pool.
+     */
+    @Override
+    public void close() {
+        try {
+            stop(process);
+        } finally {
+            place.close();
+        }
+    }
+
+    private static void stop(Process process) {
+        if (process == null) {
+            return;
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Browser server did not stop within {}s, killing it", STOP_TIMEOUT_SECONDS);
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.saucedemo.browser;
+
+import com.saucedemo.execution.BrowserAwareParallelStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of browser sessions per browser matrix cell. A test leases a session for its duration and
+ * gives it back when it ends; a cell never has more live browsers than the worker pool has threads, which
+ * {@link com.saucedemo.execution.BrowserAwareParallelStrategy} sizes by memory. Sessions are not tied to
+ * threads, so worker threads that retire and get replaced do not leave their browsers behind.
+ * <p>
+ * Playwright objects may be used from any thread as long as only one thread uses them at a time. A session
+ * is only handed to one test at a time, and every handover goes through the pool's lock.
+ */
+public final class WorkerBrowserPool {
+    private static final Logger logger = LoggerFactory.getLogger(WorkerBrowserPool.class);
+
+    private static final int SESSIONS_PER_CELL = BrowserAwareParallelStrategy.computeParallelism();
+    private static final Map<BrowserCell, CellPool> POOLS = new ConcurrentHashMap<>();
+
+    private WorkerBrowserPool() {
+    }
+
+    /**
+     * Lease a session for a matrix cell: an idle one if there is one, otherwise a new one while the cell
+     * is below its limit. Waits for a session to be released once the limit is reached.
+     *
+     * @param cell Browser matrix cell
+     * @param factory Creates a new session when none is idle
+     * @return Browser session, to be given back with {@link #release}
+     */
+    public static BrowserSession acquire(BrowserCell cell, Supplier<BrowserSession> factory) {
+        CellPool pool = poolOf(cell);
+        BrowserSession session = pool.takeIdleOrReserve();
+        if (session != null) {
+            return session;
+        }
+        try {
+            session = factory.get();
+        } catch (RuntimeException e) {
+            pool.unreserve();
+            throw e;
+        }
+        logger.info("Browser session ({}) started for worker {} ({} active)",
+                cell.getLabel(), Thread.currentThread().getName(), activeSessions());
+        return session;
+    }
+
+    /**
+     * Give a leased session back, so the next test of the cell can use it. A session whose browser has
+     * disconnected, e.g. after a crash, is closed instead and frees its place for a new one.
+     *
+     * @param cell Browser matrix cell the session was leased for
+     * @param session Session to give back
+     */
+    public static void release(BrowserCell cell, BrowserSession session) {
+        CellPool pool = poolOf(cell);
+        if (session.getBrowser().isConnected()) {
+            pool.giveBack(session);
+            return;
+        }
+        logger.warn("Browser session ({}) disconnected, closing it", cell.getLabel());
+        closeQuietly(session);
+        pool.unreserve();
+    }
+
+    /**
+     * Reserve a place in a cell for a browser launched outside the pool, e.g. the browser server the virtual
+     * users of a journey share. When the cell is full, the least recently used idle session is closed to make
+     * room; if none is idle, waits for a place to be freed.
+     *
+     * @param cell Browser matrix cell
+     * @return Reserved place, freed again when closed
+     */
+    public static Reservation reserve(BrowserCell cell) {
+        CellPool pool = poolOf(cell);
+        BrowserSession evicted = pool.reserveOrEvictIdle();
+        if (evicted != null) {
+            logger.info("Closing an idle browser session ({}) to make room", cell.getLabel());
+            closeQuietly(evicted);
+        }
+        return new Reservation(pool);
+    }
+
+    /**
+     * Get the number of sessions launched and not yet closed.
+     *
+     * @return Number of live sessions, idle or leased
+     */
+    public static int activeSessions() {
+        return POOLS.values().stream().mapToInt(CellPool::live).sum();
+    }
+
+    /**
+     * Close every idle session. Called once when the whole test run has finished, when no test holds a
+     * session any more.
+     */
+    public static void closeAll() {
+        POOLS.values().forEach(pool -> pool.drainIdle().forEach(session -> {
+            closeQuietly(session);
+            pool.unreserve();
+        }));
+    }
+
+    private static CellPool poolOf(BrowserCell cell) {
+        return POOLS.computeIfAbsent(cell, key -> new CellPool(SESSIONS_PER_CELL));
+    }
+
+    private static void closeQuietly(BrowserSession session) {
+        try {
+            session.close();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to close browser session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A place in a cell held by a browser the pool does not manage.
+     */
+    public static final class Reservation implements AutoCloseable {
+        private final CellPool pool;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(CellPool pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * Free the place for the pool's sessions. Further calls are no-ops.
+         */
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                pool.unreserve();
+            }
+        }
+    }
+
+    /**
+     * Idle sessions of one cell and the number of live ones, guarded by the instance's monitor.
+     */
+    private static final class CellPool {
+        private final int capacity;
+        private final Deque<BrowserSession> idle = new ArrayDeque<>();
+        private int live;
+
+        CellPool(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Take an idle session, or reserve a place for a new one.
+         *
+         * @return Idle session, or null if the caller may launch a new one
+         */
+        synchronized BrowserSession takeIdleOrReserve() {
+            while (true) {
+                if (!idle.isEmpty()) {
+                    return idle.pop();
+                }
+                if (live < capacity) {
+                    live++;
+                    return null;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+                }
+            }
+        }
+
+        /**
+         * Reserve a place, taking it from the least recently used idle session when the cell is full.
+         *
+         * @return Idle session the caller must close, or null if a free place was reserved
+         */
+        synchronized BrowserSession reserveOrEvictIdle() {
+            while (true) {
+                if (live < capacity) {
+                    live++;
+                    return null;
+                }
+                if (!idle.isEmpty()) {
+                    return idle.removeLast();
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a browser place", e);
+                }
+            }
+        }
+
+        synchronized void giveBack(BrowserSession session) {
+            // Most recently used first, so a lightly loaded run keeps reusing the same warm browsers
+            idle.push(session);
+            notifyAll();
+        }
+
+        synchronized void unreserve() {
+            live--;
+            notifyAll();
+        }
+
+        synchronized List<BrowserSession> drainIdle() {
+            List<BrowserSession> sessions = new ArrayList<>(idle);
+            idle.clear();
+            return sessions;
+        }
+
+        synchronized int live() {
+            return live;
+        }
+    }
+}
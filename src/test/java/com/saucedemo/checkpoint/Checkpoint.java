@@ -0,0 +1,81 @@
+package com.saucedemo.checkpoint;
+
+import com.microsoft.playwright.Page;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A captured point in a journey: the browser storage state (cookies and local storage), the URL
+ * the page was on, and any values the flow recorded. New contexts restored from it continue
+ * from that point without repeating the flow.
+ */
+public final class Checkpoint {
+    private final String name;
+    private final String url;
+    private final String storageState;
+    private final Map<String, String> values;
+
+    public Checkpoint(String name, String url, String storageState, Map<String, String> values) {
+        this.name = name;
+        this.url = url;
+        this.storageState = storageState;
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    /**
+     * Run a flow on a page and capture the state it leads to.
+     *
+     * @param name Checkpoint name
+     * @param page Page to run the flow on
+     * @param flow Flow leading to the checkpoint
+     * @return Captured checkpoint
+     */
+    public static Checkpoint capture(String name, Page page, CheckpointFlow flow) {
+        Map<String, String> values = new LinkedHashMap<>();
+        flow.run(page, values);
+        return new Checkpoint(name, page.url(), page.context().storageState(), values);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Get the storage state in Playwright's JSON format, for Browser.NewContextOptions#setStorageState.
+     *
+     * @return Storage state JSON
+     */
+    public String getStorageState() {
+        return storageState;
+    }
+
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    /**
+     * Get a value recorded by the flow.
+     *
+     * @param key Value name
+     * @return Value
+     * @throws IllegalStateException if the flow did not record it
+     */
+    public String get(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            throw new IllegalStateException("Checkpoint '" + name + "' has no value '" + key + "'");
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return name + " at " + url + " " + values;
+    }
+}
@@ -0,0 +1,20 @@
+package com.saucedemo.checkpoint;
+
+import com.microsoft.playwright.Page;
+
+import java.util.Map;
+
+/**
+ * The shared start of a journey that leads to a {@link Checkpoint}, e.g. logging in and filling the cart.
+ */
+@FunctionalInterface
+public interface CheckpointFlow {
+
+    /**
+     * Drive the page to the checkpoint state.
+     *
+     * @param page Page to run the flow on
+     * @param values Values later tests need, e.g. the names of the items added; restored with the checkpoint
+     */
+    void run(Page page, Map<String, String> values);
+}
@@ -0,0 +1,226 @@
+package com.saucedemo.checkpoint;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.pages.BasePage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Captures each checkpoint once and shares it with every later test, in this JVM and, through
+ * checkpoint.dir, with other JVMs of the run. Concurrent tests asking for a checkpoint that is being
+ * captured wait for it instead of running the flow themselves.
+ * <p>
+ * A stored checkpoint is only reused while it is younger than checkpoint.max.age and its fingerprint
+ * still matches: a hash of the page object classes, the test class that owns the flow and the resolved
+ * configuration. Changing any of them captures the checkpoint again.
+ */
+public final class CheckpointStore {
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointStore.class);
+
+    private static final Map<String, CompletableFuture<Stored>> CHECKPOINTS = new ConcurrentHashMap<>();
+    private static final String PAGES_FINGERPRINT = pagesFingerprint();
+
+    private CheckpointStore() {
+    }
+
+    /**
+     * Get a checkpoint, capturing it on the calling thread if no current one exists.
+     *
+     * @param name Checkpoint name, e.g. "cart-with-items"
+     * @param browser Browser matrix cell label; checkpoints are kept per browser
+     * @param owner Test class the flow belongs to
+     * @param capture Runs the flow and captures the checkpoint
+     * @return Current checkpoint
+     */
+    public static Checkpoint obtain(String name, String browser, Class<?> owner, Supplier<Checkpoint> capture) {
+        String key = owner.getSimpleName() + "." + name + "@" + browser;
+        long maxAgeMillis = TestConfig.getCheckpointMaxAge();
+        while (true) {
+            CompletableFuture<Stored> created = new CompletableFuture<>();
+            CompletableFuture<Stored> existing = CHECKPOINTS.putIfAbsent(key, created);
+            if (existing == null) {
+                try {
+                    Stored stored = loadOrCapture(key, name, owner, capture);
+                    created.complete(stored);
+                    return stored.checkpoint;
+                } catch (RuntimeException | Error e) {
+                    CHECKPOINTS.remove(key, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+            try {
+                Stored stored = existing.join();
+                if (System.currentTimeMillis() - stored.createdAtMillis <= maxAgeMillis) {
+                    return stored.checkpoint;
+                }
+                CHECKPOINTS.remove(key, existing);
+            } catch (CompletionException | CancellationException e) {
+                logger.warn("Checkpoint {} could not be captured by another test, trying again", key);
+            }
+        }
+    }
+
+    private static Stored loadOrCapture(String key, String name, Class<?> owner, Supplier<Checkpoint> capture) {
+        Path file = Paths.get(TestConfig.getCheckpointDir(), key.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+        String fingerprint = fingerprint(name, owner);
+        Optional<Stored> cached = read(file, key, fingerprint);
+        if (cached.isPresent()) {
+            logger.info("Reusing checkpoint {} from {}", key, file);
+            return cached.get();
+        }
+
+        long start = System.nanoTime();
+        Stored stored = new Stored(capture.get(), System.currentTimeMillis());
+        logger.info("Captured checkpoint {} in {} ms", key, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        try {
+            write(file, fingerprint, stored);
+        } catch (IOException e) {
+            logger.warn("Failed to save checkpoint {} to {}: {}", key, file, e.getMessage());
+        }
+        return stored;
+    }
+
+    private static Optional<Stored> read(Path file, String key, String fingerprint) {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            JsonObject json = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+            if (!fingerprint.equals(json.get("fingerprint").getAsString())) {
+                logger.info("Checkpoint {} is outdated: page objects, test class or configuration changed", key);
+                return Optional.empty();
+            }
+            long createdAt = json.get("createdAt").getAsLong();
+            if (System.currentTimeMillis() - createdAt > TestConfig.getCheckpointMaxAge()) {
+                logger.debug("Checkpoint {} has expired", key);
+                return Optional.empty();
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            json.getAsJsonObject("values").entrySet()
+                    .forEach(entry -> values.put(entry.getKey(), entry.getValue().getAsString()));
+            Checkpoint checkpoint = new Checkpoint(json.get("name").getAsString(), json.get("url").getAsString(),
+                    json.get("storageState").getAsString(), values);
+            return Optional.of(new Stored(checkpoint, createdAt));
+        } catch (IOException | JsonParseException | IllegalStateException | NullPointerException e) {
+            logger.warn("Ignoring unreadable checkpoint file {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void write(Path file, String fingerprint, Stored stored) throws IOException {
+        Checkpoint checkpoint = stored.checkpoint;
+        JsonObject json = new JsonObject();
+        json.addProperty("fingerprint", fingerprint);
+        json.addProperty("createdAt", stored.createdAtMillis);
+        json.addProperty("name", checkpoint.getName());
+        json.addProperty("url", checkpoint.getUrl());
+        json.addProperty("storageState", checkpoint.getStorageState());
+        JsonObject values = new JsonObject();
+        checkpoint.getValues().forEach(values::addProperty);
+        json.add("values", values);
+
+        // Other JVMs may read the file at any time, so replace it in one step
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        Files.writeString(temp, json.toString(), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String fingerprint(String name, Class<?> owner) {
+        MessageDigest digest = sha256();
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update(PAGES_FINGERPRINT.getBytes(StandardCharsets.UTF_8));
+        digest.update(TestConfig.describe().getBytes(StandardCharsets.UTF_8));
+        // Flow lambdas are compiled into the owner's class file, so editing a flow changes these bytes
+        String classFile = owner.getName().replace('.', '/') + ".class";
+        try (InputStream input = owner.getClassLoader().getResourceAsStream(classFile)) {
+            if (input != null) {
+                digest.update(input.readAllBytes());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + classFile, e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Hash every class file of the page object package, whether it is a directory or inside a jar.
+     */
+    private static String pagesFingerprint() {
+        try {
+            URI uri = BasePage.class.getResource("").toURI();
+            if ("jar".equals(uri.getScheme())) {
+                try (FileSystem jar = FileSystems.newFileSystem(uri, Map.of())) {
+                    return hashClassFiles(jar.provider().getPath(uri));
+                }
+            }
+            return hashClassFiles(Paths.get(uri));
+        } catch (URISyntaxException | IOException e) {
+            throw new IllegalStateException("Cannot fingerprint page object classes", e);
+        }
+    }
+
+    private static String hashClassFiles(Path directory) throws IOException {
+        MessageDigest digest = sha256();
+        List<Path> classFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            classFiles = files.filter(file -> file.getFileName().toString().endsWith(".class"))
+                    .sorted()
+                    .toList();
+        }
+        for (Path classFile : classFiles) {
+            digest.update(classFile.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+            digest.update(Files.readAllBytes(classFile));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Stored {
+        private final Checkpoint checkpoint;
+        private final long createdAtMillis;
+
+        private Stored(Checkpoint checkpoint, long createdAtMillis) {
+            this.checkpoint = checkpoint;
+            this.createdAtMillis = createdAtMillis;
+        }
+    }
+}
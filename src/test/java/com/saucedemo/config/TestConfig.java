@@ -1,97 +1,782 @@
 package com.saucedemo.config;
 
+import com.saucedemo.browser.LaunchPreset;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
 import java.util.Properties;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Manages test configuration properties.
- * Loads properties from config.properties file and provides access to them.
+ * Loads properties from config.properties, layers the selected profile on top
+ * (config-&lt;profile&gt;.properties, chosen with -Dtest.profile or TEST_PROFILE, default "local")
+ * and then applies overrides per key: a system property with the same name, or an environment
+ * variable such as SAUCEDEMO_BROWSER_SLOW_MO for browser.slow.mo.
+ * <p>
+ * All values are parsed and validated once when the class is loaded; invalid values fail the run
+ * at startup with every problem listed, and the accessors only return the parsed values.
  */
 public class TestConfig {
     private static final Logger logger = LoggerFactory.getLogger(TestConfig.class);
-    private static final Properties properties = new Properties();
     private static final String CONFIG_FILE = "config.properties";
+    private static final String PROFILE_FILE = "config-%s.properties";
+    private static final String ENV_PREFIX = "SAUCEDEMO_";
+    private static final String DEFAULT_PROFILE = "local";
+    private static final Pattern MATRIX_ENTRY = Pattern.compile("(chromium|firefox|webkit)(:(headless|headed))?");
+
+    private static final Properties properties = new Properties();
+    private static final List<String> errors = new ArrayList<>();
+    private static final String PROFILE = resolveProfile();
 
     static {
         loadProperties();
     }
 
+    // Base URL
+    private static final String BASE_URL = stringProperty("base.url");
+
+    // Credentials
+    private static final String VALID_USERNAME = stringProperty("valid.username");
+    private static final String VALID_PASSWORD = stringProperty("valid.password");
+    private static final String INVALID_USERNAME = stringProperty("invalid.username");
+    private static final String INVALID_PASSWORD = stringProperty("invalid.password");
+
+    // Browser Settings
+    private static final boolean HEADLESS = booleanProperty("browser.headless");
+    private static final List<String> BROWSER_MATRIX = matrixProperty("browser.matrix");
+    private static final String BROWSER_CHANNEL = stringProperty("browser.channel");
+    private static final String BROWSER_LAUNCH_PRESET = stringProperty("browser.launch.preset");
+    private static final int SLOW_MO = intProperty("browser.slow.mo", 0);
+    private static final int TIMEOUT = intProperty("browser.timeout", 1);
+
+    // Adaptive Timeouts
+    private static final boolean ADAPTIVE_TIMEOUT_ENABLED = booleanProperty("adaptive.timeout.enabled");
+    private static final double ADAPTIVE_TIMEOUT_MULTIPLIER =
+            doubleProperty("adaptive.timeout.multiplier", 1, Double.MAX_VALUE);
+    private static final int ADAPTIVE_TIMEOUT_FLOOR = intProperty("adaptive.timeout.floor", 1);
+    private static final int ADAPTIVE_TIMEOUT_CEILING = intProperty("adaptive.timeout.ceiling", 1);
+    private static final int ADAPTIVE_TIMEOUT_MIN_SAMPLES = intProperty("adaptive.timeout.min.samples", 1);
+    private static final double ADAPTIVE_TIMEOUT_NEAR_LIMIT = doubleProperty("adaptive.timeout.near.limit", 0, 1);
+    private static final String ADAPTIVE_TIMEOUT_REPORT_FILE = stringProperty("adaptive.timeout.report.file");
+
+    // Shared Browser Server
+    private static final boolean BROWSER_SERVER_ENABLED = booleanProperty("browser.server.enabled");
+    private static final String BROWSER_SERVER_ENDPOINT_FILE = stringProperty("browser.server.endpoint.file");
+    private static final int BROWSER_SERVER_CONNECT_TIMEOUT = intProperty("browser.server.connect.timeout", 1);
+
+    // Emulation
+    private static final String EMULATION_PROFILE = stringProperty("emulation.profile");
+
+    // Leak Check
+    private static final boolean LEAK_CHECK_ENABLED = booleanProperty("leak.check.enabled");
+    private static final int LEAK_CHECK_CYCLES = intProperty("leak.check.cycles", 1);
+    private static final int LEAK_CHECK_WARMUP_CYCLES = intProperty("leak.check.warmup.cycles", 0);
+    private static final int LEAK_CHECK_SAMPLE_INTERVAL = intProperty("leak.check.sample.interval", 1);
+    private static final double LEAK_CHECK_MAX_HEAP_BYTES_PER_CYCLE =
+            doubleProperty("leak.check.max.heap.bytes.per.cycle", 0, Double.MAX_VALUE);
+    private static final double LEAK_CHECK_MAX_DOM_NODES_PER_CYCLE =
+            doubleProperty("leak.check.max.dom.nodes.per.cycle", 0, Double.MAX_VALUE);
+    private static final double LEAK_CHECK_MAX_LISTENERS_PER_CYCLE =
+            doubleProperty("leak.check.max.listeners.per.cycle", 0, Double.MAX_VALUE);
+    private static final String LEAK_CHECK_OUTPUT_DIR = stringProperty("leak.check.output.dir");
+
+    // Concurrent Journeys
+    private static final int JOURNEY_USERS = intProperty("journey.users", 1);
+    private static final int JOURNEY_BARRIER_TIMEOUT = intProperty("journey.barrier.timeout", 1);
+
+    // Customer Data
+    private static final OptionalLong TEST_DATA_SEED = optionalLongProperty("test.data.seed");
+    private static final String TEST_DATA_FILE = stringProperty("test.data.file");
+    private static final int TEST_DATA_POOL_SIZE = intProperty("test.data.pool.size", 1);
+
+    // Checkpoints
+    private static final boolean CHECKPOINT_ENABLED = booleanProperty("checkpoint.enabled");
+    private static final String CHECKPOINT_DIR = stringProperty("checkpoint.dir");
+    private static final int CHECKPOINT_MAX_AGE = intProperty("checkpoint.max.age", 1);
+
+    // Hung-Test Watchdog
+    private static final boolean WATCHDOG_ENABLED = booleanProperty("watchdog.enabled");
+    private static final int WATCHDOG_STALL_THRESHOLD = intProperty("watchdog.stall.threshold", 1);
+    private static final int WATCHDOG_SCREENSHOT_TIMEOUT = intProperty("watchdog.screenshot.timeout", 1);
+    private static final String WATCHDOG_DIR = stringProperty("watchdog.dir");
+
+    // Visual Checks
+    private static final boolean VISUAL_CHECK_ENABLED = booleanProperty("visual.check.enabled");
+    private static final String VISUAL_BASELINE_DIR = stringProperty("visual.baseline.dir");
+    private static final boolean VISUAL_UPDATE_BASELINES = booleanProperty("visual.update.baselines");
+    private static final int VISUAL_HASH_THRESHOLD = intProperty("visual.hash.threshold", -1, 64);
+    private static final int VISUAL_PIXEL_TOLERANCE = intProperty("visual.pixel.tolerance", 0, 255);
+    private static final double VISUAL_MAX_DIFF_RATIO = doubleProperty("visual.max.diff.ratio", 0, 1);
+    private static final String VISUAL_OUTPUT_DIR = stringProperty("visual.output.dir");
+
+    // Flaky Tests
+    private static final int FLAKY_WINDOW = intProperty("flaky.window", 1);
+    private static final int FLAKY_MIN_RUNS = intProperty("flaky.min.runs", 1);
+    private static final double FLAKY_QUARANTINE_THRESHOLD = doubleProperty("flaky.quarantine.threshold", 0, 1);
+    private static final String FLAKY_QUARANTINE_MODE = stringProperty("flaky.quarantine.mode");
+    private static final String FLAKY_REPORT_FILE = stringProperty("flaky.report.file");
+
+    // Environment Circuit Breaker
+    private static final boolean CIRCUIT_BREAKER_ENABLED = booleanProperty("circuit.breaker.enabled");
+    private static final int CIRCUIT_BREAKER_WINDOW = intProperty("circuit.breaker.window", 1);
+    private static final int CIRCUIT_BREAKER_MIN_EVENTS = intProperty("circuit.breaker.min.events", 1);
+    private static final double CIRCUIT_BREAKER_ERROR_RATE = doubleProperty("circuit.breaker.error.rate", 0, 1);
+    private static final int CIRCUIT_BREAKER_PROBE_INTERVAL = intProperty("circuit.breaker.probe.interval", 1);
+    private static final int CIRCUIT_BREAKER_PROBE_TIMEOUT = intProperty("circuit.breaker.probe.timeout", 1);
+
+    // Test Data
+    private static final int RETRY_COUNT = intProperty("retry.count", 1);
+    private static final int RETRY_DELAY = intProperty("retry.delay", 0);
+
+    // Network Settings
+    private static final List<String> IGNORED_ERROR_PATTERNS = listProperty("ignored.error.patterns");
+    private static final List<String> NETWORK_BLOCK_PATTERNS = listProperty("network.block.patterns");
+    private static final int NETWORK_FAILURE_DETAIL_LIMIT = intProperty("network.failure.detail.limit", 1);
+    private static final boolean NETWORK_TIMING_ENABLED = booleanProperty("network.timing.enabled");
+    private static final int NETWORK_TIMING_SLOWEST_COUNT = intProperty("network.timing.slowest.count", 1);
+    private static final boolean NETWORK_TIMING_EXACT_SIZES = booleanProperty("network.timing.exact.sizes");
+    private static final String NETWORK_TIMING_REPORT_FILE = stringProperty("network.timing.report.file");
+
+    // Parallel Execution
+    private static final int PARALLEL_MAX_WORKERS = intProperty("parallel.max.workers", 0);
+    private static final int PARALLEL_MEMORY_PER_BROWSER_MB = intProperty("parallel.memory.per.browser.mb", 1);
+    private static final String HISTORY_DIR = stringProperty("history.dir");
+
+    // Run History
+    private static final boolean RUN_HISTORY_ENABLED = booleanProperty("run.history.enabled");
+    private static final int RUN_HISTORY_BASELINE_RUNS = intProperty("run.history.baseline.runs", 1);
+    private static final int RUN_HISTORY_MIN_SAMPLES = intProperty("run.history.min.samples", 1);
+    private static final double RUN_HISTORY_Z_THRESHOLD = doubleProperty("run.history.z.threshold", 0, Double.MAX_VALUE);
+    private static final double RUN_HISTORY_MIN_SLOWDOWN = doubleProperty("run.history.min.slowdown", 0, Double.MAX_VALUE);
+
+    // Java Flight Recorder
+    private static final boolean JFR_RECORDING_ENABLED = booleanProperty("jfr.recording.enabled");
+    private static final String JFR_OUTPUT_DIR = stringProperty("jfr.output.dir");
+
+    // Tracing
+    private static final boolean TRACING_ENABLED = booleanProperty("tracing.enabled");
+    private static final double TRACING_SAMPLE_RATE = doubleProperty("tracing.sample.rate", 0, 1);
+    private static final String TRACING_OUTPUT_DIR = stringProperty("tracing.output.dir");
+
+    // Metrics Endpoint
+    private static final boolean METRICS_ENDPOINT_ENABLED = booleanProperty("metrics.endpoint.enabled");
+    private static final int METRICS_ENDPOINT_PORT = intProperty("metrics.endpoint.port", 0);
+
+    // Logging
+    private static final boolean JSON_LOGGING_ENABLED = booleanProperty("log.json.enabled");
+    private static final String JSON_LOG_DIR = stringProperty("log.json.dir");
+    private static final int LOG_QUEUE_SIZE = intProperty("log.async.queue.size", 1);
+
+    static {
+        if (ADAPTIVE_TIMEOUT_FLOOR > ADAPTIVE_TIMEOUT_CEILING) {
+            errors.add("adaptive.timeout.floor (" + ADAPTIVE_TIMEOUT_FLOOR + ") must not exceed adaptive.timeout.ceiling ("
+                    + ADAPTIVE_TIMEOUT_CEILING + ")");
+        }
+        if (WATCHDOG_ENABLED && WATCHDOG_STALL_THRESHOLD <= TIMEOUT) {
+            errors.add("watchdog.stall.threshold (" + WATCHDOG_STALL_THRESHOLD + ") must exceed browser.timeout ("
+                    + TIMEOUT + ") so that a single slow action fails with its own timeout first");
+        }
+        // The leak check samples at the end of the warm-up, or after the first interval without one
+        int firstLeakSample = LEAK_CHECK_WARMUP_CYCLES > 0 ? LEAK_CHECK_WARMUP_CYCLES : LEAK_CHECK_SAMPLE_INTERVAL;
+        if (LEAK_CHECK_ENABLED && LEAK_CHECK_CYCLES - firstLeakSample < LEAK_CHECK_SAMPLE_INTERVAL) {
+            errors.add("leak.check.cycles (" + LEAK_CHECK_CYCLES + ") must leave at least two samples after "
+                    + "leak.check.warmup.cycles (" + LEAK_CHECK_WARMUP_CYCLES + ") at leak.check.sample.interval ("
+                    + LEAK_CHECK_SAMPLE_INTERVAL + ")");
+        }
+        if (FLAKY_MIN_RUNS > FLAKY_WINDOW) {
+            errors.add("flaky.min.runs (" + FLAKY_MIN_RUNS + ") must not exceed flaky.window (" + FLAKY_WINDOW + ")");
+        }
+        try {
+            // Validated by the enum itself, so new presets and its name matching need no change here
+            LaunchPreset.fromName(BROWSER_LAUNCH_PRESET);
+        } catch (IllegalArgumentException e) {
+            errors.add("browser.launch.preset: " + e.getMessage());
+        }
+        if (!List.of("all", "exclude", "only").contains(FLAKY_QUARANTINE_MODE)) {
+            errors.add("flaky.quarantine.mode must be all, exclude or only, but was '" + FLAKY_QUARANTINE_MODE + "'");
+        }
+        validate();
+    }
+
+    private static String resolveProfile() {
+        String profile = System.getProperty("test.profile");
+        if (profile == null || profile.isBlank()) {
+            profile = System.getenv("TEST_PROFILE");
+        }
+        return profile == null || profile.isBlank() ? DEFAULT_PROFILE : profile.trim().toLowerCase(Locale.ROOT);
+    }
+
     private static void loadProperties() {
         try (InputStream input = TestConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
             if (input == null) {
                 throw new RuntimeException("Unable to find " + CONFIG_FILE);
             }
             properties.load(input);
-            logger.info("Configuration loaded successfully from {}", CONFIG_FILE);
         } catch (IOException e) {
             logger.error("Error loading configuration: {}", e.getMessage());
             throw new RuntimeException("Failed to load configuration", e);
         }
+
+        String profileFile = String.format(PROFILE_FILE, PROFILE);
+        try (InputStream input = TestConfig.class.getClassLoader().getResourceAsStream(profileFile)) {
+            if (input != null) {
+                Properties profileProperties = new Properties();
+                profileProperties.load(input);
+                for (String key : profileProperties.stringPropertyNames()) {
+                    if (!properties.containsKey(key)) {
+                        errors.add(profileFile + " sets unknown property " + key);
+                    }
+                    properties.setProperty(key, profileProperties.getProperty(key).trim());
+                }
+            } else if (!DEFAULT_PROFILE.equals(PROFILE)) {
+                errors.add("Unknown profile '" + PROFILE + "': " + profileFile + " not found");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load " + profileFile, e);
+        }
+
+        int overrides = 0;
+        for (String key : properties.stringPropertyNames()) {
+            String value = System.getProperty(key);
+            if (value == null) {
+                value = System.getenv(ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_'));
+            }
+            if (value != null) {
+                properties.setProperty(key, value.trim());
+                overrides++;
+            }
+        }
+        logger.info("Configuration loaded successfully from {} with profile '{}' and {} override(s)",
+                CONFIG_FILE, PROFILE, overrides);
+    }
+
+    private static void validate() {
+        if (errors.isEmpty()) {
+            return;
+        }
+        errors.forEach(error -> logger.error("Invalid configuration: {}", error));
+        throw new RuntimeException("Invalid configuration (profile '" + PROFILE + "'): " + String.join("; ", errors));
+    }
+
+    // Profile
+    public static String getProfile() {
+        return PROFILE;
+    }
+
+    /**
+     * Describe the resolved configuration, after the profile and overrides have been applied.
+     * Used to detect that configuration changed between runs.
+     *
+     * @return One "key=value" line per property, sorted by key
+     */
+    public static String describe() {
+        return properties.stringPropertyNames().stream()
+                .sorted()
+                .map(key -> key + "=" + properties.getProperty(key))
+                .collect(Collectors.joining("\n"));
     }
 
     // Base URL
     public static String getBaseUrl() {
-        return getProperty("base.url");
+        return BASE_URL;
     }
 
     // Credentials
     public static String getValidUsername() {
-        return getProperty("valid.username");
+        return VALID_USERNAME;
     }
 
     public static String getValidPassword() {
-        return getProperty("valid.password");
+        return VALID_PASSWORD;
     }
 
     public static String getInvalidUsername() {
-        return getProperty("invalid.username");
+        return INVALID_USERNAME;
     }
 
     public static String getInvalidPassword() {
-        return getProperty("invalid.password");
+        return INVALID_PASSWORD;
     }
 
     // Browser Settings
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("browser.headless"));
+        return HEADLESS;
+    }
+
+    /**
+     * Get the browser matrix entries, e.g. "firefox" or "webkit:headed".
+     *
+     * @return Matrix entries, at least one
+     */
+    public static List<String> getBrowserMatrix() {
+        return BROWSER_MATRIX;
+    }
+
+    /**
+     * Get the browser distribution channel, e.g. "chrome" or "chromium-headless-shell".
+     *
+     * @return Channel name, or an empty string for Playwright's default build
+     */
+    public static String getBrowserChannel() {
+        return BROWSER_CHANNEL;
+    }
+
+    /**
+     * Get the Chromium launch preset, see LaunchPreset.
+     *
+     * @return "default", "lean" or "shm"
+     */
+    public static String getBrowserLaunchPreset() {
+        return BROWSER_LAUNCH_PRESET;
     }
 
     public static int getSlowMo() {
-        return Integer.parseInt(getProperty("browser.slow.mo"));
+        return SLOW_MO;
     }
 
     public static int getTimeout() {
-        return Integer.parseInt(getProperty("browser.timeout"));
+        return TIMEOUT;
+    }
+
+    // Adaptive Timeouts
+    public static boolean isAdaptiveTimeoutEnabled() {
+        return ADAPTIVE_TIMEOUT_ENABLED;
+    }
+
+    public static double getAdaptiveTimeoutMultiplier() {
+        return ADAPTIVE_TIMEOUT_MULTIPLIER;
+    }
+
+    public static int getAdaptiveTimeoutFloor() {
+        return ADAPTIVE_TIMEOUT_FLOOR;
+    }
+
+    public static int getAdaptiveTimeoutCeiling() {
+        return ADAPTIVE_TIMEOUT_CEILING;
+    }
+
+    public static int getAdaptiveTimeoutMinSamples() {
+        return ADAPTIVE_TIMEOUT_MIN_SAMPLES;
+    }
+
+    public static double getAdaptiveTimeoutNearLimit() {
+        return ADAPTIVE_TIMEOUT_NEAR_LIMIT;
+    }
+
+    public static String getAdaptiveTimeoutReportFile() {
+        return ADAPTIVE_TIMEOUT_REPORT_FILE;
+    }
+
+    // Shared Browser Server
+    public static boolean isBrowserServerEnabled() {
+        return BROWSER_SERVER_ENABLED;
+    }
+
+    public static String getBrowserServerEndpointFile() {
+        return BROWSER_SERVER_ENDPOINT_FILE;
+    }
+
+    public static int getBrowserServerConnectTimeout() {
+        return BROWSER_SERVER_CONNECT_TIMEOUT;
+    }
+
+    // Emulation
+    public static String getEmulationProfile() {
+        return EMULATION_PROFILE;
+    }
+
+    // Leak Check
+    public static boolean isLeakCheckEnabled() {
+        return LEAK_CHECK_ENABLED;
+    }
+
+    public static int getLeakCheckCycles() {
+        return LEAK_CHECK_CYCLES;
+    }
+
+    public static int getLeakCheckWarmupCycles() {
+        return LEAK_CHECK_WARMUP_CYCLES;
+    }
+
+    public static int getLeakCheckSampleInterval() {
+        return LEAK_CHECK_SAMPLE_INTERVAL;
+    }
+
+    public static double getLeakCheckMaxHeapBytesPerCycle() {
+        return LEAK_CHECK_MAX_HEAP_BYTES_PER_CYCLE;
+    }
+
+    public static double getLeakCheckMaxDomNodesPerCycle() {
+        return LEAK_CHECK_MAX_DOM_NODES_PER_CYCLE;
+    }
+
+    public static double getLeakCheckMaxListenersPerCycle() {
+        return LEAK_CHECK_MAX_LISTENERS_PER_CYCLE;
+    }
+
+    public static String getLeakCheckOutputDir() {
+        return LEAK_CHECK_OUTPUT_DIR;
+    }
+
+    // Concurrent Journeys
+    public static int getJourneyUsers() {
+        return JOURNEY_USERS;
+    }
+
+    public static int getJourneyBarrierTimeout() {
+        return JOURNEY_BARRIER_TIMEOUT;
+    }
+
+    // Customer Data
+    public static OptionalLong getTestDataSeed() {
+        return TEST_DATA_SEED;
+    }
+
+    public static String getTestDataFile() {
+        return TEST_DATA_FILE;
+    }
+
+    public static int getTestDataPoolSize() {
+        return TEST_DATA_POOL_SIZE;
+    }
+
+    // Checkpoints
+    public static boolean isCheckpointEnabled() {
+        return CHECKPOINT_ENABLED;
+    }
+
+    public static String getCheckpointDir() {
+        return CHECKPOINT_DIR;
+    }
+
+    public static int getCheckpointMaxAge() {
+        return CHECKPOINT_MAX_AGE;
+    }
+
+    // Hung-Test Watchdog
+    public static boolean isWatchdogEnabled() {
+        return WATCHDOG_ENABLED;
+    }
+
+    public static int getWatchdogStallThreshold() {
+        return WATCHDOG_STALL_THRESHOLD;
+    }
+
+    public static int getWatchdogScreenshotTimeout() {
+        return WATCHDOG_SCREENSHOT_TIMEOUT;
+    }
+
+    public static String getWatchdogDir() {
+        return WATCHDOG_DIR;
+    }
+
+    // Visual Checks
+    public static boolean isVisualCheckEnabled() {
+        return VISUAL_CHECK_ENABLED;
+    }
+
+    public static String getVisualBaselineDir() {
+        return VISUAL_BASELINE_DIR;
+    }
+
+    public static boolean isVisualUpdateBaselines() {
+        return VISUAL_UPDATE_BASELINES;
+    }
+
+    public static int getVisualHashThreshold() {
+        return VISUAL_HASH_THRESHOLD;
+    }
+
+    public static int getVisualPixelTolerance() {
+        return VISUAL_PIXEL_TOLERANCE;
+    }
+
+    public static double getVisualMaxDiffRatio() {
+        return VISUAL_MAX_DIFF_RATIO;
+    }
+
+    public static String getVisualOutputDir() {
+        return VISUAL_OUTPUT_DIR;
+    }
+
+    // Flaky Tests
+    public static int getFlakyWindow() {
+        return FLAKY_WINDOW;
+    }
+
+    public static int getFlakyMinRuns() {
+        return FLAKY_MIN_RUNS;
+    }
+
+    public static double getFlakyQuarantineThreshold() {
+        return FLAKY_QUARANTINE_THRESHOLD;
+    }
+
+    /**
+     * Get which tests to run with respect to quarantine.
+     *
+     * @return "all", "exclude" (leave quarantined tests out) or "only" (run just the quarantined tests)
+     */
+    public static String getFlakyQuarantineMode() {
+        return FLAKY_QUARANTINE_MODE;
+    }
+
+    public static String getFlakyReportFile() {
+        return FLAKY_REPORT_FILE;
+    }
+
+    // Environment Circuit Breaker
+    public static boolean isCircuitBreakerEnabled() {
+        return CIRCUIT_BREAKER_ENABLED;
+    }
+
+    public static int getCircuitBreakerWindow() {
+        return CIRCUIT_BREAKER_WINDOW;
+    }
+
+    public static int getCircuitBreakerMinEvents() {
+        return CIRCUIT_BREAKER_MIN_EVENTS;
+    }
+
+    public static double getCircuitBreakerErrorRate() {
+        return CIRCUIT_BREAKER_ERROR_RATE;
+    }
+
+    public static int getCircuitBreakerProbeInterval() {
+        return CIRCUIT_BREAKER_PROBE_INTERVAL;
+    }
+
+    public static int getCircuitBreakerProbeTimeout() {
+        return CIRCUIT_BREAKER_PROBE_TIMEOUT;
     }
 
     // Test Data
     public static int getRetryCount() {
-        return Integer.parseInt(getProperty("retry.count"));
+        return RETRY_COUNT;
     }
 
     public static int getRetryDelay() {
-        return Integer.parseInt(getProperty("retry.delay"));
+        return RETRY_DELAY;
     }
 
     // Network Settings
     public static List<String> getIgnoredErrorPatterns() {
-        String patterns = getProperty("ignored.error.patterns");
-        return Arrays.asList(patterns.split(","));
+        return IGNORED_ERROR_PATTERNS;
+    }
+
+    /**
+     * Get the URL glob patterns of requests to abort, e.g. images in the perf profile.
+     * Only these patterns are routed, so other requests never pass through the driver.
+     *
+     * @return Glob patterns, empty when nothing is blocked
+     */
+    public static List<String> getNetworkBlockPatterns() {
+        return NETWORK_BLOCK_PATTERNS;
+    }
+
+    public static int getNetworkFailureDetailLimit() {
+        return NETWORK_FAILURE_DETAIL_LIMIT;
+    }
+
+    public static boolean isNetworkTimingEnabled() {
+        return NETWORK_TIMING_ENABLED;
+    }
+
+    public static int getNetworkTimingSlowestCount() {
+        return NETWORK_TIMING_SLOWEST_COUNT;
+    }
+
+    /**
+     * Check if response sizes are asked from the browser rather than read from Content-Length.
+     * Exact, but costs a round trip to the browser per request.
+     *
+     * @return true for exact sizes
+     */
+    public static boolean isNetworkTimingExactSizes() {
+        return NETWORK_TIMING_EXACT_SIZES;
+    }
+
+    public static String getNetworkTimingReportFile() {
+        return NETWORK_TIMING_REPORT_FILE;
+    }
+
+    // Parallel Execution
+    public static int getParallelMaxWorkers() {
+        return PARALLEL_MAX_WORKERS;
+    }
+
+    public static int getParallelMemoryPerBrowserMb() {
+        return PARALLEL_MEMORY_PER_BROWSER_MB;
     }
 
-    // Generic property getter with logging
-    private static String getProperty(String key) {
+    public static String getHistoryDir() {
+        return HISTORY_DIR;
+    }
+
+    // Run History
+    public static boolean isRunHistoryEnabled() {
+        return RUN_HISTORY_ENABLED;
+    }
+
+    public static int getRunHistoryBaselineRuns() {
+        return RUN_HISTORY_BASELINE_RUNS;
+    }
+
+    public static int getRunHistoryMinSamples() {
+        return RUN_HISTORY_MIN_SAMPLES;
+    }
+
+    public static double getRunHistoryZThreshold() {
+        return RUN_HISTORY_Z_THRESHOLD;
+    }
+
+    public static double getRunHistoryMinSlowdown() {
+        return RUN_HISTORY_MIN_SLOWDOWN;
+    }
+
+    // Java Flight Recorder
+    public static boolean isJfrRecordingEnabled() {
+        return JFR_RECORDING_ENABLED;
+    }
+
+    public static String getJfrOutputDir() {
+        return JFR_OUTPUT_DIR;
+    }
+
+    // Tracing
+    public static boolean isTracingEnabled() {
+        return TRACING_ENABLED;
+    }
+
+    public static double getTracingSampleRate() {
+        return TRACING_SAMPLE_RATE;
+    }
+
+    public static String getTracingOutputDir() {
+        return TRACING_OUTPUT_DIR;
+    }
+
+    // Metrics Endpoint
+    public static boolean isMetricsEndpointEnabled() {
+        return METRICS_ENDPOINT_ENABLED;
+    }
+
+    public static int getMetricsEndpointPort() {
+        return METRICS_ENDPOINT_PORT;
+    }
+
+    // Logging
+    public static boolean isJsonLoggingEnabled() {
+        return JSON_LOGGING_ENABLED;
+    }
+
+    public static String getJsonLogDir() {
+        return JSON_LOG_DIR;
+    }
+
+    public static int getLogQueueSize() {
+        return LOG_QUEUE_SIZE;
+    }
+
+    // Typed property readers; problems are collected and reported together by validate()
+    private static String stringProperty(String key) {
         String value = properties.getProperty(key);
         if (value == null) {
-            logger.error("Configuration property not found: {}", key);
-            throw new RuntimeException("Configuration property not found: " + key);
+            errors.add("missing property " + key);
+            return "";
+        }
+        return value.trim();
+    }
+
+    private static boolean booleanProperty(String key) {
+        String value = stringProperty(key);
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            errors.add(key + " must be true or false, got '" + value + "'");
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    private static int intProperty(String key, int min) {
+        String value = stringProperty(key);
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min) {
+                errors.add(key + " must be at least " + min + ", got " + parsed);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be an integer, got '" + value + "'");
+            return min;
+        }
+    }
+
+    private static int intProperty(String key, int min, int max) {
+        int parsed = intProperty(key, min);
+        if (parsed > max) {
+            errors.add(key + " must be at most " + max + ", got " + parsed);
+        }
+        return parsed;
+    }
+
+    private static double doubleProperty(String key, double min, double max) {
+        String value = stringProperty(key);
+        try {
+            double parsed = Double.parseDouble(value);
+            if (parsed < min || parsed > max) {
+                errors.add(key + " must be between " + min + " and " + max + ", got " + parsed);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be a number, got '" + value + "'");
+            return min;
+        }
+    }
+
+    private static OptionalLong optionalLongProperty(String key) {
+        String value = stringProperty(key);
+        if (value.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be empty or an integer, got '" + value + "'");
+            return OptionalLong.empty();
+        }
+    }
+
+    private static List<String> matrixProperty(String key) {
+        List<String> entries = listProperty(key);
+        if (entries.isEmpty()) {
+            errors.add(key + " must list at least one browser");
+        }
+        for (String entry : entries) {
+            if (!MATRIX_ENTRY.matcher(entry).matches()) {
+                errors.add(key + " entry '" + entry + "' must be chromium, firefox or webkit, optionally with "
+                        + ":headless or :headed");
+            }
+        }
+        return entries;
+    }
+
+    private static List<String> listProperty(String key) {
+        String value = stringProperty(key);
+        if (value.isEmpty()) {
+            return Collections.emptyList();
         }
-        return value;
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
     }
-} 
\ No newline at end of file
+}
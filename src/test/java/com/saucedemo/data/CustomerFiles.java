@@ -0,0 +1,206 @@
+package com.saucedemo.data;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams customers from a data file one record at a time, so files of any size can be used
+ * without loading them into memory. Supported formats:
+ * <ul>
+ *     <li>CSV (.csv) with a header row naming the firstName, lastName and postalCode columns</li>
+ *     <li>JSON (.json): an array of objects with firstName, lastName and postalCode fields</li>
+ * </ul>
+ * The returned stream holds the file open and must be closed, e.g. with try-with-resources.
+ */
+public final class CustomerFiles {
+    private static final String FIRST_NAME = "firstName";
+    private static final String LAST_NAME = "lastName";
+    private static final String POSTAL_CODE = "postalCode";
+
+    private CustomerFiles() {
+    }
+
+    /**
+     * Open a customer file as a lazy stream.
+     *
+     * @param file CSV or JSON file
+     * @return Customers in file order, with the file and line (CSV) or index (JSON) as origin
+     * @throws IOException if the file cannot be opened or its header is invalid
+     */
+    public static Stream<CustomerInfo> stream(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (!name.endsWith(".csv") && !name.endsWith(".json")) {
+            throw new IllegalArgumentException("Unsupported customer file " + file + ", expected .csv or .json");
+        }
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        try {
+            Spliterator<CustomerInfo> customers = name.endsWith(".csv")
+                    ? new CsvCustomers(file.getFileName().toString(), reader)
+                    : new JsonCustomers(file.getFileName().toString(), reader);
+            return StreamSupport.stream(customers, false).onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    private static final class CsvCustomers extends Spliterators.AbstractSpliterator<CustomerInfo> {
+        private final String fileName;
+        private final BufferedReader reader;
+        private final int firstNameColumn;
+        private final int lastNameColumn;
+        private final int postalCodeColumn;
+        private int lineNumber = 1;
+
+        CsvCustomers(String fileName, BufferedReader reader) throws IOException {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+            this.fileName = fileName;
+            this.reader = reader;
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IOException(fileName + " is empty, expected a header row");
+            }
+            List<String> columns = parseLine(header);
+            this.firstNameColumn = column(columns, FIRST_NAME);
+            this.lastNameColumn = column(columns, LAST_NAME);
+            this.postalCodeColumn = column(columns, POSTAL_CODE);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super CustomerInfo> action) {
+            try {
+                String line;
+                do {
+                    line = reader.readLine();
+                    lineNumber++;
+                    if (line == null) {
+                        return false;
+                    }
+                } while (line.isBlank());
+                List<String> fields = parseLine(line);
+                int required = Math.max(firstNameColumn, Math.max(lastNameColumn, postalCodeColumn)) + 1;
+                if (fields.size() < required) {
+                    throw new IllegalArgumentException(fileName + ":" + lineNumber + ": expected " + required
+                            + " columns, got " + fields.size());
+                }
+                action.accept(new CustomerInfo(fields.get(firstNameColumn), fields.get(lastNameColumn),
+                        fields.get(postalCodeColumn), fileName + ":" + lineNumber));
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private int column(List<String> columns, String name) throws IOException {
+            int index = columns.indexOf(name);
+            if (index < 0) {
+                throw new IOException(fileName + " header has no '" + name + "' column: " + columns);
+            }
+            return index;
+        }
+
+        /**
+         * Split one CSV line into fields. Fields may be quoted; quotes inside are doubled.
+         */
+        private static List<String> parseLine(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString().trim());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString().trim());
+            return fields;
+        }
+    }
+
+    private static final class JsonCustomers extends Spliterators.AbstractSpliterator<CustomerInfo> {
+        private final String fileName;
+        private final JsonReader reader;
+        private int index;
+        private boolean done;
+
+        JsonCustomers(String fileName, BufferedReader reader) throws IOException {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+            this.fileName = fileName;
+            this.reader = new JsonReader(reader);
+            this.reader.beginArray();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super CustomerInfo> action) {
+            try {
+                if (done) {
+                    return false;
+                }
+                if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    reader.endArray();
+                    done = true;
+                    return false;
+                }
+                Map<String, String> fields = new HashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (reader.peek() == JsonToken.STRING || reader.peek() == JsonToken.NUMBER) {
+                        fields.put(name, reader.nextString());
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                String origin = fileName + "#" + index++;
+                for (String required : List.of(FIRST_NAME, LAST_NAME, POSTAL_CODE)) {
+                    if (!fields.containsKey(required)) {
+                        throw new IllegalArgumentException(origin + ": missing field '" + required + "'");
+                    }
+                }
+                action.accept(new CustomerInfo(fields.get(FIRST_NAME), fields.get(LAST_NAME),
+                        fields.get(POSTAL_CODE), origin));
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.saucedemo.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for streaming customers from CSV and JSON files.
+ */
+public class CustomerFilesTest {
+    @TempDir
+    Path dataDir;
+
+    @Test
+    public void testCsvColumnsAreFoundByHeader() throws IOException {
+        Path file = write("customers.csv",
+                "postalCode,email,lastName,firstName",
+                "12345,ada@example.com,Lovelace,Ada",
+                "",
+                "  ",
+                "54321,alan@example.com,Turing,Alan");
+
+        List<CustomerInfo> customers = read(file);
+
+        assertEquals(List.of(new CustomerInfo("Ada", "Lovelace", "12345", ""),
+                new CustomerInfo("Alan", "Turing", "54321", "")), customers);
+        assertEquals("customers.csv:2", customers.get(0).getOrigin());
+        assertEquals("customers.csv:5", customers.get(1).getOrigin(), "Blank lines still count for the origin");
+    }
+
+    @Test
+    public void testCsvQuotedFieldsKeepCommasAndDoubledQuotes() throws IOException {
+        Path file = write("customers.csv",
+                "firstName,lastName,postalCode",
+                "\"Mary, Jr.\",\"O\"\"Brien\", 02134 ");
+
+        CustomerInfo customer = read(file).get(0);
+
+        assertEquals("Mary, Jr.", customer.getFirstName());
+        assertEquals("O\"Brien", customer.getLastName());
+        assertEquals("02134", customer.getPostalCode(), "Unquoted fields are trimmed");
+    }
+
+    @Test
+    public void testCsvShortRowIsRejectedWithItsLine() throws IOException {
+        Path file = write("customers.csv",
+                "firstName,lastName,postalCode",
+                "Ada,Lovelace,12345",
+                "Alan,Turing");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> read(file));
+
+        assertTrue(e.getMessage().startsWith("customers.csv:3: expected 3 columns, got 2"), e.getMessage());
+    }
+
+    @Test
+    public void testCsvHeaderMustNameEveryColumn() throws IOException {
+        Path missingColumn = write("customers.csv", "firstName,surname,postalCode", "Ada,Lovelace,12345");
+        Path empty = write("empty.csv");
+
+        IOException e = assertThrows(IOException.class, () -> CustomerFiles.stream(missingColumn));
+        assertTrue(e.getMessage().contains("no 'lastName' column"), e.getMessage());
+        assertThrows(IOException.class, () -> CustomerFiles.stream(empty));
+    }
+
+    @Test
+    public void testJsonIsReadToTheEndOfTheArray() throws IOException {
+        Path file = write("customers.json",
+                "[",
+                "  {\"firstName\": \"Ada\", \"lastName\": \"Lovelace\", \"postalCode\": 12345,",
+                "   \"tags\": [\"vip\"], \"address\": {\"city\": \"London\"}},",
+                "  {\"firstName\": \"Alan\", \"lastName\": \"Turing\", \"postalCode\": \"54321\"}",
+                "]");
+
+        try (Stream<CustomerInfo> stream = CustomerFiles.stream(file)) {
+            Iterator<CustomerInfo> customers = stream.iterator();
+
+            assertEquals(new CustomerInfo("Ada", "Lovelace", "12345", ""), customers.next(),
+                    "Numbers are read as text and other fields are skipped");
+            CustomerInfo second = customers.next();
+            assertEquals(new CustomerInfo("Alan", "Turing", "54321", ""), second);
+            assertEquals("customers.json#1", second.getOrigin());
+            assertFalse(customers.hasNext());
+            assertFalse(customers.hasNext(), "The end of the array is only consumed once");
+        }
+    }
+
+    @Test
+    public void testJsonMissingFieldIsRejectedWithItsIndex() throws IOException {
+        Path file = write("customers.json",
+                "[{\"firstName\": \"Ada\", \"lastName\": \"Lovelace\", \"postalCode\": \"12345\"},",
+                " {\"firstName\": \"Alan\", \"lastName\": \"Turing\"}]");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> read(file));
+
+        assertEquals("customers.json#1: missing field 'postalCode'", e.getMessage());
+    }
+
+    @Test
+    public void testUnsupportedExtensionIsRejected() throws IOException {
+        Path file = write("customers.txt", "firstName,lastName,postalCode");
+
+        assertThrows(IllegalArgumentException.class, () -> CustomerFiles.stream(file));
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.write(dataDir.resolve(name), List.of(lines));
+    }
+
+    private static List<CustomerInfo> read(Path file) throws IOException {
+        try (Stream<CustomerInfo> customers = CustomerFiles.stream(file)) {
+            return customers.toList();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.saucedemo.data;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates random checkout customers from a seed. A generator is not thread-safe and is meant to be
+ * owned by one thread; use {@link #split()} to hand an independent generator to another thread instead
+ * of sharing one. Every customer is derived from its own seed, recorded in {@link CustomerInfo#getOrigin()},
+ * so a single customer can be recreated with {@link #generate(long)}.
+ */
+public final class CustomerGenerator {
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int FIRST_NAME_LENGTH = 8;
+    private static final int LAST_NAME_LENGTH = 10;
+    private static final int POSTAL_CODE_LENGTH = 5;
+
+    private final SplittableRandom random;
+
+    public CustomerGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private CustomerGenerator(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Generate the next customer.
+     *
+     * @return New customer
+     */
+    public CustomerInfo next() {
+        return generate(random.nextLong());
+    }
+
+    /**
+     * Create an independent generator for another thread. Its sequence is fixed by this generator's
+     * state, so splitting in the same order reproduces the same customers.
+     *
+     * @return New generator
+     */
+    public CustomerGenerator split() {
+        return new CustomerGenerator(random.split());
+    }
+
+    /**
+     * Generate the customer for a seed.
+     *
+     * @param seed Customer seed, as recorded in its origin
+     * @return The same customer for the same seed
+     */
+    public static CustomerInfo generate(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return new CustomerInfo(letters(random, FIRST_NAME_LENGTH), letters(random, LAST_NAME_LENGTH),
+                digits(random, POSTAL_CODE_LENGTH), "seed " + seed);
+    }
+
+    private static String letters(SplittableRandom random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return sb.toString();
+    }
+
+    private static String digits(SplittableRandom random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(random.nextInt(10));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.saucedemo.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for reproducing generated customers from their seeds.
+ */
+public class CustomerGeneratorTest {
+
+    @Test
+    public void testSameSeedGivesTheSameCustomer() {
+        CustomerInfo customer = CustomerGenerator.generate(42L);
+
+        assertEquals(customer, CustomerGenerator.generate(42L));
+        assertEquals("seed 42", customer.getOrigin());
+        assertNotEquals(customer, CustomerGenerator.generate(43L));
+        assertTrue(customer.getFirstName().matches("[A-Za-z]{8}"), customer.getFirstName());
+        assertTrue(customer.getLastName().matches("[A-Za-z]{10}"), customer.getLastName());
+        assertTrue(customer.getPostalCode().matches("[0-9]{5}"), customer.getPostalCode());
+    }
+
+    @Test
+    public void testSameGeneratorSeedGivesTheSameSequence() {
+        assertEquals(customers(new CustomerGenerator(7L), 20), customers(new CustomerGenerator(7L), 20));
+        assertNotEquals(customers(new CustomerGenerator(7L), 20), customers(new CustomerGenerator(8L), 20));
+    }
+
+    @Test
+    public void testEachCustomerCanBeRecreatedFromItsOrigin() {
+        for (CustomerInfo customer : customers(new CustomerGenerator(7L), 20)) {
+            long seed = Long.parseLong(customer.getOrigin().substring("seed ".length()));
+
+            assertEquals(customer, CustomerGenerator.generate(seed));
+        }
+    }
+
+    @Test
+    public void testSplitInTheSameOrderReproducesTheSameCustomers() {
+        CustomerGenerator first = new CustomerGenerator(7L);
+        CustomerGenerator second = new CustomerGenerator(7L);
+
+        List<CustomerInfo> fromFirst = customers(first.split(), 5);
+        fromFirst.addAll(customers(first.split(), 5));
+        fromFirst.addAll(customers(first, 5));
+        List<CustomerInfo> fromSecond = customers(second.split(), 5);
+        fromSecond.addAll(customers(second.split(), 5));
+        fromSecond.addAll(customers(second, 5));
+
+        assertEquals(fromFirst, fromSecond);
+        assertNotEquals(fromFirst.subList(0, 5), fromFirst.subList(5, 10), "Split generators are independent");
+    }
+
+    private static List<CustomerInfo> customers(CustomerGenerator generator, int count) {
+        List<CustomerInfo> customers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            customers.add(generator.next());
+        }
+        return customers;
+    }
+}
@@ -0,0 +1,64 @@
+package com.saucedemo.data;
+
+import java.util.Objects;
+
+/**
+ * Customer details entered on the checkout form, with where they came from so that a failing
+ * iteration can be reproduced: the generator seed, or the file and line they were read from.
+ */
+public final class CustomerInfo {
+    private final String firstName;
+    private final String lastName;
+    private final String postalCode;
+    private final String origin;
+
+    public CustomerInfo(String firstName, String lastName, String postalCode, String origin) {
+        this.firstName = Objects.requireNonNull(firstName, "firstName");
+        this.lastName = Objects.requireNonNull(lastName, "lastName");
+        this.postalCode = Objects.requireNonNull(postalCode, "postalCode");
+        this.origin = origin;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getPostalCode() {
+        return postalCode;
+    }
+
+    /**
+     * Get where the customer came from, e.g. "seed 4711" or "customers.csv:42".
+     *
+     * @return Origin of the data
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CustomerInfo customer)) {
+            return false;
+        }
+        return firstName.equals(customer.firstName) && lastName.equals(customer.lastName)
+                && postalCode.equals(customer.postalCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(firstName, lastName, postalCode);
+    }
+
+    @Override
+    public String toString() {
+        return firstName + " " + lastName + " " + postalCode + " (" + origin + ")";
+    }
+}
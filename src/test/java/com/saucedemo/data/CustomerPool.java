@@ -0,0 +1,58 @@
+package com.saucedemo.data;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * A fixed set of customers filled up front, for many concurrent users. Taking a customer is a single
+ * atomic increment, with no locks and no allocation, so users never wait on each other for test data.
+ * Customers are handed out in order and reused from the start once the pool has been used up.
+ */
+public final class CustomerPool {
+    private final CustomerInfo[] customers;
+    private final AtomicLong next = new AtomicLong();
+
+    private CustomerPool(CustomerInfo[] customers) {
+        this.customers = customers;
+    }
+
+    /**
+     * Fill a pool from a stream of customers, reading no more than the pool size.
+     *
+     * @param source Customers, e.g. from {@link CustomerFiles#stream} or a generator
+     * @param size Maximum number of customers to keep
+     * @return Filled pool
+     * @throws IllegalArgumentException if the source has no customers
+     */
+    public static CustomerPool fill(Stream<CustomerInfo> source, int size) {
+        CustomerInfo[] filled = new CustomerInfo[size];
+        int count = 0;
+        Iterator<CustomerInfo> iterator = source.limit(size).iterator();
+        while (iterator.hasNext()) {
+            filled[count++] = iterator.next();
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("Customer pool source is empty");
+        }
+        if (count < size) {
+            CustomerInfo[] trimmed = new CustomerInfo[count];
+            System.arraycopy(filled, 0, trimmed, 0, count);
+            filled = trimmed;
+        }
+        return new CustomerPool(filled);
+    }
+
+    /**
+     * Take the next customer. Safe to call from any number of threads.
+     *
+     * @return Customer
+     */
+    public CustomerInfo take() {
+        return customers[(int) Long.remainderUnsigned(next.getAndIncrement(), customers.length)];
+    }
+
+    public int size() {
+        return customers.length;
+    }
+}
@@ -0,0 +1,82 @@
+package com.saucedemo.data;
+
+import com.saucedemo.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+/**
+ * Entry point for checkout customer data. All generated data derives from one run seed
+ * (test.data.seed, or a new one logged at startup): each test gets its own generator seeded from
+ * the run seed and its test id, so its customers do not depend on which thread or shard runs it
+ * and rerunning with the same seed reproduces them exactly.
+ */
+public final class TestData {
+    private static final Logger logger = LoggerFactory.getLogger(TestData.class);
+    // Spreads test id hashes over the seed space (golden ratio constant)
+    private static final long SEED_MIX = 0x9E3779B97F4A7C15L;
+    private static final long RUN_SEED = resolveRunSeed();
+
+    private TestData() {
+    }
+
+    /**
+     * Get the seed all generated data of this run derives from.
+     *
+     * @return Run seed
+     */
+    public static long runSeed() {
+        return RUN_SEED;
+    }
+
+    /**
+     * Create the customer generator of a test. The generator belongs to the calling thread.
+     *
+     * @param testId Test id, e.g. "CheckoutTest.testCompleteCheckoutProcess"
+     * @return Generator producing the same customers for the same run seed and test id
+     */
+    public static CustomerGenerator customersFor(String testId) {
+        return new CustomerGenerator(RUN_SEED ^ (testId.hashCode() * SEED_MIX));
+    }
+
+    /**
+     * Get the shared pool for concurrent users, filled on first use from test.data.file,
+     * or generated from the run seed when no file is configured.
+     *
+     * @return Customer pool of test.data.pool.size customers at most
+     */
+    public static CustomerPool customerPool() {
+        return PoolHolder.POOL;
+    }
+
+    private static long resolveRunSeed() {
+        long seed = TestConfig.getTestDataSeed().orElseGet(System::nanoTime);
+        logger.info("Test data seed {} (reproduce with -Dtest.data.seed={})", seed, seed);
+        return seed;
+    }
+
+    private static final class PoolHolder {
+        private static final CustomerPool POOL = createPool();
+
+        private static CustomerPool createPool() {
+            int size = TestConfig.getTestDataPoolSize();
+            String file = TestConfig.getTestDataFile();
+            if (file.isEmpty()) {
+                CustomerGenerator generator = new CustomerGenerator(RUN_SEED);
+                return CustomerPool.fill(Stream.generate(generator::next), size);
+            }
+            Path path = Paths.get(file);
+            try (Stream<CustomerInfo> customers = CustomerFiles.stream(path)) {
+                CustomerPool pool = CustomerPool.fill(customers, size);
+                logger.info("Loaded {} customer(s) from {}", pool.size(), path);
+                return pool;
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read test.data.file " + path + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
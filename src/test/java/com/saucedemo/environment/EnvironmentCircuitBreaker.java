@@ -0,0 +1,334 @@
+package com.saucedemo.environment;
+
+import com.microsoft.playwright.PlaywrightException;
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.telemetry.Metrics;
+import com.saucedemo.watchdog.TestWatchdog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Suite-wide circuit breaker for outages of the environment under test. Responses from the origin of
+ * base.url, requests to it that got no response and failed navigations are recorded as outcomes; once
+ * the last circuit.breaker.window ms hold at least circuit.breaker.min.events of them and the share of
+ * failures reaches circuit.breaker.error.rate, the breaker opens. While it is open, tests that have not
+ * started are skipped by {@link EnvironmentCircuitBreakerExtension} and retried actions give up at once,
+ * instead of every worker waiting out its timeouts and retries. A daemon thread probes base.url every
+ * circuit.breaker.probe.interval ms and closes the breaker as soon as it answers.
+ * <p>
+ * Each outage is remembered from the first outcome of the window that opened the breaker until it closed, so
+ * that tests which failed during it can be left out of the flakiness, run and duration histories.
+ */
+public final class EnvironmentCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(EnvironmentCircuitBreaker.class);
+    private static final boolean ENABLED = TestConfig.isCircuitBreakerEnabled();
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(TestConfig.getCircuitBreakerWindow());
+    private static final int MIN_EVENTS = TestConfig.getCircuitBreakerMinEvents();
+    private static final double ERROR_RATE = TestConfig.getCircuitBreakerErrorRate();
+    private static final String BASE_URL = TestConfig.getBaseUrl();
+    private static final String ORIGIN = originOf(BASE_URL);
+
+    // Outcomes in the window and outages of the run, oldest first; guarded by the class lock
+    private static final OutcomeWindow WINDOW = new OutcomeWindow(WINDOW_NANOS, MIN_EVENTS, ERROR_RATE);
+    private static final List<Outage> OUTAGES = new ArrayList<>();
+    private static long openedAt;
+    private static int openings;
+
+    private static volatile String unavailableReason;
+    private static final AtomicInteger SKIPPED = new AtomicInteger();
+
+    private EnvironmentCircuitBreaker() {
+    }
+
+    /**
+     * Record the response to a request. Only responses from the origin of base.url count; a server
+     * error means the environment is failing, any other status that it is up.
+     *
+     * @param url Request URL
+     * @param status Response status
+     */
+    public static void recordResponse(String url, int status) {
+        if (ENABLED && url.startsWith(ORIGIN)) {
+            record(status >= 500);
+        }
+    }
+
+    /**
+     * Record a request to the origin of base.url that got no response. Navigations are left to
+     * {@link #recordNavigation(String, Supplier)}, which also sees those that time out.
+     *
+     * @param url Request URL
+     * @param navigation Whether the request is a navigation
+     */
+    public static void recordUnanswered(String url, boolean navigation) {
+        if (ENABLED && !navigation && url.startsWith(ORIGIN)) {
+            record(true);
+        }
+    }
+
+    /**
+     * Run a navigation, recording it as failed if it throws. Its response, if any, is recorded along
+     * with the page's other responses.
+     *
+     * @param url URL navigated to
+     * @param navigation The navigation itself
+     * @return Result of the navigation
+     */
+    public static <T> T recordNavigation(String url, Supplier<T> navigation) {
+        try {
+            return navigation.get();
+        } catch (PlaywrightException e) {
+            // A navigation interrupted by the watchdog says nothing about the environment
+            if (ENABLED && url.startsWith(ORIGIN) && !TestWatchdog.isStalled()) {
+                record(true);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Check if the breaker is open, i.e. the environment is considered unavailable.
+     *
+     * @return true while open
+     */
+    public static boolean isOpen() {
+        return unavailableReason != null;
+    }
+
+    /**
+     * Get why the environment is considered unavailable.
+     *
+     * @return Reason, or empty while the breaker is closed
+     */
+    public static Optional<String> unavailableReason() {
+        return Optional.ofNullable(unavailableReason);
+    }
+
+    /**
+     * Check if the environment was failing at any time while a test ran: if the breaker was open, or the
+     * window of outcomes that opened it had begun. Call this once the run's tests have finished, so that
+     * tests that failed just before the breaker opened are caught as well.
+     *
+     * @param startNanos When the test started, from {@link System#nanoTime()}
+     * @param endNanos When the test ended, from {@link System#nanoTime()}
+     * @return true if the test overlapped an outage
+     */
+    public static synchronized boolean wasUnavailableDuring(long startNanos, long endNanos) {
+        for (Outage outage : OUTAGES) {
+            if (outage.overlaps(startNanos, endNanos)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Count a test skipped because the breaker was open.
+     */
+    static void testSkipped() {
+        SKIPPED.incrementAndGet();
+        Metrics.CIRCUIT_BREAKER_EVENTS.inc("test_skipped");
+    }
+
+    /**
+     * Log how often the breaker opened and how many tests it skipped, if it opened at all.
+     */
+    static synchronized void summarize() {
+        if (openings == 0) {
+            return;
+        }
+        logger.warn("Environment circuit breaker opened {} time(s) and skipped {} test(s){}", openings,
+                SKIPPED.get(), isOpen() ? "; " + ORIGIN + " was still unavailable at the end of the run" : "");
+    }
+
+    private static synchronized void record(boolean failed) {
+        if (isOpen()) {
+            // Failures of tests still running when the breaker opened are expected, not news
+            return;
+        }
+        long now = System.nanoTime();
+        if (WINDOW.add(now, failed)) {
+            open(now);
+        }
+    }
+
+    private static void open(long now) {
+        unavailableReason = String.format("Environment unavailable: %d of %d requests to %s failed in the last %d s",
+                WINDOW.failures(), WINDOW.size(), ORIGIN, TimeUnit.NANOSECONDS.toSeconds(WINDOW_NANOS));
+        OUTAGES.add(new Outage(WINDOW.firstNanos()));
+        WINDOW.clear();
+        openedAt = now;
+        openings++;
+        Metrics.CIRCUIT_BREAKER_EVENTS.inc("opened");
+        logger.error("{}; skipping tests that have not started and probing {} every {} ms", unavailableReason,
+                BASE_URL, TestConfig.getCircuitBreakerProbeInterval());
+        Prober.schedule();
+    }
+
+    private static synchronized void close() {
+        unavailableReason = null;
+        OUTAGES.get(OUTAGES.size() - 1).end(System.nanoTime());
+        Metrics.CIRCUIT_BREAKER_EVENTS.inc("closed");
+        logger.info("Environment {} is available again after {} s, running tests again", ORIGIN,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - openedAt));
+    }
+
+    private static String originOf(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * Outcomes recorded in the last window, oldest first, deciding when the breaker opens. Not thread-safe.
+     */
+    static final class OutcomeWindow {
+        private final Deque<Event> events = new ArrayDeque<>();
+        private final long windowNanos;
+        private final int minEvents;
+        private final double errorRate;
+        private int failures;
+
+        OutcomeWindow(long windowNanos, int minEvents, double errorRate) {
+            this.windowNanos = windowNanos;
+            this.minEvents = minEvents;
+            this.errorRate = errorRate;
+        }
+
+        /**
+         * Record an outcome, dropping those that fell out of the window.
+         *
+         * @param nanos When the outcome was recorded, from {@link System#nanoTime()}
+         * @param failed Whether the request failed
+         * @return true if the window now holds enough outcomes with enough failures to open the breaker
+         */
+        boolean add(long nanos, boolean failed) {
+            events.addLast(new Event(nanos, failed));
+            if (failed) {
+                failures++;
+            }
+            while (nanos - events.peekFirst().nanos > windowNanos) {
+                if (events.removeFirst().failed) {
+                    failures--;
+                }
+            }
+            return events.size() >= minEvents && failures >= errorRate * events.size();
+        }
+
+        int size() {
+            return events.size();
+        }
+
+        int failures() {
+            return failures;
+        }
+
+        long firstNanos() {
+            return events.getFirst().nanos;
+        }
+
+        void clear() {
+            events.clear();
+            failures = 0;
+        }
+    }
+
+    /**
+     * One recorded outcome.
+     */
+    private static final class Event {
+        private final long nanos;
+        private final boolean failed;
+
+        private Event(long nanos, boolean failed) {
+            this.nanos = nanos;
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * Time during which the environment was failing. An outage that has not ended lasts until further notice.
+     */
+    static final class Outage {
+        private final long fromNanos;
+        private long toNanos;
+        private boolean ended;
+
+        Outage(long fromNanos) {
+            this.fromNanos = fromNanos;
+        }
+
+        void end(long nanos) {
+            toNanos = nanos;
+            ended = true;
+        }
+
+        boolean overlaps(long startNanos, long endNanos) {
+            // Compared by difference, as nanoTime values may overflow
+            return fromNanos - endNanos <= 0 && (!ended || toNanos - startNanos >= 0);
+        }
+    }
+
+    /**
+     * Single daemon thread probing base.url while the breaker is open, started when it first opens.
+     */
+    private static final class Prober {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "environment-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private static final Duration TIMEOUT = Duration.ofMillis(TestConfig.getCircuitBreakerProbeTimeout());
+        private static final HttpClient CLIENT = HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        private static ScheduledFuture<?> probes;
+
+        private static synchronized void schedule() {
+            if (probes == null || probes.isDone()) {
+                long interval = TestConfig.getCircuitBreakerProbeInterval();
+                probes = EXECUTOR.scheduleWithFixedDelay(Prober::probe, interval, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private static void probe() {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL)).timeout(TIMEOUT).GET().build();
+            try {
+                int status = CLIENT.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status < 500) {
+                    synchronized (Prober.class) {
+                        probes.cancel(false);
+                    }
+                    close();
+                    return;
+                }
+                logger.info("Probe of {} answered {}, environment still unavailable", BASE_URL, status);
+            } catch (IOException e) {
+                logger.info("Probe of {} failed, environment still unavailable: {}", BASE_URL, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            Metrics.CIRCUIT_BREAKER_EVENTS.inc("probe_failed");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.saucedemo.environment;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+/**
+ * Skips tests while the {@link EnvironmentCircuitBreaker} is open, reporting the environment as unavailable
+ * rather than letting each test fail on its own timeouts, and summarizes the breaker once the whole run
+ * has finished. Test classes are never skipped as a whole, so each test reports its own skip.
+ */
+public class EnvironmentCircuitBreakerExtension implements BeforeAllCallback, ExecutionCondition {
+    private static final Logger logger = LoggerFactory.getLogger(EnvironmentCircuitBreakerExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(EnvironmentCircuitBreakerExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("summary",
+                key -> (ExtensionContext.Store.CloseableResource) EnvironmentCircuitBreaker::summarize);
+    }
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (context.getTestMethod().isEmpty()) {
+            return ConditionEvaluationResult.enabled("Not a test");
+        }
+        Optional<String> reason = EnvironmentCircuitBreaker.unavailableReason();
+        if (reason.isEmpty()) {
+            return ConditionEvaluationResult.enabled("Environment available");
+        }
+        EnvironmentCircuitBreaker.testSkipped();
+        logger.warn("Skipping {}: {}", context.getDisplayName(), reason.get());
+        return ConditionEvaluationResult.disabled(reason.get());
+    }
+}
@@ -0,0 +1,82 @@
+package com.saucedemo.environment;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the outcome window and outages of the environment circuit breaker.
+ */
+public class EnvironmentCircuitBreakerTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void testOpensOnceEnoughOutcomesFail() {
+        EnvironmentCircuitBreaker.OutcomeWindow window = window(60 * SECOND, 4, 0.5);
+
+        assertFalse(window.add(0, true));
+        assertFalse(window.add(SECOND, true), "Too few outcomes to judge the environment");
+        assertFalse(window.add(2 * SECOND, false));
+        assertTrue(window.add(3 * SECOND, false), "Half of four outcomes failed");
+        assertEquals(2, window.failures());
+        assertEquals(0, window.firstNanos());
+    }
+
+    @Test
+    public void testMostlySuccessfulOutcomesKeepItClosed() {
+        EnvironmentCircuitBreaker.OutcomeWindow window = window(60 * SECOND, 4, 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            assertFalse(window.add(i * SECOND, i % 4 == 0));
+        }
+    }
+
+    @Test
+    public void testOutcomesFallOutOfTheWindow() {
+        EnvironmentCircuitBreaker.OutcomeWindow window = window(10 * SECOND, 3, 0.5);
+        window.add(0, true);
+        window.add(SECOND, true);
+
+        assertFalse(window.add(20 * SECOND, true), "Earlier failures are too old to count");
+        assertEquals(1, window.size());
+        assertEquals(1, window.failures());
+        assertEquals(20 * SECOND, window.firstNanos());
+
+        window.clear();
+        assertEquals(0, window.size());
+        assertEquals(0, window.failures());
+    }
+
+    @Test
+    public void testOngoingOutageOverlapsEverythingAfterItsStart() {
+        EnvironmentCircuitBreaker.Outage outage = new EnvironmentCircuitBreaker.Outage(10 * SECOND);
+
+        assertFalse(outage.overlaps(0, 5 * SECOND), "Tests that ended before the outage are unaffected");
+        assertTrue(outage.overlaps(5 * SECOND, 10 * SECOND));
+        assertTrue(outage.overlaps(100 * SECOND, 200 * SECOND));
+    }
+
+    @Test
+    public void testEndedOutageOverlapsOnlyItsOwnTime() {
+        EnvironmentCircuitBreaker.Outage outage = new EnvironmentCircuitBreaker.Outage(10 * SECOND);
+        outage.end(20 * SECOND);
+
+        assertTrue(outage.overlaps(5 * SECOND, 15 * SECOND));
+        assertTrue(outage.overlaps(12 * SECOND, 13 * SECOND));
+        assertTrue(outage.overlaps(20 * SECOND, 30 * SECOND));
+        assertFalse(outage.overlaps(21 * SECOND, 30 * SECOND), "Tests that started after the outage are unaffected");
+    }
+
+    @Test
+    public void testOverlapSurvivesNanoTimeOverflow() {
+        EnvironmentCircuitBreaker.Outage outage = new EnvironmentCircuitBreaker.Outage(Long.MAX_VALUE - SECOND);
+        outage.end(Long.MAX_VALUE + SECOND);
+
+        assertTrue(outage.overlaps(Long.MAX_VALUE, Long.MAX_VALUE + 2 * SECOND));
+        assertFalse(outage.overlaps(Long.MAX_VALUE + 2 * SECOND, Long.MAX_VALUE + 3 * SECOND));
+    }
+
+    private static EnvironmentCircuitBreaker.OutcomeWindow window(long windowNanos, int minEvents, double errorRate) {
+        return new EnvironmentCircuitBreaker.OutcomeWindow(windowNanos, minEvents, errorRate);
+    }
+}
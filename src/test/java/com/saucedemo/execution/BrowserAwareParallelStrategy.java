@@ -0,0 +1,102 @@
+package com.saucedemo.execution;
+
+import com.saucedemo.browser.BrowserMatrix;
+import com.saucedemo.config.TestConfig;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Sizes the JUnit worker pool from CPU cores and the memory each worker's browsers need.
+ * {@link com.saucedemo.browser.WorkerBrowserPool} keeps up to one browser per worker and browser matrix cell,
+ * so more workers than the machine can hold in memory would only cause swapping and timeouts.
+ */
+public class BrowserAwareParallelStrategy implements ParallelExecutionConfigurationStrategy {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserAwareParallelStrategy.class);
+    private static final long MB = 1024L * 1024L;
+    private static final double MEMORY_HEADROOM = 0.75;
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int parallelism = computeParallelism();
+        logger.info("Parallel execution with {} worker(s)", parallelism);
+        return new Configuration(parallelism);
+    }
+
+    /**
+     * Compute the number of workers from configuration, cores and available memory.
+     *
+     * @return Number of parallel workers, at least 1
+     */
+    public static int computeParallelism() {
+        int configured = TestConfig.getParallelMaxWorkers();
+        if (configured > 0) {
+            return configured;
+        }
+
+        int byCpu = Runtime.getRuntime().availableProcessors();
+        // A worker may end up running tests of every cell, and keeps each cell's browser open
+        long perWorkerBytes = TestConfig.getParallelMemoryPerBrowserMb() * MB * BrowserMatrix.cells().size();
+        long browserBudget = (long) ((totalPhysicalMemory() - Runtime.getRuntime().maxMemory()) * MEMORY_HEADROOM);
+        int byMemory = perWorkerBytes > 0 ? (int) Math.max(1, browserBudget / perWorkerBytes) : byCpu;
+
+        logger.debug("Parallelism limits: {} by CPU, {} by memory", byCpu, byMemory);
+        return Math.max(1, Math.min(byCpu, byMemory));
+    }
+
+    private static long totalPhysicalMemory() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getTotalMemorySize();
+        }
+        return Runtime.getRuntime().maxMemory() * 4;
+    }
+
+    /**
+     * Fixed-size configuration. The pool may not grow beyond the parallelism,
+     * since every additional thread would launch another browser.
+     */
+    private static final class Configuration implements ParallelExecutionConfiguration {
+        private final int parallelism;
+
+        Configuration(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return 0;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return KEEP_ALIVE_SECONDS;
+        }
+
+        @Override
+        public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+            return pool -> true;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.saucedemo.execution;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.Comparator;
+
+/**
+ * Orders test classes longest-first by the sum of their methods' historical durations.
+ * Classes without history are scheduled first; with no history at all the default order is kept.
+ */
+public class DurationClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        TestDurationHistory history = TestDurationHistory.shared();
+        if (history.isEmpty()) {
+            return;
+        }
+        context.getClassDescriptors().sort(Comparator.comparingLong(
+                (ClassDescriptor descriptor) -> history
+                        .durationOfClass(descriptor.getTestClass().getSimpleName())
+                        .orElse(Long.MAX_VALUE))
+                .reversed());
+    }
+}
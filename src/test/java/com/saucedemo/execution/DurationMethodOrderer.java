@@ -0,0 +1,29 @@
+package com.saucedemo.execution;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import java.util.Comparator;
+
+/**
+ * Orders test methods longest-first using durations from previous runs, so long journeys
+ * start early instead of becoming the tail of a parallel run.
+ * Methods without history are scheduled first; with no history at all the default order is kept.
+ */
+public class DurationMethodOrderer implements MethodOrderer {
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        TestDurationHistory history = TestDurationHistory.shared();
+        if (history.isEmpty()) {
+            return;
+        }
+        String className = context.getTestClass().getSimpleName();
+        context.getMethodDescriptors().sort(Comparator.comparingLong(
+                (MethodDescriptor descriptor) -> history
+                        .durationOf(className + "." + descriptor.getMethod().getName())
+                        .orElse(Long.MAX_VALUE))
+                .reversed());
+    }
+}
@@ -0,0 +1,62 @@
+package com.saucedemo.execution;
+
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.impact.ChangeSet;
+import com.saucedemo.impact.CoverageMap;
+import com.saucedemo.impact.ImpactSelection;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Keeps only the tests a change can affect when run with {@code -Dimpact.base=<git revision>}, e.g.
+ * {@code -Dimpact.base=origin/main}. The change is the diff of the working tree against that revision,
+ * matched against the page-object footprints recorded by earlier runs; see {@link ImpactSelection}.
+ * Registered through META-INF/services next to {@link ShardFilter}. Without the property all tests run.
+ */
+public class ImpactFilter implements PostDiscoveryFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ImpactFilter.class);
+
+    public static final String BASE_PROPERTY = "impact.base";
+
+    private final ImpactSelection selection;
+
+    public ImpactFilter() {
+        String base = System.getProperty(BASE_PROPERTY, "").trim();
+        if (base.isEmpty()) {
+            this.selection = null;
+            return;
+        }
+        ChangeSet changes = ChangeSet.fromGit(base);
+        CoverageMap coverage = CoverageMap.load(Paths.get(TestConfig.getHistoryDir()).resolve(CoverageMap.FILE_NAME));
+        if (coverage.isEmpty()) {
+            logger.warn("No page-object footprints recorded yet, every test will run");
+        }
+        this.selection = ImpactSelection.of(changes, coverage);
+        logger.info("Impact selection against {}: {} changed file(s) affect {}", base, changes.getFiles().size(),
+                selection.describe());
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (selection == null || !ShardFilter.isTestMethod(descriptor)) {
+            return FilterResult.included("Impact selection disabled or container");
+        }
+        Optional<String> testId = ShardFilter.testIdOf(descriptor);
+        if (testId.isEmpty()) {
+            return FilterResult.included("No method source");
+        }
+        Optional<String> reason = selection.reasonToRun(testId.get());
+        if (reason.isPresent()) {
+            logger.info("Selected {}: {}", testId.get(), reason.get());
+            return FilterResult.included(reason.get());
+        }
+        logger.debug("Skipped {}: not affected by the change", testId.get());
+        return FilterResult.excluded("Not affected by the change");
+    }
+}
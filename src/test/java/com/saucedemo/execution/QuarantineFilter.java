@@ -0,0 +1,46 @@
+package com.saucedemo.execution;
+
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.flaky.FlakinessHistory;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+/**
+ * Separates quarantined tests, those tagged "quarantine" or scoring above flaky.quarantine.threshold in
+ * {@link FlakinessHistory}, from the rest. With flaky.quarantine.mode=exclude they are left out of the run;
+ * with only, nothing else runs, so they can run in a separate pass that does not block the build.
+ * Registered through META-INF/services next to {@link ShardFilter}.
+ */
+public class QuarantineFilter implements PostDiscoveryFilter {
+    private static final Logger logger = LoggerFactory.getLogger(QuarantineFilter.class);
+
+    public static final TestTag QUARANTINE_TAG = TestTag.create("quarantine");
+
+    private final String mode = TestConfig.getFlakyQuarantineMode();
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (mode.equals("all") || !ShardFilter.isTestMethod(descriptor)) {
+            return FilterResult.included("Quarantine not applied or container");
+        }
+        Optional<String> testId = ShardFilter.testIdOf(descriptor);
+        if (testId.isEmpty()) {
+            return FilterResult.included("No method source");
+        }
+        boolean quarantined = descriptor.getTags().contains(QUARANTINE_TAG)
+                || FlakinessHistory.shared().isMethodQuarantined(testId.get());
+        if (quarantined) {
+            logger.info("{} is quarantined, {}", testId.get(), mode.equals("only") ? "running it" : "skipping it");
+        }
+        if (quarantined == mode.equals("only")) {
+            return FilterResult.included(quarantined ? "Quarantined" : "Not quarantined");
+        }
+        return FilterResult.excluded(quarantined ? "Quarantined" : "Not quarantined");
+    }
+}
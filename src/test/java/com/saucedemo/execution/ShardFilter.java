@@ -0,0 +1,107 @@
+package com.saucedemo.execution;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps only the tests assigned to this shard when run with
+ * {@code -Dshard.index=i -Dshard.total=n}. Registered through
+ * META-INF/services so it applies to every launcher, including Surefire's.
+ * Without those properties all tests run.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ShardFilter.class);
+
+    public static final String SHARD_INDEX_PROPERTY = "shard.index";
+    public static final String SHARD_TOTAL_PROPERTY = "shard.total";
+    // Where a shard saves its own durations instead of the shared history, see ShardReportMerger
+    public static final String SHARD_DURATIONS_FILE_PROPERTY = "shard.durations.file";
+
+    private final int index;
+    private final int total;
+    private final Map<UniqueId, ShardPlan> plans = new ConcurrentHashMap<>();
+
+    public ShardFilter() {
+        this.total = Integer.getInteger(SHARD_TOTAL_PROPERTY, 1);
+        this.index = Integer.getInteger(SHARD_INDEX_PROPERTY, 0);
+        if (total < 1 || index < 0 || index >= total) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid shard configuration: %s=%d, %s=%d", SHARD_INDEX_PROPERTY, index,
+                    SHARD_TOTAL_PROPERTY, total));
+        }
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (total == 1 || !isTestMethod(descriptor)) {
+            return FilterResult.included("Sharding disabled or container");
+        }
+        Optional<String> testId = testIdOf(descriptor);
+        if (testId.isEmpty()) {
+            return FilterResult.included("No method source");
+        }
+
+        ShardPlan plan = plans.computeIfAbsent(rootOf(descriptor).getUniqueId(), id -> createPlan(descriptor));
+        return plan.isAssigned(testId.get(), index)
+                ? FilterResult.included("Assigned to shard " + index)
+                : FilterResult.excluded("Assigned to another shard");
+    }
+
+    private ShardPlan createPlan(TestDescriptor descriptor) {
+        List<String> testIds = new ArrayList<>();
+        rootOf(descriptor).accept(candidate -> {
+            if (isTestMethod(candidate)) {
+                testIdOf(candidate).ifPresent(testIds::add);
+            }
+        });
+        ShardPlan plan = ShardPlan.create(testIds, total, TestDurationHistory.shared());
+        logger.info("Shard {}/{}: {} of {} test(s), planned {} ms", index + 1, total,
+                plan.testCount(index), testIds.size(), plan.plannedMillis(index));
+        return plan;
+    }
+
+    /**
+     * Check if a descriptor is a test method: a plain test, or a {@link com.saucedemo.browser.BrowserTest}
+     * template whose browser invocations are only created at execution time and stay on one shard.
+     */
+    static boolean isTestMethod(TestDescriptor descriptor) {
+        boolean parentIsMethod = descriptor.getParent()
+                .flatMap(TestDescriptor::getSource)
+                .filter(MethodSource.class::isInstance)
+                .isPresent();
+        return descriptor.getSource().filter(MethodSource.class::isInstance).isPresent() && !parentIsMethod;
+    }
+
+    private static TestDescriptor rootOf(TestDescriptor descriptor) {
+        TestDescriptor current = descriptor;
+        while (current.getParent().isPresent()) {
+            current = current.getParent().get();
+        }
+        return current;
+    }
+
+    /**
+     * Build the "SimpleClassName.methodName" id used by the duration history.
+     */
+    static Optional<String> testIdOf(TestDescriptor descriptor) {
+        Optional<TestSource> source = descriptor.getSource();
+        if (source.isEmpty() || !(source.get() instanceof MethodSource methodSource)) {
+            return Optional.empty();
+        }
+        String className = methodSource.getClassName();
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        return Optional.of(simpleName + "." + methodSource.getMethodName());
+    }
+}
@@ -0,0 +1,112 @@
+package com.saucedemo.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Splits tests across shards so every shard gets roughly the same wall-clock time.
+ * Uses the longest-processing-time-first greedy rule: tests are taken longest first and each is
+ * given to the currently least-loaded shard. Tests without history are assumed to take the median
+ * known duration. The plan is deterministic, so every shard computes the same assignment
+ * as long as they read the same duration history.
+ */
+public final class ShardPlan {
+    private static final long DEFAULT_DURATION_MS = 10_000;
+
+    private final int total;
+    private final Map<String, Integer> assignment;
+    private final long[] plannedMillis;
+
+    private ShardPlan(int total, Map<String, Integer> assignment, long[] plannedMillis) {
+        this.total = total;
+        this.assignment = assignment;
+        this.plannedMillis = plannedMillis;
+    }
+
+    /**
+     * Build a plan for a set of tests.
+     *
+     * @param testIds Test ids in the form "ClassName.methodName"
+     * @param total Number of shards
+     * @param history Historical durations
+     * @return Shard assignment for every test
+     */
+    public static ShardPlan create(Collection<String> testIds, int total, TestDurationHistory history) {
+        if (total < 1) {
+            throw new IllegalArgumentException("Shard total must be positive: " + total);
+        }
+        long fallback = medianDuration(testIds, history);
+
+        List<String> ordered = new ArrayList<>(testIds);
+        Map<String, Long> durations = new HashMap<>();
+        ordered.forEach(testId -> durations.put(testId, history.durationOf(testId).orElse(fallback)));
+        ordered.sort(Comparator.<String>comparingLong(durations::get).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        long[] load = new long[total];
+        Map<String, Integer> assignment = new HashMap<>();
+        for (String testId : ordered) {
+            int target = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (load[shard] < load[target]) {
+                    target = shard;
+                }
+            }
+            assignment.put(testId, target);
+            load[target] += durations.get(testId);
+        }
+        return new ShardPlan(total, assignment, load);
+    }
+
+    /**
+     * Check if a test belongs to a shard.
+     *
+     * @param testId Test id
+     * @param index Zero-based shard index
+     * @return true if the test is assigned to the shard, false otherwise
+     */
+    public boolean isAssigned(String testId, int index) {
+        Integer shard = assignment.get(testId);
+        // Tests unknown at planning time are spread by hash so none is lost or run twice
+        int effective = shard != null ? shard : Math.floorMod(testId.hashCode(), total);
+        return effective == index;
+    }
+
+    /**
+     * Get the planned total duration of a shard.
+     *
+     * @param index Zero-based shard index
+     * @return Sum of expected test durations in milliseconds
+     */
+    public long plannedMillis(int index) {
+        return plannedMillis[index];
+    }
+
+    /**
+     * Get the number of tests assigned to a shard.
+     *
+     * @param index Zero-based shard index
+     * @return Number of tests
+     */
+    public long testCount(int index) {
+        return assignment.values().stream().filter(shard -> shard == index).count();
+    }
+
+    private static long medianDuration(Collection<String> testIds, TestDurationHistory history) {
+        List<Long> known = new ArrayList<>();
+        for (String testId : testIds) {
+            OptionalLong duration = history.durationOf(testId);
+            duration.ifPresent(known::add);
+        }
+        if (known.isEmpty()) {
+            return DEFAULT_DURATION_MS;
+        }
+        known.sort(Comparator.naturalOrder());
+        return known.get(known.size() / 2);
+    }
+}
@@ -0,0 +1,87 @@
+package com.saucedemo.execution;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the duration-balanced shard assignment.
+ */
+public class ShardPlanTest {
+    private static final List<String> TESTS = List.of("A.one", "A.two", "B.one", "B.two");
+
+    @TempDir
+    Path historyDir;
+
+    @Test
+    public void testLongestTestsAreSpreadFirst() throws IOException {
+        TestDurationHistory history = historyOf("A.one=9000", "A.two=5000", "B.one=4000", "B.two=1000");
+
+        ShardPlan plan = ShardPlan.create(TESTS, 2, history);
+
+        // 9000 and 5000 go to different shards, 4000 joins the lighter one, 1000 breaks the tie at shard 0
+        assertTrue(plan.isAssigned("A.one", 0));
+        assertTrue(plan.isAssigned("A.two", 1));
+        assertTrue(plan.isAssigned("B.one", 1));
+        assertTrue(plan.isAssigned("B.two", 0));
+        assertEquals(10_000, plan.plannedMillis(0));
+        assertEquals(9_000, plan.plannedMillis(1));
+        assertEquals(2, plan.testCount(0));
+        assertEquals(2, plan.testCount(1));
+    }
+
+    @Test
+    public void testTestsWithoutHistoryAssumeTheMedian() throws IOException {
+        TestDurationHistory history = historyOf("A.one=1000", "A.two=3000", "B.one=8000");
+
+        ShardPlan plan = ShardPlan.create(TESTS, 1, history);
+
+        assertEquals(1000 + 3000 + 8000 + 3000, plan.plannedMillis(0));
+    }
+
+    @Test
+    public void testEveryTestIsAssignedToExactlyOneShard() throws IOException {
+        ShardPlan plan = ShardPlan.create(TESTS, 3, historyOf());
+
+        for (String testId : List.of("A.one", "A.two", "B.one", "B.two", "C.unknownAtPlanningTime")) {
+            int shards = 0;
+            for (int index = 0; index < 3; index++) {
+                if (plan.isAssigned(testId, index)) {
+                    shards++;
+                }
+            }
+            assertEquals(1, shards, testId + " should be assigned to exactly one shard");
+        }
+    }
+
+    @Test
+    public void testPlanIsDeterministic() throws IOException {
+        TestDurationHistory history = historyOf("A.one=2000", "A.two=2000", "B.one=2000", "B.two=2000");
+
+        ShardPlan first = ShardPlan.create(TESTS, 2, history);
+        ShardPlan second = ShardPlan.create(List.of("B.two", "B.one", "A.two", "A.one"), 2, history);
+
+        for (String testId : TESTS) {
+            assertEquals(first.isAssigned(testId, 0), second.isAssigned(testId, 0), testId);
+        }
+    }
+
+    @Test
+    public void testShardTotalMustBePositive() throws IOException {
+        TestDurationHistory history = historyOf();
+
+        assertThrows(IllegalArgumentException.class, () -> ShardPlan.create(TESTS, 0, history));
+    }
+
+    private TestDurationHistory historyOf(String... durations) throws IOException {
+        Path file = historyDir.resolve("durations.properties");
+        Files.write(file, List.of(durations));
+        return TestDurationHistory.load(file);
+    }
+}
@@ -0,0 +1,200 @@
+package com.saucedemo.execution;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Merges the Surefire XML reports and duration files of several shard runs into one report.
+ * Usage: {@code java com.saucedemo.execution.ShardReportMerger <outputDir> <shardDir>...}
+ * where each shard directory contains TEST-*.xml files and optionally the durations.properties the shard
+ * saved with {@code -Dshard.durations.file} and a wall-millis.txt with its wall-clock time.
+ * The merged durations are then saved into the duration history, like those of a single run.
+ * Also writes shard-balance.txt comparing the time of each shard.
+ */
+public final class ShardReportMerger {
+    private static final String[] COUNTERS = {"tests", "failures", "errors", "skipped"};
+    private static final String DURATIONS_FILE = "durations.properties";
+    private static final String WALL_TIME_FILE = "wall-millis.txt";
+
+    private final DocumentBuilder documentBuilder;
+    private final Map<String, Document> mergedSuites = new TreeMap<>();
+    private final Map<String, Long> mergedDurations = new TreeMap<>();
+    private final Map<Path, ShardTotals> shardTotals = new LinkedHashMap<>();
+
+    private ShardReportMerger() throws ParserConfigurationException {
+        this.documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardReportMerger <outputDir> <shardDir>...");
+            System.exit(2);
+        }
+        Path outputDir = Paths.get(args[0]);
+        List<Path> shardDirs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            shardDirs.add(Paths.get(args[i]));
+        }
+        merge(outputDir, shardDirs);
+        System.out.println("Merged " + shardDirs.size() + " shard(s) into " + outputDir);
+    }
+
+    /**
+     * Merge shard outputs into a directory.
+     *
+     * @param outputDir Directory for the merged TEST-*.xml, durations.properties and shard-balance.txt
+     * @param shardDirs Directories produced by individual shards
+     */
+    public static void merge(Path outputDir, List<Path> shardDirs) throws Exception {
+        ShardReportMerger merger = new ShardReportMerger();
+        for (Path shardDir : shardDirs) {
+            merger.readShard(shardDir);
+        }
+        Files.createDirectories(outputDir);
+        merger.writeSuites(outputDir);
+        merger.writeDurations(outputDir.resolve(DURATIONS_FILE));
+        merger.writeBalance(outputDir.resolve("shard-balance.txt"));
+        merger.saveToHistory();
+    }
+
+    private void readShard(Path shardDir) throws IOException, SAXException {
+        ShardTotals totals = new ShardTotals();
+        try (DirectoryStream<Path> reports = Files.newDirectoryStream(shardDir, "TEST-*.xml")) {
+            for (Path report : reports) {
+                Element suite = documentBuilder.parse(report.toFile()).getDocumentElement();
+                totals.tests += suite.getElementsByTagName("testcase").getLength();
+                totals.suiteSeconds += parseDouble(suite.getAttribute("time"));
+                mergeSuite(suite);
+            }
+        }
+        Path wallTime = shardDir.resolve(WALL_TIME_FILE);
+        if (Files.exists(wallTime)) {
+            totals.wallSeconds = Long.parseLong(Files.readString(wallTime).trim()) / 1000.0;
+        }
+        shardTotals.put(shardDir, totals);
+
+        // Every test runs on one shard only, so the shards' durations never overlap
+        mergedDurations.putAll(TestDurationHistory.readFile(shardDir.resolve(DURATIONS_FILE)));
+    }
+
+    private void mergeSuite(Element suite) {
+        String name = suite.getAttribute("name");
+        Document merged = mergedSuites.get(name);
+        if (merged == null) {
+            merged = documentBuilder.newDocument();
+            merged.appendChild(merged.importNode(suite, true));
+            mergedSuites.put(name, merged);
+            return;
+        }
+
+        Element target = merged.getDocumentElement();
+        for (String counter : COUNTERS) {
+            int sum = parseInt(target.getAttribute(counter)) + parseInt(suite.getAttribute(counter));
+            target.setAttribute(counter, String.valueOf(sum));
+        }
+        double time = parseDouble(target.getAttribute("time")) + parseDouble(suite.getAttribute("time"));
+        target.setAttribute("time", String.format(Locale.ROOT, "%.3f", time));
+
+        NodeList testCases = suite.getElementsByTagName("testcase");
+        for (int i = 0; i < testCases.getLength(); i++) {
+            target.appendChild(merged.importNode(testCases.item(i), true));
+        }
+    }
+
+    private void writeSuites(Path outputDir) throws IOException, TransformerException {
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        for (Map.Entry<String, Document> entry : mergedSuites.entrySet()) {
+            try (OutputStream output = Files.newOutputStream(outputDir.resolve("TEST-" + entry.getKey() + ".xml"))) {
+                transformer.transform(new DOMSource(entry.getValue()), new StreamResult(output));
+            }
+        }
+    }
+
+    private void writeDurations(Path file) throws IOException {
+        if (mergedDurations.isEmpty()) {
+            return;
+        }
+        Properties properties = new Properties();
+        mergedDurations.forEach((testId, millis) -> properties.setProperty(testId, String.valueOf(millis)));
+        try (OutputStream output = Files.newOutputStream(file)) {
+            properties.store(output, "Merged test durations in milliseconds");
+        }
+    }
+
+    private void saveToHistory() {
+        if (mergedDurations.isEmpty()) {
+            return;
+        }
+        TestDurationHistory history = TestDurationHistory.shared();
+        mergedDurations.forEach(history::record);
+        history.save();
+    }
+
+    private void writeBalance(Path file) throws IOException {
+        // Classes run in parallel within a shard, so summed suite times overstate how long a shard took
+        boolean wallTimeKnown = !shardTotals.isEmpty()
+                && shardTotals.values().stream().allMatch(totals -> totals.wallSeconds >= 0);
+        ToDoubleFunction<ShardTotals> measure = wallTimeKnown ? totals -> totals.wallSeconds
+                : totals -> totals.suiteSeconds;
+        double longest = shardTotals.values().stream().mapToDouble(measure).max().orElse(0);
+        double sum = shardTotals.values().stream().mapToDouble(measure).sum();
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println("shard\ttests\twall seconds\tsummed suite seconds");
+            shardTotals.forEach((shardDir, totals) -> writer.printf(Locale.ROOT, "%s\t%d\t%s\t%.3f%n",
+                    shardDir, totals.tests, totals.describeWallTime(), totals.suiteSeconds));
+            double mean = shardTotals.isEmpty() ? 0 : sum / shardTotals.size();
+            writer.printf(Locale.ROOT, "By %s: longest=%.3f mean=%.3f imbalance=%.1f%%%n",
+                    wallTimeKnown ? "wall time" : "summed suite time", longest, mean,
+                    mean > 0 ? (longest / mean - 1) * 100 : 0);
+        }
+    }
+
+    /**
+     * Test count and times of one shard; the wall time is negative when the shard did not record it.
+     */
+    private static final class ShardTotals {
+        private long tests;
+        private double suiteSeconds;
+        private double wallSeconds = -1;
+
+        String describeWallTime() {
+            return wallSeconds >= 0 ? String.format(Locale.ROOT, "%.3f", wallSeconds) : "-";
+        }
+    }
+
+    private static int parseInt(String value) {
+        return value == null || value.isEmpty() ? 0 : Integer.parseInt(value);
+    }
+
+    private static double parseDouble(String value) {
+        return value == null || value.isEmpty() ? 0 : Double.parseDouble(value.replace(",", ""));
+    }
+}
@@ -0,0 +1,229 @@
+package com.saucedemo.execution;
+
+import com.saucedemo.browser.BrowserCell;
+import com.saucedemo.browser.BrowserMatrix;
+import com.saucedemo.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-test durations from previous runs, stored as "ClassName.methodName=millis" in a local file.
+ * Durations are smoothed with an exponential moving average so a single slow run does not
+ * reorder the whole suite. Several JVMs may save at once; writes are serialized with a file lock.
+ */
+public final class TestDurationHistory {
+    private static final Logger logger = LoggerFactory.getLogger(TestDurationHistory.class);
+    private static final String FILE_NAME = "durations.properties";
+    private static final double SMOOTHING = 0.5;
+
+    private static volatile TestDurationHistory shared;
+
+    private final Path file;
+    private final Map<String, Long> history;
+    private final Map<String, Long> currentRun = new ConcurrentHashMap<>();
+
+    private TestDurationHistory(Path file, Map<String, Long> history) {
+        this.file = file;
+        this.history = history;
+    }
+
+    /**
+     * Get the history for the configured history directory, loading it on first use.
+     *
+     * @return Shared history instance
+     */
+    public static TestDurationHistory shared() {
+        if (shared == null) {
+            synchronized (TestDurationHistory.class) {
+                if (shared == null) {
+                    shared = load(Paths.get(TestConfig.getHistoryDir()).resolve(FILE_NAME));
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Load durations from a file. A missing or unreadable file yields an empty history.
+     *
+     * @param file Durations file
+     * @return History backed by the file
+     */
+    public static TestDurationHistory load(Path file) {
+        return new TestDurationHistory(file, readFile(file));
+    }
+
+    /**
+     * Check if any durations have been recorded by previous runs.
+     *
+     * @return true if there is no history, false otherwise
+     */
+    public boolean isEmpty() {
+        return history.isEmpty();
+    }
+
+    /**
+     * Get the historical duration of a test method, summed over the cells of the current browser matrix.
+     *
+     * @param testId Test id in the form "ClassName.methodName"
+     * @return Duration in milliseconds, or empty if the test has no history
+     */
+    public OptionalLong durationOf(String testId) {
+        long total = 0;
+        boolean found = false;
+        for (BrowserCell cell : BrowserMatrix.cells()) {
+            Long millis = history.get(cell.qualify(testId));
+            if (millis != null) {
+                total += millis;
+                found = true;
+            }
+        }
+        return found ? OptionalLong.of(total) : OptionalLong.empty();
+    }
+
+    /**
+     * Get the total historical duration of all tests of a class.
+     *
+     * @param className Simple name of the test class
+     * @return Sum of known method durations, or empty if none are known
+     */
+    public OptionalLong durationOfClass(String className) {
+        String prefix = className + ".";
+        long total = 0;
+        boolean found = false;
+        for (Map.Entry<String, Long> entry : history.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                total += entry.getValue();
+                found = true;
+            }
+        }
+        return found ? OptionalLong.of(total) : OptionalLong.empty();
+    }
+
+    /**
+     * Get all historical durations.
+     *
+     * @return Unmodifiable map of test ids to durations in milliseconds
+     */
+    public Map<String, Long> all() {
+        return Map.copyOf(history);
+    }
+
+    /**
+     * Record the duration of a test in the current run.
+     *
+     * @param testId Test id in the form "ClassName.methodName"
+     * @param millis Duration in milliseconds
+     */
+    public void record(String testId, long millis) {
+        currentRun.put(testId, millis);
+    }
+
+    /**
+     * Save the current run: into the shard's own file when {@link ShardFilter#SHARD_DURATIONS_FILE_PROPERTY}
+     * is set, so shards running side by side keep planning from the same history, otherwise into the history.
+     */
+    public void saveRun() {
+        String shardFile = System.getProperty(ShardFilter.SHARD_DURATIONS_FILE_PROPERTY, "");
+        if (shardFile.isBlank()) {
+            save();
+            return;
+        }
+        if (currentRun.isEmpty()) {
+            return;
+        }
+        Path target = Paths.get(shardFile);
+        try {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            writeFile(target, new TreeMap<>(currentRun), "Test durations of one shard in milliseconds");
+            logger.info("Saved {} test duration(s) of this shard to {}", currentRun.size(), target);
+        } catch (IOException e) {
+            logger.warn("Failed to save shard test durations to {}: {}", target, e.getMessage());
+        }
+    }
+
+    /**
+     * Merge the current run into the file on disk.
+     */
+    public void save() {
+        if (currentRun.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path lockFile = file.resolveSibling(FILE_NAME + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    // Re-read under the lock so concurrent forks don't overwrite each other
+                    Map<String, Long> merged = new TreeMap<>(readFile(file));
+                    currentRun.forEach((testId, millis) -> merged.merge(testId, millis,
+                            (previous, latest) -> Math.round(previous * (1 - SMOOTHING) + latest * SMOOTHING)));
+                    writeFile(file, merged, "Test durations in milliseconds (moving average)");
+                } finally {
+                    lock.release();
+                }
+            }
+            logger.info("Saved {} test duration(s) to {}", currentRun.size(), file);
+            // Re-runs of failed tests save again; each duration is averaged in only once
+            currentRun.clear();
+        } catch (IOException e) {
+            logger.warn("Failed to save test durations to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void writeFile(Path target, Map<String, Long> durations, String comment) throws IOException {
+        Properties properties = new Properties();
+        durations.forEach((testId, millis) -> properties.setProperty(testId, String.valueOf(millis)));
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            properties.store(output, comment);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read a durations file, e.g. one written by a shard.
+     *
+     * @param file Durations file
+     * @return Test ids mapped to milliseconds; empty if the file is missing or unreadable
+     */
+    static Map<String, Long> readFile(Path file) {
+        Map<String, Long> durations = new ConcurrentHashMap<>();
+        if (!Files.exists(file)) {
+            return durations;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (IOException e) {
+            logger.warn("Failed to read test durations from {}: {}", file, e.getMessage());
+            return durations;
+        }
+        for (String testId : properties.stringPropertyNames()) {
+            try {
+                durations.put(testId, Long.parseLong(properties.getProperty(testId).trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid duration for {}: {}", testId, properties.getProperty(testId));
+            }
+        }
+        return durations;
+    }
+}
@@ -0,0 +1,89 @@
+package com.saucedemo.execution;
+
+import com.saucedemo.browser.BrowserMatrix;
+import com.saucedemo.environment.EnvironmentCircuitBreaker;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each test including its setup and teardown, and saves the durations
+ * to {@link TestDurationHistory} once the whole run has finished. Tests that failed while the
+ * {@link EnvironmentCircuitBreaker} found the environment unavailable, typically waiting out timeouts,
+ * are left out.
+ */
+public class TestDurationRecorder implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(TestDurationRecorder.class);
+    private static final String START_KEY = "start";
+
+    // Failed tests, recorded at the end of the run once it is known whether the environment was failing
+    private static final Queue<FailedTest> FAILED = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("history",
+                key -> (ExtensionContext.Store.CloseableResource) TestDurationRecorder::save);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove(START_KEY, Long.class);
+        if (start == null) {
+            return;
+        }
+        long end = System.nanoTime();
+        if (context.getExecutionException().isPresent()) {
+            FAILED.add(new FailedTest(testIdOf(context), start, end));
+            return;
+        }
+        TestDurationHistory.shared().record(testIdOf(context), TimeUnit.NANOSECONDS.toMillis(end - start));
+    }
+
+    private static void save() {
+        TestDurationHistory history = TestDurationHistory.shared();
+        for (FailedTest test = FAILED.poll(); test != null; test = FAILED.poll()) {
+            if (!EnvironmentCircuitBreaker.wasUnavailableDuring(test.startNanos, test.endNanos)) {
+                history.record(test.testId, TimeUnit.NANOSECONDS.toMillis(test.endNanos - test.startNanos));
+            }
+        }
+        history.saveRun();
+    }
+
+    /**
+     * Build the test id used by the history, matching BaseTest's "ClassName.methodName",
+     * qualified with the browser matrix cell for engines other than Chromium.
+     *
+     * @param context Extension context of a test method
+     * @return Test id
+     */
+    public static String testIdOf(ExtensionContext context) {
+        String className = context.getRequiredTestClass().getSimpleName();
+        return BrowserMatrix.cellOf(context).qualify(className + "." + context.getRequiredTestMethod().getName());
+    }
+
+    /**
+     * A failed test and when it ran.
+     */
+    private static final class FailedTest {
+        private final String testId;
+        private final long startNanos;
+        private final long endNanos;
+
+        private FailedTest(String testId, long startNanos, long endNanos) {
+            this.testId = testId;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.saucedemo.flaky;
+
+import com.saucedemo.browser.BrowserCell;
+import com.saucedemo.browser.BrowserMatrix;
+import com.saucedemo.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Outcomes of each test in its last flaky.window runs, stored as "ClassName.methodName=runId,code,wastedMillis;..."
+ * in a local file, oldest run first. Test ids are qualified with the browser matrix cell like durations, since a
+ * test may only be flaky in one browser. Several JVMs may save at once; writes are serialized with a file lock.
+ */
+public final class FlakinessHistory {
+    private static final Logger logger = LoggerFactory.getLogger(FlakinessHistory.class);
+    private static final String FILE_NAME = "flakiness.properties";
+
+    private static volatile FlakinessHistory shared;
+
+    private final Path file;
+    private final int window;
+    private final int minRuns;
+    private final double threshold;
+    private volatile Map<String, List<RunOutcome>> history;
+
+    private FlakinessHistory(Path file, Map<String, List<RunOutcome>> history) {
+        this.file = file;
+        this.window = TestConfig.getFlakyWindow();
+        this.minRuns = TestConfig.getFlakyMinRuns();
+        this.threshold = TestConfig.getFlakyQuarantineThreshold();
+        this.history = history;
+    }
+
+    /**
+     * Get the history for the configured history directory, loading it on first use.
+     *
+     * @return Shared history instance
+     */
+    public static FlakinessHistory shared() {
+        if (shared == null) {
+            synchronized (FlakinessHistory.class) {
+                if (shared == null) {
+                    Path file = Paths.get(TestConfig.getHistoryDir()).resolve(FILE_NAME);
+                    shared = new FlakinessHistory(file, readFile(file));
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Get the recorded outcomes of a test.
+     *
+     * @param testId Test id, qualified with the browser matrix cell
+     * @return Outcomes, oldest run first; empty if the test has no history
+     */
+    public List<RunOutcome> outcomesOf(String testId) {
+        return history.getOrDefault(testId, List.of());
+    }
+
+    public Map<String, List<RunOutcome>> getAll() {
+        return history;
+    }
+
+    /**
+     * Get the flakiness score of a test: the share of its runs with an unstable outcome. Runs that failed
+     * and passed on a re-run count fully, as do failures of a test that passed in other runs; runs that
+     * only passed after retries count half. A test that always fails is broken, not flaky, and scores 0.
+     *
+     * @param outcomes Outcomes of the test
+     * @return Score between 0 and 1, or empty if there are fewer than flaky.min.runs outcomes
+     */
+    public OptionalDouble scoreOf(List<RunOutcome> outcomes) {
+        if (outcomes.size() < minRuns) {
+            return OptionalDouble.empty();
+        }
+        boolean everPassed = outcomes.stream().anyMatch(run -> run.getOutcome().isPassed());
+        double unstable = 0;
+        for (RunOutcome run : outcomes) {
+            unstable += switch (run.getOutcome()) {
+                case PASSED -> 0;
+                case RETRIED -> 0.5;
+                case FLAKY -> 1;
+                case FAILED -> everPassed ? 1 : 0;
+            };
+        }
+        return OptionalDouble.of(unstable / outcomes.size());
+    }
+
+    /**
+     * Check if a test's score is above the quarantine threshold.
+     *
+     * @param testId Test id, qualified with the browser matrix cell
+     * @return true if the test is quarantined
+     */
+    public boolean isQuarantined(String testId) {
+        OptionalDouble score = scoreOf(outcomesOf(testId));
+        return score.isPresent() && score.getAsDouble() > threshold;
+    }
+
+    /**
+     * Check if a test method is quarantined in any cell of the current browser matrix.
+     *
+     * @param testId Test id in the form "ClassName.methodName"
+     * @return true if the test is quarantined in at least one browser
+     */
+    public boolean isMethodQuarantined(String testId) {
+        for (BrowserCell cell : BrowserMatrix.cells()) {
+            if (isQuarantined(cell.qualify(testId))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Merge the outcomes of the current run into the file on disk. An outcome already stored for the run,
+     * e.g. before its failed tests were re-run, is replaced.
+     *
+     * @param outcomes Outcome of each test in this run
+     */
+    public void save(Map<String, RunOutcome> outcomes) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path lockFile = file.resolveSibling(FILE_NAME + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    // Re-read under the lock so concurrent forks don't overwrite each other
+                    Map<String, List<RunOutcome>> merged = readFile(file);
+                    outcomes.forEach((testId, outcome) -> {
+                        List<RunOutcome> runs = new ArrayList<>(merged.getOrDefault(testId, List.of()));
+                        runs.removeIf(run -> run.getRunId().equals(outcome.getRunId()));
+                        runs.add(outcome);
+                        merged.put(testId, List.copyOf(runs.subList(Math.max(0, runs.size() - window), runs.size())));
+                    });
+                    writeFile(merged);
+                    history = merged;
+                } finally {
+                    lock.release();
+                }
+            }
+            logger.info("Saved outcomes of {} test(s) to {}", outcomes.size(), file);
+        } catch (IOException e) {
+            logger.warn("Failed to save test outcomes to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void writeFile(Map<String, List<RunOutcome>> outcomes) throws IOException {
+        Properties properties = new Properties();
+        outcomes.forEach((testId, runs) -> properties.setProperty(testId,
+                runs.stream().map(RunOutcome::encode).collect(Collectors.joining(";"))));
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            properties.store(output,
+                    "Test outcomes per run: run id, outcome (P, R, F, X), ms lost to retries and re-runs");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<String, List<RunOutcome>> readFile(Path file) {
+        Map<String, List<RunOutcome>> outcomes = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return outcomes;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (IOException e) {
+            logger.warn("Failed to read test outcomes from {}: {}", file, e.getMessage());
+            return outcomes;
+        }
+        for (String testId : properties.stringPropertyNames()) {
+            List<RunOutcome> runs = new ArrayList<>();
+            for (String entry : properties.getProperty(testId).split(";")) {
+                try {
+                    runs.add(RunOutcome.decode(entry.trim()));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Ignoring invalid outcome for {}: {}", testId, entry);
+                }
+            }
+            outcomes.put(testId, List.copyOf(runs));
+        }
+        return outcomes;
+    }
+
+    /**
+     * Outcome of a test in one run.
+     */
+    public static final class RunOutcome {
+        private final String runId;
+        private final Outcome outcome;
+        private final long wastedMillis;
+
+        public RunOutcome(String runId, Outcome outcome, long wastedMillis) {
+            // Run ids are free text; keep the separators of the file format out of them
+            this.runId = runId.replaceAll("[,;\\s]", "_");
+            this.outcome = outcome;
+            this.wastedMillis = wastedMillis;
+        }
+
+        public String getRunId() {
+            return runId;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * Get the time lost to retries inside the test and to re-runs of it.
+         *
+         * @return Wasted wall-clock time in milliseconds
+         */
+        public long getWastedMillis() {
+            return wastedMillis;
+        }
+
+        private String encode() {
+            return runId + "," + outcome.getCode() + "," + wastedMillis;
+        }
+
+        private static RunOutcome decode(String entry) {
+            String[] parts = entry.split(",");
+            if (parts.length != 3 || parts[1].length() != 1) {
+                throw new IllegalArgumentException("Invalid outcome entry: " + entry);
+            }
+            return new RunOutcome(parts[0], Outcome.ofCode(parts[1].charAt(0)), Long.parseLong(parts[2]));
+        }
+    }
+}
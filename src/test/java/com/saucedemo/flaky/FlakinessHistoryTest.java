@@ -0,0 +1,59 @@
+package com.saucedemo.flaky;
+
+import com.saucedemo.config.TestConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the flakiness score of a test's recorded outcomes.
+ */
+public class FlakinessHistoryTest {
+    private static final int MIN_RUNS = TestConfig.getFlakyMinRuns();
+
+    private final FlakinessHistory history = FlakinessHistory.shared();
+
+    @Test
+    public void testTooFewRunsHaveNoScore() {
+        assertEquals(OptionalDouble.empty(), history.scoreOf(runs(MIN_RUNS - 1, Outcome.FLAKY)));
+    }
+
+    @Test
+    public void testStableTestScoresZero() {
+        assertEquals(OptionalDouble.of(0), history.scoreOf(runs(MIN_RUNS, Outcome.PASSED)));
+    }
+
+    @Test
+    public void testAlwaysFailingTestIsBrokenNotFlaky() {
+        assertEquals(OptionalDouble.of(0), history.scoreOf(runs(MIN_RUNS, Outcome.FAILED)));
+    }
+
+    @Test
+    public void testUnstableOutcomesAreWeighted() {
+        int count = Math.max(MIN_RUNS, 3);
+        List<FlakinessHistory.RunOutcome> outcomes = runs(count, Outcome.PASSED);
+        outcomes.set(0, run(0, Outcome.FLAKY));
+        outcomes.set(1, run(1, Outcome.RETRIED));
+        outcomes.set(2, run(2, Outcome.FAILED));
+
+        double score = history.scoreOf(outcomes).orElseThrow();
+
+        assertEquals(2.5 / count, score, 1e-9, "A failure of a test that passed elsewhere counts fully");
+    }
+
+    private static List<FlakinessHistory.RunOutcome> runs(int count, Outcome outcome) {
+        List<FlakinessHistory.RunOutcome> runs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            runs.add(run(i, outcome));
+        }
+        return runs;
+    }
+
+    private static FlakinessHistory.RunOutcome run(int index, Outcome outcome) {
+        return new FlakinessHistory.RunOutcome("run-" + index, outcome, 0);
+    }
+}
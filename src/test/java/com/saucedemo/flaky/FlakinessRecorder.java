@@ -0,0 +1,151 @@
+package com.saucedemo.flaky;
+
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.environment.EnvironmentCircuitBreaker;
+import com.saucedemo.execution.TestDurationRecorder;
+import com.saucedemo.history.RunHistoryRecorder;
+import com.saucedemo.logging.LogContext;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records every execution of each test, including re-runs of failed tests, and the time lost to retries
+ * inside it. When a test plan finishes, each test's outcome for this run is classified and saved to
+ * {@link FlakinessHistory}, and the flakiness report is written. Re-runs are a second test plan in the
+ * same JVM, which saves again with the complete picture. Executions that failed while the
+ * {@link EnvironmentCircuitBreaker} found the environment unavailable say nothing about the test and are left out.
+ */
+public class FlakinessRecorder implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final Logger logger = LoggerFactory.getLogger(FlakinessRecorder.class);
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(FlakinessRecorder.class);
+    private static final String START_KEY = "start";
+
+    private static final Map<String, List<Execution>> EXECUTIONS = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> RETRY_WASTE = new ConcurrentHashMap<>();
+
+    /**
+     * Add time lost to a failed attempt of a retried action, including the delay before the next attempt,
+     * to the current test.
+     *
+     * @param millis Wasted time in milliseconds
+     */
+    public static void retryWasted(long millis) {
+        String testId = LogContext.currentTestId();
+        if (testId != null) {
+            RETRY_WASTE.computeIfAbsent(testId, key -> new AtomicLong()).addAndGet(millis);
+        }
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("outcomes",
+                key -> (ExtensionContext.Store.CloseableResource) FlakinessRecorder::save);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove(START_KEY, Long.class);
+        if (start == null) {
+            return;
+        }
+        String testId = TestDurationRecorder.testIdOf(context);
+        AtomicLong retryWaste = RETRY_WASTE.remove(testId);
+        Execution execution = new Execution(context.getExecutionException().isEmpty(), start, System.nanoTime(),
+                retryWaste != null ? retryWaste.get() : 0);
+        EXECUTIONS.computeIfAbsent(testId, key -> new ArrayList<>()).add(execution);
+    }
+
+    private static void save() {
+        if (EXECUTIONS.isEmpty()) {
+            return;
+        }
+        Map<String, FlakinessHistory.RunOutcome> outcomes = new LinkedHashMap<>();
+        String runId = RunHistoryRecorder.currentRunId();
+        int environmentFailures = 0;
+        for (Map.Entry<String, List<Execution>> entry : EXECUTIONS.entrySet()) {
+            List<Execution> counted = entry.getValue().stream()
+                    .filter(execution -> !execution.isEnvironmentFailure())
+                    .toList();
+            environmentFailures += entry.getValue().size() - counted.size();
+            if (!counted.isEmpty()) {
+                outcomes.put(entry.getKey(), classify(runId, counted));
+            }
+        }
+        if (environmentFailures > 0) {
+            logger.info("Left {} execution(s) that failed while the environment was unavailable out of the "
+                    + "flakiness history", environmentFailures);
+        }
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        FlakinessHistory history = FlakinessHistory.shared();
+        history.save(outcomes);
+        FlakinessReport.write(Paths.get(TestConfig.getFlakyReportFile()), history, outcomes);
+    }
+
+    /**
+     * Classify the executions of a test in this run. Failed executions that were re-run, and re-runs
+     * that failed again, are wasted time, as are failed attempts of retried actions.
+     */
+    static FlakinessHistory.RunOutcome classify(String runId, List<Execution> executions) {
+        Execution last = executions.get(executions.size() - 1);
+        long retryWaste = executions.stream().mapToLong(execution -> execution.retryWasteMillis).sum();
+        long rerunWaste = 0;
+        Outcome outcome;
+        if (last.passed) {
+            for (Execution execution : executions.subList(0, executions.size() - 1)) {
+                rerunWaste += execution.durationMillis;
+            }
+            boolean failedBefore = executions.stream().anyMatch(execution -> !execution.passed);
+            outcome = failedBefore ? Outcome.FLAKY : retryWaste > 0 ? Outcome.RETRIED : Outcome.PASSED;
+        } else {
+            for (Execution execution : executions.subList(1, executions.size())) {
+                rerunWaste += execution.durationMillis;
+            }
+            outcome = Outcome.FAILED;
+        }
+        return new FlakinessHistory.RunOutcome(runId, outcome, retryWaste + rerunWaste);
+    }
+
+    /**
+     * One execution of a test.
+     */
+    static final class Execution {
+        private final boolean passed;
+        private final long startNanos;
+        private final long endNanos;
+        private final long durationMillis;
+        private final long retryWasteMillis;
+
+        Execution(boolean passed, long startNanos, long endNanos, long retryWasteMillis) {
+            this.passed = passed;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.durationMillis = TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos);
+            this.retryWasteMillis = retryWasteMillis;
+        }
+
+        boolean isEnvironmentFailure() {
+            return !passed && EnvironmentCircuitBreaker.wasUnavailableDuring(startNanos, endNanos);
+        }
+    }
+}
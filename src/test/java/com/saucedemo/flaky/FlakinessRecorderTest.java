@@ -0,0 +1,54 @@
+package com.saucedemo.flaky;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for classifying the executions of a test in one run.
+ */
+public class FlakinessRecorderTest {
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    public void testPassAtFirstAttempt() {
+        FlakinessHistory.RunOutcome outcome = FlakinessRecorder.classify("run-1", List.of(execution(true, 800, 0)));
+
+        assertEquals(Outcome.PASSED, outcome.getOutcome());
+        assertEquals(0, outcome.getWastedMillis());
+        assertEquals("run-1", outcome.getRunId());
+    }
+
+    @Test
+    public void testPassAfterRetriedActions() {
+        FlakinessHistory.RunOutcome outcome = FlakinessRecorder.classify("run-1", List.of(execution(true, 800, 150)));
+
+        assertEquals(Outcome.RETRIED, outcome.getOutcome());
+        assertEquals(150, outcome.getWastedMillis());
+    }
+
+    @Test
+    public void testPassOnReRunIsFlaky() {
+        FlakinessHistory.RunOutcome outcome = FlakinessRecorder.classify("run-1",
+                List.of(execution(false, 2_000, 100), execution(true, 900, 0)));
+
+        assertEquals(Outcome.FLAKY, outcome.getOutcome());
+        assertEquals(2_100, outcome.getWastedMillis(), "The failed execution and its retries were wasted");
+    }
+
+    @Test
+    public void testFailureOnReRunWastesOnlyTheReRuns() {
+        FlakinessHistory.RunOutcome outcome = FlakinessRecorder.classify("run-1",
+                List.of(execution(false, 2_000, 0), execution(false, 1_500, 50), execution(false, 1_000, 0)));
+
+        assertEquals(Outcome.FAILED, outcome.getOutcome());
+        assertEquals(2_550, outcome.getWastedMillis(), "The first failure was needed to see the test fail");
+    }
+
+    private static FlakinessRecorder.Execution execution(boolean passed, long durationMillis, long retryWasteMillis) {
+        long start = System.nanoTime();
+        return new FlakinessRecorder.Execution(passed, start, start + durationMillis * MILLIS, retryWasteMillis);
+    }
+}
@@ -0,0 +1,102 @@
+package com.saucedemo.flaky;
+
+import com.saucedemo.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.stream.Collectors;
+
+/**
+ * Lists the tests with unstable outcomes, highest flakiness score first, with the time lost to retries and
+ * re-runs in this run and over the whole window, and which of them are quarantined.
+ */
+public final class FlakinessReport {
+    private static final Logger logger = LoggerFactory.getLogger(FlakinessReport.class);
+
+    private FlakinessReport() {
+    }
+
+    /**
+     * Write the report for the tests that ran or have an unstable history.
+     *
+     * @param file Report file
+     * @param history History including this run
+     * @param currentRun Outcomes of the tests in this run
+     */
+    static void write(Path file, FlakinessHistory history, Map<String, FlakinessHistory.RunOutcome> currentRun) {
+        List<Row> rows = new ArrayList<>();
+        history.getAll().forEach((testId, outcomes) -> {
+            FlakinessHistory.RunOutcome current = currentRun.get(testId);
+            OptionalDouble score = history.scoreOf(outcomes);
+            long wastedNow = current != null ? current.getWastedMillis() : 0;
+            boolean unstable = outcomes.stream().anyMatch(run -> run.getOutcome() != Outcome.PASSED);
+            if (unstable || wastedNow > 0) {
+                rows.add(new Row(testId, score, outcomes, wastedNow, history.isQuarantined(testId)));
+            }
+        });
+        rows.sort(Comparator.comparingDouble((Row row) -> row.score.orElse(-1)).reversed()
+                .thenComparing(row -> row.testId));
+
+        long wastedThisRun = currentRun.values().stream().mapToLong(FlakinessHistory.RunOutcome::getWastedMillis).sum();
+        long quarantined = rows.stream().filter(row -> row.quarantined).count();
+        long flakyThisRun = currentRun.values().stream().filter(run -> run.getOutcome() == Outcome.FLAKY).count();
+
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Flakiness over the last %d run(s), quarantined above %.2f after %d run(s)%n",
+                TestConfig.getFlakyWindow(), TestConfig.getFlakyQuarantineThreshold(), TestConfig.getFlakyMinRuns()));
+        text.append(String.format(Locale.ROOT, "This run: %d test(s), %d flaky, %d ms lost to retries and re-runs%n%n",
+                currentRun.size(), flakyThisRun, wastedThisRun));
+        text.append(String.format(Locale.ROOT, "%-50s %6s %-20s %12s %12s  %s%n",
+                "Test", "Score", "Outcomes", "Lost (run)", "Lost (all)", "Status"));
+        for (Row row : rows) {
+            text.append(String.format(Locale.ROOT, "%-50s %6s %-20s %9d ms %9d ms  %s%n",
+                    row.testId,
+                    row.score.isPresent() ? String.format(Locale.ROOT, "%.2f", row.score.getAsDouble()) : "-",
+                    row.outcomes.stream().map(run -> String.valueOf(run.getOutcome().getCode()))
+                            .collect(Collectors.joining()),
+                    row.wastedNow,
+                    row.outcomes.stream().mapToLong(FlakinessHistory.RunOutcome::getWastedMillis).sum(),
+                    row.quarantined ? "quarantined" : ""));
+        }
+        text.append(String.format("%nOutcomes, oldest first: P passed, R passed after retries, F failed then passed"
+                + " on re-run, X failed%n"));
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, text.toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Failed to write flakiness report to {}: {}", file, e.getMessage());
+        }
+        if (flakyThisRun > 0 || quarantined > 0 || wastedThisRun > 0) {
+            logger.info("Flakiness: {} flaky test(s) this run, {} quarantined, {} ms lost to retries and re-runs;"
+                    + " see {}", flakyThisRun, quarantined, wastedThisRun, file);
+        }
+    }
+
+    private static final class Row {
+        private final String testId;
+        private final OptionalDouble score;
+        private final List<FlakinessHistory.RunOutcome> outcomes;
+        private final long wastedNow;
+        private final boolean quarantined;
+
+        private Row(String testId, OptionalDouble score, List<FlakinessHistory.RunOutcome> outcomes, long wastedNow,
+                    boolean quarantined) {
+            this.testId = testId;
+            this.score = score;
+            this.outcomes = outcomes;
+            this.wastedNow = wastedNow;
+            this.quarantined = quarantined;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.saucedemo.flaky;
+
+/**
+ * Final outcome of a test in one run, after retries inside the test and re-runs of the failed test.
+ */
+public enum Outcome {
+    /** Passed at the first attempt */
+    PASSED('P'),
+    /** Passed, but only after retrying actions inside the test */
+    RETRIED('R'),
+    /** Failed, then passed when re-run */
+    FLAKY('F'),
+    /** Failed, and failed again if it was re-run */
+    FAILED('X');
+
+    private final char code;
+
+    Outcome(char code) {
+        this.code = code;
+    }
+
+    public char getCode() {
+        return code;
+    }
+
+    /**
+     * Get the outcome stored under a code.
+     *
+     * @param code One-letter code
+     * @return Outcome
+     * @throws IllegalArgumentException if no outcome has the code
+     */
+    public static Outcome ofCode(char code) {
+        for (Outcome outcome : values()) {
+            if (outcome.code == code) {
+                return outcome;
+            }
+        }
+        throw new IllegalArgumentException("Unknown outcome code '" + code + "'");
+    }
+
+    public boolean isPassed() {
+        return this != FAILED;
+    }
+}
@@ -0,0 +1,206 @@
+package com.saucedemo.history;
+
+import com.saucedemo.browser.BrowserMatrix;
+import com.saucedemo.browser.EmulationProfile;
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.environment.EnvironmentCircuitBreaker;
+import com.saucedemo.execution.TestDurationRecorder;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects each test's duration, page-object step timings and browser metrics, and appends
+ * them to the {@link RunStore} once the whole run has finished.
+ * Steps and metrics are recorded on the test's own thread, so no synchronization is needed.
+ * Tests that failed while the {@link EnvironmentCircuitBreaker} found the environment unavailable are left out,
+ * so an outage does not show up as a regression of every test that ran into it.
+ */
+public class RunHistoryRecorder implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final Logger logger = LoggerFactory.getLogger(RunHistoryRecorder.class);
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(RunHistoryRecorder.class);
+    private static final String RUNS_FILE = "runs.bin";
+    private static final boolean ENABLED = TestConfig.isRunHistoryEnabled();
+
+    private static final ThreadLocal<CurrentTest> CURRENT = new ThreadLocal<>();
+    private static final Queue<Recorded> RECORDS = new ConcurrentLinkedQueue<>();
+    private static final long STARTED_AT = System.currentTimeMillis();
+    private static final String RUN_ID = runId();
+
+    /**
+     * Add time spent in a page-object step of the current test.
+     *
+     * @param step Step name, e.g. "LoginPage.login"
+     * @param nanos Elapsed time
+     */
+    public static void recordStep(String step, long nanos) {
+        CurrentTest test = CURRENT.get();
+        if (test != null) {
+            test.stepNanos.merge(step, nanos, Long::sum);
+        }
+    }
+
+    /**
+     * Add to a browser metric of the current test, e.g. a request count.
+     *
+     * @param name Metric name
+     * @param delta Amount to add
+     */
+    public static void addMetric(String name, long delta) {
+        CurrentTest test = CURRENT.get();
+        if (test != null) {
+            test.metrics.merge(name, delta, Long::sum);
+        }
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!ENABLED) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("store",
+                key -> (ExtensionContext.Store.CloseableResource) RunHistoryRecorder::save);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (ENABLED) {
+            CURRENT.set(new CurrentTest());
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        CurrentTest test = CURRENT.get();
+        if (test == null) {
+            return;
+        }
+        CURRENT.remove();
+        long endNanos = System.nanoTime();
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(endNanos - test.startNanos);
+        Map<String, Long> stepMillis = new LinkedHashMap<>();
+        test.stepNanos.forEach((step, nanos) -> stepMillis.put(step, TimeUnit.NANOSECONDS.toMillis(nanos)));
+        String profile = EmulationProfile.effectiveFor(context.getRequiredTestMethod(),
+                context.getRequiredTestClass(), BrowserMatrix.cellOf(context).getEngine()).getProfileName();
+        TestRecord record = new TestRecord(TestDurationRecorder.testIdOf(context), profile,
+                context.getExecutionException().isEmpty(), durationMillis, stepMillis, test.metrics);
+        RECORDS.add(new Recorded(record, test.startNanos, endNanos));
+    }
+
+    /**
+     * Get the id of the current run, shared by its shards and by re-runs of failed tests.
+     *
+     * @return Run id
+     */
+    public static String currentRunId() {
+        return RUN_ID;
+    }
+
+    private static void save() {
+        // Drained, so a second test plan in this JVM, e.g. re-runs of failed tests, appends only its own tests
+        List<TestRecord> tests = new ArrayList<>();
+        int environmentFailures = 0;
+        for (Recorded recorded = RECORDS.poll(); recorded != null; recorded = RECORDS.poll()) {
+            if (!recorded.record.isPassed()
+                    && EnvironmentCircuitBreaker.wasUnavailableDuring(recorded.startNanos, recorded.endNanos)) {
+                environmentFailures++;
+            } else {
+                tests.add(recorded.record);
+            }
+        }
+        if (environmentFailures > 0) {
+            logger.info("Left {} test(s) that failed while the environment was unavailable out of the run history",
+                    environmentFailures);
+        }
+        if (tests.isEmpty()) {
+            return;
+        }
+        RunStore store = new RunStore(Paths.get(TestConfig.getHistoryDir()).resolve(RUNS_FILE));
+        RunRecord run = new RunRecord(RUN_ID, commit(), STARTED_AT, tests);
+        try {
+            store.append(run);
+            logger.info("Appended run {} ({} test(s)) to {}", run.getRunId(), run.getTests().size(), store.getFile());
+        } catch (IOException e) {
+            logger.warn("Failed to append run history to {}: {}", store.getFile(), e.getMessage());
+        }
+    }
+
+    /**
+     * Identify the run. Shards of one run share the id passed as -Drun.id or the CI run id.
+     */
+    private static String runId() {
+        String runId = System.getProperty("run.id");
+        if (runId != null && !runId.isBlank()) {
+            return runId;
+        }
+        String ciRunId = System.getenv("GITHUB_RUN_ID");
+        if (ciRunId != null) {
+            return "ci-" + ciRunId + "-" + System.getenv().getOrDefault("GITHUB_RUN_ATTEMPT", "1");
+        }
+        return "local-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+                + "-" + ProcessHandle.current().pid();
+    }
+
+    private static String commit() {
+        String sha = System.getenv("GITHUB_SHA");
+        if (sha != null) {
+            return sha;
+        }
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            String output;
+            try (InputStream input = process.getInputStream()) {
+                output = new String(input.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+            if (process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                return output;
+            }
+        } catch (IOException e) {
+            logger.debug("git is not available: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "unknown";
+    }
+
+    /**
+     * A finished test and when it ran.
+     */
+    private static final class Recorded {
+        private final TestRecord record;
+        private final long startNanos;
+        private final long endNanos;
+
+        private Recorded(TestRecord record, long startNanos, long endNanos) {
+            this.record = record;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+
+    private static final class CurrentTest {
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Long> stepNanos = new LinkedHashMap<>();
+        private final Map<String, Long> metrics = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,206 @@
+package com.saucedemo.history;
+
+import com.saucedemo.config.TestConfig;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the latest run in the run history with a rolling baseline of the previous runs
+ * and flags significant slowdowns per test and per page-object step. Works from the local
+ * history file only.
+ * <p>
+ * For every test and step, each baseline run contributes one sample. A value is flagged when its
+ * robust z-score (distance from the baseline median in units of the scaled median absolute
+ * deviation) exceeds run.history.z.threshold and it is also at least run.history.min.slowdown
+ * slower than the median, so that tiny or noisy timings are not reported.
+ * <p>
+ * Usage: {@code java com.saucedemo.history.RunHistoryReport [--run <id>] [--out <file>] [--fail-on-regression]}
+ */
+public final class RunHistoryReport {
+    private static final String DURATION = "duration";
+    private static final long MIN_DELTA_MILLIS = 50;
+    // Scales the MAD to the standard deviation of a normal distribution
+    private static final double MAD_SCALE = 1.4826;
+
+    private final int baselineRuns;
+    private final int minSamples;
+    private final double zThreshold;
+    private final double minSlowdown;
+
+    private RunHistoryReport() {
+        this(TestConfig.getRunHistoryBaselineRuns(), TestConfig.getRunHistoryMinSamples(),
+                TestConfig.getRunHistoryZThreshold(), TestConfig.getRunHistoryMinSlowdown());
+    }
+
+    RunHistoryReport(int baselineRuns, int minSamples, double zThreshold, double minSlowdown) {
+        this.baselineRuns = baselineRuns;
+        this.minSamples = minSamples;
+        this.zThreshold = zThreshold;
+        this.minSlowdown = minSlowdown;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String runId = null;
+        Path out = Paths.get("target", "run-history", "regressions.txt");
+        boolean failOnRegression = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--run" -> runId = args[++i];
+                case "--out" -> out = Paths.get(args[++i]);
+                case "--fail-on-regression" -> failOnRegression = true;
+                default -> {
+                    System.err.println("Usage: RunHistoryReport [--run <id>] [--out <file>] [--fail-on-regression]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        RunStore store = new RunStore(Paths.get(TestConfig.getHistoryDir()).resolve("runs.bin"));
+        StringWriter text = new StringWriter();
+        int regressions;
+        try (PrintWriter writer = new PrintWriter(text)) {
+            regressions = new RunHistoryReport().write(store.readAll(), runId, writer);
+        }
+        System.out.print(text);
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Files.writeString(out, text.toString(), StandardCharsets.UTF_8);
+        if (failOnRegression && regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Write the comparison of one run against its baseline.
+     *
+     * @param records All stored runs, in append order
+     * @param runId Run to check, or null for the latest
+     * @param out Report destination
+     * @return Number of regressions found
+     */
+    int write(List<RunRecord> records, String runId, PrintWriter out) {
+        Map<String, List<RunRecord>> runs = new LinkedHashMap<>();
+        for (RunRecord record : records) {
+            runs.computeIfAbsent(record.getRunId(), key -> new ArrayList<>()).add(record);
+        }
+        if (runs.isEmpty()) {
+            out.println("No run history found.");
+            return 0;
+        }
+        List<String> runIds = new ArrayList<>(runs.keySet());
+        String current = runId != null ? runId : runIds.get(runIds.size() - 1);
+        int index = runIds.indexOf(current);
+        if (index < 0) {
+            out.println("Run " + current + " not found in the run history.");
+            return 0;
+        }
+        List<String> baselineIds = runIds.subList(Math.max(0, index - baselineRuns), index);
+
+        Map<String, Map<String, Long>> currentValues = collect(runs.get(current));
+        List<Map<String, Map<String, Long>>> baseline = new ArrayList<>();
+        for (String baselineId : baselineIds) {
+            baseline.add(collect(runs.get(baselineId)));
+        }
+
+        out.printf(Locale.ROOT, "Run %s (commit %s) compared with %d previous run(s)%n",
+                current, shortCommit(runs.get(current).get(0).getCommit()), baseline.size());
+        int regressions = 0;
+        int withoutHistory = 0;
+        for (Map.Entry<String, Map<String, Long>> test : currentValues.entrySet()) {
+            for (Map.Entry<String, Long> series : test.getValue().entrySet()) {
+                long[] samples = baseline.stream()
+                        .map(run -> run.getOrDefault(test.getKey(), Map.of()).get(series.getKey()))
+                        .filter(value -> value != null)
+                        .mapToLong(Long::longValue)
+                        .toArray();
+                if (samples.length < minSamples) {
+                    if (DURATION.equals(series.getKey())) {
+                        withoutHistory++;
+                    }
+                    continue;
+                }
+                String finding = check(series.getValue(), samples);
+                if (finding != null) {
+                    regressions++;
+                    String label = DURATION.equals(series.getKey()) ? DURATION : "step " + series.getKey();
+                    out.printf(Locale.ROOT, "REGRESSION %s [%s]: %s%n", test.getKey(), label, finding);
+                }
+            }
+        }
+        out.printf(Locale.ROOT, "%d regression(s) in %d test(s); %d test(s) with fewer than %d baseline run(s)%n",
+                regressions, currentValues.size(), withoutHistory, minSamples);
+        return regressions;
+    }
+
+    /**
+     * Compare a value with its baseline samples.
+     *
+     * @param value Value of the run being checked, in ms
+     * @param samples One value per baseline run, in ms
+     * @return Description of the slowdown, or null if the value is not a regression
+     */
+    String check(long value, long[] samples) {
+        double median = median(samples);
+        long[] deviations = Arrays.stream(samples).map(sample -> Math.round(Math.abs(sample - median))).toArray();
+        double spread = Math.max(MAD_SCALE * median(deviations), Math.max(1.0, median * 0.01));
+        double z = (value - median) / spread;
+        if (z <= zThreshold || value < median * (1 + minSlowdown) || value - median < MIN_DELTA_MILLIS) {
+            return null;
+        }
+        return String.format(Locale.ROOT, "%d ms vs median %.0f ms (+%.0f%%, z=%.1f, n=%d)",
+                value, median, (value - median) * 100 / median, z, samples.length);
+    }
+
+    /**
+     * Reduce the passed tests of a run to one value per test and series (duration or step name).
+     * Tests executed more than once in the run use their median. Runs under an emulation profile
+     * are kept apart, e.g. "CheckoutTest.testCheckout@3g", so they are only compared with each other.
+     */
+    static Map<String, Map<String, Long>> collect(List<RunRecord> shards) {
+        Map<String, Map<String, List<Long>>> values = new TreeMap<>();
+        for (RunRecord shard : shards) {
+            for (TestRecord test : shard.getTests()) {
+                if (!test.isPassed()) {
+                    continue;
+                }
+                String testKey = "none".equals(test.getProfile())
+                        ? test.getTestId() : test.getTestId() + "@" + test.getProfile();
+                Map<String, List<Long>> series = values.computeIfAbsent(testKey, key -> new LinkedHashMap<>());
+                series.computeIfAbsent(DURATION, key -> new ArrayList<>()).add(test.getDurationMillis());
+                test.getStepMillis().forEach((step, millis) ->
+                        series.computeIfAbsent(step, key -> new ArrayList<>()).add(millis));
+            }
+        }
+        Map<String, Map<String, Long>> result = new TreeMap<>();
+        values.forEach((testId, series) -> {
+            Map<String, Long> reduced = new LinkedHashMap<>();
+            series.forEach((name, samples) ->
+                    reduced.put(name, Math.round(median(samples.stream().mapToLong(Long::longValue).toArray()))));
+            result.put(testId, reduced);
+        });
+        return result;
+    }
+
+    private static double median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+
+    private static String shortCommit(String commit) {
+        return commit.length() > 12 ? commit.substring(0, 12) : commit;
+    }
+}
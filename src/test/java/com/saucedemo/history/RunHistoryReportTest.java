@@ -0,0 +1,98 @@
+package com.saucedemo.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for comparing a run with its baseline in the run history.
+ */
+public class RunHistoryReportTest {
+    private final RunHistoryReport report = new RunHistoryReport(20, 5, 3.5, 0.2);
+
+    @Test
+    public void testClearSlowdownIsARegression() {
+        String finding = report.check(200, new long[]{100, 102, 98, 101, 99});
+
+        assertNotNull(finding);
+        assertTrue(finding.startsWith("200 ms vs median 100 ms (+100%"), finding);
+        assertTrue(finding.endsWith("n=5)"), finding);
+    }
+
+    @Test
+    public void testNoisyBaselineNeedsALargerSlowdown() {
+        long[] samples = {1_000, 1_500, 800, 1_200, 900};
+
+        assertNull(report.check(1_300, samples), "Within the spread of the baseline");
+        assertNotNull(report.check(2_500, samples));
+    }
+
+    @Test
+    public void testSmallSlowdownsAreNotReported() {
+        assertNull(report.check(130, new long[]{100, 102, 98, 101, 99}), "Less than 50 ms slower");
+        assertNull(report.check(10_900, new long[]{10_000, 10_010, 9_990, 10_005, 9_995}),
+                "Less than run.history.min.slowdown slower");
+        assertNotNull(report.check(12_500, new long[]{10_000, 10_010, 9_990, 10_005, 9_995}));
+    }
+
+    @Test
+    public void testCollectKeepsPassedTestsPerProfile() {
+        List<RunRecord> shards = List.of(
+                new RunRecord("run", "abc", 1L, List.of(
+                        new TestRecord("LoginTest.testValidLogin", "none", true, 100, Map.of("LoginPage.login", 40L),
+                                Map.of()),
+                        new TestRecord("LoginTest.testValidLogin", "3g", true, 900, Map.of(), Map.of()),
+                        new TestRecord("CartTest.testAddItem", "none", false, 50, Map.of(), Map.of()))),
+                new RunRecord("run", "abc", 1L, List.of(
+                        new TestRecord("LoginTest.testValidLogin", "none", true, 300, Map.of("LoginPage.login", 60L),
+                                Map.of()),
+                        new TestRecord("LoginTest.testValidLogin", "none", true, 120, Map.of(), Map.of()))));
+
+        Map<String, Map<String, Long>> values = RunHistoryReport.collect(shards);
+
+        assertEquals(Map.of(
+                "LoginTest.testValidLogin", Map.of("duration", 120L, "LoginPage.login", 50L),
+                "LoginTest.testValidLogin@3g", Map.of("duration", 900L)), values,
+                "Failed tests are left out and repeated executions reduced to their median");
+    }
+
+    @Test
+    public void testLatestRunIsComparedWithEarlierRunsOfItsProfile() {
+        List<RunRecord> records = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            records.add(run("run-" + i, new TestRecord("LoginTest.testValidLogin", "none", true, 100 + i,
+                    Map.of(), Map.of())));
+        }
+        records.add(run("latest",
+                new TestRecord("LoginTest.testValidLogin", "none", true, 400, Map.of(), Map.of()),
+                new TestRecord("LoginTest.testValidLogin", "3g", true, 4_000, Map.of(), Map.of())));
+        StringWriter text = new StringWriter();
+
+        int regressions = report.write(records, null, new PrintWriter(text, true));
+
+        assertEquals(1, regressions);
+        assertTrue(text.toString().contains("REGRESSION LoginTest.testValidLogin [duration]: 400 ms"), text.toString());
+        assertTrue(text.toString().contains("1 regression(s) in 2 test(s); 1 test(s) with fewer than 5 baseline"),
+                "The 3g run has no baseline of its own: " + text);
+    }
+
+    @Test
+    public void testUnknownRunIsReported() {
+        StringWriter text = new StringWriter();
+
+        int regressions = report.write(List.of(run("run-1")), "run-2", new PrintWriter(text, true));
+
+        assertEquals(0, regressions);
+        assertTrue(text.toString().startsWith("Run run-2 not found"), text.toString());
+    }
+
+    private static RunRecord run(String runId, TestRecord... tests) {
+        return new RunRecord(runId, "abc", 1L, List.of(tests));
+    }
+}
@@ -0,0 +1,38 @@
+package com.saucedemo.history;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The tests executed by one JVM during a run. Sharded runs produce one record per shard
+ * sharing the same run id.
+ */
+public final class RunRecord {
+    private final String runId;
+    private final String commit;
+    private final long startedAtMillis;
+    private final List<TestRecord> tests;
+
+    public RunRecord(String runId, String commit, long startedAtMillis, List<TestRecord> tests) {
+        this.runId = runId;
+        this.commit = commit;
+        this.startedAtMillis = startedAtMillis;
+        this.tests = Collections.unmodifiableList(tests);
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getCommit() {
+        return commit;
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public List<TestRecord> getTests() {
+        return tests;
+    }
+}
@@ -0,0 +1,230 @@
+package com.saucedemo.history;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only binary file of {@link RunRecord}s. Each record is a self-contained block
+ * (magic, version, length, payload) with its own string table, so test and step names are
+ * written once per run and numbers are stored as varints. Several JVMs may append at once;
+ * appends are serialized with a file lock. A truncated last block, e.g. from a killed run,
+ * is ignored when reading and cut off by the next append, so it never hides the runs after it.
+ */
+public final class RunStore {
+    private static final Logger logger = LoggerFactory.getLogger(RunStore.class);
+    private static final int MAGIC = 0x53445248; // "SDRH"
+    // Version 2 added the emulation profile of each test
+    private static final byte VERSION = 2;
+    private static final String DEFAULT_PROFILE = "none";
+    private static final int HEADER_BYTES = 9;
+
+    private final Path file;
+
+    public RunStore(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Append a run to the file.
+     *
+     * @param run Run to append
+     */
+    public void append(RunRecord run) throws IOException {
+        byte[] payload = encode(run);
+        ByteBuffer block = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        block.putInt(MAGIC).put(VERSION).putInt(payload.length).put(payload).flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                long end = endOfCompleteBlocks(channel);
+                if (end < channel.size()) {
+                    logger.warn("Dropping {} byte(s) of a truncated run at the end of {}", channel.size() - end, file);
+                    channel.truncate(end);
+                }
+                while (block.hasRemaining()) {
+                    end += channel.write(block, end);
+                }
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Read all runs in the order they were appended. A missing file yields an empty list.
+     *
+     * @return Stored runs
+     */
+    public List<RunRecord> readAll() throws IOException {
+        List<RunRecord> runs = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return runs;
+        }
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        while (data.remaining() >= HEADER_BYTES) {
+            int magic = data.getInt();
+            byte version = data.get();
+            int length = data.getInt();
+            if (magic != MAGIC || version < 1 || version > VERSION || length < 0 || length > data.remaining()) {
+                logger.warn("Ignoring unreadable data at offset {} of {}", data.position() - HEADER_BYTES, file);
+                break;
+            }
+            byte[] payload = new byte[length];
+            data.get(payload);
+            try {
+                runs.add(decode(payload, version));
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Ignoring unreadable run at offset {} of {}: {}",
+                        data.position() - length - HEADER_BYTES, file, e.toString());
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Find where the last block whose header and payload were fully written ends.
+     *
+     * @param channel Channel of the locked file
+     * @return Offset just past the last complete block
+     */
+    private static long endOfCompleteBlocks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (size - position >= HEADER_BYTES) {
+            header.clear();
+            while (header.hasRemaining()) {
+                if (channel.read(header, position + header.position()) < 0) {
+                    return position;
+                }
+            }
+            header.flip();
+            int magic = header.getInt();
+            byte version = header.get();
+            int length = header.getInt();
+            if (magic != MAGIC || version < 1 || version > VERSION || length < 0
+                    || length > size - position - HEADER_BYTES) {
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static byte[] encode(RunRecord run) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (TestRecord test : run.getTests()) {
+            strings.putIfAbsent(test.getTestId(), strings.size());
+            strings.putIfAbsent(test.getProfile(), strings.size());
+            test.getStepMillis().keySet().forEach(name -> strings.putIfAbsent(name, strings.size()));
+            test.getMetrics().keySet().forEach(name -> strings.putIfAbsent(name, strings.size()));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * run.getTests().size() + 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(run.getRunId());
+        out.writeUTF(run.getCommit());
+        out.writeLong(run.getStartedAtMillis());
+        writeVarLong(out, strings.size());
+        for (String value : strings.keySet()) {
+            out.writeUTF(value);
+        }
+        writeVarLong(out, run.getTests().size());
+        for (TestRecord test : run.getTests()) {
+            writeVarLong(out, strings.get(test.getTestId()));
+            writeVarLong(out, strings.get(test.getProfile()));
+            out.writeBoolean(test.isPassed());
+            writeVarLong(out, test.getDurationMillis());
+            writeMap(out, test.getStepMillis(), strings);
+            writeMap(out, test.getMetrics(), strings);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static RunRecord decode(byte[] payload, byte version) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String runId = in.readUTF();
+        String commit = in.readUTF();
+        long startedAt = in.readLong();
+        String[] strings = new String[(int) readVarLong(in)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readUTF();
+        }
+        int testCount = (int) readVarLong(in);
+        List<TestRecord> tests = new ArrayList<>(testCount);
+        for (int i = 0; i < testCount; i++) {
+            String testId = strings[(int) readVarLong(in)];
+            String profile = version >= 2 ? strings[(int) readVarLong(in)] : DEFAULT_PROFILE;
+            boolean passed = in.readBoolean();
+            long duration = readVarLong(in);
+            Map<String, Long> steps = readMap(in, strings);
+            Map<String, Long> metrics = readMap(in, strings);
+            tests.add(new TestRecord(testId, profile, passed, duration, steps, metrics));
+        }
+        return new RunRecord(runId, commit, startedAt, tests);
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, Long> values,
+                                 Map<String, Integer> strings) throws IOException {
+        writeVarLong(out, values.size());
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            writeVarLong(out, strings.get(entry.getKey()));
+            writeVarLong(out, Math.max(0, entry.getValue()));
+        }
+    }
+
+    private static Map<String, Long> readMap(DataInputStream in, String[] strings) throws IOException {
+        int size = (int) readVarLong(in);
+        Map<String, Long> values = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            values.put(strings[(int) readVarLong(in)], readVarLong(in));
+        }
+        return values;
+    }
+
+    // Unsigned LEB128: 7 bits per byte, high bit set while more bytes follow
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new EOFException("Malformed varint");
+    }
+}
@@ -0,0 +1,164 @@
+package com.saucedemo.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the binary run history encoding.
+ */
+public class RunStoreTest {
+    @TempDir
+    Path historyDir;
+
+    @Test
+    public void testRunsReadBackAsAppended() throws IOException {
+        RunStore store = new RunStore(historyDir.resolve("runs.bin"));
+        Map<String, Long> steps = new LinkedHashMap<>();
+        steps.put("LoginPage.login", 1_234L);
+        steps.put("InventoryPage.addToCart", 5L);
+        Map<String, Long> metrics = Map.of("browser.pool.wait.ms", 3_000_000_000L);
+        RunRecord first = new RunRecord("local-1", "abc123", 1_700_000_000_000L, List.of(
+                new TestRecord("LoginTest.testValidLogin", "none", true, 4_321, steps, metrics),
+                new TestRecord("CartTest.testAddItem", "3g", false, 0, Map.of(), Map.of())));
+        RunRecord second = new RunRecord("local-2", "def456", 1_700_000_100_000L, List.of(
+                new TestRecord("LoginTest.testValidLogin", "none", true, 127, Map.of(), Map.of())));
+
+        store.append(first);
+        store.append(second);
+        List<RunRecord> runs = store.readAll();
+
+        assertEquals(2, runs.size());
+        RunRecord run = runs.get(0);
+        assertEquals("local-1", run.getRunId());
+        assertEquals("abc123", run.getCommit());
+        assertEquals(1_700_000_000_000L, run.getStartedAtMillis());
+        assertEquals(2, run.getTests().size());
+
+        TestRecord passed = run.getTests().get(0);
+        assertEquals("LoginTest.testValidLogin", passed.getTestId());
+        assertEquals("none", passed.getProfile());
+        assertTrue(passed.isPassed());
+        assertEquals(4_321, passed.getDurationMillis());
+        assertEquals(List.copyOf(steps.entrySet()), List.copyOf(passed.getStepMillis().entrySet()),
+                "Steps should keep their order");
+        assertEquals(metrics, passed.getMetrics());
+
+        TestRecord failed = run.getTests().get(1);
+        assertEquals("3g", failed.getProfile());
+        assertFalse(failed.isPassed());
+        assertEquals(0, failed.getDurationMillis());
+
+        assertEquals("local-2", runs.get(1).getRunId());
+        assertEquals(127, runs.get(1).getTests().get(0).getDurationMillis());
+    }
+
+    @Test
+    public void testTruncatedLastBlockIsIgnored() throws IOException {
+        Path file = historyDir.resolve("runs.bin");
+        RunStore store = new RunStore(file);
+        store.append(new RunRecord("complete", "abc", 1L, List.of(
+                new TestRecord("LoginTest.testValidLogin", "none", true, 10, Map.of(), Map.of()))));
+        store.append(new RunRecord("killed", "abc", 2L, List.of(
+                new TestRecord("CartTest.testAddItem", "none", true, 20, Map.of(), Map.of()))));
+        byte[] data = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(data, data.length - 3));
+
+        List<RunRecord> runs = store.readAll();
+
+        assertEquals(1, runs.size());
+        assertEquals("complete", runs.get(0).getRunId());
+    }
+
+    @Test
+    public void testTruncatedBlockIsCutOffByTheNextAppend() throws IOException {
+        Path file = historyDir.resolve("runs.bin");
+        RunStore store = new RunStore(file);
+        store.append(run("complete"));
+        store.append(run("killed"));
+        byte[] data = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(data, data.length - 3));
+
+        store.append(run("next"));
+
+        assertEquals(List.of("complete", "next"), store.readAll().stream().map(RunRecord::getRunId).toList());
+    }
+
+    @Test
+    public void testUnreadableRunIsSkipped() throws IOException {
+        // A block with a valid header whose payload claims a longer run id than it holds
+        byte[] garbage = {0, 5, 'a'};
+        ByteBuffer block = ByteBuffer.allocate(9 + garbage.length);
+        block.putInt(0x53445248).put((byte) 2).putInt(garbage.length).put(garbage);
+        Path file = historyDir.resolve("runs.bin");
+        Files.write(file, block.array(), StandardOpenOption.CREATE);
+        RunStore store = new RunStore(file);
+
+        store.append(run("readable"));
+
+        assertEquals(List.of("readable"), store.readAll().stream().map(RunRecord::getRunId).toList());
+    }
+
+    @Test
+    public void testMissingFileHasNoRuns() throws IOException {
+        assertTrue(new RunStore(historyDir.resolve("missing.bin")).readAll().isEmpty());
+    }
+
+    @Test
+    public void testNegativeValuesAreStoredAsZero() throws IOException {
+        RunStore store = new RunStore(historyDir.resolve("runs.bin"));
+        store.append(new RunRecord("run", "abc", 1L, List.of(
+                new TestRecord("LoginTest.testValidLogin", "none", true, 10, Map.of("step", -5L), Map.of()))));
+
+        assertEquals(0L, store.readAll().get(0).getTests().get(0).getStepMillis().get("step"));
+    }
+
+    @Test
+    public void testVersionOneRunsReadWithoutProfile() throws IOException {
+        // Run id, commit, start, a one-entry string table, then one test without a profile and no steps or metrics
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeUTF("old-run");
+        payload.writeUTF("abc");
+        payload.writeLong(42L);
+        payload.writeByte(1);
+        payload.writeUTF("LoginTest.testValidLogin");
+        payload.writeByte(1);
+        payload.writeByte(0);
+        payload.writeBoolean(true);
+        payload.writeByte(99);
+        payload.writeByte(0);
+        payload.writeByte(0);
+        payload.flush();
+        ByteBuffer block = ByteBuffer.allocate(9 + bytes.size());
+        block.putInt(0x53445248).put((byte) 1).putInt(bytes.size()).put(bytes.toByteArray());
+        Path file = historyDir.resolve("runs.bin");
+        Files.write(file, block.array(), StandardOpenOption.CREATE);
+
+        List<RunRecord> runs = new RunStore(file).readAll();
+
+        assertEquals(1, runs.size());
+        TestRecord test = runs.get(0).getTests().get(0);
+        assertEquals("LoginTest.testValidLogin", test.getTestId());
+        assertEquals("none", test.getProfile());
+        assertEquals(99, test.getDurationMillis());
+    }
+
+    private static RunRecord run(String runId) {
+        return new RunRecord(runId, "abc", 1L, List.of(
+                new TestRecord("LoginTest.testValidLogin", "none", true, 10, Map.of(), Map.of())));
+    }
+}
@@ -0,0 +1,65 @@
+package com.saucedemo.history;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Timings and browser metrics of one test execution, as kept in the run history.
+ */
+public final class TestRecord {
+    private final String testId;
+    private final String profile;
+    private final boolean passed;
+    private final long durationMillis;
+    private final Map<String, Long> stepMillis;
+    private final Map<String, Long> metrics;
+
+    public TestRecord(String testId, String profile, boolean passed, long durationMillis,
+                      Map<String, Long> stepMillis, Map<String, Long> metrics) {
+        this.testId = testId;
+        this.profile = profile;
+        this.passed = passed;
+        this.durationMillis = durationMillis;
+        this.stepMillis = Collections.unmodifiableMap(stepMillis);
+        this.metrics = Collections.unmodifiableMap(metrics);
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    /**
+     * Get the emulation profile the test ran under.
+     *
+     * @return Profile name, e.g. "none" or "3g"
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Get the total time spent in each page-object step, e.g. "LoginPage.login".
+     *
+     * @return Milliseconds by step name
+     */
+    public Map<String, Long> getStepMillis() {
+        return stepMillis;
+    }
+
+    /**
+     * Get browser metrics such as request and failure counts.
+     *
+     * @return Values by metric name
+     */
+    public Map<String, Long> getMetrics() {
+        return metrics;
+    }
+}
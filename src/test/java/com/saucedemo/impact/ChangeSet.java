@@ -0,0 +1,154 @@
+package com.saucedemo.impact;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Files and lines changed against a git revision, read from {@code git diff --unified=0}.
+ * Line numbers refer to the working tree version of each file.
+ */
+public final class ChangeSet {
+    private static final Pattern HUNK = Pattern.compile("^@@ -\\d+(?:,\\d+)? \\+(\\d+)(?:,(\\d+))? @@");
+    private static final Pattern BINARY = Pattern.compile("^Binary files (\\S+) and (\\S+) differ$");
+
+    private final Map<String, FileChange> files;
+
+    private ChangeSet(Map<String, FileChange> files) {
+        this.files = files;
+    }
+
+    /**
+     * Diff the working tree against a revision.
+     *
+     * @param base Revision to compare with, e.g. "origin/main" or "HEAD~1"
+     * @return Changes, with paths relative to the current directory
+     */
+    public static ChangeSet fromGit(String base) {
+        ProcessBuilder builder = new ProcessBuilder("git", "diff", "--unified=0", "--no-color", "--no-ext-diff",
+                "--no-renames", "--relative", base).redirectErrorStream(true);
+        try {
+            Process process = builder.start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IllegalStateException("git diff against " + base + " failed with exit code " + exitCode
+                        + ": " + output.strip());
+            }
+            return parse(output);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to run git diff against " + base, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running git diff against " + base, e);
+        }
+    }
+
+    /**
+     * Parse the output of {@code git diff --unified=0}.
+     *
+     * @param diff Diff output
+     * @return Changes
+     */
+    public static ChangeSet parse(String diff) {
+        Map<String, FileChange> files = new LinkedHashMap<>();
+        String oldPath = null;
+        FileChange current = null;
+        // Added lines may start with "+++" too; file names only appear before the first hunk
+        boolean header = false;
+        for (String line : diff.split("\n")) {
+            if (line.startsWith("diff --git ")) {
+                oldPath = null;
+                current = null;
+                header = true;
+            } else if (header && line.startsWith("--- ")) {
+                oldPath = pathOf(line);
+            } else if (header && line.startsWith("+++ ")) {
+                String newPath = pathOf(line);
+                // A deleted file is a whole-file change of its old path
+                String path = newPath != null ? newPath : oldPath;
+                current = files.computeIfAbsent(path, FileChange::new);
+                if (newPath == null) {
+                    current.wholeFile = true;
+                }
+            } else if (header && line.startsWith("Binary files ")) {
+                Matcher binary = BINARY.matcher(line);
+                if (binary.matches()) {
+                    String newPath = pathOf("+++ " + binary.group(2));
+                    String path = newPath != null ? newPath : pathOf("--- " + binary.group(1));
+                    files.computeIfAbsent(path, FileChange::new).wholeFile = true;
+                }
+            } else if (current != null) {
+                Matcher hunk = HUNK.matcher(line);
+                if (hunk.find()) {
+                    header = false;
+                    int start = Integer.parseInt(hunk.group(1));
+                    int count = hunk.group(2) != null ? Integer.parseInt(hunk.group(2)) : 1;
+                    if (start == 0) {
+                        current.wholeFile = true;
+                    } else {
+                        // A pure deletion is placed at the line before it
+                        current.ranges.add(new int[]{start, start + Math.max(count, 1) - 1});
+                    }
+                }
+            }
+        }
+        return new ChangeSet(files);
+    }
+
+    private static String pathOf(String line) {
+        String path = line.substring(4);
+        if (path.equals("/dev/null")) {
+            return null;
+        }
+        return path.startsWith("a/") || path.startsWith("b/") ? path.substring(2) : path;
+    }
+
+    public List<FileChange> getFiles() {
+        return List.copyOf(files.values());
+    }
+
+    public boolean isEmpty() {
+        return files.isEmpty();
+    }
+
+    /**
+     * Changed lines of one file.
+     */
+    public static final class FileChange {
+        private final String path;
+        private final List<int[]> ranges = new ArrayList<>();
+        private boolean wholeFile;
+
+        private FileChange(String path) {
+            this.path = path;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Check if the change can't be narrowed down to lines, e.g. a deleted or binary file.
+         *
+         * @return true if the whole file counts as changed
+         */
+        public boolean isWholeFile() {
+            return wholeFile || ranges.isEmpty();
+        }
+
+        /**
+         * Get the changed line ranges.
+         *
+         * @return Inclusive [first, last] line numbers, one based
+         */
+        public List<int[]> getRanges() {
+            return List.copyOf(ranges);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.saucedemo.impact;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for parsing {@code git diff --unified=0} output.
+ */
+public class ChangeSetTest {
+
+    @Test
+    public void testHunksBecomeLineRanges() {
+        ChangeSet changes = ChangeSet.parse(String.join("\n",
+                "diff --git a/pom.xml b/pom.xml",
+                "index 1111111..2222222 100644",
+                "--- a/pom.xml",
+                "+++ b/pom.xml",
+                "@@ -10,2 +10,3 @@ <properties>",
+                "-old",
+                "-old",
+                "+new",
+                "+new",
+                "+new",
+                "@@ -40 +41 @@",
+                "-old",
+                "+new",
+                "@@ -60,2 +60,0 @@",
+                "-removed",
+                "-removed"));
+
+        assertEquals(1, changes.getFiles().size());
+        ChangeSet.FileChange change = changes.getFiles().get(0);
+        assertEquals("pom.xml", change.getPath());
+        assertFalse(change.isWholeFile());
+        assertEquals(List.of("10-12", "41-41", "60-60"), rangesOf(change));
+    }
+
+    @Test
+    public void testAddedLinesLookingLikeHeadersAreNotFileNames() {
+        ChangeSet changes = ChangeSet.parse(String.join("\n",
+                "diff --git a/README.md b/README.md",
+                "--- a/README.md",
+                "+++ b/README.md",
+                "@@ -3,0 +4,2 @@",
+                "+++ b/not-a-file",
+                "+--- a/not-a-file"));
+
+        assertEquals(1, changes.getFiles().size());
+        assertEquals("README.md", changes.getFiles().get(0).getPath());
+        assertEquals(List.of("4-5"), rangesOf(changes.getFiles().get(0)));
+    }
+
+    @Test
+    public void testDeletedAndBinaryFilesChangeAsAWhole() {
+        ChangeSet changes = ChangeSet.parse(String.join("\n",
+                "diff --git a/src/Old.java b/src/Old.java",
+                "deleted file mode 100644",
+                "--- a/src/Old.java",
+                "+++ /dev/null",
+                "@@ -1,2 +0,0 @@",
+                "-class Old {",
+                "-}",
+                "diff --git a/docs/logo.png b/docs/logo.png",
+                "Binary files a/docs/logo.png and b/docs/logo.png differ"));
+
+        assertEquals(List.of("src/Old.java", "docs/logo.png"),
+                changes.getFiles().stream().map(ChangeSet.FileChange::getPath).toList());
+        assertTrue(changes.getFiles().stream().allMatch(ChangeSet.FileChange::isWholeFile));
+    }
+
+    @Test
+    public void testNewFilesChangeFromTheirFirstLine() {
+        ChangeSet changes = ChangeSet.parse(String.join("\n",
+                "diff --git a/src/New.java b/src/New.java",
+                "new file mode 100644",
+                "--- /dev/null",
+                "+++ b/src/New.java",
+                "@@ -0,0 +1,3 @@",
+                "+class New {",
+                "+",
+                "+}"));
+
+        assertEquals("src/New.java", changes.getFiles().get(0).getPath());
+        assertEquals(List.of("1-3"), rangesOf(changes.getFiles().get(0)));
+    }
+
+    @Test
+    public void testEmptyDiffHasNoChanges() {
+        assertTrue(ChangeSet.parse("").isEmpty());
+    }
+
+    private static List<String> rangesOf(ChangeSet.FileChange change) {
+        return change.getRanges().stream().map(range -> range[0] + "-" + range[1]).toList();
+    }
+}
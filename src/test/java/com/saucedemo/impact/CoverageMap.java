@@ -0,0 +1,152 @@
+package com.saucedemo.impact;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Page-object footprints of tests from previous runs, stored as "ClassName.methodName=Page.method,..." in
+ * a local file. A footprint may name a checkpoint ("checkpoint:Owner.name") whose flow is stored as an
+ * entry of its own, since tests restoring a checkpoint don't run the flow themselves.
+ */
+public final class CoverageMap {
+    private static final Logger logger = LoggerFactory.getLogger(CoverageMap.class);
+
+    public static final String FILE_NAME = "coverage.properties";
+    public static final String CHECKPOINT_PREFIX = "checkpoint:";
+
+    private final Map<String, Set<String>> footprints;
+
+    private CoverageMap(Map<String, Set<String>> footprints) {
+        this.footprints = footprints;
+    }
+
+    /**
+     * Load footprints from a file. A missing or unreadable file yields an empty map.
+     *
+     * @param file Coverage file
+     * @return Footprints stored in the file
+     */
+    public static CoverageMap load(Path file) {
+        return new CoverageMap(readFile(file));
+    }
+
+    public boolean isEmpty() {
+        return footprints.isEmpty();
+    }
+
+    /**
+     * Get the page-object methods a test used, including those of the checkpoint flows it restored.
+     *
+     * @param testId Test id in the form "ClassName.methodName"
+     * @return Members in the form "Page.method", or empty if the test has no recorded footprint
+     */
+    public Optional<Set<String>> footprintOf(String testId) {
+        Set<String> members = footprints.get(testId);
+        if (members == null) {
+            return Optional.empty();
+        }
+        Set<String> expanded = new TreeSet<>();
+        for (String member : members) {
+            if (member.startsWith(CHECKPOINT_PREFIX)) {
+                expanded.addAll(footprints.getOrDefault(member, Set.of()));
+            } else {
+                expanded.add(member);
+            }
+        }
+        return Optional.of(expanded);
+    }
+
+    /**
+     * Check if any recorded footprint contains a page-object method.
+     *
+     * @param member Member in the form "Page.method"
+     * @return true if some test or checkpoint flow used it
+     */
+    public boolean isRecorded(String member) {
+        return footprints.values().stream().anyMatch(members -> members.contains(member));
+    }
+
+    /**
+     * Merge the footprints of this run into a coverage file. Footprints of tests that passed replace the
+     * stored ones; those of failed tests are added to them, since a failed test may have stopped early.
+     * Several JVMs may save at once; writes are serialized with a file lock.
+     *
+     * @param file Coverage file
+     * @param passed Footprints of tests and checkpoint flows that completed
+     * @param failed Footprints of tests that failed
+     */
+    static void save(Path file, Map<String, Set<String>> passed, Map<String, Set<String>> failed) {
+        if (passed.isEmpty() && failed.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path lockFile = file.resolveSibling(FILE_NAME + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    // Re-read under the lock so concurrent forks don't overwrite each other
+                    Map<String, Set<String>> merged = readFile(file);
+                    passed.forEach((id, members) -> merged.put(id, new TreeSet<>(members)));
+                    failed.forEach((id, members) -> merged.computeIfAbsent(id, key -> new TreeSet<>()).addAll(members));
+                    writeFile(file, merged);
+                } finally {
+                    lock.release();
+                }
+            }
+            logger.info("Saved page-object footprints of {} test(s) to {}", passed.size() + failed.size(), file);
+        } catch (IOException e) {
+            logger.warn("Failed to save page-object footprints to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void writeFile(Path file, Map<String, Set<String>> footprints) throws IOException {
+        Properties properties = new Properties();
+        footprints.forEach((id, members) -> properties.setProperty(id, String.join(",", members)));
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            properties.store(output, "Page-object methods used by each test");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<String, Set<String>> readFile(Path file) {
+        Map<String, Set<String>> footprints = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return footprints;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (IOException e) {
+            logger.warn("Failed to read page-object footprints from {}: {}", file, e.getMessage());
+            return footprints;
+        }
+        for (String id : properties.stringPropertyNames()) {
+            footprints.put(id, Arrays.stream(properties.getProperty(id).split(","))
+                    .map(String::trim)
+                    .filter(member -> !member.isEmpty())
+                    .collect(Collectors.toCollection(TreeSet::new)));
+        }
+        return footprints;
+    }
+}
@@ -0,0 +1,200 @@
+package com.saucedemo.impact;
+
+import com.saucedemo.pages.BasePage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which tests a change can affect, from the page-object footprints of previous runs:
+ * <ul>
+ *     <li>a changed page-object method affects the tests that used it; a change outside any method, or to
+ *     a method no test has used yet, affects every test that used the class</li>
+ *     <li>a changed test class affects its own tests</li>
+ *     <li>any other change under src/test, or to pom.xml, affects every test</li>
+ *     <li>changes elsewhere, e.g. documentation, affect no test</li>
+ * </ul>
+ * Tests without a recorded footprint are always selected.
+ */
+public final class ImpactSelection {
+    private static final Logger logger = LoggerFactory.getLogger(ImpactSelection.class);
+
+    private static final String SOURCE_ROOT = "src/test/java/";
+    private static final String PAGES_DIR = SOURCE_ROOT + BasePage.class.getPackageName().replace('.', '/') + "/";
+    private static final String TESTS_DIR = SOURCE_ROOT + "com/saucedemo/tests/";
+    private static final String BASE_TEST = "BaseTest";
+
+    // Method or constructor declaration in a class body, indented one level
+    private static final Pattern DECLARATION = Pattern.compile("^ {4}(?:[\\w<>\\[\\]?,]+ +)*(\\w+) *\\(.*");
+    private static final String BODY_END = "    }";
+
+    private final CoverageMap coverage;
+    private final Set<String> changedMembers = new TreeSet<>();
+    private final Set<String> changedPages = new TreeSet<>();
+    private final Set<String> changedTestClasses = new TreeSet<>();
+    private String runAllBecause;
+
+    private ImpactSelection(CoverageMap coverage) {
+        this.coverage = coverage;
+    }
+
+    /**
+     * Work out what a change affects.
+     *
+     * @param changes Changed files and lines
+     * @param coverage Footprints from previous runs
+     * @return Selection
+     */
+    public static ImpactSelection of(ChangeSet changes, CoverageMap coverage) {
+        ImpactSelection selection = new ImpactSelection(coverage);
+        for (ChangeSet.FileChange change : changes.getFiles()) {
+            selection.add(change);
+        }
+        return selection;
+    }
+
+    private void add(ChangeSet.FileChange change) {
+        String path = change.getPath();
+        if (path.startsWith(PAGES_DIR) && path.endsWith(".java")) {
+            addPageChange(classNameOf(path), change);
+        } else if (path.startsWith(TESTS_DIR) && path.endsWith(".java") && !classNameOf(path).equals(BASE_TEST)) {
+            changedTestClasses.add(classNameOf(path));
+        } else if ((path.startsWith("src/test/") || path.equals("pom.xml")) && runAllBecause == null) {
+            runAllBecause = path + " changed";
+        }
+    }
+
+    private void addPageChange(String page, ChangeSet.FileChange change) {
+        List<String> lines;
+        try {
+            lines = change.isWholeFile() ? null : Files.readAllLines(Paths.get(change.getPath()));
+        } catch (IOException e) {
+            logger.warn("Failed to read {}, treating the whole class as changed: {}", change.getPath(), e.getMessage());
+            lines = null;
+        }
+        if (lines == null) {
+            changedPages.add(page);
+            return;
+        }
+        for (int[] range : change.getRanges()) {
+            for (int line = range[0]; line <= range[1]; line++) {
+                Optional<String> method = methodAt(lines, line - 1);
+                String member = page + "." + method.orElse("");
+                // Fields, imports and methods no test has used yet count as a change of the whole class
+                if (method.isEmpty() || !coverage.isRecorded(member)) {
+                    changedPages.add(page);
+                } else {
+                    changedMembers.add(member);
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the method whose declaration, body or doc comment contains a line.
+     *
+     * @param lines Source lines
+     * @param index Zero-based line index
+     * @return Method name, or the class name for a constructor; empty outside any method
+     */
+    static Optional<String> methodAt(List<String> lines, int index) {
+        for (int start = Math.min(index, lines.size() - 1); start >= 0; start--) {
+            Matcher declaration = DECLARATION.matcher(lines.get(start));
+            if (declaration.matches()) {
+                int end = start;
+                // Methods without a body end with their declaration
+                while (end < lines.size() && !lines.get(start).trim().endsWith(";")
+                        && !lines.get(end).equals(BODY_END)) {
+                    end++;
+                }
+                return index <= end ? Optional.of(declaration.group(1)) : Optional.empty();
+            }
+            if (start < index && lines.get(start).equals(BODY_END)) {
+                break;
+            }
+        }
+        return methodDocumentedAt(lines, index);
+    }
+
+    /**
+     * Find the method a doc comment or annotation line belongs to.
+     */
+    private static Optional<String> methodDocumentedAt(List<String> lines, int index) {
+        for (int next = index; next < lines.size(); next++) {
+            String line = lines.get(next).trim();
+            Matcher declaration = DECLARATION.matcher(lines.get(next));
+            if (declaration.matches()) {
+                return Optional.of(declaration.group(1));
+            }
+            if (!(line.startsWith("/*") || line.startsWith("*") || line.startsWith("//") || line.startsWith("@"))) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Decide whether a test can be affected by the change.
+     *
+     * @param testId Test id in the form "ClassName.methodName"
+     * @return Reason to run the test, or empty if it can be skipped
+     */
+    public Optional<String> reasonToRun(String testId) {
+        if (runAllBecause != null) {
+            return Optional.of(runAllBecause);
+        }
+        String testClass = testId.substring(0, testId.indexOf('.'));
+        if (changedTestClasses.contains(testClass)) {
+            return Optional.of(testClass + " changed");
+        }
+        Optional<Set<String>> footprint = coverage.footprintOf(testId);
+        if (footprint.isEmpty()) {
+            return Optional.of("no recorded footprint");
+        }
+        List<String> used = new ArrayList<>();
+        for (String member : footprint.get()) {
+            if (changedMembers.contains(member) || changedPages.contains(member.substring(0, member.indexOf('.')))) {
+                used.add(member);
+            }
+        }
+        return used.isEmpty() ? Optional.empty() : Optional.of("uses " + String.join(", ", used));
+    }
+
+    /**
+     * Describe what the change affects, for the log.
+     *
+     * @return Description
+     */
+    public String describe() {
+        if (runAllBecause != null) {
+            return "all tests, " + runAllBecause;
+        }
+        List<String> parts = new ArrayList<>();
+        if (!changedMembers.isEmpty()) {
+            parts.add("methods " + String.join(", ", changedMembers));
+        }
+        if (!changedPages.isEmpty()) {
+            parts.add("whole pages " + String.join(", ", changedPages));
+        }
+        if (!changedTestClasses.isEmpty()) {
+            parts.add("test classes " + String.join(", ", changedTestClasses));
+        }
+        return parts.isEmpty() ? "no page objects or tests" : String.join("; ", parts);
+    }
+
+    private static String classNameOf(String path) {
+        String fileName = Path.of(path).getFileName().toString();
+        return fileName.substring(0, fileName.length() - ".java".length());
+    }
+}
@@ -0,0 +1,117 @@
+package com.saucedemo.impact;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for selecting the tests a change can affect.
+ */
+public class ImpactSelectionTest {
+    private static final String PAGES = "src/test/java/com/saucedemo/pages/";
+    private static final String TESTS = "src/test/java/com/saucedemo/tests/";
+
+    @TempDir
+    Path historyDir;
+
+    private CoverageMap coverage;
+
+    @BeforeEach
+    public void recordFootprints() {
+        Path file = historyDir.resolve(CoverageMap.FILE_NAME);
+        CoverageMap.save(file, Map.of(
+                "LoginTest.testValidLogin", Set.of("LoginPage.login"),
+                "CartTest.testAddItem", Set.of("LoginPage.login", "InventoryPage.addToCart"),
+                "CheckoutTest.testFinish", Set.of(CoverageMap.CHECKPOINT_PREFIX + "CheckoutTest.cart",
+                        "CheckoutPage.finishCheckout"),
+                CoverageMap.CHECKPOINT_PREFIX + "CheckoutTest.cart", Set.of("CartPage.proceedToCheckout")),
+                Map.of());
+        coverage = CoverageMap.load(file);
+    }
+
+    @Test
+    public void testDeletedPageSelectsTestsThatUsedIt() {
+        ImpactSelection selection = ImpactSelection.of(deleted(PAGES + "CartPage.java"), coverage);
+
+        assertEquals(Optional.of("uses CartPage.proceedToCheckout"), selection.reasonToRun("CheckoutTest.testFinish"),
+                "CheckoutTest used CartPage through its checkpoint flow");
+        assertTrue(selection.reasonToRun("LoginTest.testValidLogin").isEmpty());
+        assertTrue(selection.reasonToRun("CartTest.testAddItem").isEmpty());
+    }
+
+    @Test
+    public void testChangedTestClassSelectsOnlyItsTests() {
+        ImpactSelection selection = ImpactSelection.of(deleted(TESTS + "CartTest.java"), coverage);
+
+        assertEquals(Optional.of("CartTest changed"), selection.reasonToRun("CartTest.testAddItem"));
+        assertTrue(selection.reasonToRun("LoginTest.testValidLogin").isEmpty());
+    }
+
+    @Test
+    public void testBuildAndSharedTestCodeSelectEveryTest() {
+        for (String path : List.of("pom.xml", TESTS + "BaseTest.java", "src/test/resources/config.properties")) {
+            ImpactSelection selection = ImpactSelection.of(deleted(path), coverage);
+
+            assertEquals(Optional.of(path + " changed"), selection.reasonToRun("LoginTest.testValidLogin"));
+            assertEquals("all tests, " + path + " changed", selection.describe());
+        }
+    }
+
+    @Test
+    public void testOtherChangesSelectOnlyTestsWithoutFootprint() {
+        ImpactSelection selection = ImpactSelection.of(deleted("README.md"), coverage);
+
+        assertTrue(selection.reasonToRun("LoginTest.testValidLogin").isEmpty());
+        assertEquals(Optional.of("no recorded footprint"), selection.reasonToRun("LoginTest.testBrandNew"));
+        assertEquals("no page objects or tests", selection.describe());
+    }
+
+    @Test
+    public void testMethodAtFindsTheEnclosingMethod() {
+        List<String> source = List.of(
+                "public class LoginPage {",                  // 0
+                "    private final Page page;",              // 1
+                "",                                          // 2
+                "    /**",                                   // 3
+                "     * Log in.",                            // 4
+                "     */",                                   // 5
+                "    @Step",                                 // 6
+                "    public InventoryPage login(String user) {", // 7
+                "        page.fill(USERNAME, user);",        // 8
+                "    }",                                     // 9
+                "",                                          // 10
+                "    public LoginPage(Page page) {",         // 11
+                "        this.page = page;",                 // 12
+                "    }",                                     // 13
+                "}");                                        // 14
+
+        assertEquals(Optional.empty(), ImpactSelection.methodAt(source, 1), "Fields are outside any method");
+        assertEquals(Optional.of("login"), ImpactSelection.methodAt(source, 4), "Doc comments belong to the method");
+        assertEquals(Optional.of("login"), ImpactSelection.methodAt(source, 6), "Annotations belong to the method");
+        assertEquals(Optional.of("login"), ImpactSelection.methodAt(source, 8));
+        assertEquals(Optional.of("login"), ImpactSelection.methodAt(source, 9));
+        assertEquals(Optional.empty(), ImpactSelection.methodAt(source, 10));
+        assertEquals(Optional.of("LoginPage"), ImpactSelection.methodAt(source, 12), "Constructors are members");
+    }
+
+    /**
+     * Build a change set deleting a file, which counts as a change to the whole file.
+     */
+    private static ChangeSet deleted(String path) {
+        return ChangeSet.parse(String.join("\n",
+                "diff --git a/" + path + " b/" + path,
+                "deleted file mode 100644",
+                "--- a/" + path,
+                "+++ /dev/null",
+                "@@ -1 +0,0 @@",
+                "-gone"));
+    }
+}
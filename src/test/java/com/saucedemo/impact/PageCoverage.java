@@ -0,0 +1,128 @@
+package com.saucedemo.impact;
+
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.logging.LogContext;
+import com.saucedemo.pages.BasePage;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Records which page-object methods each test reaches. {@link BasePage} calls {@link #record()} before every
+ * browser action; the page-object frames on the call stack at that moment are added to the footprint of the
+ * current test, and of the checkpoint flow being captured, if any. Footprints are saved to
+ * &lt;history.dir&gt;/coverage.properties when the run ends and used by impact selection.
+ */
+public final class PageCoverage {
+    private static final Path FILE = Paths.get(TestConfig.getHistoryDir()).resolve(CoverageMap.FILE_NAME);
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final Map<String, Set<String>> TESTS = new ConcurrentHashMap<>();
+    private static final Map<String, Set<String>> CHECKPOINTS = new ConcurrentHashMap<>();
+    private static final Set<String> FAILED = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<Set<String>> CAPTURING = new ThreadLocal<>();
+
+    private PageCoverage() {
+    }
+
+    /**
+     * Add the page-object methods on the calling thread's stack to the current footprints.
+     */
+    public static void record() {
+        String testId = LogContext.currentTestId();
+        Set<String> capturing = CAPTURING.get();
+        if (testId == null && capturing == null) {
+            return;
+        }
+        List<String> members = WALKER.walk(frames -> frames
+                .filter(frame -> BasePage.class.isAssignableFrom(frame.getDeclaringClass()))
+                .map(frame -> frame.getDeclaringClass().getSimpleName() + "." + memberName(frame))
+                .distinct()
+                .toList());
+        if (testId != null) {
+            TESTS.computeIfAbsent(unqualified(testId), key -> ConcurrentHashMap.newKeySet()).addAll(members);
+        }
+        if (capturing != null) {
+            capturing.addAll(members);
+        }
+    }
+
+    /**
+     * Run a checkpoint flow, recording its footprint under the checkpoint once it completes.
+     *
+     * @param checkpoint Checkpoint id, e.g. "CheckoutTest.cart-with-items"
+     * @param flow Captures the checkpoint
+     * @return Result of the flow
+     */
+    public static <T> T capture(String checkpoint, Supplier<T> flow) {
+        Set<String> previous = CAPTURING.get();
+        Set<String> members = ConcurrentHashMap.newKeySet();
+        CAPTURING.set(members);
+        try {
+            T result = flow.get();
+            CHECKPOINTS.put(CoverageMap.CHECKPOINT_PREFIX + checkpoint, members);
+            return result;
+        } finally {
+            CAPTURING.set(previous);
+        }
+    }
+
+    /**
+     * Note that the current test restored a checkpoint, so it also depends on the checkpoint's flow.
+     *
+     * @param checkpoint Checkpoint id, e.g. "CheckoutTest.cart-with-items"
+     */
+    public static void restored(String checkpoint) {
+        String testId = LogContext.currentTestId();
+        if (testId != null) {
+            TESTS.computeIfAbsent(unqualified(testId), key -> ConcurrentHashMap.newKeySet())
+                    .add(CoverageMap.CHECKPOINT_PREFIX + checkpoint);
+        }
+    }
+
+    /**
+     * Mark a test as failed, so its footprint is added to the stored one rather than replacing it.
+     *
+     * @param testId Test id in the form "ClassName.methodName"
+     */
+    public static void failed(String testId) {
+        FAILED.add(unqualified(testId));
+    }
+
+    /**
+     * Merge the footprints of this run into the coverage file.
+     */
+    public static void save() {
+        Map<String, Set<String>> passed = new HashMap<>(CHECKPOINTS);
+        Map<String, Set<String>> failed = new HashMap<>();
+        TESTS.forEach((testId, members) -> (FAILED.contains(testId) ? failed : passed).put(testId, members));
+        CoverageMap.save(FILE, passed, failed);
+    }
+
+    /**
+     * Get the source-level name of a frame's method: lambdas count as the method they are written in,
+     * constructors as the class name.
+     */
+    private static String memberName(StackWalker.StackFrame frame) {
+        String name = frame.getMethodName();
+        if (name.startsWith("lambda$")) {
+            int end = name.indexOf('$', "lambda$".length());
+            name = end > 0 ? name.substring("lambda$".length(), end) : name;
+        }
+        return name.equals("<init>") || name.equals("new") ? frame.getDeclaringClass().getSimpleName() : name;
+    }
+
+    /**
+     * Strip the browser matrix cell from a test id; footprints are kept per test method.
+     */
+    private static String unqualified(String testId) {
+        int at = testId.indexOf('@');
+        return at < 0 ? testId : testId.substring(0, at);
+    }
+}
@@ -0,0 +1,27 @@
+package com.saucedemo.impact;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Marks failed tests for {@link PageCoverage} and saves the recorded footprints once the whole run has finished.
+ */
+public class PageCoverageExtension implements BeforeAllCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(PageCoverageExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("coverage",
+                key -> (ExtensionContext.Store.CloseableResource) PageCoverage::save);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            PageCoverage.failed(context.getRequiredTestClass().getSimpleName() + "."
+                    + context.getRequiredTestMethod().getName());
+        }
+    }
+}
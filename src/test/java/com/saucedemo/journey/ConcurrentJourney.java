@@ -0,0 +1,121 @@
+package com.saucedemo.journey;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.saucedemo.browser.BrowserSession;
+import com.saucedemo.logging.LogContext;
+import com.saucedemo.telemetry.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs the same flow for several virtual users at once within a single test, e.g. many sessions
+ * checking out together. Each user runs on its own virtual thread with its own Playwright instance and
+ * context, connected to a browser the users share: Playwright objects are not thread-safe, so everything
+ * a user touches is created, used and closed on that user's thread. Users synchronize with
+ * {@link VirtualUser#await}.
+ * <p>
+ * A failing user does not stop the others; its error is reported in the {@link JourneyResult}.
+ */
+public final class ConcurrentJourney {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentJourney.class);
+
+    private final String testId;
+    private final String browserLabel;
+    private final int users;
+    private final Supplier<BrowserSession> browsers;
+    private final Function<Browser, BrowserContext> contexts;
+    private final long barrierTimeoutMillis;
+
+    /**
+     * Create a journey. BaseTest provides the browser and context factories of the running test.
+     *
+     * @param testId Test the users belong to, for logging
+     * @param browserLabel Browser matrix cell of the test, for logging
+     * @param users Number of virtual users
+     * @param browsers Connects a user's session to the shared browser; called on each user's thread
+     * @param contexts Creates a configured context in a browser; called on each user's thread
+     * @param barrierTimeoutMillis How long a user waits for the others at a barrier
+     */
+    public ConcurrentJourney(String testId, String browserLabel, int users, Supplier<BrowserSession> browsers,
+                             Function<Browser, BrowserContext> contexts, long barrierTimeoutMillis) {
+        if (users < 1) {
+            throw new IllegalArgumentException("A journey needs at least one user, got " + users);
+        }
+        this.testId = testId;
+        this.browserLabel = browserLabel;
+        this.users = users;
+        this.browsers = browsers;
+        this.contexts = contexts;
+        this.barrierTimeoutMillis = barrierTimeoutMillis;
+    }
+
+    /**
+     * Run the flow for every user concurrently and wait until all have finished.
+     *
+     * @param journey Flow each user performs
+     * @return Outcome and step timings of every user
+     */
+    public JourneyResult run(UserJourney journey) {
+        logger.info("Starting concurrent journey with {} virtual user(s)", users);
+        Phaser barrier = new Phaser(users);
+        long startNanos = System.nanoTime();
+        List<Future<UserOutcome>> futures = new ArrayList<>(users);
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("vu-", 1).factory())) {
+            for (int user = 1; user <= users; user++) {
+                int index = user;
+                futures.add(executor.submit(() -> runUser(index, journey, barrier, startNanos)));
+            }
+        }
+        List<UserOutcome> outcomes = futures.stream().map(Future::resultNow).toList();
+        JourneyResult result = new JourneyResult(outcomes,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        logger.info("Concurrent journey finished: {}", result.summary());
+        return result;
+    }
+
+    private UserOutcome runUser(int index, UserJourney journey, Phaser barrier, long journeyStartNanos) {
+        LogContext.startTest(testId);
+        LogContext.setBrowser(browserLabel);
+        LogContext.setVirtualUser(String.valueOf(index));
+        long startNanos = System.nanoTime();
+        VirtualUser user = new VirtualUser(index, barrier, barrierTimeoutMillis, journeyStartNanos);
+        Throwable error = null;
+        try (BrowserSession session = browsers.get()) {
+            BrowserContext context = contexts.apply(session.getBrowser());
+            Metrics.ACTIVE_CONTEXTS.incrementAndGet();
+            try {
+                user.attach(context.newPage());
+                journey.run(user);
+            } finally {
+                // Release the other users before the slower context shutdown
+                user.leave();
+                try {
+                    context.close();
+                } finally {
+                    Metrics.ACTIVE_CONTEXTS.decrementAndGet();
+                }
+            }
+        } catch (RuntimeException | AssertionError e) {
+            error = e;
+            logger.error("Virtual user {} failed: {}", index, e.getMessage());
+        } finally {
+            user.leave();
+            Metrics.JOURNEYS_COMPLETED.inc(testId, error == null ? "passed" : "failed");
+            LogContext.clear();
+        }
+        return new UserOutcome(index, error, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                user.getSteps());
+    }
+}
@@ -0,0 +1,104 @@
+package com.saucedemo.journey;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * Outcomes of all virtual users of a {@link ConcurrentJourney}, with per-step latency summaries.
+ */
+public final class JourneyResult {
+    private final List<UserOutcome> outcomes;
+    private final long wallMillis;
+
+    public JourneyResult(List<UserOutcome> outcomes, long wallMillis) {
+        this.outcomes = List.copyOf(outcomes);
+        this.wallMillis = wallMillis;
+    }
+
+    /**
+     * Get the outcome of every user, ordered by user number.
+     *
+     * @return User outcomes
+     */
+    public List<UserOutcome> getOutcomes() {
+        return outcomes;
+    }
+
+    public List<UserOutcome> getFailures() {
+        return outcomes.stream().filter(outcome -> !outcome.isPassed()).toList();
+    }
+
+    public boolean allPassed() {
+        return outcomes.stream().allMatch(UserOutcome::isPassed);
+    }
+
+    public long getWallMillis() {
+        return wallMillis;
+    }
+
+    /**
+     * Get the latency of a step for every user that completed it, sorted ascending.
+     *
+     * @param step Step name
+     * @return Durations in milliseconds
+     */
+    public List<Long> latencies(String step) {
+        return outcomes.stream()
+                .flatMap(outcome -> outcome.getStep(step).stream())
+                .map(StepTiming::getDurationMillis)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Get how far apart the users started a step: 0 means all started at the same millisecond.
+     * Used to check that a barrier really released everyone together.
+     *
+     * @param step Step name
+     * @return Difference between the last and first start, or 0 if fewer than two users completed the step
+     */
+    public long startSpreadMillis(String step) {
+        List<Long> starts = outcomes.stream()
+                .flatMap(outcome -> outcome.getStep(step).stream())
+                .map(StepTiming::getStartMillis)
+                .toList();
+        if (starts.size() < 2) {
+            return 0;
+        }
+        return starts.stream().mapToLong(Long::longValue).max().getAsLong()
+                - starts.stream().mapToLong(Long::longValue).min().getAsLong();
+    }
+
+    /**
+     * Describe the failed users, for assertion messages.
+     *
+     * @return One line per failed user
+     */
+    public String describeFailures() {
+        return getFailures().stream().map(UserOutcome::toString).collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Summarize the journey: passed users and min/median/max latency and start spread of every step.
+     *
+     * @return Multi-line summary
+     */
+    public String summary() {
+        StringJoiner summary = new StringJoiner("\n");
+        summary.add(String.format(Locale.ROOT, "%d/%d user(s) passed in %d ms",
+                outcomes.size() - getFailures().size(), outcomes.size(), wallMillis));
+        Set<String> steps = new LinkedHashSet<>();
+        outcomes.forEach(outcome -> steps.addAll(outcome.getSteps().keySet()));
+        for (String step : steps) {
+            List<Long> latencies = latencies(step);
+            summary.add(String.format(Locale.ROOT, "  %-24s n=%d min=%d ms median=%d ms max=%d ms spread=%d ms",
+                    step, latencies.size(), latencies.get(0), latencies.get(latencies.size() / 2),
+                    latencies.get(latencies.size() - 1), startSpreadMillis(step)));
+        }
+        return summary.toString();
+    }
+}
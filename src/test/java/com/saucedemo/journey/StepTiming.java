@@ -0,0 +1,27 @@
+package com.saucedemo.journey;
+
+/**
+ * When a virtual user started a step, relative to the start of the journey, and how long it took.
+ */
+public final class StepTiming {
+    private final long startMillis;
+    private final long durationMillis;
+
+    public StepTiming(long startMillis, long durationMillis) {
+        this.startMillis = startMillis;
+        this.durationMillis = durationMillis;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return durationMillis + " ms at +" + startMillis + " ms";
+    }
+}
@@ -0,0 +1,16 @@
+package com.saucedemo.journey;
+
+/**
+ * The flow one virtual user performs in a {@link ConcurrentJourney}.
+ * Runs on the user's own virtual thread; a failure ends that user only.
+ */
+@FunctionalInterface
+public interface UserJourney {
+
+    /**
+     * Drive the user's page through the flow.
+     *
+     * @param user Virtual user with its own page
+     */
+    void run(VirtualUser user);
+}
@@ -0,0 +1,63 @@
+package com.saucedemo.journey;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The result of one virtual user: whether its journey completed, and the timing of each step.
+ */
+public final class UserOutcome {
+    private final int user;
+    private final Throwable error;
+    private final long totalMillis;
+    private final Map<String, StepTiming> steps;
+
+    public UserOutcome(int user, Throwable error, long totalMillis, Map<String, StepTiming> steps) {
+        this.user = user;
+        this.error = error;
+        this.totalMillis = totalMillis;
+        this.steps = Collections.unmodifiableMap(new LinkedHashMap<>(steps));
+    }
+
+    public int getUser() {
+        return user;
+    }
+
+    public boolean isPassed() {
+        return error == null;
+    }
+
+    public Optional<Throwable> getError() {
+        return Optional.ofNullable(error);
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Get the timings of the steps the user completed, in the order they ran.
+     *
+     * @return Step timings by name
+     */
+    public Map<String, StepTiming> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Get the timing of a step.
+     *
+     * @param step Step name passed to {@link VirtualUser#step}
+     * @return Timing, or empty if the user did not complete the step
+     */
+    public Optional<StepTiming> getStep(String step) {
+        return Optional.ofNullable(steps.get(step));
+    }
+
+    @Override
+    public String toString() {
+        return "user " + user + (error == null ? " passed" : " failed: " + error) + " in " + totalMillis + " ms";
+    }
+}
@@ -0,0 +1,122 @@
+package com.saucedemo.journey;
+
+import com.microsoft.playwright.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * One simulated user of a {@link ConcurrentJourney}, with its own isolated context and page.
+ * The page belongs to the user's virtual thread and must not be handed to other threads.
+ */
+public final class VirtualUser {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualUser.class);
+
+    private final int index;
+    private Page page;
+    private final Phaser barrier;
+    private final long barrierTimeoutMillis;
+    private final long journeyStartNanos;
+    private final Map<String, StepTiming> steps = new LinkedHashMap<>();
+    private boolean registered = true;
+
+    VirtualUser(int index, Phaser barrier, long barrierTimeoutMillis, long journeyStartNanos) {
+        this.index = index;
+        this.barrier = barrier;
+        this.barrierTimeoutMillis = barrierTimeoutMillis;
+        this.journeyStartNanos = journeyStartNanos;
+    }
+
+    /**
+     * Get the user's number, starting at 1.
+     *
+     * @return User number
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the user's page, for constructing page objects.
+     *
+     * @return Page of the user's own browser context
+     */
+    public Page getPage() {
+        return page;
+    }
+
+    /**
+     * Run a step of the journey and record when it started and how long it took.
+     *
+     * @param name Step name, unique within the journey
+     * @param action Step to run
+     * @return Result of the step
+     */
+    public <T> T step(String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        T result = action.get();
+        record(name, start);
+        return result;
+    }
+
+    /**
+     * Wait until every user still in the journey has reached this barrier, so that the next step
+     * starts at the same moment for all of them. Users whose journey failed no longer count.
+     *
+     * @param name Barrier name, e.g. "finish"
+     * @throws IllegalStateException if the other users do not arrive within journey.barrier.timeout
+     */
+    public void await(String name) {
+        long start = System.nanoTime();
+        int phase = barrier.arrive();
+        try {
+            if (barrier.awaitAdvanceInterruptibly(phase, barrierTimeoutMillis, TimeUnit.MILLISECONDS) < 0) {
+                throw new IllegalStateException("Barrier '" + name + "' was broken by another user");
+            }
+        } catch (TimeoutException e) {
+            // Release everyone else instead of letting them time out one by one
+            barrier.forceTermination();
+            throw new IllegalStateException("Not every user reached barrier '" + name + "' within "
+                    + barrierTimeoutMillis + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            barrier.forceTermination();
+            throw new IllegalStateException("Interrupted at barrier '" + name + "'", e);
+        }
+        record("await " + name, start);
+        logger.debug("Passed barrier '{}'", name);
+    }
+
+    /**
+     * Give the user its page once its browser context has been created.
+     */
+    void attach(Page page) {
+        this.page = page;
+    }
+
+    /**
+     * Stop taking part in barriers, once the journey has finished or failed.
+     */
+    void leave() {
+        if (registered && !barrier.isTerminated()) {
+            barrier.arriveAndDeregister();
+        }
+        registered = false;
+    }
+
+    Map<String, StepTiming> getSteps() {
+        return steps;
+    }
+
+    private void record(String name, long startNanos) {
+        long now = System.nanoTime();
+        steps.put(name, new StepTiming(TimeUnit.NANOSECONDS.toMillis(startNanos - journeyStartNanos),
+                TimeUnit.NANOSECONDS.toMillis(now - startNanos)));
+    }
+}
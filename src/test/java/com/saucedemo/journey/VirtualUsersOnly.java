@@ -0,0 +1,15 @@
+package com.saucedemo.journey;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark a test, or every test of a class, that only drives virtual users through a {@link ConcurrentJourney}.
+ * BaseTest then gives the test no context and page of its own, and leases it no browser session.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface VirtualUsersOnly {
+}
@@ -0,0 +1,75 @@
+package com.saucedemo.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.ConsoleAppender;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Sizes the asynchronous console appender declared in logback-test.xml.
+ * Logback is configured before the test configuration is loaded, so the queue size from
+ * log.async.queue.size is applied here, from the same setting as the {@link JsonLogging} queue.
+ */
+public final class ConsoleLogging {
+    private static final String APPENDER_NAME = "ASYNC_CONSOLE";
+
+    private ConsoleLogging() {
+    }
+
+    /**
+     * Give the console appender a queue of the given capacity. A queue cannot be resized once started,
+     * so a new appender with its own console output takes over, and the old one is stopped, which
+     * writes out what is still in its queue. Calls with the current capacity are no-ops, as are calls
+     * when the appender has been reconfigured to write anywhere but the console.
+     *
+     * @param queueSize Capacity of the asynchronous queue
+     */
+    public static synchronized void applyQueueSize(int queueSize) {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        if (!(root.getAppender(APPENDER_NAME) instanceof AsyncAppender current)
+                || current.getQueueSize() == queueSize) {
+            return;
+        }
+        List<ConsoleAppender<ILoggingEvent>> consoles = new ArrayList<>();
+        for (Iterator<Appender<ILoggingEvent>> it = current.iteratorForAppenders(); it.hasNext(); ) {
+            if (!(it.next() instanceof ConsoleAppender<ILoggingEvent> console)) {
+                return;
+            }
+            consoles.add(console);
+        }
+
+        AsyncAppender resized = new AsyncAppender();
+        resized.setContext(loggerContext);
+        resized.setName(APPENDER_NAME);
+        resized.setQueueSize(queueSize);
+        resized.setDiscardingThreshold(current.getDiscardingThreshold());
+        resized.setNeverBlock(current.isNeverBlock());
+        resized.setIncludeCallerData(current.isIncludeCallerData());
+        consoles.forEach(console -> resized.addAppender(copyOf(console)));
+        resized.start();
+
+        // Add before detaching, so no event finds the root logger without a console appender
+        root.addAppender(resized);
+        root.detachAppender(current);
+        current.stop();
+    }
+
+    private static ConsoleAppender<ILoggingEvent> copyOf(ConsoleAppender<ILoggingEvent> console) {
+        // The old async appender stops its console appender once drained, so the new one gets its own
+        ConsoleAppender<ILoggingEvent> copy = new ConsoleAppender<>();
+        copy.setContext(console.getContext());
+        copy.setName(console.getName());
+        copy.setTarget(console.getTarget());
+        copy.setEncoder(console.getEncoder());
+        copy.start();
+        return copy;
+    }
+}
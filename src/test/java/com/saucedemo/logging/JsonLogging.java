@@ -0,0 +1,62 @@
+package com.saucedemo.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+
+/**
+ * Optional JSON-lines log output.
+ * Attaches an asynchronous file appender to the root logger so every event,
+ * with its MDC test id, is written to one file per JVM that
+ * {@link LogSplitter} can later split per test.
+ */
+public final class JsonLogging {
+    private static final String APPENDER_NAME = "JSON_ASYNC";
+
+    private JsonLogging() {
+    }
+
+    /**
+     * Install the JSON appender once per JVM. Subsequent calls are no-ops.
+     *
+     * @param directory Directory for the log file
+     * @param queueSize Capacity of the asynchronous queue
+     */
+    public static synchronized void install(Path directory, int queueSize) {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        if (root.getAppender(APPENDER_NAME) != null) {
+            return;
+        }
+
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setWithArguments(false);
+        encoder.setWithContext(false);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setName("JSON_FILE");
+        fileAppender.setFile(directory.resolve("run-" + ProcessHandle.current().pid() + ".jsonl").toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(loggerContext);
+        asyncAppender.setName(APPENDER_NAME);
+        asyncAppender.setQueueSize(queueSize);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.setDiscardingThreshold(0);
+        asyncAppender.addAppender(fileAppender);
+        asyncAppender.start();
+
+        root.addAppender(asyncAppender);
+    }
+}
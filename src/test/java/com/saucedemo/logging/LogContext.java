@@ -0,0 +1,141 @@
+package com.saucedemo.logging;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Per-test logging context carried in the SLF4J MDC.
+ * Every log line gets the test id, worker id and virtual-user id, including
+ * lines emitted from Playwright event callbacks wrapped with {@link #propagate}.
+ */
+public final class LogContext {
+    public static final String TEST_ID = "testId";
+    public static final String WORKER_ID = "workerId";
+    public static final String VIRTUAL_USER_ID = "vuId";
+    public static final String PROFILE = "profile";
+    public static final String BROWSER = "browser";
+
+    private static final String DEFAULT_VIRTUAL_USER = "0";
+    private static final String FORK_NUMBER = System.getProperty("surefire.forkNumber", "1");
+
+    private LogContext() {
+    }
+
+    /**
+     * Bind the current thread's log lines to a test.
+     *
+     * @param testId Identifier of the test, e.g. "CartTest.testAddItemsToCart"
+     */
+    public static void startTest(String testId) {
+        MDC.put(TEST_ID, testId);
+        MDC.put(WORKER_ID, FORK_NUMBER + "-" + Thread.currentThread().getName());
+        MDC.put(VIRTUAL_USER_ID, DEFAULT_VIRTUAL_USER);
+    }
+
+    /**
+     * Set the virtual-user id for the current thread.
+     *
+     * @param virtualUserId Identifier of the simulated user session
+     */
+    public static void setVirtualUser(String virtualUserId) {
+        MDC.put(VIRTUAL_USER_ID, virtualUserId);
+    }
+
+    /**
+     * Set the emulation profile the current test runs under.
+     *
+     * @param profile Profile name, e.g. "3g"
+     */
+    public static void setProfile(String profile) {
+        MDC.put(PROFILE, profile);
+    }
+
+    /**
+     * Get the emulation profile of the current test.
+     *
+     * @return Profile name, or "none" if no test is bound
+     */
+    public static String currentProfile() {
+        String profile = MDC.get(PROFILE);
+        return profile != null ? profile : "none";
+    }
+
+    /**
+     * Set the browser matrix cell the current test runs in.
+     *
+     * @param browser Cell label, e.g. "firefox"
+     */
+    public static void setBrowser(String browser) {
+        MDC.put(BROWSER, browser);
+    }
+
+    /**
+     * Get the browser matrix cell of the current test.
+     *
+     * @return Cell label, or "-" if no test is bound
+     */
+    public static String currentBrowser() {
+        String browser = MDC.get(BROWSER);
+        return browser != null ? browser : "-";
+    }
+
+    /**
+     * Get the test id bound to the current thread.
+     *
+     * @return Test id or null if no test is bound
+     */
+    public static String currentTestId() {
+        return MDC.get(TEST_ID);
+    }
+
+    /**
+     * Remove the logging context from the current thread.
+     */
+    public static void clear() {
+        MDC.remove(TEST_ID);
+        MDC.remove(WORKER_ID);
+        MDC.remove(VIRTUAL_USER_ID);
+        MDC.remove(PROFILE);
+        MDC.remove(BROWSER);
+    }
+
+    /**
+     * Wrap an event handler so it logs with the context captured at registration time.
+     *
+     * @param handler Handler to wrap
+     * @return Handler that runs with the captured MDC
+     */
+    public static <T> Consumer<T> propagate(Consumer<T> handler) {
+        Map<String, String> captured = MDC.getCopyOfContextMap();
+        return event -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            apply(captured);
+            try {
+                handler.accept(event);
+            } finally {
+                apply(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap a task so it logs with the context captured at creation time.
+     *
+     * @param task Task to wrap
+     * @return Task that runs with the captured MDC
+     */
+    public static Runnable propagate(Runnable task) {
+        Consumer<Void> wrapped = propagate(ignored -> task.run());
+        return () -> wrapped.accept(null);
+    }
+
+    private static void apply(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.saucedemo.logging;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits the JSON-lines logs written by {@link JsonLogging} into one file per test.
+ * Usage: {@code java com.saucedemo.logging.LogSplitter [logDir]} (defaults to target/logs).
+ */
+public final class LogSplitter {
+    private static final Pattern TEST_ID_PATTERN =
+            Pattern.compile("\"" + LogContext.TEST_ID + "\"\\s*:\\s*\"([^\"]*)\"");
+    private static final String SUITE_FILE = "suite";
+
+    private LogSplitter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path logDir = Paths.get(args.length > 0 ? args[0] : "target/logs");
+        int files = split(logDir, logDir.resolve("tests"));
+        System.out.println("Split logs into " + files + " file(s) under " + logDir.resolve("tests"));
+    }
+
+    /**
+     * Stream every *.jsonl file in a directory and append each line to its test's file.
+     *
+     * @param logDir Directory containing run-*.jsonl files
+     * @param outputDir Directory to write per-test files to
+     * @return Number of per-test files written
+     */
+    public static int split(Path logDir, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        Map<String, BufferedWriter> writers = new HashMap<>();
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(logDir, "*.jsonl")) {
+            for (Path log : logs) {
+                try (BufferedReader reader = Files.newBufferedReader(log, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        Matcher matcher = TEST_ID_PATTERN.matcher(line);
+                        String testId = matcher.find() ? matcher.group(1) : SUITE_FILE;
+                        BufferedWriter writer = writers.computeIfAbsent(testId, id -> open(outputDir, id));
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                }
+            }
+        } finally {
+            for (BufferedWriter writer : writers.values()) {
+                writer.close();
+            }
+        }
+        return writers.size();
+    }
+
+    private static BufferedWriter open(Path outputDir, String testId) {
+        String fileName = testId.replaceAll("[^A-Za-z0-9._-]", "_") + ".jsonl";
+        try {
+            return Files.newBufferedWriter(outputDir.resolve(fileName), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open per-test log file for " + testId, e);
+        }
+    }
+}
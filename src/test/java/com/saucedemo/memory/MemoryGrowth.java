@@ -0,0 +1,67 @@
+package com.saucedemo.memory;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Growth per cycle of each memory metric, fitted by least squares over all samples.
+ * A fitted slope is less sensitive to a single noisy sample than comparing the first and last one.
+ */
+public final class MemoryGrowth {
+    private final double heapBytesPerCycle;
+    private final double domNodesPerCycle;
+    private final double listenersPerCycle;
+
+    private MemoryGrowth(double heapBytesPerCycle, double domNodesPerCycle, double listenersPerCycle) {
+        this.heapBytesPerCycle = heapBytesPerCycle;
+        this.domNodesPerCycle = domNodesPerCycle;
+        this.listenersPerCycle = listenersPerCycle;
+    }
+
+    /**
+     * Fit the growth of each metric.
+     *
+     * @param samples At least two samples taken at different cycles
+     * @return Growth per cycle
+     */
+    public static MemoryGrowth fit(List<MemorySample> samples) {
+        if (samples.size() < 2) {
+            throw new IllegalArgumentException("At least two samples are required, got " + samples.size());
+        }
+        return new MemoryGrowth(
+                slope(samples, MemorySample::getJsHeapUsedBytes),
+                slope(samples, MemorySample::getDomNodes),
+                slope(samples, MemorySample::getEventListeners));
+    }
+
+    private static double slope(List<MemorySample> samples, ToLongFunction<MemorySample> metric) {
+        double meanX = samples.stream().mapToInt(MemorySample::getCycle).average().orElse(0);
+        double meanY = samples.stream().mapToLong(metric).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (MemorySample sample : samples) {
+            double dx = sample.getCycle() - meanX;
+            covariance += dx * (metric.applyAsLong(sample) - meanY);
+            variance += dx * dx;
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    public double getHeapBytesPerCycle() {
+        return heapBytesPerCycle;
+    }
+
+    public double getDomNodesPerCycle() {
+        return domNodesPerCycle;
+    }
+
+    public double getListenersPerCycle() {
+        return listenersPerCycle;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("heap %.0f B/cycle, %.2f nodes/cycle, %.2f listeners/cycle",
+                heapBytesPerCycle, domNodesPerCycle, listenersPerCycle);
+    }
+}
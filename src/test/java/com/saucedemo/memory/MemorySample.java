@@ -0,0 +1,46 @@
+package com.saucedemo.memory;
+
+/**
+ * Memory usage of a page after a forced garbage collection, taken after a given number of cycles.
+ */
+public final class MemorySample {
+    private final int cycle;
+    private final long jsHeapUsedBytes;
+    private final long domNodes;
+    private final long eventListeners;
+    private final long documents;
+
+    public MemorySample(int cycle, long jsHeapUsedBytes, long domNodes, long eventListeners, long documents) {
+        this.cycle = cycle;
+        this.jsHeapUsedBytes = jsHeapUsedBytes;
+        this.domNodes = domNodes;
+        this.eventListeners = eventListeners;
+        this.documents = documents;
+    }
+
+    public int getCycle() {
+        return cycle;
+    }
+
+    public long getJsHeapUsedBytes() {
+        return jsHeapUsedBytes;
+    }
+
+    public long getDomNodes() {
+        return domNodes;
+    }
+
+    public long getEventListeners() {
+        return eventListeners;
+    }
+
+    public long getDocuments() {
+        return documents;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("cycle %d: heap=%d B, nodes=%d, listeners=%d, documents=%d",
+                cycle, jsHeapUsedBytes, domNodes, eventListeners, documents);
+    }
+}
@@ -0,0 +1,76 @@
+package com.saucedemo.memory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples JS heap size, DOM node count and event listener count of a Chromium page
+ * through the DevTools protocol. Every sample forces a garbage collection first,
+ * so only memory that is still reachable is counted.
+ */
+public class MemorySampler implements AutoCloseable {
+    private final CDPSession session;
+
+    /**
+     * Open a DevTools session on the page.
+     *
+     * @param page Page of a Chromium browser context
+     */
+    public MemorySampler(Page page) {
+        this.session = page.context().newCDPSession(page);
+        session.send("Performance.enable");
+    }
+
+    /**
+     * Force a garbage collection and read the page's memory metrics.
+     *
+     * @param cycle Number of cycles completed so far
+     * @return Memory sample
+     */
+    public MemorySample sample(int cycle) {
+        session.send("HeapProfiler.collectGarbage");
+        JsonObject result = session.send("Performance.getMetrics");
+        Map<String, Long> metrics = new HashMap<>();
+        for (JsonElement metric : result.getAsJsonArray("metrics")) {
+            JsonObject entry = metric.getAsJsonObject();
+            metrics.put(entry.get("name").getAsString(), entry.get("value").getAsLong());
+        }
+        return new MemorySample(cycle,
+                metrics.getOrDefault("JSHeapUsedSize", 0L),
+                metrics.getOrDefault("Nodes", 0L),
+                metrics.getOrDefault("JSEventListeners", 0L),
+                metrics.getOrDefault("Documents", 0L));
+    }
+
+    /**
+     * Write samples as CSV, e.g. for plotting the growth over a long run.
+     *
+     * @param file Output file
+     * @param samples Samples in cycle order
+     */
+    public static void writeCsv(Path file, List<MemorySample> samples) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("cycle,js_heap_used_bytes,dom_nodes,event_listeners,documents");
+            for (MemorySample sample : samples) {
+                out.printf("%d,%d,%d,%d,%d%n", sample.getCycle(), sample.getJsHeapUsedBytes(),
+                        sample.getDomNodes(), sample.getEventListeners(), sample.getDocuments());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        session.detach();
+    }
+}
@@ -0,0 +1,87 @@
+package com.saucedemo.network;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Lock-free counter map with a cap on the number of distinct keys.
+ * Keys seen after the cap is reached are folded into a single overflow bucket, which counts towards the cap,
+ * so memory stays flat no matter how many distinct URLs a page produces.
+ */
+public final class BoundedCounterMap {
+    public static final String OVERFLOW_KEY = "(other)";
+
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    // Slots taken by keys other than the overflow bucket, reserved before a key is inserted
+    private final AtomicInteger reservedKeys = new AtomicInteger();
+    private final LongAdder overflow = new LongAdder();
+
+    public BoundedCounterMap(int maxKeys) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("maxKeys must be positive: " + maxKeys);
+        }
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Increment the counter for a key.
+     *
+     * @param key Key to count
+     */
+    public void increment(String key) {
+        add(key, 1);
+    }
+
+    /**
+     * Add a value to the counter for a key.
+     *
+     * @param key Key to count
+     * @param delta Amount to add
+     */
+    public void add(String key, long delta) {
+        LongAdder adder = counters.get(key);
+        if (adder == null) {
+            // Returning null leaves the key out, so a key only gets a counter once it holds a slot
+            adder = counters.computeIfAbsent(key, k -> reserveSlot() ? new LongAdder() : null);
+        }
+        (adder != null ? adder : overflow).add(delta);
+    }
+
+    private boolean reserveSlot() {
+        // One slot stays free for the overflow bucket
+        return reservedKeys.getAndUpdate(taken -> taken < maxKeys - 1 ? taken + 1 : taken) < maxKeys - 1;
+    }
+
+    /**
+     * Take a snapshot of all counters, sorted by count descending.
+     *
+     * @return Ordered map of keys to counts
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        Stream<Map.Entry<String, Long>> entries = counters.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()));
+        long overflowCount = overflow.sum();
+        if (overflowCount > 0) {
+            entries = Stream.concat(entries, Stream.of(Map.entry(OVERFLOW_KEY, overflowCount)));
+        }
+        entries.sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    /**
+     * Reset all counters. Not meant to race with {@link #add}, e.g. call it between tests.
+     */
+    public void clear() {
+        counters.clear();
+        overflow.reset();
+        reservedKeys.set(0);
+    }
+}
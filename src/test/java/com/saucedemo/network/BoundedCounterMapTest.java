@@ -0,0 +1,66 @@
+package com.saucedemo.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the counter map with a cap on distinct keys.
+ */
+public class BoundedCounterMapTest {
+
+    @Test
+    public void testCountsKeysBelowTheCap() {
+        BoundedCounterMap counters = new BoundedCounterMap(4);
+        counters.increment("/cart");
+        counters.increment("/cart");
+        counters.add("/inventory", 5);
+
+        Map<String, Long> snapshot = counters.snapshot();
+
+        assertEquals(Map.of("/inventory", 5L, "/cart", 2L), snapshot);
+        assertEquals(List.of("/inventory", "/cart"), List.copyOf(snapshot.keySet()), "Sorted by count, highest first");
+    }
+
+    @Test
+    public void testKeysPastTheCapGoToTheOverflowKey() {
+        BoundedCounterMap counters = new BoundedCounterMap(3);
+        for (String key : List.of("a", "b", "c", "d", "c")) {
+            counters.increment(key);
+        }
+        counters.increment("a");
+
+        Map<String, Long> snapshot = counters.snapshot();
+
+        assertEquals(Map.of("a", 2L, "b", 1L, BoundedCounterMap.OVERFLOW_KEY, 3L), snapshot,
+                "The overflow key takes the last of the three slots");
+    }
+
+    @Test
+    public void testConcurrentKeysStayWithinTheCap() {
+        BoundedCounterMap counters = new BoundedCounterMap(10);
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> counters.increment("/item/" + i));
+        Map<String, Long> snapshot = counters.snapshot();
+
+        assertEquals(10, snapshot.size());
+        assertEquals(10_000 - 9, snapshot.get(BoundedCounterMap.OVERFLOW_KEY));
+        assertEquals(10_000, snapshot.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    public void testClearFreesTheSlots() {
+        BoundedCounterMap counters = new BoundedCounterMap(2);
+        counters.increment("a");
+        counters.increment("b");
+
+        counters.clear();
+        counters.increment("b");
+
+        assertEquals(Map.of("b", 1L), counters.snapshot());
+    }
+}
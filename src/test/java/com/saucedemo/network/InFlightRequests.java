@@ -0,0 +1,49 @@
+package com.saucedemo.network;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests of a page that were sent but have not finished or failed yet, so that a stalled
+ * test can report what its page was still waiting for.
+ * Safe to update from Playwright event callbacks while another thread reads it.
+ */
+public final class InFlightRequests {
+    // Playwright hands out the same Request object for all events of one request
+    private final Map<Request, Long> startNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Start tracking the requests of a page.
+     *
+     * @param page Page to track
+     */
+    public void track(Page page) {
+        page.onRequest(request -> startNanos.put(request, System.nanoTime()));
+        page.onRequestFinished(startNanos::remove);
+        page.onRequestFailed(startNanos::remove);
+    }
+
+    public int size() {
+        return startNanos.size();
+    }
+
+    /**
+     * Describe the requests still in flight, oldest first.
+     *
+     * @return Lines such as "GET https://www.saucedemo.com/inventory.html (pending 31250 ms)"
+     */
+    public List<String> describe() {
+        long now = System.nanoTime();
+        return startNanos.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                .map(entry -> String.format("%s %s (pending %d ms)", entry.getKey().method(), entry.getKey().url(),
+                        TimeUnit.NANOSECONDS.toMillis(now - entry.getValue())))
+                .toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.saucedemo.network;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-test recorder for network failures and page errors.
+ * Safe to call from Playwright event callbacks while the test thread reads it.
+ * Every failure is counted, but only the first and last N details are retained,
+ * so a page that spams failing requests cannot grow memory without limit.
+ */
+public final class NetworkEventRecorder {
+    private static final int MAX_DISTINCT_STATUSES = 64;
+    private static final int MAX_DISTINCT_HOSTS = 64;
+    private static final int MAX_DISTINCT_PATHS = 256;
+
+    private final int detailLimit;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicReferenceArray<NetworkFailure> firstFailures;
+    private final AtomicReferenceArray<Slot> lastFailures;
+    private final BoundedCounterMap byStatus = new BoundedCounterMap(MAX_DISTINCT_STATUSES);
+    private final BoundedCounterMap byHost = new BoundedCounterMap(MAX_DISTINCT_HOSTS);
+    private final BoundedCounterMap byPath = new BoundedCounterMap(MAX_DISTINCT_PATHS);
+
+    /**
+     * Ring buffer slot remembering the sequence number of its failure for ordering.
+     */
+    private static final class Slot {
+        final long sequence;
+        final NetworkFailure failure;
+
+        Slot(long sequence, NetworkFailure failure) {
+            this.sequence = sequence;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * Constructor for the NetworkEventRecorder.
+     *
+     * @param detailLimit Number of failure details kept at the start and at the end of the test
+     */
+    public NetworkEventRecorder(int detailLimit) {
+        if (detailLimit < 1) {
+            throw new IllegalArgumentException("detailLimit must be positive: " + detailLimit);
+        }
+        this.detailLimit = detailLimit;
+        this.firstFailures = new AtomicReferenceArray<>(detailLimit);
+        this.lastFailures = new AtomicReferenceArray<>(detailLimit);
+    }
+
+    /**
+     * Record a failed response or page error.
+     *
+     * @param url URL of the failed request or page
+     * @param status HTTP status, or 0 for page errors
+     * @param error Description of the failure
+     */
+    public void recordFailure(String url, int status, String error) {
+        NetworkFailure failure = new NetworkFailure(url, status, error);
+        long seq = sequence.getAndIncrement();
+
+        if (seq < detailLimit) {
+            firstFailures.set((int) seq, failure);
+        }
+        keepIfNewer((int) (seq % detailLimit), new Slot(seq, failure));
+
+        byStatus.increment(String.valueOf(status));
+        byHost.increment(failure.getHost());
+        byPath.increment(failure.getPath());
+    }
+
+    private void keepIfNewer(int index, Slot slot) {
+        // A delayed writer must not replace a failure that came after its own
+        Slot current = lastFailures.get(index);
+        while (current == null || current.sequence < slot.sequence) {
+            if (lastFailures.compareAndSet(index, current, slot)) {
+                return;
+            }
+            current = lastFailures.get(index);
+        }
+    }
+
+    /**
+     * Get the total number of failures recorded, including those whose details were dropped.
+     *
+     * @return Total failure count
+     */
+    public long getTotalFailures() {
+        return sequence.get();
+    }
+
+    /**
+     * Check if any failures were recorded.
+     *
+     * @return true if no failures were recorded, false otherwise
+     */
+    public boolean isEmpty() {
+        return sequence.get() == 0;
+    }
+
+    /**
+     * Build an aggregated view of everything recorded so far.
+     *
+     * @return Snapshot of counters and retained failure details
+     */
+    public NetworkStats snapshot() {
+        long total = sequence.get();
+
+        List<NetworkFailure> first = new ArrayList<>();
+        for (int i = 0; i < Math.min(total, detailLimit); i++) {
+            NetworkFailure failure = firstFailures.get(i);
+            if (failure != null) {
+                first.add(failure);
+            }
+        }
+
+        // Only keep tail entries not already reported in the head
+        List<Slot> tail = new ArrayList<>();
+        for (int i = 0; i < detailLimit; i++) {
+            Slot slot = lastFailures.get(i);
+            if (slot != null && slot.sequence >= detailLimit) {
+                tail.add(slot);
+            }
+        }
+        tail.sort(Comparator.comparingLong(slot -> slot.sequence));
+        List<NetworkFailure> last = new ArrayList<>(tail.size());
+        tail.forEach(slot -> last.add(slot.failure));
+
+        return new NetworkStats(total, first, last,
+                byStatus.snapshot(), byHost.snapshot(), byPath.snapshot());
+    }
+}
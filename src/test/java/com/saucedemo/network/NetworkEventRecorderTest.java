@@ -0,0 +1,111 @@
+package com.saucedemo.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bounded per-test recorder of network failures.
+ */
+public class NetworkEventRecorderTest {
+
+    @Test
+    public void testKeepsEverythingBelowTheLimit() {
+        NetworkEventRecorder recorder = new NetworkEventRecorder(3);
+        assertTrue(recorder.isEmpty());
+
+        record(recorder, 0, 2);
+        NetworkStats stats = recorder.snapshot();
+
+        assertEquals(2, stats.getTotalFailures());
+        assertEquals(List.of("/item/0", "/item/1"), pathsOf(stats.getFirstFailures()));
+        assertTrue(stats.getLastFailures().isEmpty(), "Failures already in the head are not repeated");
+        assertEquals(0, stats.getDroppedDetails());
+    }
+
+    @Test
+    public void testKeepsFirstAndLastFailuresPastTheLimit() {
+        NetworkEventRecorder recorder = new NetworkEventRecorder(3);
+
+        record(recorder, 0, 10);
+        NetworkStats stats = recorder.snapshot();
+
+        assertEquals(10, recorder.getTotalFailures());
+        assertEquals(List.of("/item/0", "/item/1", "/item/2"), pathsOf(stats.getFirstFailures()));
+        assertEquals(List.of("/item/7", "/item/8", "/item/9"), pathsOf(stats.getLastFailures()));
+        assertEquals(4, stats.getDroppedDetails());
+    }
+
+    @Test
+    public void testCountsEveryFailure() {
+        NetworkEventRecorder recorder = new NetworkEventRecorder(1);
+        for (int i = 0; i < 5; i++) {
+            recorder.recordFailure("https://shop.example/cart", 500, "Internal Server Error");
+        }
+        recorder.recordFailure("https://cdn.example/logo.png", 404, "Not Found");
+
+        NetworkStats stats = recorder.snapshot();
+
+        assertEquals(Map.of("500", 5L, "404", 1L), stats.getFailuresByStatus());
+        assertEquals(Map.of("shop.example", 5L, "cdn.example", 1L), stats.getFailuresByHost());
+        assertEquals(Map.of("/cart", 5L, "/logo.png", 1L), stats.getFailuresByPath());
+    }
+
+    @Test
+    public void testRejectsNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new NetworkEventRecorder(0));
+    }
+
+    @Test
+    public void testConcurrentRecordingCountsAndFillsEverySlot() throws Exception {
+        int threads = 8;
+        int perThread = 1_000;
+        NetworkEventRecorder recorder = new NetworkEventRecorder(16);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        recorder.recordFailure("https://shop.example/item/" + i, 500, "error");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        NetworkStats stats = recorder.snapshot();
+
+        assertEquals(threads * perThread, stats.getTotalFailures());
+        assertEquals(16, stats.getFirstFailures().size());
+        assertEquals(16, stats.getLastFailures().size(), "Every tail slot holds a failure past the head");
+        assertEquals(threads * perThread, stats.getFailuresByStatus().get("500"));
+    }
+
+    private static void record(NetworkEventRecorder recorder, int from, int to) {
+        for (int i = from; i < to; i++) {
+            recorder.recordFailure("https://shop.example/item/" + i, 500, "error " + i);
+        }
+    }
+
+    private static List<String> pathsOf(List<NetworkFailure> failures) {
+        return failures.stream().map(NetworkFailure::getPath).toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.saucedemo.network;
+
+import java.net.URI;
+
+/**
+ * Immutable details of a single failed network request or page error.
+ */
+public final class NetworkFailure {
+    private final String url;
+    private final int status;
+    private final String error;
+    private final long timestampMillis;
+
+    public NetworkFailure(String url, int status, String error) {
+        this.url = url;
+        this.status = status;
+        this.error = error;
+        this.timestampMillis = System.currentTimeMillis();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Get the host part of the failed URL.
+     *
+     * @return Host name or "unknown" if the URL cannot be parsed
+     */
+    public String getHost() {
+        return hostOf(url);
+    }
+
+    /**
+     * Get the path part of the failed URL, without query string.
+     *
+     * @return Path or "/" if the URL has no path
+     */
+    public String getPath() {
+        return pathOf(url);
+    }
+
+    static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : "unknown";
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return "unknown";
+        }
+    }
+
+    static String pathOf(String url) {
+        try {
+            String path = URI.create(url).getPath();
+            return path != null && !path.isEmpty() ? path : "/";
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return "/";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("URL: %s, Status: %d, Error: %s", url, status, error);
+    }
+}
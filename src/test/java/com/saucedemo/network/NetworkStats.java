@@ -0,0 +1,64 @@
+package com.saucedemo.network;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated network failure statistics for a single test.
+ */
+public final class NetworkStats {
+    private final long totalFailures;
+    private final List<NetworkFailure> firstFailures;
+    private final List<NetworkFailure> lastFailures;
+    private final Map<String, Long> failuresByStatus;
+    private final Map<String, Long> failuresByHost;
+    private final Map<String, Long> failuresByPath;
+
+    NetworkStats(long totalFailures,
+                 List<NetworkFailure> firstFailures,
+                 List<NetworkFailure> lastFailures,
+                 Map<String, Long> failuresByStatus,
+                 Map<String, Long> failuresByHost,
+                 Map<String, Long> failuresByPath) {
+        this.totalFailures = totalFailures;
+        this.firstFailures = Collections.unmodifiableList(firstFailures);
+        this.lastFailures = Collections.unmodifiableList(lastFailures);
+        this.failuresByStatus = Collections.unmodifiableMap(failuresByStatus);
+        this.failuresByHost = Collections.unmodifiableMap(failuresByHost);
+        this.failuresByPath = Collections.unmodifiableMap(failuresByPath);
+    }
+
+    public long getTotalFailures() {
+        return totalFailures;
+    }
+
+    public List<NetworkFailure> getFirstFailures() {
+        return firstFailures;
+    }
+
+    public List<NetworkFailure> getLastFailures() {
+        return lastFailures;
+    }
+
+    public Map<String, Long> getFailuresByStatus() {
+        return failuresByStatus;
+    }
+
+    public Map<String, Long> getFailuresByHost() {
+        return failuresByHost;
+    }
+
+    public Map<String, Long> getFailuresByPath() {
+        return failuresByPath;
+    }
+
+    /**
+     * Get the number of failures whose details were not retained.
+     *
+     * @return Number of dropped failure details
+     */
+    public long getDroppedDetails() {
+        return totalFailures - firstFailures.size() - lastFailures.size();
+    }
+}
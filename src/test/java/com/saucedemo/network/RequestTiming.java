@@ -0,0 +1,143 @@
+package com.saucedemo.network;
+
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.options.Timing;
+
+import java.util.Locale;
+
+/**
+ * Immutable timing breakdown of a single finished request, from the browser's resource timing.
+ */
+public final class RequestTiming {
+    /**
+     * Phases of a request, in milliseconds. Connection phases a request did not need, e.g. on a reused
+     * connection, take 0 ms; response phases the browser did not report, e.g. for a cached response, are unknown.
+     */
+    public enum Phase {
+        DNS("dns"),
+        CONNECT("connect"),
+        TLS("tls"),
+        TTFB("ttfb"),
+        DOWNLOAD("download"),
+        /** From the start of the request, including time queued in the browser, to the end of the response */
+        TOTAL("total");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /** Value of a phase the browser did not report */
+    public static final double UNKNOWN = -1;
+
+    private final String method;
+    private final String url;
+    private final String resourceType;
+    private final int status;
+    private final long bytes;
+    private final double[] phases;
+
+    private RequestTiming(String method, String url, String resourceType, int status, long bytes, double[] phases) {
+        this.method = method;
+        this.url = url;
+        this.resourceType = resourceType;
+        this.status = status;
+        this.bytes = bytes;
+        this.phases = phases;
+    }
+
+    /**
+     * Read the timing of a finished request.
+     *
+     * @param request Finished request
+     * @param status Response status, or 0 if unknown
+     * @param bytes Response body size, or -1 if unknown
+     * @return Timing breakdown
+     */
+    public static RequestTiming of(Request request, int status, long bytes) {
+        Timing timing = request.timing();
+        double[] phases = new double[Phase.values().length];
+        boolean secure = timing.secureConnectionStart >= 0;
+        phases[Phase.DNS.ordinal()] = span(timing.domainLookupStart, timing.domainLookupEnd, 0);
+        phases[Phase.CONNECT.ordinal()] = span(timing.connectStart,
+                secure ? timing.secureConnectionStart : timing.connectEnd, 0);
+        phases[Phase.TLS.ordinal()] = secure ? span(timing.secureConnectionStart, timing.connectEnd, 0) : 0;
+        phases[Phase.TTFB.ordinal()] = span(timing.requestStart, timing.responseStart, UNKNOWN);
+        phases[Phase.DOWNLOAD.ordinal()] = span(timing.responseStart, timing.responseEnd, UNKNOWN);
+        phases[Phase.TOTAL.ordinal()] = timing.responseEnd >= 0 ? timing.responseEnd : UNKNOWN;
+        return new RequestTiming(request.method(), request.url(), request.resourceType(), status, bytes, phases);
+    }
+
+    // Resource timing values are relative to the request's start time, -1 when not available
+    private static double span(double start, double end, double unavailable) {
+        return start >= 0 && end >= start ? end - start : unavailable;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getHost() {
+        return NetworkFailure.hostOf(url);
+    }
+
+    public String getPath() {
+        return NetworkFailure.pathOf(url);
+    }
+
+    /**
+     * Get the resource type as reported by the browser.
+     *
+     * @return e.g. "document", "script", "stylesheet", "image", "fetch"
+     */
+    public String getResourceType() {
+        return resourceType;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Get the size of the response body.
+     *
+     * @return Size in bytes, or -1 if unknown
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the duration of a phase.
+     *
+     * @param phase Phase
+     * @return Duration in milliseconds, or {@link #UNKNOWN}
+     */
+    public double get(Phase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%s %s %s (%s, %d, %s; dns %.0f ms, connect %.0f ms, tls %.0f ms, ttfb %s, download %s)",
+                format(get(Phase.TOTAL)), method, url, resourceType, status,
+                bytes >= 0 ? TimingBreakdown.formatBytes(bytes) : "size unknown",
+                get(Phase.DNS), get(Phase.CONNECT), get(Phase.TLS),
+                format(get(Phase.TTFB)), format(get(Phase.DOWNLOAD)));
+    }
+
+    private static String format(double millis) {
+        return millis >= 0 ? String.format(Locale.ROOT, "%.0f ms", millis) : "?";
+    }
+}
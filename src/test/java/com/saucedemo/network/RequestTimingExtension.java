@@ -0,0 +1,31 @@
+package com.saucedemo.network;
+
+import com.saucedemo.config.TestConfig;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Paths;
+
+/**
+ * Writes the run-wide {@link RequestTimingReport} once the whole run has finished.
+ */
+public class RequestTimingExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(RequestTimingExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!TestConfig.isNetworkTimingEnabled()) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("report",
+                key -> (ExtensionContext.Store.CloseableResource) RequestTimingExtension::writeReport);
+    }
+
+    private static void writeReport() {
+        RequestTimingRecorder run = RequestTimingRecorder.forRun();
+        if (!run.isEmpty()) {
+            RequestTimingReport.write(Paths.get(TestConfig.getNetworkTimingReportFile()), run.snapshot());
+        }
+    }
+}
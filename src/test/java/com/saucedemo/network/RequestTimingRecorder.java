@@ -0,0 +1,198 @@
+package com.saucedemo.network;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.network.RequestTiming.Phase;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-test recorder of request timings. Every finished request of the tracked contexts is added to
+ * running totals overall and by resource type, host and URL path, and the slowest ones are kept; distinct
+ * hosts and paths are capped like in {@link NetworkEventRecorder}, so memory stays flat however many
+ * requests a test makes, including those of its virtual users. Each request is also added to the
+ * run-wide recorder, see {@link #forRun()}.
+ */
+public final class RequestTimingRecorder {
+    private static final int MAX_DISTINCT_TYPES = 32;
+    private static final int MAX_DISTINCT_HOSTS = 64;
+    private static final int MAX_DISTINCT_PATHS = 256;
+    // Responses waiting for their request to finish; beyond this, sizes and statuses are left unknown
+    private static final int MAX_PENDING = 1024;
+    private static final boolean EXACT_SIZES = TestConfig.isNetworkTimingExactSizes();
+
+    private static final RequestTimingRecorder RUN =
+            new RequestTimingRecorder(TestConfig.getNetworkTimingSlowestCount());
+
+    private final int slowestLimit;
+    private final TimingBreakdown total = new TimingBreakdown();
+    private final Map<String, TimingBreakdown> byType = new ConcurrentHashMap<>();
+    private final Map<String, TimingBreakdown> byHost = new ConcurrentHashMap<>();
+    private final Map<String, TimingBreakdown> byPath = new ConcurrentHashMap<>();
+    // Min-heap, so the fastest of the slowest requests is the one to drop; guarded by itself
+    private final PriorityQueue<RequestTiming> slowest =
+            new PriorityQueue<>(Comparator.comparingDouble(timing -> timing.get(Phase.TOTAL)));
+    // Playwright hands out the same Request object for all events of one request
+    private final Map<Request, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the RequestTimingRecorder.
+     *
+     * @param slowestLimit Number of slowest requests to keep
+     */
+    public RequestTimingRecorder(int slowestLimit) {
+        if (slowestLimit < 1) {
+            throw new IllegalArgumentException("slowestLimit must be positive: " + slowestLimit);
+        }
+        this.slowestLimit = slowestLimit;
+    }
+
+    /**
+     * Get the recorder that every per-test recorder adds its requests to.
+     *
+     * @return Run-wide recorder
+     */
+    public static RequestTimingRecorder forRun() {
+        return RUN;
+    }
+
+    /**
+     * Start recording the requests of all pages of a context.
+     *
+     * @param context Context to track
+     */
+    public void track(BrowserContext context) {
+        context.onResponse(this::responseReceived);
+        context.onRequestFinished(this::requestFinished);
+        context.onRequestFailed(pending::remove);
+    }
+
+    private void responseReceived(Response response) {
+        if (pending.size() < MAX_PENDING) {
+            pending.put(response.request(), new Pending(response.status(), EXACT_SIZES ? -1 : contentLength(response)));
+        }
+    }
+
+    private void requestFinished(Request request) {
+        Pending response = pending.remove(request);
+        long bytes = response != null ? response.bytes : -1;
+        if (EXACT_SIZES) {
+            try {
+                bytes = request.sizes().responseBodySize;
+            } catch (PlaywrightException e) {
+                // The context is closing; leave the size unknown
+            }
+        }
+        record(RequestTiming.of(request, response != null ? response.status : 0, bytes));
+    }
+
+    private static long contentLength(Response response) {
+        // Response headers are known without a round trip to the browser
+        String value = response.headers().get("content-length");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Add a finished request to this recorder and the run-wide one.
+     *
+     * @param timing Timing of the request
+     */
+    public void record(RequestTiming timing) {
+        add(timing);
+        if (this != RUN) {
+            RUN.add(timing);
+        }
+    }
+
+    private void add(RequestTiming timing) {
+        total.add(timing);
+        breakdownFor(byType, timing.getResourceType(), MAX_DISTINCT_TYPES).add(timing);
+        breakdownFor(byHost, timing.getHost(), MAX_DISTINCT_HOSTS).add(timing);
+        breakdownFor(byPath, timing.getPath(), MAX_DISTINCT_PATHS).add(timing);
+        if (timing.get(Phase.TOTAL) >= 0) {
+            synchronized (slowest) {
+                slowest.add(timing);
+                if (slowest.size() > slowestLimit) {
+                    slowest.poll();
+                }
+            }
+        }
+    }
+
+    private static TimingBreakdown breakdownFor(Map<String, TimingBreakdown> breakdowns, String key, int maxKeys) {
+        TimingBreakdown breakdown = breakdowns.get(key);
+        if (breakdown != null) {
+            return breakdown;
+        }
+        // New keys are rare; adding them under the lock keeps the size check and the insert together
+        synchronized (breakdowns) {
+            // The last place is kept for the overflow entry, so the map never holds more than maxKeys
+            String effectiveKey = breakdowns.containsKey(key) || breakdowns.size() < maxKeys - 1
+                    ? key : BoundedCounterMap.OVERFLOW_KEY;
+            return breakdowns.computeIfAbsent(effectiveKey, k -> new TimingBreakdown());
+        }
+    }
+
+    /**
+     * Check if any requests were recorded.
+     *
+     * @return true if no requests finished yet
+     */
+    public boolean isEmpty() {
+        return total.getCount() == 0;
+    }
+
+    /**
+     * Build an aggregated view of everything recorded so far.
+     *
+     * @return Snapshot of the breakdowns and slowest requests
+     */
+    public RequestTimingStats snapshot() {
+        List<RequestTiming> slowestFirst;
+        synchronized (slowest) {
+            slowestFirst = new ArrayList<>(slowest);
+        }
+        slowestFirst.sort(Comparator.comparingDouble((RequestTiming timing) -> timing.get(Phase.TOTAL)).reversed());
+        return new RequestTimingStats(total.copy(), sortedCopy(byType), sortedCopy(byHost), sortedCopy(byPath),
+                slowestFirst);
+    }
+
+    private static Map<String, TimingBreakdown> sortedCopy(Map<String, TimingBreakdown> breakdowns) {
+        Map<String, TimingBreakdown> result = new LinkedHashMap<>();
+        breakdowns.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().copy()))
+                .sorted(Comparator.comparingDouble(
+                        (Map.Entry<String, TimingBreakdown> entry) -> entry.getValue().sum(Phase.TOTAL)).reversed())
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    /**
+     * Status and size of a response whose body is still downloading.
+     */
+    private static final class Pending {
+        private final int status;
+        private final long bytes;
+
+        private Pending(int status, long bytes) {
+            this.status = status;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.saucedemo.network;
+
+import com.saucedemo.network.RequestTiming.Phase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the run-wide request timings: mean phases and bytes by resource type and host, the URL paths
+ * that took the most time in total, and the slowest single requests.
+ */
+public final class RequestTimingReport {
+    private static final Logger logger = LoggerFactory.getLogger(RequestTimingReport.class);
+    private static final int PATH_LIMIT = 25;
+
+    private RequestTimingReport() {
+    }
+
+    /**
+     * Write the report.
+     *
+     * @param file Report file
+     * @param stats Timings of the whole run
+     */
+    static void write(Path file, RequestTimingStats stats) {
+        StringBuilder text = new StringBuilder();
+        text.append("Requests of the whole run: ").append(stats.getTotal()).append(String.format("%n"));
+        table(text, "Resource type", stats.getByType(), Integer.MAX_VALUE);
+        table(text, "Host", stats.getByHost(), Integer.MAX_VALUE);
+        table(text, "Path", stats.getByPath(), PATH_LIMIT);
+        text.append(String.format("%nSlowest requests%n"));
+        stats.getSlowest().forEach(timing -> text.append("  ").append(timing).append(String.format("%n")));
+        text.append(String.format("%nMeans in ms over the requests each phase is known for; ttfb is time to first"
+                + " byte, total includes time queued in the browser%n"));
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, text.toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Failed to write request timings to {}: {}", file, e.getMessage());
+            return;
+        }
+        logger.info("Request timings of {} request(s) written to {}", stats.getTotal().getCount(), file);
+    }
+
+    private static void table(StringBuilder text, String title, Map<String, TimingBreakdown> breakdowns, int limit) {
+        text.append(String.format(Locale.ROOT, "%n%-50s %8s %10s %7s %7s %7s %7s %8s %7s %7s %10s%n", title,
+                "Requests", "Bytes", "dns", "connect", "tls", "ttfb", "download", "total", "max", "Sum (s)"));
+        breakdowns.entrySet().stream().limit(limit).forEach(entry -> {
+            TimingBreakdown breakdown = entry.getValue();
+            text.append(String.format(Locale.ROOT, "%-50s %8d %10s %7s %7s %7s %7s %8s %7s %7.0f %10.1f%n",
+                    abbreviate(entry.getKey()), breakdown.getCount(), TimingBreakdown.formatBytes(breakdown.getBytes()),
+                    mean(breakdown, Phase.DNS), mean(breakdown, Phase.CONNECT), mean(breakdown, Phase.TLS),
+                    mean(breakdown, Phase.TTFB), mean(breakdown, Phase.DOWNLOAD), mean(breakdown, Phase.TOTAL),
+                    breakdown.max(Phase.TOTAL), breakdown.sum(Phase.TOTAL) / 1000));
+        });
+        if (breakdowns.size() > limit) {
+            text.append(String.format("... %d more%n", breakdowns.size() - limit));
+        }
+    }
+
+    private static String mean(TimingBreakdown breakdown, Phase phase) {
+        double mean = breakdown.mean(phase);
+        return mean >= 0 ? String.format(Locale.ROOT, "%.0f", mean) : "-";
+    }
+
+    private static String abbreviate(String key) {
+        return key.length() <= 50 ? key : "..." + key.substring(key.length() - 47);
+    }
+}
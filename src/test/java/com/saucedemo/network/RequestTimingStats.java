@@ -0,0 +1,65 @@
+package com.saucedemo.network;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated request timings of a test or of the whole run. Groups are ordered by the time their
+ * requests took in total, most first.
+ */
+public final class RequestTimingStats {
+    private final TimingBreakdown total;
+    private final Map<String, TimingBreakdown> byType;
+    private final Map<String, TimingBreakdown> byHost;
+    private final Map<String, TimingBreakdown> byPath;
+    private final List<RequestTiming> slowest;
+
+    RequestTimingStats(TimingBreakdown total,
+                       Map<String, TimingBreakdown> byType,
+                       Map<String, TimingBreakdown> byHost,
+                       Map<String, TimingBreakdown> byPath,
+                       List<RequestTiming> slowest) {
+        this.total = total;
+        this.byType = Collections.unmodifiableMap(byType);
+        this.byHost = Collections.unmodifiableMap(byHost);
+        this.byPath = Collections.unmodifiableMap(byPath);
+        this.slowest = Collections.unmodifiableList(slowest);
+    }
+
+    public TimingBreakdown getTotal() {
+        return total;
+    }
+
+    /**
+     * Get the breakdown per resource type, e.g. "document" or "script".
+     *
+     * @return Breakdowns by type
+     */
+    public Map<String, TimingBreakdown> getByType() {
+        return byType;
+    }
+
+    public Map<String, TimingBreakdown> getByHost() {
+        return byHost;
+    }
+
+    /**
+     * Get the breakdown per URL path, without query string. Paths beyond the recorder's cap are
+     * folded into {@link BoundedCounterMap#OVERFLOW_KEY}.
+     *
+     * @return Breakdowns by path
+     */
+    public Map<String, TimingBreakdown> getByPath() {
+        return byPath;
+    }
+
+    /**
+     * Get the slowest requests.
+     *
+     * @return Requests, slowest first
+     */
+    public List<RequestTiming> getSlowest() {
+        return slowest;
+    }
+}
@@ -0,0 +1,138 @@
+package com.saucedemo.network;
+
+import com.saucedemo.network.RequestTiming.Phase;
+
+import java.util.Locale;
+
+/**
+ * Running totals of the requests in one group, e.g. all scripts of a test: their number, response bytes
+ * and the mean and maximum of each phase. Takes the same memory however many requests are added.
+ * Safe to update from the Playwright event callbacks of several pages at once.
+ */
+public final class TimingBreakdown {
+    private static final int PHASES = Phase.values().length;
+
+    private long count;
+    private long bytes;
+    private long unknownSizes;
+    private final long[] phaseCounts = new long[PHASES];
+    private final double[] phaseSums = new double[PHASES];
+    private final double[] phaseMaxima = new double[PHASES];
+
+    /**
+     * Add a finished request.
+     *
+     * @param timing Timing of the request
+     */
+    public synchronized void add(RequestTiming timing) {
+        count++;
+        if (timing.getBytes() >= 0) {
+            bytes += timing.getBytes();
+        } else {
+            unknownSizes++;
+        }
+        for (Phase phase : Phase.values()) {
+            double millis = timing.get(phase);
+            if (millis >= 0) {
+                int index = phase.ordinal();
+                phaseCounts[index]++;
+                phaseSums[index] += millis;
+                phaseMaxima[index] = Math.max(phaseMaxima[index], millis);
+            }
+        }
+    }
+
+    /**
+     * Copy the current totals.
+     *
+     * @return Independent copy
+     */
+    public synchronized TimingBreakdown copy() {
+        TimingBreakdown copy = new TimingBreakdown();
+        copy.count = count;
+        copy.bytes = bytes;
+        copy.unknownSizes = unknownSizes;
+        System.arraycopy(phaseCounts, 0, copy.phaseCounts, 0, PHASES);
+        System.arraycopy(phaseSums, 0, copy.phaseSums, 0, PHASES);
+        System.arraycopy(phaseMaxima, 0, copy.phaseMaxima, 0, PHASES);
+        return copy;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the response bytes of the requests whose size is known.
+     *
+     * @return Total body size in bytes
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getUnknownSizes() {
+        return unknownSizes;
+    }
+
+    /**
+     * Get the summed duration of a phase over all requests, e.g. the total time spent waiting for first bytes.
+     *
+     * @param phase Phase
+     * @return Sum in milliseconds
+     */
+    public synchronized double sum(Phase phase) {
+        return phaseSums[phase.ordinal()];
+    }
+
+    /**
+     * Get the mean duration of a phase over the requests it is known for.
+     *
+     * @param phase Phase
+     * @return Mean in milliseconds, or {@link RequestTiming#UNKNOWN} if it is known for none
+     */
+    public synchronized double mean(Phase phase) {
+        long known = phaseCounts[phase.ordinal()];
+        return known > 0 ? phaseSums[phase.ordinal()] / known : RequestTiming.UNKNOWN;
+    }
+
+    public synchronized double max(Phase phase) {
+        return phaseMaxima[phase.ordinal()];
+    }
+
+    /**
+     * Format a byte count for reports.
+     *
+     * @param bytes Byte count
+     * @return e.g. "812 B", "14.2 KB" or "3.1 MB"
+     */
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(count).append(" request(s), ").append(formatBytes(bytes));
+        if (unknownSizes > 0) {
+            text.append(" (+").append(unknownSizes).append(" of unknown size)");
+        }
+        if (phaseCounts[Phase.TOTAL.ordinal()] > 0) {
+            text.append(String.format(Locale.ROOT, ", mean %.0f ms (", mean(Phase.TOTAL)));
+            for (Phase phase : Phase.values()) {
+                if (phase != Phase.TOTAL && phaseCounts[phase.ordinal()] > 0) {
+                    text.append(String.format(Locale.ROOT, "%s %.0f, ", phase.getLabel(), mean(phase)));
+                }
+            }
+            text.setLength(text.length() - 2);
+            text.append(String.format(Locale.ROOT, "), max %.0f ms", max(Phase.TOTAL)));
+        }
+        return text.toString();
+    }
+}
@@ -1,7 +1,34 @@
 package com.saucedemo.pages;
 
+import com.microsoft.playwright.ElementHandle;
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.BoundingBox;
+import com.microsoft.playwright.options.ScreenshotAnimations;
+import com.microsoft.playwright.options.ScreenshotCaret;
+import com.microsoft.playwright.options.ScreenshotScale;
+import com.saucedemo.assertions.DomExpectations;
 import com.saucedemo.config.TestConfig;
+import com.saucedemo.environment.EnvironmentCircuitBreaker;
+import com.saucedemo.history.RunHistoryRecorder;
+import com.saucedemo.impact.PageCoverage;
+import com.saucedemo.logging.LogContext;
+import com.saucedemo.telemetry.Metrics;
+import com.saucedemo.telemetry.PageActionEvent;
+import com.saucedemo.telemetry.Span;
+import com.saucedemo.telemetry.Tracing;
+import com.saucedemo.telemetry.WaitEvent;
+import com.saucedemo.timeout.AdaptiveTimeouts;
+import com.saucedemo.visual.VisualCheck;
+import com.saucedemo.visual.VisualResult;
+import com.saucedemo.watchdog.TestWatchdog;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  /* Base page class that all page objects will inherit from.
@@ -17,7 +44,7 @@ public class BasePage {
     }
 
     public void navigateToBaseUrl() {
-        page.navigate(baseUrl);
+        navigate(baseUrl);
     }
 
     public String getCurrentUrl() {
@@ -25,7 +52,308 @@ public class BasePage {
     }
 
     public boolean elementExists(String selector) {
-        return page.querySelector(selector) != null;
+        return perform("exists", selector, () -> page.querySelector(selector) != null);
+    }
+
+    /**
+     * Start a set of soft assertions on this page. They are all read in one round trip by
+     * {@link DomExpectations#verify()}, which reports every mismatch together.
+     *
+     * @return Empty expectations on this page
+     */
+    public DomExpectations expect() {
+        return new DomExpectations(getClass().getSimpleName(),
+                (script, argument) -> perform("evaluate", "expectations", () -> page.evaluate(script, argument)));
+    }
+
+    /**
+     * Compare a full-page screenshot with its baseline.
+     *
+     * @param name Check name, unique within this page object, e.g. "with-two-items"
+     * @param maskSelectors Selectors of dynamic elements to leave out, e.g. a date
+     * @return Result of the comparison; see {@link VisualResult#matches()}
+     */
+    public VisualResult checkVisual(String name, String... maskSelectors) {
+        return step("checkVisual", () -> compareScreenshot(name, null, maskSelectors));
+    }
+
+    /**
+     * Compare a screenshot of one element with its baseline.
+     *
+     * @param name Check name, unique within this page object
+     * @param selector Element selector
+     * @param maskSelectors Selectors of dynamic elements within it to leave out
+     * @return Result of the comparison; see {@link VisualResult#matches()}
+     */
+    public VisualResult checkElementVisual(String name, String selector, String... maskSelectors) {
+        return step("checkElementVisual", () -> compareScreenshot(name, selector, maskSelectors));
+    }
+
+    /**
+     * Take the screenshot for a visual check and compare it. Masked elements are painted over by
+     * Playwright and also left out of the comparison, in case they moved.
+     */
+    private VisualResult compareScreenshot(String name, String selector, String[] maskSelectors) {
+        List<Locator> masks = Arrays.stream(maskSelectors).map(page::locator).toList();
+        byte[] png;
+        List<Rectangle> maskRegions;
+        if (selector == null) {
+            png = perform("screenshot", name, timeout -> page.screenshot(new Page.ScreenshotOptions()
+                    .setFullPage(true)
+                    .setMask(masks)
+                    .setAnimations(ScreenshotAnimations.DISABLED)
+                    .setCaret(ScreenshotCaret.HIDE)
+                    .setScale(ScreenshotScale.CSS)
+                    .setTimeout(timeout)));
+            // Full-page screenshots start at the top of the document rather than of the viewport
+            double scrollX = ((Number) page.evaluate("window.scrollX")).doubleValue();
+            double scrollY = ((Number) page.evaluate("window.scrollY")).doubleValue();
+            maskRegions = regionsOf(masks, -scrollX, -scrollY);
+        } else {
+            Locator element = page.locator(selector);
+            png = perform("screenshot", selector, timeout -> element.screenshot(new Locator.ScreenshotOptions()
+                    .setMask(masks)
+                    .setAnimations(ScreenshotAnimations.DISABLED)
+                    .setCaret(ScreenshotCaret.HIDE)
+                    .setScale(ScreenshotScale.CSS)
+                    .setTimeout(timeout)));
+            BoundingBox box = element.boundingBox();
+            maskRegions = box != null ? regionsOf(masks, box.x, box.y) : List.of();
+        }
+        return VisualCheck.compare(getClass().getSimpleName(), name, LogContext.currentBrowser(), png, maskRegions);
+    }
+
+    /**
+     * Get the bounding boxes of all visible elements of the locators, relative to an origin in the viewport.
+     */
+    private static List<Rectangle> regionsOf(List<Locator> locators, double originX, double originY) {
+        List<Rectangle> regions = new ArrayList<>();
+        for (Locator locator : locators) {
+            for (Locator element : locator.all()) {
+                BoundingBox box = element.boundingBox();
+                if (box != null) {
+                    int x = (int) Math.floor(box.x - originX);
+                    int y = (int) Math.floor(box.y - originY);
+                    regions.add(new Rectangle(x, y, (int) Math.ceil(box.x - originX + box.width) - x,
+                            (int) Math.ceil(box.y - originY + box.height) - y));
+                }
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Navigate the page to a URL.
+     *
+     * @param url URL to navigate to
+     */
+    protected void navigate(String url) {
+        perform("navigate", url, timeout -> EnvironmentCircuitBreaker.recordNavigation(url,
+                () -> page.navigate(url, new Page.NavigateOptions().setTimeout(timeout))));
+    }
+
+    /**
+     * Fill an input field.
+     *
+     * @param selector Field selector
+     * @param value Value to fill
+     */
+    protected void fill(String selector, String value) {
+        perform("fill", selector, timeout -> {
+            page.fill(selector, value, new Page.FillOptions().setTimeout(timeout));
+            return null;
+        });
+    }
+
+    /**
+     * Click an element.
+     *
+     * @param selector Element selector
+     */
+    protected void click(String selector) {
+        perform("click", selector, timeout -> {
+            page.click(selector, new Page.ClickOptions().setTimeout(timeout));
+            return null;
+        });
+    }
+
+    /**
+     * Click an element through a locator, e.g. for XPath selectors built at runtime.
+     *
+     * @param selector Locator selector
+     */
+    protected void clickLocator(String selector) {
+        perform("click", selector, timeout -> {
+            page.locator(selector).click(new Locator.ClickOptions().setTimeout(timeout));
+            return null;
+        });
+    }
+
+    /**
+     * Get the text content of an element.
+     *
+     * @param selector Element selector
+     * @return Text content of the element
+     */
+    protected String textContent(String selector) {
+        return perform("textContent", selector,
+                timeout -> page.textContent(selector, new Page.TextContentOptions().setTimeout(timeout)));
+    }
+
+    /**
+     * Wait for an element to be attached and visible.
+     *
+     * @param selector Element selector
+     */
+    protected void waitForSelector(String selector) {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        try {
+            perform("waitForSelector", selector,
+                    timeout -> page.waitForSelector(selector, new Page.WaitForSelectorOptions().setTimeout(timeout)));
+        } finally {
+            event.condition = "selector";
+            event.selector = selector;
+            event.testId = LogContext.currentTestId();
+            event.commit();
+        }
+    }
+
+    /**
+     * Query all elements matching a selector.
+     *
+     * @param selector Element selector
+     * @return Matching elements
+     */
+    protected List<ElementHandle> querySelectorAll(String selector) {
+        return perform("querySelectorAll", selector, () -> page.querySelectorAll(selector));
+    }
+
+    /**
+     * Run a page-object method as a traced step, e.g. "LoginPage.login".
+     * Browser actions performed inside it become child spans.
+     *
+     * @param name Name of the page-object method
+     * @param body The method body
+     * @return Result of the method
+     */
+    protected <T> T step(String name, Supplier<T> body) {
+        String stepName = getClass().getSimpleName() + "." + name;
+        Span span = Tracing.startSpan(stepName);
+        long start = System.nanoTime();
+        try {
+            return body.get();
+        } catch (RuntimeException | Error e) {
+            span.setError(e);
+            throw e;
+        } finally {
+            RunHistoryRecorder.recordStep(stepName, System.nanoTime() - start);
+            if (span.isRecording()) {
+                span.setAttribute("url", page.url());
+            }
+            span.end();
+        }
+    }
+
+    /**
+     * Run a page-object method without a result as a traced step.
+     *
+     * @param name Name of the page-object method
+     * @param body The method body
+     */
+    protected void step(String name, Runnable body) {
+        step(name, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a browser action as a named, instrumented step of this page object.
+     *
+     * @param action Name of the action, e.g. "click"
+     * @param selector Selector or URL the action targets
+     * @param body The action itself
+     */
+    protected void perform(String action, String selector, Runnable body) {
+        perform(action, selector, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a browser action as a named, instrumented step of this page object.
+     *
+     * @param action Name of the action, e.g. "textContent"
+     * @param selector Selector or URL the action targets
+     * @param body The action itself
+     * @return Result of the action
+     */
+    protected <T> T perform(String action, String selector, Supplier<T> body) {
+        return perform(action, selector, timeout -> body.get());
+    }
+
+    /**
+     * Run a browser action that waits, with the timeout chosen for it by {@link AdaptiveTimeouts}.
+     *
+     * @param action Name of the action, e.g. "click"
+     * @param selector Selector or URL the action targets
+     * @param body The action itself, given its timeout in milliseconds
+     * @return Result of the action
+     */
+    protected <T> T perform(String action, String selector, TimedAction<T> body) {
+        PageActionEvent event = new PageActionEvent();
+        event.begin();
+        String pageName = getClass().getSimpleName();
+        double timeout = AdaptiveTimeouts.timeoutFor(pageName, action, selector);
+        long start = System.nanoTime();
+        Span span = Tracing.startSpan(action);
+        TestWatchdog.actionStarted(pageName, action, selector);
+        PageCoverage.record();
+        boolean succeeded = false;
+        try {
+            T result = body.run(timeout);
+            succeeded = true;
+            TestWatchdog.actionSucceeded();
+            return result;
+        } catch (RuntimeException | Error e) {
+            if (e instanceof TimeoutError) {
+                AdaptiveTimeouts.recordTimeout(pageName, action, selector, timeout);
+            }
+            span.setError(e);
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (succeeded) {
+                AdaptiveTimeouts.recordSuccess(pageName, action, selector, elapsed, timeout);
+            }
+            span.setAttribute("selector", selector)
+                    .setAttribute("page", pageName)
+                    .setAttribute("timeout.ms", Math.round(timeout));
+            span.end();
+            Metrics.ACTION_DURATION.observeNanos(elapsed,
+                    pageName, action, LogContext.currentProfile(), LogContext.currentBrowser());
+            event.end();
+            if (event.shouldCommit()) {
+                event.page = pageName;
+                event.action = action;
+                event.selector = selector;
+                event.testId = LogContext.currentTestId();
+                event.profile = LogContext.currentProfile();
+                event.browser = LogContext.currentBrowser();
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * A browser action that runs with a given timeout.
+     */
+    @FunctionalInterface
+    protected interface TimedAction<T> {
+        T run(double timeoutMillis);
     }
 
     /**
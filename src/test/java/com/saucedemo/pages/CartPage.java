@@ -2,6 +2,7 @@ package com.saucedemo.pages;
 
 import com.microsoft.playwright.ElementHandle;
 import com.microsoft.playwright.Page;
+import com.saucedemo.assertions.DomExpectations;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +17,7 @@ public class CartPage extends BasePage {
     private final String itemPriceSelector = ".inventory_item_price";
     private final String removeButtonSelector = "button[id^='remove-']";
     private final String checkoutButtonSelector = "#checkout";
+    private final String continueShoppingButtonSelector = "#continue-shopping";
 
     /**
      * Constructor for the CartPage.
@@ -32,17 +34,19 @@ public class CartPage extends BasePage {
      * @return Map of item names and their prices
      */
     public Map<String, Double> getCartItems() {
-        Map<String, Double> cartItems = new HashMap<>();
-        List<ElementHandle> items = page.querySelectorAll(cartItemSelector);
-
-        for (ElementHandle item : items) {
-            String name = item.querySelector(itemNameSelector).textContent();
-            String priceText = item.querySelector(itemPriceSelector).textContent().replace("$", "");
-            double price = Double.parseDouble(priceText);
-            cartItems.put(name, price);
-        }
+        return step("getCartItems", () -> {
+            Map<String, Double> cartItems = new HashMap<>();
+            List<ElementHandle> items = querySelectorAll(cartItemSelector);
+
+            for (ElementHandle item : items) {
+                String name = item.querySelector(itemNameSelector).textContent();
+                String priceText = item.querySelector(itemPriceSelector).textContent().replace("$", "");
+                double price = Double.parseDouble(priceText);
+                cartItems.put(name, price);
+            }
 
-        return cartItems;
+            return cartItems;
+        });
     }
 
     /**
@@ -71,8 +75,10 @@ public class CartPage extends BasePage {
      * @param itemName Name of the item to remove
      */
     public void removeItemByName(String itemName) {
-        String removeButtonXPath = String.format("//*[text()='%s']/ancestor::div[contains(@class,'cart_item')]//button[contains(@id,'remove-')]", itemName);
-        page.locator(removeButtonXPath).click();
+        step("removeItemByName", () -> {
+            String removeButtonXPath = String.format("//*[text()='%s']/ancestor::div[contains(@class,'cart_item')]//button[contains(@id,'remove-')]", itemName);
+            clickLocator(removeButtonXPath);
+        });
     }
 
     /**
@@ -104,7 +110,35 @@ public class CartPage extends BasePage {
      * @return Number of items in the cart
      */
     public int getCartItemCount() {
-        return page.querySelectorAll(cartItemSelector).size();
+        return step("getCartItemCount", () -> {
+            return querySelectorAll(cartItemSelector).size();
+        });
+    }
+
+    /**
+     * Expect the cart to hold exactly the named items.
+     *
+     * @param itemNames Names of the items
+     * @return Expectations to verify, or to add to
+     */
+    public DomExpectations expectItems(String... itemNames) {
+        DomExpectations expectations = expect().hasCount(cartItemSelector, itemNames.length);
+        for (String itemName : itemNames) {
+            expectations.includesText(itemNameSelector, itemName);
+        }
+        return expectations;
+    }
+
+    /**
+     * Go back to the inventory page without reloading the application.
+     *
+     * @return InventoryPage instance
+     */
+    public InventoryPage continueShopping() {
+        return step("continueShopping", () -> {
+            click(continueShoppingButtonSelector);
+            return new InventoryPage(page);
+        });
     }
 
     /**
@@ -113,7 +147,9 @@ public class CartPage extends BasePage {
      * @return CheckoutPage instance
      */
     public CheckoutPage proceedToCheckout() {
-        page.click(checkoutButtonSelector);
-        return new CheckoutPage(page);
+        return step("proceedToCheckout", () -> {
+            click(checkoutButtonSelector);
+            return new CheckoutPage(page);
+        });
     }
 }
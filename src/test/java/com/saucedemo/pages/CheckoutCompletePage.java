@@ -1,6 +1,7 @@
 package com.saucedemo.pages;
 
 import com.microsoft.playwright.Page;
+import com.saucedemo.assertions.DomExpectations;
 
 /**
  * Page object representing the checkout complete page of SauceDemo website.
@@ -35,8 +36,10 @@ public class CheckoutCompletePage extends BasePage {
      * @return Header text
      */
     public String getCompleteHeaderText() {
-        page.waitForSelector(completeHeaderSelector);
-        return page.textContent(completeHeaderSelector);
+        return step("getCompleteHeaderText", () -> {
+            waitForSelector(completeHeaderSelector);
+            return textContent(completeHeaderSelector);
+        });
     }
 
     /**
@@ -45,7 +48,9 @@ public class CheckoutCompletePage extends BasePage {
      * @return Complete text
      */
     public String getCompleteText() {
-        return page.textContent(completeTextSelector);
+        return step("getCompleteText", () -> {
+            return textContent(completeTextSelector);
+        });
     }
 
     /**
@@ -57,13 +62,29 @@ public class CheckoutCompletePage extends BasePage {
         return elementExists(completeHeaderSelector) && elementExists(completeTextSelector);
     }
 
+    /**
+     * Expect the order confirmation to be displayed, after waiting for its header.
+     *
+     * @param header Expected header text
+     * @param textFragment Expected part of the confirmation text
+     * @return Expectations to verify, or to add to
+     */
+    public DomExpectations expectOrderConfirmation(String header, String textFragment) {
+        waitForSelector(completeHeaderSelector);
+        return expect()
+                .hasText(completeHeaderSelector, header)
+                .containsText(completeTextSelector, textFragment);
+    }
+
     /**
      * Navigate back to the products page.
      *
      * @return InventoryPage instance
      */
     public InventoryPage backToProducts() {
-        page.click(backHomeButtonSelector);
-        return new InventoryPage(page);
+        return step("backToProducts", () -> {
+            click(backHomeButtonSelector);
+            return new InventoryPage(page);
+        });
     }
 }
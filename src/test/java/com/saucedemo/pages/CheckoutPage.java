@@ -1,6 +1,8 @@
 package com.saucedemo.pages;
 
 import com.microsoft.playwright.Page;
+import com.saucedemo.assertions.DomExpectations;
+import com.saucedemo.data.CustomerInfo;
 
 /**
  * Page object representing the checkout pages of SauceDemo website.
@@ -18,6 +20,7 @@ public class CheckoutPage extends BasePage {
     private final String cancelButtonSelector = "#cancel";
     private final String summaryInfoSelector = ".summary_info";
     private final String summaryTotalSelector = ".summary_total_label";
+    private final String itemNameSelector = ".cart_item .inventory_item_name";
 
     /**
      * Constructor for the CheckoutPage.
@@ -37,10 +40,22 @@ public class CheckoutPage extends BasePage {
      * @return This CheckoutPage for method chaining
      */
     public CheckoutPage enterCustomerInfo(String firstName, String lastName, String postalCode) {
-        page.fill(firstNameInputSelector, firstName);
-        page.fill(lastNameInputSelector, lastName);
-        page.fill(postalCodeInputSelector, postalCode);
-        return this;
+        return step("enterCustomerInfo", () -> {
+            fill(firstNameInputSelector, firstName);
+            fill(lastNameInputSelector, lastName);
+            fill(postalCodeInputSelector, postalCode);
+            return this;
+        });
+    }
+
+    /**
+     * Enter customer information on the checkout form.
+     *
+     * @param customer Customer to check out as
+     * @return This CheckoutPage for method chaining
+     */
+    public CheckoutPage enterCustomerInfo(CustomerInfo customer) {
+        return enterCustomerInfo(customer.getFirstName(), customer.getLastName(), customer.getPostalCode());
     }
 
     /**
@@ -49,8 +64,10 @@ public class CheckoutPage extends BasePage {
      * @return This CheckoutPage for method chaining
      */
     public CheckoutPage clickContinue() {
-        page.click(continueButtonSelector);
-        return this;
+        return step("clickContinue", () -> {
+            click(continueButtonSelector);
+            return this;
+        });
     }
 
     /**
@@ -60,7 +77,7 @@ public class CheckoutPage extends BasePage {
      */
     public String getErrorMessage() {
         if (elementExists(errorMessageSelector)) {
-            return page.textContent(errorMessageSelector);
+            return textContent(errorMessageSelector);
         }
         return "";
     }
@@ -74,14 +91,33 @@ public class CheckoutPage extends BasePage {
         return elementExists(finishButtonSelector) && elementExists(summaryInfoSelector);
     }
 
+    /**
+     * Expect the checkout overview to be displayed with exactly the named items.
+     *
+     * @param itemNames Names of the items
+     * @return Expectations to verify, or to add to
+     */
+    public DomExpectations expectOverview(String... itemNames) {
+        DomExpectations expectations = expect()
+                .hasCount(finishButtonSelector, 1)
+                .hasCount(summaryInfoSelector, 1)
+                .hasCount(itemNameSelector, itemNames.length);
+        for (String itemName : itemNames) {
+            expectations.includesText(itemNameSelector, itemName);
+        }
+        return expectations;
+    }
+
     /**
      * Get the total price from the checkout overview.
      *
      * @return Total price as a double
      */
     public double getTotalPrice() {
-        String totalText = page.textContent(summaryTotalSelector).replace("Total: $", "");
-        return Double.parseDouble(totalText);
+        return step("getTotalPrice", () -> {
+            String totalText = textContent(summaryTotalSelector).replace("Total: $", "");
+            return Double.parseDouble(totalText);
+        });
     }
 
     /**
@@ -90,8 +126,10 @@ public class CheckoutPage extends BasePage {
      * @return CheckoutCompletePage instance
      */
     public CheckoutCompletePage finishCheckout() {
-        page.click(finishButtonSelector);
-        return new CheckoutCompletePage(page);
+        return step("finishCheckout", () -> {
+            click(finishButtonSelector);
+            return new CheckoutCompletePage(page);
+        });
     }
 
     /**
@@ -100,7 +138,9 @@ public class CheckoutPage extends BasePage {
      * @return InventoryPage instance
      */
     public InventoryPage cancelCheckout() {
-        page.click(cancelButtonSelector);
-        return new InventoryPage(page);
+        return step("cancelCheckout", () -> {
+            click(cancelButtonSelector);
+            return new InventoryPage(page);
+        });
     }
 }
@@ -36,7 +36,7 @@ public class InventoryPage extends BasePage {
      * @return List of ElementHandle objects representing inventory items
      */
     private List<ElementHandle> getAllInventoryItems() {
-        return page.querySelectorAll(inventoryItemSelector);
+        return querySelectorAll(inventoryItemSelector);
     }
 
     /**
@@ -66,16 +66,18 @@ public class InventoryPage extends BasePage {
      * @return Map of item names and their prices
      */
     public Map<String, Double> getAllItemsWithPrices() {
-        Map<String, Double> itemPrices = new HashMap<>();
-        List<ElementHandle> items = getAllInventoryItems();
-
-        for (ElementHandle item : items) {
-            String name = getItemName(item);
-            double price = getItemPrice(item);
-            itemPrices.put(name, price);
-        }
-
-        return itemPrices;
+        return step("getAllItemsWithPrices", () -> {
+            Map<String, Double> itemPrices = new HashMap<>();
+            List<ElementHandle> items = getAllInventoryItems();
+
+            for (ElementHandle item : items) {
+                String name = getItemName(item);
+                double price = getItemPrice(item);
+                itemPrices.put(name, price);
+            }
+
+            return itemPrices;
+        });
     }
 
     /**
@@ -84,25 +86,27 @@ public class InventoryPage extends BasePage {
      * @throws IllegalStateException if critical price validation issues are found
      */
     public void validateInventoryPrices() {
-        List<ElementHandle> items = getAllInventoryItems();
-        Map<String, Object> validationResults = InventoryValidationUtils.validateInventoryPrices(items, itemPriceSelector);
-
-        // Log validation results
-        if ((Boolean) validationResults.get("hasMissingPrices")) {
-            List<String> itemsWithMissingPrices = (List<String>) validationResults.get("itemsWithMissingPrices");
-            logger.error("Found items with missing prices: {}", itemsWithMissingPrices);
-            throw new IllegalStateException("Items with missing prices found: " + itemsWithMissingPrices);
-        }
-
-        if ((Boolean) validationResults.get("hasMultipleLowestPrice")) {
-            List<String> itemsWithLowestPrice = (List<String>) validationResults.get("itemsWithLowestPrice");
-            logger.warn("Multiple items found with lowest price: {}", itemsWithLowestPrice);
-        }
-
-        if ((Boolean) validationResults.get("hasMultipleHighestPrice")) {
-            List<String> itemsWithHighestPrice = (List<String>) validationResults.get("itemsWithHighestPrice");
-            logger.warn("Multiple items found with highest price: {}", itemsWithHighestPrice);
-        }
+        step("validateInventoryPrices", () -> {
+            List<ElementHandle> items = getAllInventoryItems();
+            Map<String, Object> validationResults = InventoryValidationUtils.validateInventoryPrices(items, itemPriceSelector);
+
+            // Log validation results
+            if ((Boolean) validationResults.get("hasMissingPrices")) {
+                List<String> itemsWithMissingPrices = (List<String>) validationResults.get("itemsWithMissingPrices");
+                logger.error("Found items with missing prices: {}", itemsWithMissingPrices);
+                throw new IllegalStateException("Items with missing prices found: " + itemsWithMissingPrices);
+            }
+
+            if ((Boolean) validationResults.get("hasMultipleLowestPrice")) {
+                List<String> itemsWithLowestPrice = (List<String>) validationResults.get("itemsWithLowestPrice");
+                logger.warn("Multiple items found with lowest price: {}", itemsWithLowestPrice);
+            }
+
+            if ((Boolean) validationResults.get("hasMultipleHighestPrice")) {
+                List<String> itemsWithHighestPrice = (List<String>) validationResults.get("itemsWithHighestPrice");
+                logger.warn("Multiple items found with highest price: {}", itemsWithHighestPrice);
+            }
+        });
     }
 
     /**
@@ -145,8 +149,10 @@ public class InventoryPage extends BasePage {
      * @param itemName Name of the item to add
      */
     public void addItemToCartByName(String itemName) {
-        String addButtonSelector = String.format("//*[text()='%s']/ancestor::div[contains(@class,'inventory_item')]//button[contains(@id,'add-to-cart')]", itemName);
-        page.locator(addButtonSelector).click();
+        step("addItemToCartByName", () -> {
+            String addButtonSelector = String.format("//*[text()='%s']/ancestor::div[contains(@class,'inventory_item')]//button[contains(@id,'add-to-cart')]", itemName);
+            clickLocator(addButtonSelector);
+        });
     }
 
     /**
@@ -155,10 +161,12 @@ public class InventoryPage extends BasePage {
      * @return Number of items in the cart or 0 if cart is empty
      */
     public int getCartItemCount() {
-        if (elementExists(cartBadgeSelector)) {
-            return Integer.parseInt(page.textContent(cartBadgeSelector));
-        }
-        return 0;
+        return step("getCartItemCount", () -> {
+            if (elementExists(cartBadgeSelector)) {
+                return Integer.parseInt(textContent(cartBadgeSelector));
+            }
+            return 0;
+        });
     }
 
     /**
@@ -167,8 +175,10 @@ public class InventoryPage extends BasePage {
      * @return CartPage instance
      */
     public CartPage navigateToCart() {
-        page.click(cartLinkSelector);
-        return new CartPage(page);
+        return step("navigateToCart", () -> {
+            click(cartLinkSelector);
+            return new CartPage(page);
+        });
     }
 
     /**
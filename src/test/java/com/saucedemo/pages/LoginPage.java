@@ -27,8 +27,10 @@ public class LoginPage extends BasePage {
      * @return This LoginPage for method chaining
      */
     public LoginPage navigateToLoginPage() {
-        navigateToBaseUrl();
-        return this;
+        return step("navigateToLoginPage", () -> {
+            navigateToBaseUrl();
+            return this;
+        });
     }
 
     /**
@@ -38,7 +40,7 @@ public class LoginPage extends BasePage {
      * @return This LoginPage for method chaining
      */
     public LoginPage enterUsername(String username) {
-        page.fill(usernameInputSelector, username);
+        fill(usernameInputSelector, username);
         return this;
     }
 
@@ -49,7 +51,7 @@ public class LoginPage extends BasePage {
      * @return This LoginPage for method chaining
      */
     public LoginPage enterPassword(String password) {
-        page.fill(passwordInputSelector, password);
+        fill(passwordInputSelector, password);
         return this;
     }
 
@@ -59,7 +61,7 @@ public class LoginPage extends BasePage {
      * @return This LoginPage for method chaining
      */
     public LoginPage clickLoginButton() {
-        page.click(loginButtonSelector);
+        click(loginButtonSelector);
         return this;
     }
 
@@ -71,10 +73,12 @@ public class LoginPage extends BasePage {
      * @return This LoginPage for method chaining
      */
     public LoginPage login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
-        clickLoginButton();
-        return this;
+        return step("login", () -> {
+            enterUsername(username);
+            enterPassword(password);
+            clickLoginButton();
+            return this;
+        });
     }
 
     /**
@@ -84,7 +88,7 @@ public class LoginPage extends BasePage {
      */
     public String getErrorMessage() {
         if (elementExists(errorMessageSelector)) {
-            return page.textContent(errorMessageSelector);
+            return textContent(errorMessageSelector);
         }
         return "";
     }
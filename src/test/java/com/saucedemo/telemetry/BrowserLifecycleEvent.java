@@ -0,0 +1,25 @@
+package com.saucedemo.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for browser launch and context creation/closing in BaseTest.
+ */
+@Name("com.saucedemo.BrowserLifecycle")
+@Label("Browser Lifecycle")
+@Category({"SauceDemo", "Browser"})
+@Description("Browser launch, context creation and context closing")
+public class BrowserLifecycleEvent extends Event {
+    @Label("Phase")
+    public String phase;
+
+    @Label("Browser")
+    public String browserName;
+
+    @Label("Test Id")
+    public String testId;
+}
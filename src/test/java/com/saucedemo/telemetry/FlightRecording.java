@@ -0,0 +1,57 @@
+package com.saucedemo.telemetry;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Whole-run Java Flight Recorder recording.
+ * Captures JVM events (GC, locks, I/O) together with the custom SauceDemo events,
+ * and writes one .jfr file per JVM when the JVM exits.
+ */
+public final class FlightRecording {
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecording.class);
+    private static final String JFR_SETTINGS = "profile";
+
+    private static Recording recording;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Start the recording once per JVM. Subsequent calls are no-ops.
+     *
+     * @param outputDir Directory for the .jfr file
+     */
+    public static synchronized void start(Path outputDir) {
+        if (recording != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(outputDir);
+            Path destination = outputDir.resolve("run-" + ProcessHandle.current().pid() + ".jfr");
+
+            Recording newRecording = new Recording(Configuration.getConfiguration(JFR_SETTINGS));
+            newRecording.setName("saucedemo-run");
+            newRecording.enable(BrowserLifecycleEvent.class);
+            newRecording.enable(PageActionEvent.class);
+            newRecording.enable(RetryEvent.class);
+            newRecording.enable(WaitEvent.class);
+            newRecording.setToDisk(true);
+            newRecording.setDestination(destination);
+            newRecording.setDumpOnExit(true);
+            newRecording.start();
+
+            recording = newRecording;
+            logger.info("Flight recording started, will be written to {}", destination);
+        } catch (IOException | ParseException | IllegalStateException e) {
+            logger.warn("Failed to start flight recording: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.saucedemo.telemetry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Prometheus counter with an optional set of labels.
+ */
+public final class LabeledCounter {
+    private final String name;
+    private final String help;
+    private final String[] labelNames;
+    private final Map<String, LongAdder> values = new ConcurrentHashMap<>();
+
+    LabeledCounter(String name, String help, String... labelNames) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = labelNames;
+    }
+
+    /**
+     * Increment the counter for a combination of label values.
+     *
+     * @param labelValues Values in the order of the label names
+     */
+    public void inc(String... labelValues) {
+        add(1, labelValues);
+    }
+
+    /**
+     * Add to the counter for a combination of label values.
+     *
+     * @param amount Amount to add
+     * @param labelValues Values in the order of the label names
+     */
+    public void add(long amount, String... labelValues) {
+        values.computeIfAbsent(MetricsFormat.labels(labelNames, labelValues), key -> new LongAdder()).add(amount);
+    }
+
+    void render(StringBuilder out) {
+        MetricsFormat.header(out, name, help, "counter");
+        if (values.isEmpty() && labelNames.length == 0) {
+            out.append(name).append(" 0\n");
+        }
+        values.forEach((labels, value) -> out.append(name).append(labels).append(' ').append(value.sum()).append('\n'));
+    }
+}
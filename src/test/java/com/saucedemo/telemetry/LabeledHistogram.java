@@ -0,0 +1,75 @@
+package com.saucedemo.telemetry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Prometheus histogram with fixed buckets, in seconds.
+ */
+public final class LabeledHistogram {
+    private static final double[] BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+    private final String name;
+    private final String help;
+    private final String[] labelNames;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    /**
+     * Bucket counts, sum and count of one label combination.
+     */
+    private static final class Series {
+        final LongAdder[] buckets = new LongAdder[BUCKETS.length];
+        final LongAdder count = new LongAdder();
+        final DoubleAdder sum = new DoubleAdder();
+
+        Series() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+    }
+
+    LabeledHistogram(String name, String help, String... labelNames) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = labelNames;
+    }
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos Duration in nanoseconds
+     * @param labelValues Values in the order of the label names
+     */
+    public void observeNanos(long nanos, String... labelValues) {
+        double seconds = nanos / 1_000_000_000.0;
+        Series target = series.computeIfAbsent(MetricsFormat.labels(labelNames, labelValues), key -> new Series());
+        for (int i = 0; i < BUCKETS.length; i++) {
+            if (seconds <= BUCKETS[i]) {
+                target.buckets[i].increment();
+                break;
+            }
+        }
+        target.count.increment();
+        target.sum.add(seconds);
+    }
+
+    void render(StringBuilder out) {
+        MetricsFormat.header(out, name, help, "histogram");
+        series.forEach((labels, values) -> {
+            // Buckets are stored per interval and rendered cumulatively
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS.length; i++) {
+                cumulative += values.buckets[i].sum();
+                out.append(name).append("_bucket").append(MetricsFormat.withLabel(labels, "le", String.valueOf(BUCKETS[i])))
+                        .append(' ').append(cumulative).append('\n');
+            }
+            out.append(name).append("_bucket").append(MetricsFormat.withLabel(labels, "le", "+Inf"))
+                    .append(' ').append(values.count.sum()).append('\n');
+            out.append(name).append("_sum").append(labels).append(' ').append(values.sum.sum()).append('\n');
+            out.append(name).append("_count").append(labels).append(' ').append(values.count.sum()).append('\n');
+        });
+    }
+}
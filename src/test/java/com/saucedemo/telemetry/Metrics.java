@@ -0,0 +1,71 @@
+package com.saucedemo.telemetry;
+
+import com.saucedemo.browser.WorkerBrowserPool;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Run-wide metrics maintained by BaseTest and the page objects.
+ * All updates are lock-free, so scraping never stalls test workers.
+ */
+public final class Metrics {
+    public static final LabeledCounter TESTS_COMPLETED = new LabeledCounter(
+            "saucedemo_tests_completed_total", "Tests finished, by result and browser", "result", "browser");
+    public static final LabeledCounter JOURNEYS_COMPLETED = new LabeledCounter(
+            "saucedemo_journeys_completed_total", "Virtual-user journeys finished, by test and result", "journey",
+            "result");
+    public static final LabeledCounter FAILURES = new LabeledCounter(
+            "saucedemo_failures_total", "Test failures, by exception type", "type");
+    public static final LabeledCounter RETRIES = new LabeledCounter(
+            "saucedemo_retries_total", "Retried action attempts");
+    public static final LabeledCounter NETWORK_REQUESTS = new LabeledCounter(
+            "saucedemo_network_requests_total", "Network requests, by outcome (ok, failed, blocked, cached)", "outcome");
+    public static final LabeledHistogram POOL_WAIT = new LabeledHistogram(
+            "saucedemo_browser_pool_wait_seconds", "Time to obtain a browser for a test, including launch");
+    public static final LabeledHistogram ACTION_DURATION = new LabeledHistogram(
+            "saucedemo_action_duration_seconds", "Page-object action latency", "page", "action", "profile", "browser");
+    public static final LabeledCounter ADAPTIVE_TIMEOUTS = new LabeledCounter(
+            "saucedemo_adaptive_timeout_events_total", "Actions close to (near_limit) or over (timed_out) their "
+            + "adaptive timeout", "page", "action", "outcome");
+    public static final LabeledCounter TEST_STALLS = new LabeledCounter(
+            "saucedemo_test_stalls_total", "Tests aborted by the hung-test watchdog, by browser", "browser");
+    public static final LabeledCounter VISUAL_CHECKS = new LabeledCounter(
+            "saucedemo_visual_checks_total", "Screenshot comparisons with baselines, by outcome", "outcome");
+    public static final LabeledCounter CIRCUIT_BREAKER_EVENTS = new LabeledCounter(
+            "saucedemo_circuit_breaker_events_total", "Environment circuit breaker events (opened, closed, "
+            + "probe_failed, test_skipped)", "event");
+
+    public static final AtomicLong ACTIVE_CONTEXTS = new AtomicLong();
+
+    private Metrics() {
+    }
+
+    /**
+     * Render all metrics in the Prometheus text exposition format.
+     *
+     * @return Metrics text
+     */
+    public static String render() {
+        StringBuilder out = new StringBuilder(4096);
+        TESTS_COMPLETED.render(out);
+        JOURNEYS_COMPLETED.render(out);
+        FAILURES.render(out);
+        RETRIES.render(out);
+        NETWORK_REQUESTS.render(out);
+        POOL_WAIT.render(out);
+        ACTION_DURATION.render(out);
+        ADAPTIVE_TIMEOUTS.render(out);
+        TEST_STALLS.render(out);
+        VISUAL_CHECKS.render(out);
+        CIRCUIT_BREAKER_EVENTS.render(out);
+        gauge(out, "saucedemo_active_contexts", "Browser contexts currently open", ACTIVE_CONTEXTS.get());
+        gauge(out, "saucedemo_active_browsers", "Browser sessions currently open, idle or in use",
+                WorkerBrowserPool.activeSessions());
+        return out.toString();
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+        MetricsFormat.header(out, name, help, "gauge");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+}
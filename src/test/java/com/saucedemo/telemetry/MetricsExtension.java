@@ -0,0 +1,46 @@
+package com.saucedemo.telemetry;
+
+import com.saucedemo.browser.BrowserMatrix;
+import com.saucedemo.config.TestConfig;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.TestAbortedException;
+
+import java.util.Optional;
+
+/**
+ * Starts the metrics endpoint for the run when enabled, stops it once the whole
+ * run has finished, and counts finished tests by result (passed, failed, skipped) and browser, and failures
+ * by exception type. Aborted tests count as skipped, not as failures.
+ */
+public class MetricsExtension implements BeforeAllCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(MetricsExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!TestConfig.isMetricsEndpointEnabled()) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("server", key -> {
+            MetricsServer.start(TestConfig.getMetricsEndpointPort());
+            return (ExtensionContext.Store.CloseableResource) MetricsServer::stop;
+        });
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Optional<Throwable> failure = context.getExecutionException();
+        String browser = BrowserMatrix.cellOf(context).getLabel();
+        if (failure.isPresent() && failure.get() instanceof TestAbortedException) {
+            // Assumptions that do not hold and tests skipped mid-run, e.g. while the environment is down
+            Metrics.TESTS_COMPLETED.inc("skipped", browser);
+        } else if (failure.isPresent()) {
+            Metrics.TESTS_COMPLETED.inc("failed", browser);
+            Metrics.FAILURES.inc(failure.get().getClass().getSimpleName());
+        } else {
+            Metrics.TESTS_COMPLETED.inc("passed", browser);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.saucedemo.telemetry;
+
+/**
+ * Helpers for the Prometheus text exposition format.
+ */
+final class MetricsFormat {
+
+    private MetricsFormat() {
+    }
+
+    static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Render label names and values as {a="x",b="y"}.
+     */
+    static String labels(String[] names, String[] values) {
+        if (names.length != values.length) {
+            throw new IllegalArgumentException("Expected " + names.length + " label value(s), got " + values.length);
+        }
+        if (names.length == 0) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(names[i]).append("=\"").append(escape(values[i])).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Add one more label to an already rendered label set.
+     */
+    static String withLabel(String labels, String name, String value) {
+        String label = name + "=\"" + escape(value) + "\"";
+        return labels.isEmpty() ? "{" + label + "}" : labels.substring(0, labels.length() - 1) + "," + label + "}";
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
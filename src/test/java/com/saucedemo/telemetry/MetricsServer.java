@@ -0,0 +1,89 @@
+package com.saucedemo.telemetry;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP endpoint serving {@link Metrics} at /metrics in Prometheus text format.
+ * Bound to localhost only. If the configured port is taken (e.g. by another fork),
+ * an ephemeral port is used and logged.
+ */
+public final class MetricsServer {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsServer.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+
+    private MetricsServer() {
+    }
+
+    /**
+     * Start the endpoint once per JVM. Subsequent calls are no-ops.
+     *
+     * @param port Preferred local port
+     */
+    public static synchronized void start(int port) {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = bind(port);
+            server.createContext("/metrics", MetricsServer::handle);
+            // One daemon thread: rendering only reads counters, so it never blocks workers
+            executor = Executors.newSingleThreadExecutor(command -> {
+                Thread thread = new Thread(command, "metrics-endpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.start();
+            logger.info("Metrics endpoint listening on http://127.0.0.1:{}/metrics", server.getAddress().getPort());
+        } catch (IOException e) {
+            logger.warn("Failed to start metrics endpoint: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stop the endpoint. The HttpServer dispatcher is not a daemon thread,
+     * so it must be stopped for the test JVM to exit.
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private static HttpServer bind(int port) throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try {
+            return HttpServer.create(new InetSocketAddress(loopback, port), 0);
+        } catch (BindException e) {
+            logger.warn("Metrics port {} in use, falling back to an ephemeral port", port);
+            return HttpServer.create(new InetSocketAddress(loopback, 0), 0);
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        byte[] body = Metrics.render().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
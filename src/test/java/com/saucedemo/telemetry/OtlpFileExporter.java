@@ -0,0 +1,178 @@
+package com.saucedemo.telemetry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes finished traces as OTLP/JSON lines (one ExportTraceServiceRequest per trace)
+ * from a background thread, so test threads never wait on disk I/O.
+ * When the queue is full, traces are dropped and counted rather than blocking.
+ */
+public final class OtlpFileExporter {
+    private static final Logger logger = LoggerFactory.getLogger(OtlpFileExporter.class);
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int STATUS_OK = 1;
+    private static final int STATUS_ERROR = 2;
+    private static final int SPAN_KIND_INTERNAL = 1;
+
+    private final BlockingQueue<List<Span>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong droppedTraces = new AtomicLong();
+    private final Path file;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    OtlpFileExporter(Path outputDir) {
+        this.file = outputDir.resolve("traces-" + ProcessHandle.current().pid() + ".jsonl");
+        this.writerThread = new Thread(this::writeLoop, "otlp-file-exporter");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+    }
+
+    /**
+     * Queue a finished trace for writing.
+     *
+     * @param root Root span of the trace
+     */
+    void export(Span root) {
+        List<Span> spans;
+        synchronized (root.traceSpans) {
+            spans = new ArrayList<>(root.traceSpans);
+        }
+        if (!queue.offer(spans)) {
+            droppedTraces.incrementAndGet();
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                while (running || !queue.isEmpty()) {
+                    List<Span> spans = queue.poll(200, TimeUnit.MILLISECONDS);
+                    if (spans == null) {
+                        writer.flush();
+                        continue;
+                    }
+                    writer.write(toOtlpJson(spans));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Trace export to {} failed: {}", file, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void shutdown() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (droppedTraces.get() > 0) {
+            logger.warn("Dropped {} trace(s) because the export queue was full", droppedTraces.get());
+        }
+    }
+
+    static String toOtlpJson(List<Span> spans) {
+        StringBuilder json = new StringBuilder(256 * spans.size());
+        json.append("{\"resourceSpans\":[{\"resource\":{\"attributes\":[");
+        appendAttribute(json, "service.name", "saucedemo-ui-tests");
+        json.append(',');
+        appendAttribute(json, "process.pid", ProcessHandle.current().pid());
+        json.append("]},\"scopeSpans\":[{\"scope\":{\"name\":\"com.saucedemo\"},\"spans\":[");
+        for (int i = 0; i < spans.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendSpan(json, spans.get(i));
+        }
+        json.append("]}]}]}");
+        return json.toString();
+    }
+
+    private static void appendSpan(StringBuilder json, Span span) {
+        json.append("{\"traceId\":\"").append(span.traceId)
+                .append("\",\"spanId\":\"").append(span.spanId).append('"');
+        if (span.parentSpanId() != null) {
+            json.append(",\"parentSpanId\":\"").append(span.parentSpanId()).append('"');
+        }
+        json.append(",\"name\":");
+        appendString(json, span.name);
+        json.append(",\"kind\":").append(SPAN_KIND_INTERNAL)
+                .append(",\"startTimeUnixNano\":\"").append(span.startEpochNanos)
+                .append("\",\"endTimeUnixNano\":\"").append(span.endEpochNanos)
+                .append("\",\"attributes\":[");
+        boolean first = true;
+        for (Map.Entry<String, Object> attribute : span.attributes.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            appendAttribute(json, attribute.getKey(), attribute.getValue());
+            first = false;
+        }
+        json.append("],\"status\":{");
+        if (span.errorMessage != null) {
+            json.append("\"code\":").append(STATUS_ERROR).append(",\"message\":");
+            appendString(json, span.errorMessage);
+        } else {
+            json.append("\"code\":").append(STATUS_OK);
+        }
+        json.append("}}");
+    }
+
+    private static void appendAttribute(StringBuilder json, String key, Object value) {
+        json.append("{\"key\":");
+        appendString(json, key);
+        json.append(",\"value\":{");
+        if (value instanceof Boolean) {
+            json.append("\"boolValue\":").append(value);
+        } else if (value instanceof Integer || value instanceof Long) {
+            json.append("\"intValue\":\"").append(value).append('"');
+        } else if (value instanceof Number) {
+            json.append("\"doubleValue\":").append(value);
+        } else {
+            json.append("\"stringValue\":");
+            appendString(json, String.valueOf(value));
+        }
+        json.append("}}");
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,37 @@
+package com.saucedemo.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a single page-object action such as fill, click or navigate.
+ */
+@Name("com.saucedemo.PageAction")
+@Label("Page Action")
+@Category({"SauceDemo", "Page Object"})
+@Description("A browser action performed by a page object")
+public class PageActionEvent extends Event {
+    @Label("Page")
+    public String page;
+
+    @Label("Action")
+    public String action;
+
+    @Label("Selector")
+    public String selector;
+
+    @Label("Test Id")
+    public String testId;
+
+    @Label("Browser")
+    public String browser;
+
+    @Label("Emulation Profile")
+    public String profile;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
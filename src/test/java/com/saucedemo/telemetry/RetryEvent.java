@@ -0,0 +1,28 @@
+package com.saucedemo.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a failed attempt that BaseTest is about to retry.
+ */
+@Name("com.saucedemo.Retry")
+@Label("Retry")
+@Category({"SauceDemo", "Test"})
+@Description("A failed attempt of a retried action, including the delay before the next attempt")
+public class RetryEvent extends Event {
+    @Label("Action")
+    public String action;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Error")
+    public String error;
+
+    @Label("Test Id")
+    public String testId;
+}
@@ -0,0 +1,128 @@
+package com.saucedemo.telemetry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A timed step of a test journey, such as a test, a page-object method or a single click.
+ * Spans are created through {@link Tracing} and must be ended on the thread that started them.
+ */
+public final class Span {
+    /**
+     * Span returned outside of any trace; all operations are no-ops.
+     */
+    static final Span NOOP = new Span(null, null, false);
+
+    private static final int MAX_SPANS_PER_TRACE = 5_000;
+
+    final String traceId;
+    final String spanId;
+    final String name;
+    final Span parent;
+    final boolean recording;
+    final long startEpochNanos;
+    final Map<String, Object> attributes;
+    final List<Span> traceSpans;
+    long endEpochNanos;
+    String errorMessage;
+
+    Span(String name, Span parent, boolean recording) {
+        this.name = name;
+        this.parent = parent;
+        this.recording = recording;
+        if (!recording) {
+            this.traceId = null;
+            this.spanId = null;
+            this.startEpochNanos = 0;
+            this.attributes = null;
+            this.traceSpans = null;
+            return;
+        }
+        this.startEpochNanos = Tracing.nowEpochNanos();
+        this.spanId = randomHex(8);
+        this.attributes = new LinkedHashMap<>();
+        if (parent == null) {
+            this.traceId = randomHex(16);
+            this.traceSpans = new ArrayList<>();
+        } else {
+            this.traceId = parent.traceId;
+            this.traceSpans = parent.traceSpans;
+        }
+    }
+
+    /**
+     * Check if this span is recorded.
+     *
+     * @return true if the span belongs to a sampled trace, false otherwise
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Set an attribute, e.g. URL, selector or retry count.
+     *
+     * @param key Attribute name
+     * @param value String, number or boolean value; null values are ignored
+     * @return This span for method chaining
+     */
+    public Span setAttribute(String key, Object value) {
+        if (recording && value != null) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    /**
+     * Mark the span as failed.
+     *
+     * @param error Error that failed the step
+     * @return This span for method chaining
+     */
+    public Span setError(Throwable error) {
+        if (recording) {
+            errorMessage = error.getClass().getSimpleName() + ": " + error.getMessage();
+        }
+        return this;
+    }
+
+    /**
+     * End the span and restore its parent as the current span.
+     * Ending a sampled root span exports the whole trace.
+     */
+    public void end() {
+        if (this == NOOP) {
+            return;
+        }
+        Tracing.restore(parent);
+        if (!recording) {
+            return;
+        }
+        endEpochNanos = Tracing.nowEpochNanos();
+        synchronized (traceSpans) {
+            if (traceSpans.size() < MAX_SPANS_PER_TRACE) {
+                traceSpans.add(this);
+            }
+        }
+        if (parent == null) {
+            Tracing.export(this);
+        }
+    }
+
+    String parentSpanId() {
+        return parent != null ? parent.spanId : null;
+    }
+
+    private static String randomHex(int bytes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder sb = new StringBuilder(bytes * 2);
+        for (int i = 0; i < bytes; i++) {
+            int value = random.nextInt(256);
+            sb.append(Character.forDigit(value >> 4, 16)).append(Character.forDigit(value & 0xf, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.saucedemo.telemetry;
+
+import com.saucedemo.config.TestConfig;
+
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Minimal tracer for test journeys: test → setUp → page-object method → browser action.
+ * Finished traces are written as OTLP-compatible JSON lines by {@link OtlpFileExporter},
+ * so no collector is required. Unsampled traces cost one small allocation per span.
+ */
+public final class Tracing {
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private static final boolean ENABLED = TestConfig.isTracingEnabled();
+    private static final double SAMPLE_RATE = TestConfig.getTracingSampleRate();
+
+    // Wall-clock anchor so span timestamps use the monotonic clock
+    private static final long EPOCH_NANOS_AT_START;
+    private static final long NANO_TIME_AT_START = System.nanoTime();
+
+    static {
+        Instant now = Instant.now();
+        EPOCH_NANOS_AT_START = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    private static volatile OtlpFileExporter exporter;
+
+    private Tracing() {
+    }
+
+    /**
+     * Start a new trace on the current thread, replacing any unfinished one.
+     *
+     * @param name Name of the root span, usually the test id
+     * @return Root span; end it to export the trace
+     */
+    public static Span startTrace(String name) {
+        if (!ENABLED) {
+            return Span.NOOP;
+        }
+        boolean sampled = SAMPLE_RATE >= 1.0 || ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE;
+        Span root = new Span(name, null, sampled);
+        CURRENT.set(root);
+        return root;
+    }
+
+    /**
+     * Start a child of the current span. Outside of a trace this returns a no-op span.
+     *
+     * @param name Name of the step
+     * @return New current span
+     */
+    public static Span startSpan(String name) {
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return Span.NOOP;
+        }
+        Span span = new Span(name, parent, parent.recording);
+        CURRENT.set(span);
+        return span;
+    }
+
+    /**
+     * Run a step inside a child span, recording failures on the span.
+     *
+     * @param name Name of the step
+     * @param body The step itself
+     * @return Result of the step
+     */
+    public static <T> T inSpan(String name, Supplier<T> body) {
+        Span span = startSpan(name);
+        try {
+            return body.get();
+        } catch (RuntimeException | Error e) {
+            span.setError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Get the current span.
+     *
+     * @return Current span, or a no-op span outside of a trace
+     */
+    public static Span current() {
+        Span span = CURRENT.get();
+        return span != null ? span : Span.NOOP;
+    }
+
+    /**
+     * Make a span current on this thread, e.g. to continue a trace on a worker thread.
+     *
+     * @param span Span to continue from
+     */
+    public static void attach(Span span) {
+        restore(span == Span.NOOP ? null : span);
+    }
+
+    static void restore(Span span) {
+        if (span == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(span);
+        }
+    }
+
+    static void export(Span root) {
+        if (exporter == null) {
+            synchronized (Tracing.class) {
+                if (exporter == null) {
+                    exporter = new OtlpFileExporter(Paths.get(TestConfig.getTracingOutputDir()));
+                }
+            }
+        }
+        exporter.export(root);
+    }
+
+    static long nowEpochNanos() {
+        return EPOCH_NANOS_AT_START + (System.nanoTime() - NANO_TIME_AT_START);
+    }
+}
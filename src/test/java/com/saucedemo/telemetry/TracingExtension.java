@@ -0,0 +1,78 @@
+package com.saucedemo.telemetry;
+
+import com.saucedemo.browser.BrowserCell;
+import com.saucedemo.browser.BrowserMatrix;
+import com.saucedemo.browser.EmulationProfile;
+import com.saucedemo.execution.TestDurationRecorder;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+
+import java.lang.reflect.Method;
+
+/**
+ * Opens a trace per test and a child span for each setup, test and teardown method,
+ * so page-object spans nest under the lifecycle phase that issued them.
+ */
+public class TracingExtension implements BeforeEachCallback, AfterEachCallback, InvocationInterceptor {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(TracingExtension.class);
+    private static final String ROOT_KEY = "root";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        BrowserCell cell = BrowserMatrix.cellOf(context);
+        Span root = Tracing.startTrace(TestDurationRecorder.testIdOf(context));
+        root.setAttribute("test.class", context.getRequiredTestClass().getName())
+                .setAttribute("test.method", context.getRequiredTestMethod().getName())
+                .setAttribute("browser.name", cell.getLabel())
+                .setAttribute("emulation.profile", EmulationProfile.effectiveFor(context.getRequiredTestMethod(),
+                        context.getRequiredTestClass(), cell.getEngine()).getProfileName());
+        context.getStore(NAMESPACE).put(ROOT_KEY, root);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Span root = context.getStore(NAMESPACE).remove(ROOT_KEY, Span.class);
+        if (root == null) {
+            return;
+        }
+        context.getExecutionException().ifPresent(root::setError);
+        root.end();
+    }
+
+    @Override
+    public void interceptBeforeEachMethod(Invocation<Void> invocation,
+                                          ReflectiveInvocationContext<Method> invocationContext,
+                                          ExtensionContext extensionContext) throws Throwable {
+        traced(invocation, invocationContext.getExecutable().getName());
+    }
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation,
+                                    ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        traced(invocation, invocationContext.getExecutable().getName());
+    }
+
+    @Override
+    public void interceptAfterEachMethod(Invocation<Void> invocation,
+                                         ReflectiveInvocationContext<Method> invocationContext,
+                                         ExtensionContext extensionContext) throws Throwable {
+        traced(invocation, invocationContext.getExecutable().getName());
+    }
+
+    private static void traced(Invocation<Void> invocation, String name) throws Throwable {
+        Span span = Tracing.startSpan(name);
+        try {
+            invocation.proceed();
+        } catch (Throwable t) {
+            span.setError(t);
+            throw t;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.saucedemo.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for time spent waiting on the page, e.g. for network idle or a selector.
+ */
+@Name("com.saucedemo.Wait")
+@Label("Wait")
+@Category({"SauceDemo", "Page Object"})
+@Description("Waiting for a load state or selector")
+public class WaitEvent extends Event {
+    @Label("Condition")
+    public String condition;
+
+    @Label("Selector")
+    public String selector;
+
+    @Label("Test Id")
+    public String testId;
+}
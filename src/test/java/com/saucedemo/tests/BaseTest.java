@@ -2,40 +2,107 @@ package com.saucedemo.tests;
 
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.LoadState;
+import com.saucedemo.browser.BrowserCell;
+import com.saucedemo.browser.BrowserEngine;
+import com.saucedemo.browser.BrowserMatrix;
+import com.saucedemo.browser.BrowserPoolExtension;
+import com.saucedemo.browser.BrowserServerConnector;
+import com.saucedemo.browser.BrowserSession;
+import com.saucedemo.browser.EmulationProfile;
+import com.saucedemo.browser.LaunchPreset;
+import com.saucedemo.browser.LocalBrowserServer;
+import com.saucedemo.browser.WorkerBrowserPool;
+import com.saucedemo.checkpoint.Checkpoint;
+import com.saucedemo.checkpoint.CheckpointFlow;
+import com.saucedemo.checkpoint.CheckpointStore;
 import com.saucedemo.config.TestConfig;
+import com.saucedemo.data.CustomerGenerator;
+import com.saucedemo.data.TestData;
+import com.saucedemo.environment.EnvironmentCircuitBreaker;
+import com.saucedemo.environment.EnvironmentCircuitBreakerExtension;
+import com.saucedemo.execution.TestDurationRecorder;
+import com.saucedemo.flaky.FlakinessRecorder;
+import com.saucedemo.history.RunHistoryRecorder;
+import com.saucedemo.impact.PageCoverage;
+import com.saucedemo.impact.PageCoverageExtension;
+import com.saucedemo.journey.ConcurrentJourney;
+import com.saucedemo.journey.VirtualUsersOnly;
+import com.saucedemo.logging.ConsoleLogging;
+import com.saucedemo.logging.JsonLogging;
+import com.saucedemo.logging.LogContext;
+import com.saucedemo.network.InFlightRequests;
+import com.saucedemo.network.NetworkEventRecorder;
+import com.saucedemo.network.NetworkStats;
+import com.saucedemo.network.RequestTimingExtension;
+import com.saucedemo.network.RequestTimingRecorder;
+import com.saucedemo.network.RequestTimingStats;
+import com.saucedemo.network.TimingBreakdown;
+import com.saucedemo.telemetry.BrowserLifecycleEvent;
+import com.saucedemo.telemetry.FlightRecording;
+import com.saucedemo.telemetry.Metrics;
+import com.saucedemo.telemetry.MetricsExtension;
+import com.saucedemo.telemetry.RetryEvent;
+import com.saucedemo.telemetry.Span;
+import com.saucedemo.telemetry.Tracing;
+import com.saucedemo.telemetry.TracingExtension;
+import com.saucedemo.telemetry.WaitEvent;
+import com.saucedemo.timeout.AdaptiveTimeoutExtension;
+import com.saucedemo.watchdog.Stall;
+import com.saucedemo.watchdog.StallReport;
+import com.saucedemo.watchdog.TestWatchdog;
+import com.saucedemo.watchdog.TestWatchdogExtension;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 /**
  * Base test class that all test classes will inherit from.
  * Sets up and tears down Playwright resources with comprehensive logging.
- * Supports parallel test execution.
+ * Supports parallel test execution: each worker thread owns its own Playwright and browser,
+ * since Playwright objects must not be shared between threads.
  */
 @Execution(ExecutionMode.CONCURRENT)
+@ExtendWith({BrowserPoolExtension.class, BrowserMatrix.class, TestDurationRecorder.class, TracingExtension.class,
+        MetricsExtension.class, RunHistoryRecorder.class, AdaptiveTimeoutExtension.class, TestWatchdogExtension.class,
+        PageCoverageExtension.class, FlakinessRecorder.class, EnvironmentCircuitBreakerExtension.class,
+        RequestTimingExtension.class})
 public class BaseTest {
     // Logger instance
     protected static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
 
-    // Playwright components
-    protected static Playwright playwright;
-    protected static Browser browser;
+    // Playwright components, owned by the current worker thread
+    protected Playwright playwright;
+    protected Browser browser;
+    protected BrowserCell browserCell;
 
     // Test-specific components
     protected BrowserContext context;
     protected Page page;
 
+    // Checkout customers of the current test, reproducible from the test data seed
+    protected CustomerGenerator customers;
+
     // Network handling configuration
     private static final int MAX_RETRIES = TestConfig.getRetryCount();
     private static final int RETRY_DELAY_MS = TestConfig.getRetryDelay();
     private static final int DEFAULT_TIMEOUT_MS = TestConfig.getTimeout();
-    private static final List<String> IGNORED_ERROR_PATTERNS = TestConfig.getIgnoredErrorPatterns();
+    private static final List<Pattern> IGNORED_ERROR_PATTERNS = TestConfig.getIgnoredErrorPatterns().stream()
+            .map(pattern -> Pattern.compile(pattern.trim()))
+            .toList();
 
     // Test credentials
     protected static final String VALID_USERNAME = TestConfig.getValidUsername();
@@ -44,74 +111,344 @@ public class BaseTest {
     protected static final String INVALID_PASSWORD = TestConfig.getInvalidPassword();
 
     // Track failed requests for reporting
-    private final List<FailedRequest> failedRequests = new ArrayList<>();
+    private static final int FAILURE_DETAIL_LIMIT = TestConfig.getNetworkFailureDetailLimit();
+    private static final List<String> BLOCKED_URL_PATTERNS = TestConfig.getNetworkBlockPatterns();
+    private BrowserSession browserSession;
+    private LocalBrowserServer journeyServer;
+    private NetworkEventRecorder networkRecorder;
+    private RequestTimingRecorder requestTimings;
+    private InFlightRequests inFlightRequests;
+    private EmulationProfile emulationProfile;
 
     /**
-     * Class to track failed network requests
+     * Set up suite-wide resources before all tests.
+     * Browsers are launched lazily into the worker browser pool when a test first needs one.
      */
-    private static class FailedRequest {
-        final String url;
-        final int status;
-        final String error;
+    @BeforeAll
+    public static void setUpSuite() {
+        setupLogging();
+        if (TestConfig.isJfrRecordingEnabled()) {
+            FlightRecording.start(Paths.get(TestConfig.getJfrOutputDir()));
+        }
+        logger.info("=== Starting Test Suite ===");
+    }
 
-        FailedRequest(String url, int status, String error) {
-            this.url = url;
-            this.status = status;
-            this.error = error;
+    /**
+     * Launch Playwright and the browser of a matrix cell for the worker browser pool.
+     * When the shared browser server is enabled, Chromium attaches to it instead and only
+     * launches in-process if the server is unavailable.
+     *
+     * @param cell Browser matrix cell
+     * @return New browser session
+     */
+    private static BrowserSession launchBrowser(BrowserCell cell) {
+        BrowserLifecycleEvent event = new BrowserLifecycleEvent();
+        event.begin();
+        event.browserName = cell.getLabel();
+
+        Playwright playwright = Playwright.create();
+        BrowserEngine engine = cell.getEngine();
+        BrowserType browserType = engine.typeOf(playwright);
+
+        if (TestConfig.isBrowserServerEnabled() && engine == BrowserEngine.CHROMIUM) {
+            Optional<Browser> shared = BrowserServerConnector.connect(browserType);
+            if (shared.isPresent()) {
+                event.phase = "connect";
+                event.commit();
+                return new BrowserSession(playwright, shared.get());
+            }
+            logger.warn("Browser server unavailable, falling back to in-process launch");
         }
 
-        @Override
-        public String toString() {
-            return String.format("URL: %s, Status: %d, Error: %s", url, status, error);
+        logger.info("Launching {} browser...", cell.getLabel());
+        BrowserType.LaunchOptions options = new BrowserType.LaunchOptions()
+                .setHeadless(cell.isHeadless())
+                .setSlowMo(TestConfig.getSlowMo());
+        // Channels (chrome, msedge, ...) and launch presets only exist for Chromium
+        if (engine == BrowserEngine.CHROMIUM) {
+            if (!TestConfig.getBrowserChannel().isEmpty()) {
+                options.setChannel(TestConfig.getBrowserChannel());
+            }
+            LaunchPreset.configured().applyTo(options);
         }
+        Browser browser = browserType.launch(options);
+
+        event.phase = "launch";
+        event.commit();
+        logger.info("Browser launched successfully");
+        return new BrowserSession(playwright, browser);
     }
 
     /**
-     * Set up browser before all tests.
-     * Browser instance is shared across all test threads
+     * Size the console log queue and attach the JSON-lines log appender when enabled in config.
      */
-    @BeforeAll
-    public static void launchBrowser() {
-        logger.info("=== Starting Test Suite ===");
-        logger.info("Launching Chromium browser...");
-
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                .setHeadless(TestConfig.isHeadless())
-                .setSlowMo(TestConfig.getSlowMo()));
+    private static void setupLogging() {
+        ConsoleLogging.applyQueueSize(TestConfig.getLogQueueSize());
+        if (!TestConfig.isJsonLoggingEnabled()) {
+            return;
+        }
+        try {
+            Path logDir = Paths.get(TestConfig.getJsonLogDir());
+            Files.createDirectories(logDir);
+            JsonLogging.install(logDir, TestConfig.getLogQueueSize());
+        } catch (IOException e) {
+            logger.warn("JSON logging disabled, cannot create log directory: {}", e.getMessage());
+        }
+    }
 
-        logger.info("Browser launched successfully");
+    /**
+     * Build a stable identifier for a test, used to correlate logs and reports.
+     *
+     * @param testInfo JUnit test information
+     * @return Identifier in the form "ClassName.methodName"
+     */
+    protected static String testIdOf(TestInfo testInfo) {
+        String className = testInfo.getTestClass().map(Class::getSimpleName).orElse("UnknownClass");
+        String methodName = testInfo.getTestMethod().map(Method::getName).orElse(testInfo.getDisplayName());
+        return className + "." + methodName;
     }
 
     /**
      * Set up context and page before each test.
-     * Each test gets its own isolated browser context
+     * Each test gets its own isolated browser context, in the browser of its matrix cell,
+     * except tests marked {@link VirtualUsersOnly}, whose users bring their own
      */
     @BeforeEach
-    public void createContextAndPage(TestInfo testInfo) {
+    public void createContextAndPage(TestInfo testInfo, BrowserCell cell) {
+        browserCell = cell;
+        LogContext.startTest(cell.qualify(testIdOf(testInfo)));
+        LogContext.setBrowser(cell.getLabel());
+        TestWatchdog.watch(LogContext.currentTestId());
+        customers = TestData.customersFor(LogContext.currentTestId());
         logger.info("--- Starting Test: {} ---", testInfo.getDisplayName());
         logger.debug("Creating new browser context and page");
 
-        try {
-            // Create context with network handling
-            context = browser.newContext(new Browser.NewContextOptions()
-                    .setIgnoreHTTPSErrors(true));
-
-            // Create page first
-            page = context.newPage();
-
-            // Then set timeout and monitoring
-            page.setDefaultTimeout(DEFAULT_TIMEOUT_MS);
-            setupNetworkMonitoring();
+        networkRecorder = new NetworkEventRecorder(FAILURE_DETAIL_LIMIT);
+        if (TestConfig.isNetworkTimingEnabled()) {
+            requestTimings = new RequestTimingRecorder(TestConfig.getNetworkTimingSlowestCount());
+        }
+        if (isVirtualUsersOnly(testInfo)) {
+            logger.debug("Virtual users only, no context and page for the test itself");
+            return;
+        }
 
+        BrowserLifecycleEvent event = new BrowserLifecycleEvent();
+        event.begin();
+        try {
+            long waitStart = System.nanoTime();
+            browserSession = WorkerBrowserPool.acquire(cell, () -> launchBrowser(cell));
+            long waitNanos = System.nanoTime() - waitStart;
+            Metrics.POOL_WAIT.observeNanos(waitNanos);
+            RunHistoryRecorder.addMetric("browser.pool.wait.ms", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            playwright = browserSession.getPlaywright();
+            browser = browserSession.getBrowser();
+            emulationProfile = resolveEmulation(testInfo, cell);
+            openPage(new Browser.NewContextOptions());
+
+            event.phase = "contextCreate";
+            event.testId = LogContext.currentTestId();
+            event.commit();
             logger.debug("Browser context and page created successfully");
         } catch (Exception e) {
             logger.error("Failed to create browser context and page: {}", e.getMessage());
             // Clean up if something went wrong
             if (context != null) {
                 context.close();
+                Metrics.ACTIVE_CONTEXTS.decrementAndGet();
+            }
+            releaseBrowser();
+            throw e;
+        }
+    }
+
+    /**
+     * Check if a test is marked {@link VirtualUsersOnly}, on its method or class.
+     */
+    private static boolean isVirtualUsersOnly(TestInfo testInfo) {
+        return testInfo.getTestMethod().map(method -> method.isAnnotationPresent(VirtualUsersOnly.class)).orElse(false)
+                || testInfo.getTestClass().map(type -> type.isAnnotationPresent(VirtualUsersOnly.class)).orElse(false);
+    }
+
+    /**
+     * Open the test's context and page with network handling, emulation and monitoring.
+     *
+     * @param options Context options, e.g. a storage state to start from
+     */
+    private void openPage(Browser.NewContextOptions options) {
+        // Create context with network handling
+        context = newContext(browser, options);
+        Metrics.ACTIVE_CONTEXTS.incrementAndGet();
+        if (requestTimings != null) {
+            requestTimings.track(context);
+        }
+
+        // Create page first
+        page = context.newPage();
+        applyEmulation(emulationProfile);
+
+        // Then set timeout and monitoring
+        page.setDefaultTimeout(DEFAULT_TIMEOUT_MS);
+        setupNetworkMonitoring();
+    }
+
+    /**
+     * Create an isolated browser context with the suite's network settings.
+     *
+     * @param browser Browser to create the context in
+     * @param options Context options to add the suite's settings to
+     * @return New context
+     */
+    private static BrowserContext newContext(Browser browser, Browser.NewContextOptions options) {
+        BrowserContext context = browser.newContext(options.setIgnoreHTTPSErrors(true));
+        context.setDefaultTimeout(DEFAULT_TIMEOUT_MS);
+        for (String pattern : BLOCKED_URL_PATTERNS) {
+            context.route(pattern, route -> route.abort());
+        }
+        return context;
+    }
+
+    /**
+     * Create a journey that drives several virtual users concurrently within this test.
+     * Each user gets its own Playwright and context, created and used on the user's virtual thread,
+     * and all users connect to one browser in this test's matrix cell: the shared browser server for
+     * Chromium when it is enabled, otherwise a browser server started for this test. That server takes
+     * the test's place in the worker browser pool, so the test's own page is closed first; mark tests
+     * that never use it {@link VirtualUsersOnly}.
+     *
+     * @param users Number of virtual users
+     * @return Journey to run the users' flow with
+     */
+    protected ConcurrentJourney concurrentUsers(int users) {
+        BrowserCell cell = browserCell;
+        String endpoint = journeyEndpoint(cell);
+        RequestTimingRecorder timings = requestTimings;
+        return new ConcurrentJourney(LogContext.currentTestId(), cell.getLabel(), users,
+                () -> connectUser(cell, endpoint), browser -> {
+                    BrowserContext userContext = newContext(browser, new Browser.NewContextOptions());
+                    if (timings != null) {
+                        timings.track(userContext);
+                    }
+                    return userContext;
+                },
+                TestConfig.getJourneyBarrierTimeout());
+    }
+
+    /**
+     * Get the endpoint of the browser the test's virtual users connect to, starting a browser server
+     * for the test if the shared one is not used.
+     *
+     * @param cell Browser matrix cell of the test
+     * @return WebSocket endpoint
+     */
+    private String journeyEndpoint(BrowserCell cell) {
+        if (journeyServer != null) {
+            return journeyServer.getWsEndpoint();
+        }
+        if (TestConfig.isBrowserServerEnabled() && cell.getEngine() == BrowserEngine.CHROMIUM) {
+            Optional<String> shared = BrowserServerConnector.reachableEndpoint();
+            if (shared.isPresent()) {
+                return shared.get();
             }
+            logger.warn("Browser server unavailable, starting one for this test's virtual users");
+        }
+        if (context != null) {
+            logger.debug("Closing the test's page, its virtual users get a browser in its place");
+            closeCurrentContext();
+            context = null;
+            page = null;
+        }
+        releaseBrowser();
+        journeyServer = LocalBrowserServer.start(cell);
+        return journeyServer.getWsEndpoint();
+    }
+
+    /**
+     * Connect a virtual user's own Playwright to the journey's browser.
+     *
+     * @param cell Browser matrix cell of the test
+     * @param endpoint WebSocket endpoint of the browser server
+     * @return Session of the user; closing it disconnects without stopping the browser
+     */
+    private static BrowserSession connectUser(BrowserCell cell, String endpoint) {
+        BrowserLifecycleEvent event = new BrowserLifecycleEvent();
+        event.begin();
+        event.browserName = cell.getLabel();
+        Playwright playwright = Playwright.create();
+        try {
+            Browser browser = BrowserServerConnector.connect(cell.getEngine().typeOf(playwright), endpoint);
+            event.phase = "connect";
+            event.commit();
+            return new BrowserSession(playwright, browser);
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Continue this test from a checkpoint instead of repeating a shared flow. The first test to ask
+     * runs the flow on its page and captures the resulting state; every test, including that one,
+     * then gets a new context restored from it and opened on the checkpoint's URL.
+     * With checkpoint.enabled=false the flow simply runs on the current page.
+     *
+     * @param name Checkpoint name, unique within the test class
+     * @param flow Flow leading to the checkpoint
+     * @return Checkpoint, with the values recorded by the flow
+     */
+    protected Checkpoint restoreCheckpoint(String name, CheckpointFlow flow) {
+        if (!TestConfig.isCheckpointEnabled()) {
+            return Checkpoint.capture(name, page, flow);
+        }
+        String checkpointId = getClass().getSimpleName() + "." + name;
+        Checkpoint checkpoint = CheckpointStore.obtain(name, browserCell.getLabel(), getClass(),
+                () -> PageCoverage.capture(checkpointId, () -> Checkpoint.capture(name, page, flow)));
+        PageCoverage.restored(checkpointId);
+        Span span = Tracing.startSpan("Restore checkpoint " + name);
+        try {
+            closeCurrentContext();
+            openPage(new Browser.NewContextOptions().setStorageState(checkpoint.getStorageState()));
+            EnvironmentCircuitBreaker.recordNavigation(checkpoint.getUrl(), () -> page.navigate(checkpoint.getUrl()));
+        } catch (RuntimeException e) {
+            span.setError(e);
             throw e;
+        } finally {
+            span.setAttribute("url", checkpoint.getUrl());
+            span.end();
+        }
+        logger.info("Restored checkpoint {}", checkpoint);
+        return checkpoint;
+    }
+
+    /**
+     * Resolve the emulation profile the test runs under. Only Chromium supports emulation; other browsers
+     * run unthrottled, and the run history and traces record them that way.
+     *
+     * @param testInfo JUnit test information
+     * @param cell Browser matrix cell of the test
+     * @return Effective profile
+     */
+    private static EmulationProfile resolveEmulation(TestInfo testInfo, BrowserCell cell) {
+        Method testMethod = testInfo.getTestMethod().orElse(null);
+        Class<?> testClass = testInfo.getTestClass().orElse(null);
+        EmulationProfile requested = EmulationProfile.forTest(testMethod, testClass);
+        EmulationProfile effective = EmulationProfile.effectiveFor(testMethod, testClass, cell.getEngine());
+        if (effective != requested) {
+            logger.warn("Emulation profile '{}' requires Chromium, running unthrottled on {}",
+                    requested.getProfileName(), cell.getEngine().getName());
+        }
+        return effective;
+    }
+
+    /**
+     * Apply network and CPU emulation to the page.
+     *
+     * @param profile Effective emulation profile of the test
+     */
+    private void applyEmulation(EmulationProfile profile) {
+        profile.applyTo(page);
+        LogContext.setProfile(profile.getProfileName());
+        if (profile != EmulationProfile.NONE) {
+            logger.info("Running under emulation profile '{}'", profile.getProfileName());
         }
     }
 
@@ -119,43 +456,74 @@ public class BaseTest {
      * Set up network request monitoring and handling.
      */
     private void setupNetworkMonitoring() {
+        // Callbacks may fire after the test has finished, so bind to this test's recorder
+        NetworkEventRecorder recorder = networkRecorder;
+
+        // Let a stalled test report what its page was waiting for
+        if (TestConfig.isWatchdogEnabled()) {
+            inFlightRequests = new InFlightRequests();
+            inFlightRequests.track(page);
+        }
+
         // Monitor all requests
-        page.onRequest(request -> {
+        page.onRequest(LogContext.propagate(request -> {
+            // Skip pattern matching entirely unless request logging is on
+            if (!logger.isDebugEnabled()) {
+                return;
+            }
             String url = request.url();
             if (shouldIgnoreRequest(url)) {
                 logger.debug("Ignoring request to: {}", url);
                 return;
             }
             logger.debug("Request: {} {}", request.method(), url);
-        });
+        }));
 
         // Monitor all responses
-        page.onResponse(response -> {
+        page.onResponse(LogContext.propagate(response -> {
+            int status = response.status();
+            Metrics.NETWORK_REQUESTS.inc(status == 304 ? "cached" : status >= 400 ? "failed" : "ok");
+            RunHistoryRecorder.addMetric("network.requests", 1);
+            EnvironmentCircuitBreaker.recordResponse(response.url(), status);
+            if (status < 400) {
+                return;
+            }
+
             String url = response.url();
             if (shouldIgnoreRequest(url)) {
                 return;
             }
 
-            int status = response.status();
-            if (status >= 400) {
-                String error = String.format("Request failed: %s %s", response.request().method(), url);
-                logger.warn("Response error: {} - Status: {}", error, status);
-                failedRequests.add(new FailedRequest(url, status, error));
+            String error = String.format("Request failed: %s %s", response.request().method(), url);
+            // Failures are reported in aggregate when the test ends
+            logger.debug("Response error: {} - Status: {}", error, status);
+            recorder.recordFailure(url, status, error);
+            RunHistoryRecorder.addMetric("network.failures", 1);
+        }));
+
+        // Count requests that never got a response
+        page.onRequestFailed(request -> {
+            String failure = request.failure();
+            boolean blocked = failure != null && (failure.contains("BLOCKED") || failure.contains("ABORTED"));
+            Metrics.NETWORK_REQUESTS.inc(blocked ? "blocked" : "failed");
+            RunHistoryRecorder.addMetric("network.requests.unanswered", 1);
+            if (!blocked) {
+                EnvironmentCircuitBreaker.recordUnanswered(request.url(), request.isNavigationRequest());
             }
         });
 
         // Monitor console messages
-        page.onConsoleMessage(msg -> {
-            if (!shouldIgnoreConsoleMessage(msg.text())) {
+        page.onConsoleMessage(LogContext.propagate(msg -> {
+            if (logger.isDebugEnabled() && !shouldIgnoreConsoleMessage(msg.text())) {
                 logger.debug("Browser Console [{}]: {}", msg.type(), msg.text());
             }
-        });
+        }));
 
         // Monitor page errors
-        page.onPageError(error -> {
+        page.onPageError(LogContext.propagate(error -> {
             logger.error("Page Error: {}", error);
-            failedRequests.add(new FailedRequest(page.url(), 0, error));
-        });
+            recorder.recordFailure(page.url(), 0, error);
+        }));
     }
 
     /**
@@ -163,7 +531,7 @@ public class BaseTest {
      */
     private boolean shouldIgnoreRequest(String url) {
         return IGNORED_ERROR_PATTERNS.stream()
-                .anyMatch(pattern -> url.matches(pattern));
+                .anyMatch(pattern -> pattern.matcher(url).matches());
     }
 
     /**
@@ -171,7 +539,7 @@ public class BaseTest {
      */
     private boolean shouldIgnoreConsoleMessage(String message) {
         return IGNORED_ERROR_PATTERNS.stream()
-                .anyMatch(pattern -> message.matches(pattern));
+                .anyMatch(pattern -> pattern.matcher(message).matches());
     }
 
     /**
@@ -182,13 +550,44 @@ public class BaseTest {
      */
     protected void retryOnFailure(Runnable action, String description) {
         AtomicInteger attempts = new AtomicInteger(0);
+        Span span = Tracing.startSpan(description);
+        try {
+            retryLoop(action, description, attempts);
+        } catch (RuntimeException e) {
+            span.setError(e);
+            throw e;
+        } finally {
+            span.setAttribute("retry.count", attempts.get())
+                    .setAttribute("url", page.url());
+            span.end();
+        }
+    }
+
+    /**
+     * Run the action until it succeeds or the retry budget is exhausted.
+     */
+    private void retryLoop(Runnable action, String description, AtomicInteger attempts) {
         while (attempts.get() < MAX_RETRIES) {
+            long attemptStart = System.nanoTime();
+            TestWatchdog.actionStarted(description);
             try {
                 action.run();
                 // Wait for network to be idle
-                page.waitForLoadState(LoadState.NETWORKIDLE);
+                waitForNetworkIdle();
+                TestWatchdog.actionSucceeded();
                 return;
             } catch (PlaywrightException e) {
+                if (TestWatchdog.isStalled()) {
+                    // Aborted by the watchdog, retrying would only hold the worker longer
+                    throw e;
+                }
+                if (EnvironmentCircuitBreaker.isOpen()) {
+                    logger.error("Not retrying '{}': {}", description,
+                            EnvironmentCircuitBreaker.unavailableReason().orElse("environment unavailable"));
+                    throw e;
+                }
+                RetryEvent retryEvent = new RetryEvent();
+                retryEvent.begin();
                 attempts.incrementAndGet();
                 if (attempts.get() == MAX_RETRIES) {
                     logger.error("Failed to execute '{}' after {} attempts: {}",
@@ -196,44 +595,150 @@ public class BaseTest {
                     throw e;
                 }
                 logger.warn("Attempt {} failed for '{}', retrying...", attempts.get(), description);
+                Metrics.RETRIES.inc();
                 try {
                     Thread.sleep(RETRY_DELAY_MS);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     throw new PlaywrightException("Retry interrupted", ie);
+                } finally {
+                    retryEvent.action = description;
+                    retryEvent.attempt = attempts.get();
+                    retryEvent.error = e.getMessage();
+                    retryEvent.testId = LogContext.currentTestId();
+                    retryEvent.commit();
+                    FlakinessRecorder.retryWasted(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - attemptStart));
                 }
             }
         }
     }
 
+    /**
+     * Wait for the network to become idle after an action.
+     */
+    private void waitForNetworkIdle() {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        try {
+            page.waitForLoadState(LoadState.NETWORKIDLE);
+        } finally {
+            event.condition = "networkidle";
+            event.testId = LogContext.currentTestId();
+            event.commit();
+        }
+    }
+
     /**
      * Close context after each test and report any network issues.
      */
     @AfterEach
     public void closeContext(TestInfo testInfo) {
         logger.info("--- Test Completed: {} ---", testInfo.getDisplayName());
+        TestWatchdog.release().ifPresent(this::reportStall);
 
         // Report any network issues
-        if (!failedRequests.isEmpty()) {
-            logger.warn("Network issues encountered during test:");
-            failedRequests.forEach(request ->
-                    logger.warn("  - {}", request));
+        if (networkRecorder != null && !networkRecorder.isEmpty()) {
+            reportNetworkStats(networkRecorder.snapshot());
+        }
+        if (requestTimings != null && !requestTimings.isEmpty()) {
+            reportRequestTimings(requestTimings.snapshot());
         }
 
         logger.debug("Closing browser context");
+        try {
+            if (context != null) {
+                closeCurrentContext();
+            }
+        } finally {
+            releaseBrowser();
+            stopJourneyServer();
+            networkRecorder = null;
+            requestTimings = null;
+            inFlightRequests = null;
+            LogContext.clear();
+        }
+    }
+
+    /**
+     * Close the test's current context.
+     */
+    private void closeCurrentContext() {
+        BrowserLifecycleEvent event = new BrowserLifecycleEvent();
+        event.begin();
         context.close();
-        failedRequests.clear();
+        Metrics.ACTIVE_CONTEXTS.decrementAndGet();
+        event.phase = "contextClose";
+        event.testId = LogContext.currentTestId();
+        event.commit();
+    }
+
+    /**
+     * Give the test's browser session back to the pool for the next test.
+     */
+    private void releaseBrowser() {
+        if (browserSession != null) {
+            WorkerBrowserPool.release(browserCell, browserSession);
+            browserSession = null;
+        }
+    }
+
+    /**
+     * Stop the browser server started for the test's virtual users, if any.
+     */
+    private void stopJourneyServer() {
+        if (journeyServer != null) {
+            journeyServer.close();
+            journeyServer = null;
+        }
     }
 
     /**
-     * Close browser and Playwright after all tests.
+     * Report the browser state of a test the watchdog aborted, before its context is closed.
+     *
+     * @param stall Stall of the test
      */
-    @AfterAll
-    public static void closeBrowser() {
-        logger.info("Closing browser and Playwright");
-        browser.close();
-        playwright.close();
-        logger.info("=== Test Suite Completed ===");
+    private void reportStall(Stall stall) {
+        RunHistoryRecorder.addMetric("watchdog.stalls", 1);
+        List<String> pending = inFlightRequests != null ? inFlightRequests.describe() : List.of();
+        StallReport.write(stall, page, pending);
+    }
+
+    /**
+     * Log aggregated network failure statistics for the finished test.
+     *
+     * @param stats Snapshot of the test's network recorder
+     */
+    private void reportNetworkStats(NetworkStats stats) {
+        logger.warn("Network issues encountered during test: {} failure(s)", stats.getTotalFailures());
+        logger.warn("  By status: {}", stats.getFailuresByStatus());
+        logger.warn("  By host: {}", stats.getFailuresByHost());
+        logger.warn("  By path: {}", stats.getFailuresByPath());
+        stats.getFirstFailures().forEach(failure -> logger.warn("  - {}", failure));
+        if (stats.getDroppedDetails() > 0) {
+            logger.warn("  ... {} more failure(s) not retained ...", stats.getDroppedDetails());
+        }
+        stats.getLastFailures().forEach(failure -> logger.warn("  - {}", failure));
+    }
+
+    /**
+     * Log the request timings of the test: totals, bytes by resource type and the slowest requests,
+     * plus the breakdown by type, host and busiest paths at debug level.
+     *
+     * @param stats Snapshot of the test's request timing recorder
+     */
+    private void reportRequestTimings(RequestTimingStats stats) {
+        logger.info("Requests: {}", stats.getTotal());
+        StringBuilder bytesByType = new StringBuilder();
+        stats.getByType().forEach((type, breakdown) -> bytesByType.append(bytesByType.isEmpty() ? "" : ", ")
+                .append(type).append(' ').append(TimingBreakdown.formatBytes(breakdown.getBytes())));
+        logger.info("  Bytes by type: {}", bytesByType);
+        stats.getSlowest().forEach(timing -> logger.info("  - {}", timing));
+        if (logger.isDebugEnabled()) {
+            stats.getByType().forEach((type, breakdown) -> logger.debug("  Type {}: {}", type, breakdown));
+            stats.getByHost().forEach((host, breakdown) -> logger.debug("  Host {}: {}", host, breakdown));
+            stats.getByPath().entrySet().stream().limit(5).forEach(entry ->
+                    logger.debug("  Path {}: {}", entry.getKey(), entry.getValue()));
+        }
     }
 
     /**
@@ -271,7 +776,7 @@ public class BaseTest {
     protected void navigateWithRetry(String url) {
         retryOnFailure(() -> {
             logNavigation(url);
-            page.navigate(url);
+            EnvironmentCircuitBreaker.recordNavigation(url, () -> page.navigate(url));
         }, "Navigate to " + url);
     }
 
@@ -0,0 +1,80 @@
+package com.saucedemo.tests;
+
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.memory.MemoryGrowth;
+import com.saucedemo.memory.MemorySample;
+import com.saucedemo.memory.MemorySampler;
+import com.saucedemo.pages.CartPage;
+import com.saucedemo.pages.InventoryPage;
+import com.saucedemo.pages.LoginPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Leak check for the inventory and cart pages.
+ * Runs only when leak.check.enabled is set, since it repeats the cart cycle many times.
+ */
+@EnabledIf("com.saucedemo.config.TestConfig#isLeakCheckEnabled")
+public class CartLeakTest extends BaseTest {
+    private static final Logger logger = LoggerFactory.getLogger(CartLeakTest.class);
+
+    /**
+     * Test that repeated cart operations in one session do not grow memory.
+     * - Add an item, open the cart, remove the item and go back, many times
+     * - Sample JS heap, DOM nodes and listeners after a forced GC at intervals, after a warm-up
+     * - Assert that the fitted growth per cycle stays below the configured limits
+     */
+    @Test
+    public void testCartCyclesDoNotLeakMemory(TestInfo testInfo) throws IOException {
+        assumeTrue("chromium".equals(browser.browserType().name()), "Memory sampling requires Chromium");
+
+        int cycles = TestConfig.getLeakCheckCycles();
+        int warmup = TestConfig.getLeakCheckWarmupCycles();
+        int interval = TestConfig.getLeakCheckSampleInterval();
+
+        new LoginPage(page).navigateToLoginPage()
+                .login(VALID_USERNAME, VALID_PASSWORD);
+        InventoryPage inventoryPage = new InventoryPage(page);
+        String itemName = inventoryPage.getCheapestItem().getKey();
+
+        List<MemorySample> samples = new ArrayList<>();
+        try (MemorySampler sampler = new MemorySampler(page)) {
+            for (int cycle = 1; cycle <= cycles; cycle++) {
+                inventoryPage.addItemToCartByName(itemName);
+                CartPage cartPage = inventoryPage.navigateToCart();
+                cartPage.removeItemByName(itemName);
+                inventoryPage = cartPage.continueShopping();
+
+                if (cycle >= warmup && (cycle - warmup) % interval == 0) {
+                    MemorySample sample = sampler.sample(cycle);
+                    logger.info("Memory after {}", sample);
+                    samples.add(sample);
+                }
+            }
+        }
+        assertEquals(0, inventoryPage.getCartItemCount(), "Cart should be empty after every cycle");
+
+        MemoryGrowth growth = MemoryGrowth.fit(samples);
+        logger.info("Memory growth over {} cycles: {}", cycles, growth);
+        MemorySampler.writeCsv(Paths.get(TestConfig.getLeakCheckOutputDir(), testIdOf(testInfo) + ".csv"), samples);
+
+        assertAll("Memory growth per cart cycle",
+                () -> assertTrue(growth.getHeapBytesPerCycle() <= TestConfig.getLeakCheckMaxHeapBytesPerCycle(),
+                        "JS heap grows " + growth.getHeapBytesPerCycle() + " bytes per cycle"),
+                () -> assertTrue(growth.getDomNodesPerCycle() <= TestConfig.getLeakCheckMaxDomNodesPerCycle(),
+                        "DOM grows " + growth.getDomNodesPerCycle() + " nodes per cycle"),
+                () -> assertTrue(growth.getListenersPerCycle() <= TestConfig.getLeakCheckMaxListenersPerCycle(),
+                        "Event listeners grow " + growth.getListenersPerCycle() + " per cycle"));
+    }
+}
@@ -1,10 +1,10 @@
 package com.saucedemo.tests;
 
+import com.saucedemo.browser.BrowserTest;
 import com.saucedemo.pages.CartPage;
 import com.saucedemo.pages.InventoryPage;
 import com.saucedemo.pages.LoginPage;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,7 +41,7 @@ public class CartTest extends BaseTest {
      * Test inventory price validation.
      * Verifies that the inventory has valid prices and handles edge cases.
      */
-    @Test
+    @BrowserTest
     public void testInventoryPriceValidation() {
         try {
             inventoryPage.validateInventoryPrices();
@@ -60,7 +60,7 @@ public class CartTest extends BaseTest {
      * - Verify the items were added to the cart
      * - Assert correct items names and prices
      */
-    @Test
+    @BrowserTest
     public void testAddItemsToCart() {
         // Validate inventory prices first
         try {
@@ -125,7 +125,7 @@ public class CartTest extends BaseTest {
      * - Verifies only cheapest item remains
      * - Proceeds to checkout
      */
-    @Test
+    @BrowserTest
     public void testRemoveMostExpensiveAndCheckout() {
         // First add both items to cart
         try {
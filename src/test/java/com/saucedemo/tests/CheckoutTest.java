@@ -1,14 +1,13 @@
 package com.saucedemo.tests;
 
+import com.saucedemo.browser.BrowserTest;
+import com.saucedemo.checkpoint.Checkpoint;
+import com.saucedemo.data.CustomerInfo;
 import com.saucedemo.pages.*;
-import com.saucedemo.utils.TestUtils;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -17,6 +16,11 @@ import static org.junit.jupiter.api.Assertions.*;
 public class CheckoutTest extends BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(CheckoutTest.class);
 
+    // Logged in with the most expensive and the cheapest item in the cart, on the cart page
+    private static final String CART_CHECKPOINT = "cart-with-expensive-and-cheap-items";
+    private static final String EXPENSIVE_ITEM = "expensiveItem";
+    private static final String CHEAP_ITEM = "cheapItem";
+
     private LoginPage loginPage;
     private InventoryPage inventoryPage;
     private CartPage cartPage;
@@ -25,53 +29,58 @@ public class CheckoutTest extends BaseTest {
 
     /**
      * Set up by logging in and adding items to cart before each test.
+     * The flow runs once per run; tests start from a restored checkpoint of its end state.
      */
     @BeforeEach
     public void setUp() {
-        loginPage = new LoginPage(page);
-        loginPage.navigateToLoginPage()
-                .login(VALID_USERNAME, VALID_PASSWORD);
+        Checkpoint checkpoint = restoreCheckpoint(CART_CHECKPOINT, (flowPage, values) -> {
+            new LoginPage(flowPage).navigateToLoginPage()
+                    .login(VALID_USERNAME, VALID_PASSWORD);
+
+            InventoryPage flowInventoryPage = new InventoryPage(flowPage);
+
+            // Validate inventory prices before proceeding
+            try {
+                flowInventoryPage.validateInventoryPrices();
+            } catch (IllegalStateException e) {
+                logger.error("Cannot proceed with test setup due to inventory validation failure: {}", e.getMessage());
+                fail("Inventory validation failed: " + e.getMessage());
+            }
+
+            // Add most expensive item to cart
+            try {
+                values.put(EXPENSIVE_ITEM, flowInventoryPage.addMostExpensiveItemToCart());
+                logger.info("Added most expensive item to cart: {}", values.get(EXPENSIVE_ITEM));
+            } catch (IllegalStateException e) {
+                logger.error("Failed to add most expensive item: {}", e.getMessage());
+                fail("Failed to add most expensive item: " + e.getMessage());
+            }
+
+            // Add cheapest item to cart
+            try {
+                values.put(CHEAP_ITEM, flowInventoryPage.addCheapestItemToCart());
+                logger.info("Added cheapest item to cart: {}", values.get(CHEAP_ITEM));
+            } catch (IllegalStateException e) {
+                logger.error("Failed to add cheapest item: {}", e.getMessage());
+                fail("Failed to add cheapest item: " + e.getMessage());
+            }
+
+            // Navigate to cart
+            flowInventoryPage.navigateToCart();
+        });
 
+        loginPage = new LoginPage(page);
         inventoryPage = new InventoryPage(page);
-
-        // Validate inventory prices before proceeding
-        try {
-            inventoryPage.validateInventoryPrices();
-        } catch (IllegalStateException e) {
-            logger.error("Cannot proceed with test setup due to inventory validation failure: {}", e.getMessage());
-            fail("Inventory validation failed: " + e.getMessage());
-            return;
-        }
-
-        // Add most expensive item to cart
-        try {
-            expensiveItemName = inventoryPage.addMostExpensiveItemToCart();
-            logger.info("Added most expensive item to cart: {}", expensiveItemName);
-        } catch (IllegalStateException e) {
-            logger.error("Failed to add most expensive item: {}", e.getMessage());
-            fail("Failed to add most expensive item: " + e.getMessage());
-            return;
-        }
-
-        // Add cheapest item to cart
-        try {
-            cheapItemName = inventoryPage.addCheapestItemToCart();
-            logger.info("Added cheapest item to cart: {}", cheapItemName);
-        } catch (IllegalStateException e) {
-            logger.error("Failed to add cheapest item: {}", e.getMessage());
-            fail("Failed to add cheapest item: " + e.getMessage());
-            return;
-        }
-
-        // Navigate to cart
-        cartPage = inventoryPage.navigateToCart();
+        cartPage = new CartPage(page);
+        expensiveItemName = checkpoint.get(EXPENSIVE_ITEM);
+        cheapItemName = checkpoint.get(CHEAP_ITEM);
     }
 
     /**
      * Test inventory price validation.
      * Verifies that the inventory has valid prices and handles edge cases.
      */
-    @Test
+    @BrowserTest
     public void testInventoryPriceValidation() {
         try {
             inventoryPage.validateInventoryPrices();
@@ -89,13 +98,10 @@ public class CheckoutTest extends BaseTest {
      * - Complete the checkout form with dummy data
      * - Verify the checkout completes and shows the confirmation message
      */
-    @Test
+    @BrowserTest
     public void testCheckoutProcess() {
         // Verify both items are in cart
-        Map<String, Double> cartItems = cartPage.getCartItems();
-        assertEquals(2, cartItems.size(), "Cart should contain 2 items");
-        assertTrue(cartItems.containsKey(expensiveItemName), "Cart should contain expensive item");
-        assertTrue(cartItems.containsKey(cheapItemName), "Cart should contain cheap item");
+        cartPage.expectItems(expensiveItemName, cheapItemName).verify();
 
         // Start checkout process
         CheckoutPage checkoutPage = cartPage.proceedToCheckout();
@@ -107,51 +113,27 @@ public class CheckoutTest extends BaseTest {
         cartPage.removeItemByName(expensiveItemName);
 
         // Verify only cheap item remains
-        cartItems = cartPage.getCartItems();
-        assertEquals(1, cartItems.size(), "Cart should contain 1 item after removal");
-        assertFalse(cartItems.containsKey(expensiveItemName), "Expensive item should be removed");
-        assertTrue(cartItems.containsKey(cheapItemName), "Cheap item should still be in cart");
+        cartPage.expectItems(cheapItemName).verify();
 
         // Proceed to checkout again
         checkoutPage = cartPage.proceedToCheckout();
 
         // Generate random customer data for checkout
-        String[] customerData = TestUtils.generateRandomUserData();
+        CustomerInfo customer = customers.next();
+        logger.info("Checking out as {}", customer);
 
         // Complete checkout form
-        checkoutPage.enterCustomerInfo(customerData[0], customerData[1], customerData[2])
+        checkoutPage.enterCustomerInfo(customer)
                 .clickContinue();
 
-        // Verify checkout overview is displayed
-        assertTrue(checkoutPage.isCheckoutOverviewDisplayed(), "Checkout overview should be displayed");
+        // Verify checkout overview is displayed with the remaining item
+        checkoutPage.expectOverview(cheapItemName).verify();
 
         // Complete checkout
         CheckoutCompletePage completePage = checkoutPage.finishCheckout();
 
         // Verify successful checkout
-        assertTrue(completePage.isOrderConfirmationDisplayed(), "Order confirmation should be displayed");
-
-        // Get and verify header text
-        String headerText = completePage.getCompleteHeaderText();
-        logger.info("Order confirmation header: '{}'", headerText);
-
-        assertNotNull(headerText, "Complete header text should not be null");
-        assertEquals("Thank you for your order!", headerText,
-                "Complete header should match expected text exactly");
-
-        // Verify header text contains expected phrases (case-insensitive)
-        String headerTextLower = headerText.toLowerCase();
-        assertTrue(headerTextLower.contains("thank"),
-                "Complete header should contain 'thank' (case-insensitive)");
-        assertTrue(headerTextLower.contains("order"),
-                "Complete header should contain 'order' (case-insensitive)");
-
-        // Get and verify complete text
-        String completeText = completePage.getCompleteText();
-        logger.info("Order confirmation text: '{}'", completeText);
-
-        assertNotNull(completeText, "Complete text should not be null");
-        assertTrue(completeText.contains("Your order has been dispatched"),
-                "Complete text should mention order dispatched");
+        completePage.expectOrderConfirmation("Thank you for your order!", "Your order has been dispatched")
+                .verify();
     }
 }
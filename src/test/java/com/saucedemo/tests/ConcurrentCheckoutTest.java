@@ -0,0 +1,66 @@
+package com.saucedemo.tests;
+
+import com.saucedemo.browser.BrowserTest;
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.data.CustomerInfo;
+import com.saucedemo.data.CustomerPool;
+import com.saucedemo.data.TestData;
+import com.saucedemo.journey.JourneyResult;
+import com.saucedemo.journey.VirtualUsersOnly;
+import com.saucedemo.pages.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for many sessions using the SauceDemo checkout at the same time.
+ */
+public class ConcurrentCheckoutTest extends BaseTest {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentCheckoutTest.class);
+
+    // Users released by the barrier should start finishing within this window
+    private static final long MAX_FINISH_SPREAD_MS = 1000;
+
+    /**
+     * Test that concurrent users can all complete checkout when they finish at the same moment.
+     * - Every user logs in, adds the cheapest item and fills in the checkout form in its own session
+     * - All users wait at a barrier and then click finish together
+     * - Verify every order is confirmed and the finish clicks started together
+     */
+    @BrowserTest
+    @VirtualUsersOnly
+    public void testConcurrentUsersFinishCheckoutTogether() {
+        int users = TestConfig.getJourneyUsers();
+        CustomerPool customerPool = TestData.customerPool();
+
+        JourneyResult result = concurrentUsers(users).run(user -> {
+            InventoryPage inventoryPage = user.step("login", () -> {
+                new LoginPage(user.getPage()).navigateToLoginPage()
+                        .login(VALID_USERNAME, VALID_PASSWORD);
+                return new InventoryPage(user.getPage());
+            });
+            CheckoutPage checkoutPage = user.step("fillCheckout", () -> {
+                inventoryPage.addCheapestItemToCart();
+                CustomerInfo customer = customerPool.take();
+                logger.info("Checking out as {}", customer);
+                return inventoryPage.navigateToCart()
+                        .proceedToCheckout()
+                        .enterCustomerInfo(customer)
+                        .clickContinue();
+            });
+            assertTrue(checkoutPage.isCheckoutOverviewDisplayed(), "Checkout overview should be displayed");
+
+            user.await("finish");
+            CheckoutCompletePage completePage = user.step("finishCheckout", checkoutPage::finishCheckout);
+            assertTrue(completePage.isOrderConfirmationDisplayed(),
+                    "Order confirmation should be displayed for user " + user.getIndex());
+        });
+
+        logger.info("Finish latencies (ms): {}", result.latencies("finishCheckout"));
+        assertTrue(result.allPassed(), "Every user should complete checkout:\n" + result.describeFailures());
+        assertEquals(users, result.latencies("finishCheckout").size(), "Every user should have finished checkout");
+        assertTrue(result.startSpreadMillis("finishCheckout") <= MAX_FINISH_SPREAD_MS,
+                "Users should click finish together, spread was " + result.startSpreadMillis("finishCheckout") + " ms");
+    }
+}
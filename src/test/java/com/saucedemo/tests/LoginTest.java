@@ -1,7 +1,7 @@
 package com.saucedemo.tests;
 
+import com.saucedemo.browser.BrowserTest;
 import com.saucedemo.pages.LoginPage;
-import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -14,7 +14,7 @@ public class LoginTest extends BaseTest {
      * - Login with valid credentials
      * - Assert successful login to the inventory page
      */
-    @Test
+    @BrowserTest
     public void testValidLogin() {
         LoginPage loginPage = new LoginPage(page);
 
@@ -31,7 +31,7 @@ public class LoginTest extends BaseTest {
      * - Login with invalid credentials
      * - Assert the error message
      */
-    @Test
+    @BrowserTest
     public void testInvalidLogin() {
         LoginPage loginPage = new LoginPage(page);
 
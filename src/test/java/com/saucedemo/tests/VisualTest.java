@@ -0,0 +1,55 @@
+package com.saucedemo.tests;
+
+import com.saucedemo.browser.BrowserTest;
+import com.saucedemo.pages.CartPage;
+import com.saucedemo.pages.CheckoutPage;
+import com.saucedemo.pages.InventoryPage;
+import com.saucedemo.pages.LoginPage;
+import com.saucedemo.visual.VisualResult;
+import org.junit.jupiter.api.condition.EnabledIf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Layout checks of the inventory, cart and checkout pages against baseline screenshots.
+ * Runs only when visual.check.enabled is set, since baselines depend on the browser version and platform.
+ */
+@EnabledIf("com.saucedemo.config.TestConfig#isVisualCheckEnabled")
+public class VisualTest extends BaseTest {
+    // The footer shows the current year
+    private static final String FOOTER_SELECTOR = ".footer_copy";
+    private static final String CUSTOMER_FORM_SELECTOR = ".checkout_info";
+
+    /**
+     * Test that the shopping flow pages look like their baselines.
+     * - Check the inventory page
+     * - Add the most expensive and cheapest items and check the cart page
+     * - Check the customer form, fill it with fixed data and check the checkout overview
+     */
+    @BrowserTest
+    public void testShoppingFlowLayout() {
+        new LoginPage(page).navigateToLoginPage()
+                .login(VALID_USERNAME, VALID_PASSWORD);
+
+        InventoryPage inventoryPage = new InventoryPage(page);
+        VisualResult inventory = inventoryPage.checkVisual("all-items", FOOTER_SELECTOR);
+
+        inventoryPage.addMostExpensiveItemToCart();
+        inventoryPage.addCheapestItemToCart();
+        CartPage cartPage = inventoryPage.navigateToCart();
+        VisualResult cart = cartPage.checkVisual("with-two-items", FOOTER_SELECTOR);
+
+        CheckoutPage checkoutPage = cartPage.proceedToCheckout();
+        VisualResult form = checkoutPage.checkElementVisual("customer-form", CUSTOMER_FORM_SELECTOR);
+        // Fixed data rather than generated customers, so the screenshots stay the same between runs
+        checkoutPage.enterCustomerInfo("Visual", "Check", "12345")
+                .clickContinue();
+        VisualResult overview = checkoutPage.checkVisual("overview", FOOTER_SELECTOR);
+
+        assertAll("Shopping flow layout",
+                () -> assertTrue(inventory.matches(), inventory.describe()),
+                () -> assertTrue(cart.matches(), cart.describe()),
+                () -> assertTrue(form.matches(), form.describe()),
+                () -> assertTrue(overview.matches(), overview.describe()));
+    }
+}
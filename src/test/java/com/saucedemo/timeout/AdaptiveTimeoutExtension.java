@@ -0,0 +1,18 @@
+package com.saucedemo.timeout;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Saves the action latencies learned by {@link AdaptiveTimeouts} once the whole run has finished.
+ */
+public class AdaptiveTimeoutExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(AdaptiveTimeoutExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("latencies",
+                key -> (ExtensionContext.Store.CloseableResource) AdaptiveTimeouts::save);
+    }
+}
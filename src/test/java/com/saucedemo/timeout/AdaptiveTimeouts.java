@@ -0,0 +1,264 @@
+package com.saucedemo.timeout;
+
+import com.saucedemo.browser.BrowserEngine;
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.logging.LogContext;
+import com.saucedemo.telemetry.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-action timeouts learned from observed latencies. Every page-object action, identified by page,
+ * action and selector (e.g. "LoginPage.click #login-button"), keeps a latency histogram of its successful
+ * runs in previous runs and this one. Like test durations, actions in other browser matrix cells or under an
+ * emulation profile are kept apart, e.g. "LoginPage.click #login-button@firefox@slow-3g", so a throttled or
+ * slower browser neither gets the timeouts of the default one nor spoils its latencies. With
+ * adaptive.timeout.enabled, the action's timeout is its p99 latency times adaptive.timeout.multiplier, kept
+ * between the floor and the ceiling, so a hung site fails in seconds rather than after the full browser.timeout.
+ * <p>
+ * Histograms are saved to &lt;history.dir&gt;/action-latencies.properties when the run ends, with older
+ * runs weighing less, and a report of close calls and timeouts is written to adaptive.timeout.report.file.
+ */
+public final class AdaptiveTimeouts {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveTimeouts.class);
+    private static final String FILE_NAME = "action-latencies.properties";
+    private static final double PERCENTILE = 0.99;
+    // Weight of previous runs when merging this run into the file
+    private static final double HISTORY_DECAY = 0.8;
+
+    private static final boolean ENABLED = TestConfig.isAdaptiveTimeoutEnabled();
+    private static final double MULTIPLIER = TestConfig.getAdaptiveTimeoutMultiplier();
+    private static final long FLOOR_MILLIS = TestConfig.getAdaptiveTimeoutFloor();
+    private static final long CEILING_MILLIS = TestConfig.getAdaptiveTimeoutCeiling();
+    private static final long MIN_SAMPLES = TestConfig.getAdaptiveTimeoutMinSamples();
+    private static final double NEAR_LIMIT = TestConfig.getAdaptiveTimeoutNearLimit();
+    private static final long DEFAULT_TIMEOUT_MILLIS = TestConfig.getTimeout();
+
+    private static final Path FILE = Paths.get(TestConfig.getHistoryDir()).resolve(FILE_NAME);
+    private static final Map<String, LatencyHistogram> HISTORY = readFile(FILE);
+    private static final Map<String, ActionStats> ACTIONS = new ConcurrentHashMap<>();
+
+    private AdaptiveTimeouts() {
+    }
+
+    /**
+     * Get the timeout to use for an action.
+     *
+     * @param page Page object name
+     * @param action Action name, e.g. "click"
+     * @param selector Selector or URL the action targets
+     * @return Timeout in milliseconds; browser.timeout when disabled or not enough latencies are known
+     */
+    public static double timeoutFor(String page, String action, String selector) {
+        if (!ENABLED) {
+            return DEFAULT_TIMEOUT_MILLIS;
+        }
+        return statsOf(page, action, selector).timeoutMillis();
+    }
+
+    /**
+     * Record a successful action and report it if it came close to its timeout.
+     *
+     * @param page Page object name
+     * @param action Action name
+     * @param selector Selector or URL the action targets
+     * @param nanos Time the action took
+     * @param timeoutMillis Timeout the action ran with
+     */
+    public static void recordSuccess(String page, String action, String selector, long nanos, double timeoutMillis) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        ActionStats stats = statsOf(page, action, selector);
+        stats.current.record(millis);
+        stats.learned.record(millis);
+        stats.maxMillis.accumulateAndGet(millis, Math::max);
+        if (ENABLED && millis >= timeoutMillis * NEAR_LIMIT) {
+            stats.nearLimit.increment();
+            Metrics.ADAPTIVE_TIMEOUTS.inc(page, action, "near_limit");
+            logger.warn("{} took {} ms, {}% of its adaptive timeout of {} ms", stats.key, millis,
+                    Math.round(millis * 100 / timeoutMillis), Math.round(timeoutMillis));
+        }
+    }
+
+    /**
+     * Record an action that ran into its timeout.
+     *
+     * @param page Page object name
+     * @param action Action name
+     * @param selector Selector or URL the action targets
+     * @param timeoutMillis Timeout the action ran with
+     */
+    public static void recordTimeout(String page, String action, String selector, double timeoutMillis) {
+        if (!ENABLED) {
+            return;
+        }
+        ActionStats stats = statsOf(page, action, selector);
+        stats.timeouts.increment();
+        Metrics.ADAPTIVE_TIMEOUTS.inc(page, action, "timed_out");
+        logger.warn("{} hit its adaptive timeout of {} ms (p99 {} ms over {} run(s) of the action)", stats.key,
+                Math.round(timeoutMillis), stats.learned.percentileMillis(PERCENTILE), stats.learned.count());
+    }
+
+    /**
+     * Merge this run's latencies into the history file and write the report. Called once when the run ends.
+     */
+    static void save() {
+        if (ACTIONS.isEmpty()) {
+            return;
+        }
+        writeReport();
+        try {
+            Files.createDirectories(FILE.toAbsolutePath().getParent());
+            Path lockFile = FILE.resolveSibling(FILE_NAME + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    // Re-read under the lock so concurrent forks don't overwrite each other
+                    Map<String, LatencyHistogram> merged = new TreeMap<>();
+                    readFile(FILE).forEach((key, histogram) -> merged.put(key, histogram.decayed(HISTORY_DECAY)));
+                    ACTIONS.forEach((key, stats) -> merged.computeIfAbsent(key, ignored -> new LatencyHistogram())
+                            .add(stats.current));
+                    writeFile(merged);
+                } finally {
+                    lock.release();
+                }
+            }
+            logger.info("Saved latencies of {} action(s) to {}", ACTIONS.size(), FILE);
+        } catch (IOException e) {
+            logger.warn("Failed to save action latencies to {}: {}", FILE, e.getMessage());
+        }
+    }
+
+    private static ActionStats statsOf(String page, String action, String selector) {
+        String key = page + "." + action + " " + selector;
+        String browser = LogContext.currentBrowser();
+        if (!BrowserEngine.CHROMIUM.getName().equals(browser) && !"-".equals(browser)) {
+            key += "@" + browser;
+        }
+        String profile = LogContext.currentProfile();
+        if (!"none".equals(profile)) {
+            key += "@" + profile;
+        }
+        ActionStats stats = ACTIONS.get(key);
+        return stats != null ? stats : ACTIONS.computeIfAbsent(key, ActionStats::new);
+    }
+
+    private static void writeReport() {
+        Path report = Paths.get(TestConfig.getAdaptiveTimeoutReportFile());
+        List<ActionStats> actions = ACTIONS.values().stream()
+                .sorted(Comparator.comparingLong(ActionStats::incidents).reversed()
+                        .thenComparing(stats -> stats.key))
+                .toList();
+        try {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report, StandardCharsets.UTF_8))) {
+                out.printf(Locale.ROOT, "Adaptive timeouts %s: %.1f x p99, between %d and %d ms, after %d samples%n",
+                        ENABLED ? "enabled" : "disabled (latencies recorded only)",
+                        MULTIPLIER, FLOOR_MILLIS, CEILING_MILLIS, MIN_SAMPLES);
+                out.printf(Locale.ROOT, "%-8s %-8s %-10s %-10s %-10s %-9s %s%n",
+                        "samples", "p99 ms", "timeout ms", "max ms", "near limit", "timed out", "action");
+                for (ActionStats stats : actions) {
+                    out.printf(Locale.ROOT, "%-8d %-8d %-10d %-10d %-10d %-9d %s%n",
+                            stats.learned.count(), stats.learned.percentileMillis(PERCENTILE), stats.timeoutMillis(),
+                            stats.maxMillis.get(), stats.nearLimit.sum(), stats.timeouts.sum(), stats.key);
+                }
+            }
+            long incidents = actions.stream().mapToLong(ActionStats::incidents).sum();
+            if (ENABLED && incidents > 0) {
+                logger.warn("{} action(s) came close to or hit their adaptive timeout, see {}", incidents, report);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write adaptive timeout report to {}: {}", report, e.getMessage());
+        }
+    }
+
+    private static void writeFile(Map<String, LatencyHistogram> histograms) throws IOException {
+        Properties properties = new Properties();
+        histograms.forEach((key, histogram) -> {
+            if (!histogram.isEmpty()) {
+                properties.setProperty(key, histogram.encode());
+            }
+        });
+        Path temp = FILE.resolveSibling(FILE_NAME + ".tmp");
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            properties.store(output, "Page action latency histograms (bucket:weight, decayed per run)");
+        }
+        Files.move(temp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<String, LatencyHistogram> readFile(Path file) {
+        Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+        if (!Files.exists(file)) {
+            return histograms;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (IOException e) {
+            logger.warn("Failed to read action latencies from {}: {}", file, e.getMessage());
+            return histograms;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                histograms.put(key, LatencyHistogram.decode(properties.getProperty(key)));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring invalid latencies for {}: {}", key, e.getMessage());
+            }
+        }
+        return histograms;
+    }
+
+    private static final class ActionStats {
+        private final String key;
+        // This run only, merged into the file at the end
+        private final LatencyHistogram current = new LatencyHistogram();
+        // Previous runs and this run, used for the timeout
+        private final LatencyHistogram learned = new LatencyHistogram();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final LongAdder nearLimit = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        private ActionStats(String key) {
+            this.key = key;
+            LatencyHistogram previous = HISTORY.get(key);
+            if (previous != null) {
+                learned.add(previous);
+            }
+        }
+
+        private long timeoutMillis() {
+            if (learned.count() < MIN_SAMPLES) {
+                return DEFAULT_TIMEOUT_MILLIS;
+            }
+            long adaptive = Math.round(learned.percentileMillis(PERCENTILE) * MULTIPLIER);
+            return Math.max(FLOOR_MILLIS, Math.min(CEILING_MILLIS, adaptive));
+        }
+
+        private long incidents() {
+            return nearLimit.sum() + timeouts.sum();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.saucedemo.timeout;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets from 1 ms to about 7 minutes, each
+ * 20% wider than the previous one. Percentiles are reported as the upper bound of their bucket,
+ * so they never underestimate. Samples carry a weight, 1 when recorded, which {@link #decayed} scales
+ * down for older runs.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 72;
+    private static final double GROWTH = 1.2;
+    private static final long[] UPPER_BOUNDS_MILLIS = new long[BUCKETS];
+    // Buckets that decay below this weight are dropped, so a one-off sample leaves after about 14 runs
+    private static final double MIN_WEIGHT = 0.05;
+    // Tolerance for rounding errors when summing fractional weights
+    private static final double EPSILON = 1e-9;
+
+    static {
+        double bound = 1;
+        for (int i = 0; i < BUCKETS; i++) {
+            UPPER_BOUNDS_MILLIS[i] = (long) Math.ceil(bound);
+            bound *= GROWTH;
+        }
+    }
+
+    private final DoubleAdder[] weights = new DoubleAdder[BUCKETS];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            weights[i] = new DoubleAdder();
+        }
+    }
+
+    /**
+     * Record one latency.
+     *
+     * @param millis Latency in milliseconds
+     */
+    public void record(long millis) {
+        weights[bucketOf(millis)].add(1);
+    }
+
+    /**
+     * Add the samples of another histogram, e.g. one loaded from a previous run.
+     *
+     * @param other Histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            double weight = other.weights[i].sum();
+            if (weight > 0) {
+                weights[i].add(weight);
+            }
+        }
+    }
+
+    /**
+     * Get the number of samples, counting decayed samples by their weight.
+     *
+     * @return Total weight, rounded to a whole number of samples
+     */
+    public long count() {
+        return Math.round(totalWeight());
+    }
+
+    /**
+     * Check if the histogram holds any samples, however light.
+     *
+     * @return true if every bucket is empty
+     */
+    public boolean isEmpty() {
+        return totalWeight() == 0;
+    }
+
+    /**
+     * Get a percentile of the recorded latencies.
+     *
+     * @param percentile Percentile between 0 and 1, e.g. 0.99
+     * @return Upper bound of the bucket holding the percentile, or 0 if nothing was recorded
+     */
+    public long percentileMillis(double percentile) {
+        double total = totalWeight();
+        if (total == 0) {
+            return 0;
+        }
+        double rank = percentile * total - EPSILON;
+        double seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += weights[i].sum();
+            if (seen > 0 && seen >= rank) {
+                return UPPER_BOUNDS_MILLIS[i];
+            }
+        }
+        return UPPER_BOUNDS_MILLIS[BUCKETS - 1];
+    }
+
+    /**
+     * Create a copy with every weight scaled down, so that older runs weigh less than recent ones.
+     *
+     * @param factor Scale between 0 and 1
+     * @return Scaled copy; buckets whose weight falls below 0.05 are dropped
+     */
+    public LatencyHistogram decayed(double factor) {
+        LatencyHistogram copy = new LatencyHistogram();
+        for (int i = 0; i < BUCKETS; i++) {
+            double weight = weights[i].sum() * factor;
+            if (weight >= MIN_WEIGHT) {
+                copy.weights[i].add(weight);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Encode the non-empty buckets as "bucket:weight" pairs, with weights to three decimals.
+     *
+     * @return Encoded histogram, e.g. "12:40,13:5.6"
+     */
+    public String encode() {
+        StringJoiner encoded = new StringJoiner(",");
+        for (int i = 0; i < BUCKETS; i++) {
+            double weight = weights[i].sum();
+            if (weight > 0) {
+                encoded.add(i + ":" + BigDecimal.valueOf(weight).setScale(3, RoundingMode.HALF_UP)
+                        .stripTrailingZeros().toPlainString());
+            }
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Decode a histogram written by {@link #encode()}.
+     *
+     * @param encoded Encoded histogram
+     * @return Decoded histogram
+     * @throws IllegalArgumentException if the text is not a valid encoding
+     */
+    public static LatencyHistogram decode(String encoded) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        if (encoded.isBlank()) {
+            return histogram;
+        }
+        for (String pair : encoded.split(",")) {
+            String[] parts = pair.trim().split(":");
+            try {
+                int bucket = Integer.parseInt(parts[0]);
+                double weight = Double.parseDouble(parts[1]);
+                if (parts.length != 2 || bucket < 0 || bucket >= BUCKETS || !Double.isFinite(weight) || weight < 0) {
+                    throw new IllegalArgumentException("Invalid histogram bucket '" + pair + "'");
+                }
+                histogram.weights[bucket].reset();
+                histogram.weights[bucket].add(weight);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid histogram bucket '" + pair + "'", e);
+            }
+        }
+        return histogram;
+    }
+
+    private double totalWeight() {
+        double total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += weights[i].sum();
+        }
+        return total;
+    }
+
+    private static int bucketOf(long millis) {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (millis <= UPPER_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BUCKETS - 1;
+    }
+}
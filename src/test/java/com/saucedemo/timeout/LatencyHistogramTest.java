@@ -0,0 +1,109 @@
+package com.saucedemo.timeout;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the latency histogram behind adaptive timeouts.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentilesReportTheUpperBoundOfTheirBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5_000);
+
+        long p50 = histogram.percentileMillis(0.5);
+        long p99 = histogram.percentileMillis(0.99);
+        long max = histogram.percentileMillis(1);
+
+        assertEquals(100, histogram.count());
+        assertTrue(p50 >= 100 && p50 < 120, "p50 should be the bucket of 100 ms, was " + p50);
+        assertEquals(p50, p99, "99 of 100 samples are 100 ms");
+        assertTrue(max >= 5_000 && max < 6_000, "p100 should be the bucket of 5000 ms, was " + max);
+    }
+
+    @Test
+    public void testEmptyHistogramHasNoPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertTrue(histogram.isEmpty());
+        assertEquals(0, histogram.percentileMillis(0.99));
+    }
+
+    @Test
+    public void testDecayShrinksSingleSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5_000);
+
+        LatencyHistogram decayed = histogram.decayed(0.8);
+
+        assertFalse(decayed.isEmpty(), "A decayed sample still counts, with less weight");
+        assertEquals(1, decayed.count());
+        assertEquals("47:0.8", decayed.encode());
+    }
+
+    @Test
+    public void testDecayEventuallyDropsOldSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5_000);
+
+        int runs = 0;
+        while (!histogram.isEmpty()) {
+            histogram = LatencyHistogram.decode(histogram.encode()).decayed(0.8);
+            runs++;
+            assertTrue(runs < 50, "A single sample should decay away");
+        }
+
+        assertEquals(14, runs);
+    }
+
+    @Test
+    public void testRecentSamplesOutweighDecayedOnes() {
+        LatencyHistogram history = new LatencyHistogram();
+        for (int i = 0; i < 10; i++) {
+            history.record(5_000);
+        }
+        LatencyHistogram learned = history.decayed(0.8).decayed(0.8).decayed(0.8).decayed(0.8);
+        for (int i = 0; i < 10; i++) {
+            learned.record(100);
+        }
+
+        assertTrue(learned.percentileMillis(0.5) < 200, "Most of the weight is in the recent 100 ms samples");
+    }
+
+    @Test
+    public void testEncodingRoundTrips() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1);
+        histogram.record(250);
+        histogram.record(250);
+        LatencyHistogram decayed = histogram.decayed(0.5);
+
+        assertEquals("0:1,31:2", histogram.encode());
+        assertEquals(histogram.encode(), LatencyHistogram.decode(histogram.encode()).encode());
+        assertEquals("0:0.5,31:1", decayed.encode());
+        assertEquals(decayed.encode(), LatencyHistogram.decode(decayed.encode()).encode());
+    }
+
+    @Test
+    public void testAddMergesWeights() {
+        LatencyHistogram histogram = LatencyHistogram.decode("10:1.5");
+        histogram.add(LatencyHistogram.decode("10:2,12:0.25"));
+
+        assertEquals("10:3.5,12:0.25", histogram.encode());
+    }
+
+    @Test
+    public void testInvalidEncodingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LatencyHistogram.decode("72:1"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyHistogram.decode("3:-1"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyHistogram.decode("3"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyHistogram.decode("3:NaN"));
+        assertTrue(LatencyHistogram.decode(" ").isEmpty());
+    }
+}
@@ -1,12 +1,11 @@
 package com.saucedemo.utils;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Utility class for common test operations.
  */
 public class TestUtils {
-    private static final Random random = new Random();
 
     /**
      * Generate a random string of specified length.
@@ -18,7 +17,7 @@ public class TestUtils {
         String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
         StringBuilder sb = new StringBuilder(length);
         for (int i = 0; i < length; i++) {
-            sb.append(chars.charAt(random.nextInt(chars.length())));
+            sb.append(chars.charAt(ThreadLocalRandom.current().nextInt(chars.length())));
         }
         return sb.toString();
     }
@@ -31,7 +30,7 @@ public class TestUtils {
     public static String generateRandomPostalCode() {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < 5; i++) {
-            sb.append(random.nextInt(10));
+            sb.append(ThreadLocalRandom.current().nextInt(10));
         }
         return sb.toString();
     }
@@ -40,7 +39,10 @@ public class TestUtils {
      * Generate random user data for checkout form.
      *
      * @return Array containing [firstName, lastName, postalCode]
+     * @deprecated Not reproducible; use the test's {@code customers} generator or
+     *             {@link com.saucedemo.data.TestData} for typed, seeded customer data
      */
+    @Deprecated
     public static String[] generateRandomUserData() {
         String firstName = generateRandomString(8);
         String lastName = generateRandomString(10);
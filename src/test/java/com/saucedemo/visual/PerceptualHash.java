@@ -0,0 +1,117 @@
+package com.saucedemo.visual;
+
+import java.util.Arrays;
+
+/**
+ * DCT-based perceptual hash (pHash) of a snapshot. The snapshot is reduced to 32x32 grey levels, and
+ * each bit of the hash tells whether one of the 8x8 lowest frequencies is above their median. Snapshots
+ * that look alike have hashes a few bits apart, so comparing hashes sorts screenshots into "same" and
+ * "needs a pixel diff" at a fraction of the diff's cost.
+ */
+public final class PerceptualHash {
+    private static final int SIZE = 32;
+    private static final int LOW = 8;
+    private static final double[][] COSINES = new double[LOW][SIZE];
+
+    static {
+        for (int u = 0; u < LOW; u++) {
+            for (int x = 0; x < SIZE; x++) {
+                COSINES[u][x] = Math.cos((2 * x + 1) * u * Math.PI / (2 * SIZE));
+            }
+        }
+    }
+
+    private PerceptualHash() {
+    }
+
+    /**
+     * Hash a snapshot.
+     *
+     * @param snapshot Snapshot to hash
+     * @param masked Per-pixel mask of regions to leave out, or null
+     * @return 64-bit hash
+     */
+    public static long of(Snapshot snapshot, boolean[] masked) {
+        double[][] grey = reduce(snapshot, masked);
+
+        // Separable 2D DCT, only for the lowest frequencies
+        double[][] columns = new double[LOW][SIZE];
+        for (int v = 0; v < LOW; v++) {
+            for (int x = 0; x < SIZE; x++) {
+                double sum = 0;
+                for (int y = 0; y < SIZE; y++) {
+                    sum += grey[y][x] * COSINES[v][y];
+                }
+                columns[v][x] = sum;
+            }
+        }
+        double[] coefficients = new double[LOW * LOW];
+        for (int v = 0; v < LOW; v++) {
+            for (int u = 0; u < LOW; u++) {
+                double sum = 0;
+                for (int x = 0; x < SIZE; x++) {
+                    sum += columns[v][x] * COSINES[u][x];
+                }
+                coefficients[v * LOW + u] = sum;
+            }
+        }
+
+        // The first coefficient is the average brightness; it would dominate the median
+        double[] sorted = Arrays.copyOfRange(coefficients, 1, coefficients.length);
+        Arrays.sort(sorted);
+        double median = sorted[sorted.length / 2];
+        long hash = 0;
+        for (int i = 1; i < coefficients.length; i++) {
+            if (coefficients[i] > median) {
+                hash |= 1L << i;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Count the bits two hashes differ in.
+     *
+     * @param first First hash
+     * @param second Second hash
+     * @return Hamming distance, 0 to 64
+     */
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    /**
+     * Average the unmasked pixels of each cell of a 32x32 grid into grey levels.
+     */
+    private static double[][] reduce(Snapshot snapshot, boolean[] masked) {
+        int width = snapshot.getWidth();
+        int height = snapshot.getHeight();
+        int[] pixels = snapshot.pixels();
+        double[][] grey = new double[SIZE][SIZE];
+        for (int cellY = 0; cellY < SIZE; cellY++) {
+            int y0 = Math.min(cellY * height / SIZE, height - 1);
+            int y1 = Math.max(y0 + 1, (cellY + 1) * height / SIZE);
+            for (int cellX = 0; cellX < SIZE; cellX++) {
+                int x0 = Math.min(cellX * width / SIZE, width - 1);
+                int x1 = Math.max(x0 + 1, (cellX + 1) * width / SIZE);
+                long sum = 0;
+                int count = 0;
+                for (int y = y0; y < y1; y++) {
+                    int row = y * width;
+                    for (int x = x0; x < x1; x++) {
+                        if (masked == null || !masked[row + x]) {
+                            sum += luma(pixels[row + x]);
+                            count++;
+                        }
+                    }
+                }
+                grey[cellY][cellX] = count > 0 ? (double) sum / count : 128;
+            }
+        }
+        return grey;
+    }
+
+    static int luma(int argb) {
+        return (((argb >> 16) & 0xFF) * 299 + ((argb >> 8) & 0xFF) * 587 + (argb & 0xFF) * 114) / 1000;
+    }
+}
@@ -0,0 +1,83 @@
+package com.saucedemo.visual;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the perceptual hash that pre-screens visual checks.
+ */
+public class PerceptualHashTest {
+    private static final int WIDTH = 128;
+    private static final int HEIGHT = 96;
+
+    @Test
+    public void testIdenticalSnapshotsHashAlike() {
+        IntBinaryOperator layout = (x, y) -> x < WIDTH / 2 ? 40 : 220;
+
+        assertEquals(PerceptualHash.of(snapshot(layout), null), PerceptualHash.of(snapshot(layout), null));
+    }
+
+    @Test
+    public void testUniformBrightnessChangeKeepsTheHash() {
+        // A gradient with a button; in symmetric layouts many coefficients tie at the median and rounding decides
+        IntBinaryOperator layout = (x, y) -> x >= 20 && x < 60 && y >= 10 && y < 40 ? 230 : x + y / 2;
+        Snapshot page = snapshot(layout);
+        Snapshot brighter = snapshot((x, y) -> layout.applyAsInt(x, y) + 10);
+
+        assertEquals(0, PerceptualHash.distance(PerceptualHash.of(page, null), PerceptualHash.of(brighter, null)),
+                "Only the average brightness changed, which the hash leaves out");
+    }
+
+    @Test
+    public void testDifferentLayoutsHashFarApart() {
+        Snapshot horizontal = snapshot((x, y) -> x * 255 / WIDTH);
+        Snapshot vertical = snapshot((x, y) -> y * 255 / HEIGHT);
+
+        int distance = PerceptualHash.distance(PerceptualHash.of(horizontal, null), PerceptualHash.of(vertical, null));
+
+        assertTrue(distance > 10, "Different layouts should differ in many bits, were " + distance + " apart");
+    }
+
+    @Test
+    public void testMaskedRegionsAreLeftOut() {
+        Snapshot page = snapshot((x, y) -> x < WIDTH / 2 ? 40 : 220);
+        Snapshot withBanner = snapshot((x, y) -> y < 32 ? 0 : x < WIDTH / 2 ? 40 : 220);
+        boolean[] masked = page.maskOf(List.of(new Rectangle(0, 0, WIDTH, 32)));
+
+        assertEquals(PerceptualHash.of(page, masked), PerceptualHash.of(withBanner, masked));
+        assertNotEquals(PerceptualHash.of(page, null), PerceptualHash.of(withBanner, null));
+    }
+
+    @Test
+    public void testDistanceCountsDifferingBits() {
+        assertEquals(0, PerceptualHash.distance(0x5L, 0x5L));
+        assertEquals(2, PerceptualHash.distance(0b1011L, 0b0001L));
+        assertEquals(64, PerceptualHash.distance(0L, -1L));
+    }
+
+    /**
+     * Build a grey snapshot of the test size.
+     *
+     * @param greyAt Grey level of each pixel, clamped to 0-255
+     * @return Snapshot
+     */
+    static Snapshot snapshot(IntBinaryOperator greyAt) {
+        return snapshot(WIDTH, HEIGHT, greyAt);
+    }
+
+    static Snapshot snapshot(int width, int height, IntBinaryOperator greyAt) {
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int grey = Math.max(0, Math.min(255, greyAt.applyAsInt(x, y)));
+                pixels[y * width + x] = 0xFF000000 | grey << 16 | grey << 8 | grey;
+            }
+        }
+        return new Snapshot(width, height, pixels);
+    }
+}
@@ -0,0 +1,176 @@
+package com.saucedemo.visual;
+
+import java.awt.Rectangle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Pixel-by-pixel comparison of two snapshots of the same size. The image is split into rows of
+ * 32x32 tiles that are compared in parallel, each writing only its own part of the result, and
+ * adjacent tiles with differences are merged into regions so a failure says where the page changed.
+ */
+public final class PixelDiff {
+    private static final int TILE = 32;
+    private static final int DIFFERENT = 0xFFFF0000;
+    private static final int MASKED = 0xFF4080FF;
+
+    private final Snapshot image;
+    private final long differentPixels;
+    private final long comparedPixels;
+    private final List<Rectangle> regions;
+
+    private PixelDiff(Snapshot image, long differentPixels, long comparedPixels, List<Rectangle> regions) {
+        this.image = image;
+        this.differentPixels = differentPixels;
+        this.comparedPixels = comparedPixels;
+        this.regions = regions;
+    }
+
+    /**
+     * Compare two snapshots.
+     *
+     * @param expected Baseline snapshot
+     * @param actual Snapshot to check, of the same size
+     * @param masked Per-pixel mask of regions to leave out, or null
+     * @param tolerance Largest per-channel difference (0-255) still counted as equal
+     * @return Differences
+     */
+    public static PixelDiff compare(Snapshot expected, Snapshot actual, boolean[] masked, int tolerance) {
+        if (!expected.sameSizeAs(actual)) {
+            throw new IllegalArgumentException("Snapshots differ in size: " + expected.getWidth() + "x"
+                    + expected.getHeight() + " and " + actual.getWidth() + "x" + actual.getHeight());
+        }
+        int width = actual.getWidth();
+        int height = actual.getHeight();
+        int tileColumns = (width + TILE - 1) / TILE;
+        int tileRows = (height + TILE - 1) / TILE;
+        int[] before = expected.pixels();
+        int[] after = actual.pixels();
+        int[] diff = new int[width * height];
+        long[] differentPerTile = new long[tileColumns * tileRows];
+        long[] comparedPerRow = new long[tileRows];
+
+        IntStream.range(0, tileRows).parallel().forEach(tileRow -> {
+            int yEnd = Math.min(height, (tileRow + 1) * TILE);
+            long compared = 0;
+            for (int y = tileRow * TILE; y < yEnd; y++) {
+                int row = y * width;
+                for (int x = 0; x < width; x++) {
+                    int index = row + x;
+                    if (masked != null && masked[index]) {
+                        diff[index] = MASKED;
+                        continue;
+                    }
+                    compared++;
+                    if (differs(before[index], after[index], tolerance)) {
+                        diff[index] = DIFFERENT;
+                        differentPerTile[tileRow * tileColumns + x / TILE]++;
+                    } else {
+                        // Faded copy of the page, so the red differences stand out
+                        int grey = 192 + PerceptualHash.luma(after[index]) / 4;
+                        diff[index] = 0xFF000000 | grey << 16 | grey << 8 | grey;
+                    }
+                }
+            }
+            comparedPerRow[tileRow] = compared;
+        });
+
+        long different = 0;
+        for (long count : differentPerTile) {
+            different += count;
+        }
+        long compared = 0;
+        for (long count : comparedPerRow) {
+            compared += count;
+        }
+        return new PixelDiff(new Snapshot(width, height, diff), different, compared,
+                regions(differentPerTile, tileColumns, tileRows, width, height));
+    }
+
+    private static boolean differs(int first, int second, int tolerance) {
+        if (first == second) {
+            return false;
+        }
+        return Math.abs(((first >> 16) & 0xFF) - ((second >> 16) & 0xFF)) > tolerance
+                || Math.abs(((first >> 8) & 0xFF) - ((second >> 8) & 0xFF)) > tolerance
+                || Math.abs((first & 0xFF) - (second & 0xFF)) > tolerance;
+    }
+
+    /**
+     * Merge adjacent tiles with differences into bounding rectangles, largest first.
+     */
+    private static List<Rectangle> regions(long[] differentPerTile, int tileColumns, int tileRows,
+                                           int width, int height) {
+        List<Rectangle> regions = new ArrayList<>();
+        boolean[] visited = new boolean[differentPerTile.length];
+        Deque<Integer> pending = new ArrayDeque<>();
+        for (int start = 0; start < differentPerTile.length; start++) {
+            if (visited[start] || differentPerTile[start] == 0) {
+                continue;
+            }
+            Rectangle region = null;
+            visited[start] = true;
+            pending.push(start);
+            while (!pending.isEmpty()) {
+                int tile = pending.pop();
+                int column = tile % tileColumns;
+                int row = tile / tileColumns;
+                Rectangle bounds = new Rectangle(column * TILE, row * TILE,
+                        Math.min(TILE, width - column * TILE), Math.min(TILE, height - row * TILE));
+                region = region == null ? bounds : region.union(bounds);
+                for (int[] step : new int[][]{{-1, 0}, {1, 0}, {0, -1}, {0, 1}}) {
+                    int nextColumn = column + step[0];
+                    int nextRow = row + step[1];
+                    int next = nextRow * tileColumns + nextColumn;
+                    if (nextColumn >= 0 && nextColumn < tileColumns && nextRow >= 0 && nextRow < tileRows
+                            && !visited[next] && differentPerTile[next] > 0) {
+                        visited[next] = true;
+                        pending.push(next);
+                    }
+                }
+            }
+            regions.add(region);
+        }
+        regions.sort(Comparator.comparingLong((Rectangle region) -> (long) region.width * region.height).reversed());
+        return regions;
+    }
+
+    /**
+     * Get the diff image: differences in red, masked regions in blue, the rest faded.
+     *
+     * @return Diff image
+     */
+    public Snapshot getImage() {
+        return image;
+    }
+
+    public long getDifferentPixels() {
+        return differentPixels;
+    }
+
+    public long getComparedPixels() {
+        return comparedPixels;
+    }
+
+    /**
+     * Get the share of compared pixels that differ.
+     *
+     * @return Ratio between 0 and 1
+     */
+    public double getDiffRatio() {
+        return comparedPixels == 0 ? 0 : (double) differentPixels / comparedPixels;
+    }
+
+    /**
+     * Get the changed regions, as bounding boxes of adjacent 32x32 tiles with differences.
+     *
+     * @return Regions, largest first
+     */
+    public List<Rectangle> getRegions() {
+        return regions;
+    }
+}
@@ -0,0 +1,82 @@
+package com.saucedemo.visual;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.util.List;
+
+import static com.saucedemo.visual.PerceptualHashTest.snapshot;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the tiled pixel diff of visual checks.
+ */
+public class PixelDiffTest {
+    private static final int WIDTH = 100;
+    private static final int HEIGHT = 70;
+
+    @Test
+    public void testIdenticalSnapshotsHaveNoDifferences() {
+        Snapshot page = snapshot(WIDTH, HEIGHT, (x, y) -> x + y);
+
+        PixelDiff diff = PixelDiff.compare(page, snapshot(WIDTH, HEIGHT, (x, y) -> x + y), null, 0);
+
+        assertEquals(0, diff.getDifferentPixels());
+        assertEquals(WIDTH * HEIGHT, diff.getComparedPixels());
+        assertEquals(0, diff.getDiffRatio());
+        assertTrue(diff.getRegions().isEmpty());
+    }
+
+    @Test
+    public void testChangedBlockIsReportedAsItsTile() {
+        Snapshot page = snapshot(WIDTH, HEIGHT, (x, y) -> 200);
+        Snapshot changed = snapshot(WIDTH, HEIGHT, (x, y) -> x >= 40 && x < 50 && y >= 40 && y < 50 ? 0 : 200);
+
+        PixelDiff diff = PixelDiff.compare(page, changed, null, 0);
+
+        assertEquals(100, diff.getDifferentPixels());
+        assertEquals(100.0 / (WIDTH * HEIGHT), diff.getDiffRatio(), 1e-9);
+        assertEquals(List.of(new Rectangle(32, 32, 32, 32)), diff.getRegions());
+    }
+
+    @Test
+    public void testAdjacentTilesMergeAndRegionsAreSortedBySize() {
+        Snapshot page = snapshot(WIDTH, HEIGHT, (x, y) -> 200);
+        // One change across the first two tiles of the top row, one in the clipped bottom-right tile
+        Snapshot changed = snapshot(WIDTH, HEIGHT, (x, y) -> (y < 5 && x >= 20 && x < 40) || (x >= 98 && y >= 68)
+                ? 0 : 200);
+
+        PixelDiff diff = PixelDiff.compare(page, changed, null, 0);
+
+        assertEquals(List.of(new Rectangle(0, 0, 64, 32), new Rectangle(96, 64, 4, 6)), diff.getRegions());
+    }
+
+    @Test
+    public void testDifferencesWithinToleranceAreEqual() {
+        Snapshot page = snapshot(WIDTH, HEIGHT, (x, y) -> 100);
+        Snapshot shifted = snapshot(WIDTH, HEIGHT, (x, y) -> 105);
+
+        assertEquals(0, PixelDiff.compare(page, shifted, null, 5).getDifferentPixels());
+        assertEquals(WIDTH * HEIGHT, PixelDiff.compare(page, shifted, null, 4).getDifferentPixels());
+    }
+
+    @Test
+    public void testMaskedPixelsAreNotCompared() {
+        Snapshot page = snapshot(WIDTH, HEIGHT, (x, y) -> 200);
+        Snapshot withBanner = snapshot(WIDTH, HEIGHT, (x, y) -> y < 10 ? 0 : 200);
+        boolean[] masked = page.maskOf(List.of(new Rectangle(0, 0, WIDTH, 10)));
+
+        PixelDiff diff = PixelDiff.compare(page, withBanner, masked, 0);
+
+        assertEquals(0, diff.getDifferentPixels());
+        assertEquals(WIDTH * (HEIGHT - 10), diff.getComparedPixels());
+    }
+
+    @Test
+    public void testSnapshotsOfDifferentSizesAreRejected() {
+        Snapshot page = snapshot(WIDTH, HEIGHT, (x, y) -> 200);
+        Snapshot wider = snapshot(WIDTH + 1, HEIGHT, (x, y) -> 200);
+
+        assertThrows(IllegalArgumentException.class, () -> PixelDiff.compare(page, wider, null, 0));
+    }
+}
@@ -0,0 +1,116 @@
+package com.saucedemo.visual;
+
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Decoded screenshot: its size and ARGB pixels, row by row.
+ */
+public final class Snapshot {
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+
+    Snapshot(int width, int height, int[] pixels) {
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+    }
+
+    /**
+     * Decode a PNG screenshot.
+     *
+     * @param png PNG bytes, e.g. from Page#screenshot
+     * @return Decoded snapshot
+     */
+    public static Snapshot decode(byte[] png) {
+        try (InputStream input = new ByteArrayInputStream(png)) {
+            return of(ImageIO.read(input));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode screenshot", e);
+        }
+    }
+
+    /**
+     * Read a PNG file.
+     *
+     * @param file PNG file
+     * @return Decoded snapshot
+     * @throws IOException if the file cannot be read or is not an image
+     */
+    public static Snapshot read(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return of(ImageIO.read(input));
+        }
+    }
+
+    private static Snapshot of(BufferedImage image) throws IOException {
+        if (image == null) {
+            throw new IOException("not a supported image");
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        return new Snapshot(width, height, image.getRGB(0, 0, width, height, null, 0, width));
+    }
+
+    /**
+     * Write as a PNG file.
+     *
+     * @param file Target file; parent directories are created
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, pixels, 0, width);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        ImageIO.write(image, "png", file.toFile());
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    int[] pixels() {
+        return pixels;
+    }
+
+    boolean sameSizeAs(Snapshot other) {
+        return width == other.width && height == other.height;
+    }
+
+    /**
+     * Mark the pixels covered by mask regions, clipped to the snapshot.
+     *
+     * @param masks Regions to ignore
+     * @return Per-pixel mask, row by row, or null if nothing is masked
+     */
+    boolean[] maskOf(List<Rectangle> masks) {
+        if (masks.isEmpty()) {
+            return null;
+        }
+        boolean[] masked = new boolean[width * height];
+        Rectangle bounds = new Rectangle(width, height);
+        for (Rectangle mask : masks) {
+            Rectangle clipped = mask.intersection(bounds);
+            for (int y = clipped.y; y < clipped.y + clipped.height; y++) {
+                int row = y * width;
+                for (int x = clipped.x; x < clipped.x + clipped.width; x++) {
+                    masked[row + x] = true;
+                }
+            }
+        }
+        return masked;
+    }
+}
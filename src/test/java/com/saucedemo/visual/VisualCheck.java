@@ -0,0 +1,133 @@
+package com.saucedemo.visual;
+
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.telemetry.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares screenshots with their baselines in two stages: a perceptual hash decides whether the
+ * screenshot looks the same, and only if the hashes are more than visual.hash.threshold bits apart
+ * (always, with -1) does a full {@link PixelDiff} decide whether it is a regression. Baselines live
+ * in visual.baseline.dir, one directory per page object, one file per check and browser.
+ */
+public final class VisualCheck {
+    private static final Logger logger = LoggerFactory.getLogger(VisualCheck.class);
+
+    private static final Path BASELINE_DIR = Paths.get(TestConfig.getVisualBaselineDir());
+    private static final Path OUTPUT_DIR = Paths.get(TestConfig.getVisualOutputDir());
+    private static final boolean UPDATE_BASELINES = TestConfig.isVisualUpdateBaselines();
+    private static final int HASH_THRESHOLD = TestConfig.getVisualHashThreshold();
+    private static final int PIXEL_TOLERANCE = TestConfig.getVisualPixelTolerance();
+    private static final double MAX_DIFF_RATIO = TestConfig.getVisualMaxDiffRatio();
+
+    private VisualCheck() {
+    }
+
+    /**
+     * Compare a screenshot with its baseline.
+     *
+     * @param page Page object name
+     * @param name Check name, unique within the page object
+     * @param browser Browser matrix cell label; baselines are kept per browser
+     * @param png Screenshot
+     * @param masks Regions of the screenshot to ignore, e.g. a clock
+     * @return Result of the comparison
+     */
+    public static VisualResult compare(String page, String name, String browser, byte[] png, List<Rectangle> masks) {
+        long start = System.nanoTime();
+        if (browser == null) {
+            browser = "default";
+        }
+        String fileName = safe(name) + "@" + safe(browser);
+        Path baseline = BASELINE_DIR.resolve(safe(page)).resolve(fileName + ".png");
+        Path actual = OUTPUT_DIR.resolve(safe(page)).resolve(fileName + "-actual.png");
+        Path diffFile = OUTPUT_DIR.resolve(safe(page)).resolve(fileName + "-diff.png");
+        String checkName = page + "." + name + "@" + browser;
+
+        VisualResult result;
+        try {
+            if (!Files.exists(baseline)) {
+                writeFile(baseline, png);
+                result = new VisualResult(checkName, UPDATE_BASELINES ? VisualResult.Outcome.BASELINE_UPDATED
+                        : VisualResult.Outcome.MISSING_BASELINE, -1, 0, List.of(), baseline, null, null);
+            } else {
+                result = compareWithBaseline(checkName, baseline, actual, diffFile, png, masks);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Visual check " + checkName + " failed to read or write images", e);
+        }
+
+        Metrics.VISUAL_CHECKS.inc(result.getOutcome().name().toLowerCase(Locale.ROOT));
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (result.matches()) {
+            logger.info("Visual check {} in {} ms", result.describe(), millis);
+        } else {
+            logger.warn("Visual check {} in {} ms", result.describe(), millis);
+        }
+        return result;
+    }
+
+    private static VisualResult compareWithBaseline(String checkName, Path baseline, Path actual, Path diffFile,
+                                                    byte[] png, List<Rectangle> masks) throws IOException {
+        Snapshot expected = Snapshot.read(baseline);
+        Snapshot current = Snapshot.decode(png);
+        if (!expected.sameSizeAs(current)) {
+            return failed(checkName, VisualResult.Outcome.SIZE_CHANGED, -1, 0, List.of(), baseline, actual, null, png,
+                    null);
+        }
+
+        boolean[] masked = current.maskOf(masks);
+        int distance = PerceptualHash.distance(PerceptualHash.of(expected, masked), PerceptualHash.of(current, masked));
+        if (distance <= HASH_THRESHOLD) {
+            return new VisualResult(checkName, VisualResult.Outcome.HASH_MATCH, distance, 0, List.of(), baseline,
+                    null, null);
+        }
+
+        PixelDiff diff = PixelDiff.compare(expected, current, masked, PIXEL_TOLERANCE);
+        if (diff.getDiffRatio() <= MAX_DIFF_RATIO) {
+            return new VisualResult(checkName, VisualResult.Outcome.DIFF_WITHIN_TOLERANCE, distance,
+                    diff.getDiffRatio(), diff.getRegions(), baseline, null, null);
+        }
+        return failed(checkName, VisualResult.Outcome.MISMATCH, distance, diff.getDiffRatio(), diff.getRegions(),
+                baseline, actual, diffFile, png, diff.getImage());
+    }
+
+    /**
+     * Keep the evidence of a failed check, or replace the baseline when updating baselines.
+     */
+    private static VisualResult failed(String checkName, VisualResult.Outcome outcome, int distance, double ratio,
+                                       List<Rectangle> regions, Path baseline, Path actual, Path diffFile,
+                                       byte[] png, Snapshot diffImage) throws IOException {
+        if (UPDATE_BASELINES) {
+            writeFile(baseline, png);
+            return new VisualResult(checkName, VisualResult.Outcome.BASELINE_UPDATED, distance, ratio, regions,
+                    baseline, null, null);
+        }
+        writeFile(actual, png);
+        if (diffImage != null) {
+            diffImage.write(diffFile);
+        }
+        return new VisualResult(checkName, outcome, distance, ratio, regions, baseline, actual,
+                diffImage != null ? diffFile : null);
+    }
+
+    private static void writeFile(Path file, byte[] png) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, png);
+    }
+
+    private static String safe(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,136 @@
+package com.saucedemo.visual;
+
+import java.awt.Rectangle;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of comparing a screenshot with its baseline.
+ */
+public final class VisualResult {
+    /**
+     * How the comparison ended.
+     */
+    public enum Outcome {
+        /** Perceptual hashes within the threshold; no pixel diff was needed */
+        HASH_MATCH(true),
+        /** Pixel diff run, differences within the tolerated ratio */
+        DIFF_WITHIN_TOLERANCE(true),
+        /** Baseline replaced because visual.update.baselines is set */
+        BASELINE_UPDATED(true),
+        /** No baseline existed; the screenshot was saved as the new baseline */
+        MISSING_BASELINE(false),
+        /** Screenshot and baseline differ in size */
+        SIZE_CHANGED(false),
+        /** Too many pixels differ */
+        MISMATCH(false);
+
+        private final boolean passed;
+
+        Outcome(boolean passed) {
+            this.passed = passed;
+        }
+    }
+
+    private final String name;
+    private final Outcome outcome;
+    private final int hashDistance;
+    private final double diffRatio;
+    private final List<Rectangle> regions;
+    private final Path baseline;
+    private final Path actual;
+    private final Path diff;
+
+    VisualResult(String name, Outcome outcome, int hashDistance, double diffRatio, List<Rectangle> regions,
+                 Path baseline, Path actual, Path diff) {
+        this.name = name;
+        this.outcome = outcome;
+        this.hashDistance = hashDistance;
+        this.diffRatio = diffRatio;
+        this.regions = List.copyOf(regions);
+        this.baseline = baseline;
+        this.actual = actual;
+        this.diff = diff;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean matches() {
+        return outcome.passed;
+    }
+
+    /**
+     * Get the number of bits the perceptual hashes differ in.
+     *
+     * @return Hash distance, or -1 if no hashes were compared
+     */
+    public int getHashDistance() {
+        return hashDistance;
+    }
+
+    /**
+     * Get the share of unmasked pixels that differ.
+     *
+     * @return Ratio between 0 and 1; 0 if no pixel diff was run
+     */
+    public double getDiffRatio() {
+        return diffRatio;
+    }
+
+    /**
+     * Get the changed regions found by the pixel diff.
+     *
+     * @return Regions, largest first; empty if no pixel diff was run
+     */
+    public List<Rectangle> getRegions() {
+        return regions;
+    }
+
+    public Path getBaseline() {
+        return baseline;
+    }
+
+    /**
+     * Describe the result for an assertion message.
+     *
+     * @return Description, with the files to look at when the check failed
+     */
+    public String describe() {
+        StringBuilder text = new StringBuilder(name).append(": ").append(outcome);
+        if (hashDistance >= 0) {
+            text.append(", hash distance ").append(hashDistance);
+        }
+        if (outcome == Outcome.DIFF_WITHIN_TOLERANCE || outcome == Outcome.MISMATCH) {
+            text.append(String.format(Locale.ROOT, ", %.3f%% of pixels differ", diffRatio * 100));
+        }
+        if (!regions.isEmpty()) {
+            text.append(" in ").append(regions.stream().limit(5)
+                    .map(region -> region.width + "x" + region.height + " at " + region.x + "," + region.y)
+                    .collect(Collectors.joining("; ")));
+            if (regions.size() > 5) {
+                text.append(" and ").append(regions.size() - 5).append(" more");
+            }
+        }
+        text.append(" (baseline ").append(baseline);
+        if (actual != null) {
+            text.append(", actual ").append(actual);
+        }
+        if (diff != null) {
+            text.append(", diff ").append(diff);
+        }
+        return text.append(')').toString();
+    }
+
+    @Override
+    public String toString() {
+        return describe();
+    }
+}
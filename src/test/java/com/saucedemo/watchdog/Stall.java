@@ -0,0 +1,64 @@
+package com.saucedemo.watchdog;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * A test the watchdog found making no progress: what it was doing, for how long, and where
+ * the thread dump taken at that moment was written.
+ */
+public final class Stall {
+    private final String testId;
+    private final String browser;
+    private final String activity;
+    private final long idleMillis;
+    private final Path threadDump;
+
+    Stall(String testId, String browser, String activity, long idleMillis, Path threadDump) {
+        this.testId = testId;
+        this.browser = browser;
+        this.activity = activity;
+        this.idleMillis = idleMillis;
+        this.threadDump = threadDump;
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    /**
+     * Get the action the test was running when it stalled.
+     *
+     * @return Action, e.g. "CheckoutPage.click #finish"
+     */
+    public String getActivity() {
+        return activity;
+    }
+
+    /**
+     * Get how long the test had gone without a successful action when it was aborted.
+     *
+     * @return Time in milliseconds
+     */
+    public long getIdleMillis() {
+        return idleMillis;
+    }
+
+    /**
+     * Get the thread dump file.
+     *
+     * @return Thread dump, or empty if it could not be written
+     */
+    public Optional<Path> getThreadDump() {
+        return Optional.ofNullable(threadDump);
+    }
+
+    @Override
+    public String toString() {
+        return testId + " stalled for " + idleMillis + " ms in " + activity;
+    }
+}
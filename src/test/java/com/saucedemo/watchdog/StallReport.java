@@ -0,0 +1,72 @@
+package com.saucedemo.watchdog;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.saucedemo.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes the browser state of a stalled test next to its thread dump: the page URL, a screenshot
+ * and the requests still in flight. Must run on the test's own thread after {@link TestWatchdog#release()},
+ * since Playwright objects cannot be used from the watchdog thread.
+ */
+public final class StallReport {
+    private static final Logger logger = LoggerFactory.getLogger(StallReport.class);
+
+    private StallReport() {
+    }
+
+    /**
+     * Capture the browser state and write the report.
+     *
+     * @param stall Stall of the test
+     * @param page Test's page, or null if the test stalled before it had one
+     * @param pendingRequests Requests still in flight, oldest first
+     * @return Report file
+     */
+    public static Path write(Stall stall, Page page, List<String> pendingRequests) {
+        Path report = TestWatchdog.fileOf(stall.getTestId(), ".txt");
+        String url = page != null ? page.url() : "(no page)";
+        String screenshot = page != null ? screenshot(stall, page) : "(no page)";
+        try {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report, StandardCharsets.UTF_8))) {
+                out.printf("Test:        %s [%s]%n", stall.getTestId(), stall.getBrowser());
+                out.printf("Stalled in:  %s%n", stall.getActivity());
+                out.printf("Idle for:    %d ms (threshold %d ms)%n", stall.getIdleMillis(),
+                        TestConfig.getWatchdogStallThreshold());
+                out.printf("URL:         %s%n", url);
+                out.printf("Screenshot:  %s%n", screenshot);
+                out.printf("Thread dump: %s%n", stall.getThreadDump().map(Path::toString).orElse("(not written)"));
+                out.printf("%nRequests in flight: %d%n", pendingRequests.size());
+                pendingRequests.forEach(request -> out.printf("  %s%n", request));
+            }
+            logger.error("{} at {} with {} request(s) in flight, see {}", stall, url, pendingRequests.size(), report);
+        } catch (IOException e) {
+            logger.warn("Failed to write stall report to {}: {}", report, e.getMessage());
+        }
+        return report;
+    }
+
+    private static String screenshot(Stall stall, Page page) {
+        Path file = TestWatchdog.fileOf(stall.getTestId(), ".png");
+        try {
+            // A hung renderer may not paint either, so don't wait for the full browser.timeout
+            page.screenshot(new Page.ScreenshotOptions()
+                    .setPath(file)
+                    .setTimeout(TestConfig.getWatchdogScreenshotTimeout()));
+            return file.toString();
+        } catch (PlaywrightException e) {
+            logger.warn("Failed to take screenshot of stalled test {}: {}", stall.getTestId(), e.getMessage());
+            return "(failed: " + e.getMessage().lines().findFirst().orElse("") + ")";
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.saucedemo.watchdog;
+
+/**
+ * Failure of a test aborted by the {@link TestWatchdog}. The cause is whatever the interrupted
+ * action threw when the watchdog cut it short.
+ */
+public class TestStalledException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Stall stall;
+
+    public TestStalledException(Stall stall, Throwable cause) {
+        super(stall + ", aborted by the watchdog"
+                + stall.getThreadDump().map(file -> " (thread dump: " + file + ")").orElse(""), cause);
+        this.stall = stall;
+    }
+
+    public Stall getStall() {
+        return stall;
+    }
+}
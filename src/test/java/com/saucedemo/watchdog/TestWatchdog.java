@@ -0,0 +1,322 @@
+package com.saucedemo.watchdog;
+
+import com.saucedemo.config.TestConfig;
+import com.saucedemo.logging.LogContext;
+import com.saucedemo.telemetry.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aborts tests that stop making progress. A test makes progress whenever one of its page actions
+ * succeeds; a test in which none has succeeded for watchdog.stall.threshold ms, e.g. one stuck in a
+ * click whose retries each wait for the full browser.timeout, is stalled. The watchdog then writes a
+ * thread dump and interrupts the test's thread, which makes the pending Playwright call fail so the
+ * worker is freed, and keeps interrupting it until the test body or setup has given up. The test itself
+ * reports its browser state with {@link StallReport} once it has let go.
+ * <p>
+ * Actions of a test's virtual users count as progress of the test, as they share its test id.
+ */
+public final class TestWatchdog {
+    private static final Logger logger = LoggerFactory.getLogger(TestWatchdog.class);
+    private static final boolean ENABLED = TestConfig.isWatchdogEnabled();
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(TestConfig.getWatchdogStallThreshold());
+    private static final long CHECK_INTERVAL_MILLIS = Math.max(100, TestConfig.getWatchdogStallThreshold() / 10);
+
+    private static final ThreadLocal<Watched> CURRENT = new ThreadLocal<>();
+    private static final Map<String, Watched> WATCHED = new ConcurrentHashMap<>();
+    private static final Queue<Stall> STALLS = new ConcurrentLinkedQueue<>();
+
+    private TestWatchdog() {
+    }
+
+    /**
+     * Start watching the current test on the calling thread.
+     *
+     * @param testId Test id, as set in the {@link LogContext}
+     */
+    public static void watch(String testId) {
+        if (!ENABLED) {
+            return;
+        }
+        Checker.start();
+        Watched watched = new Watched(testId, LogContext.currentBrowser(), Thread.currentThread());
+        CURRENT.set(watched);
+        WATCHED.put(testId, watched);
+    }
+
+    /**
+     * Note the action the current test is starting. Starting an action is not progress, so a
+     * hung action that is retried over and over still stalls the test.
+     *
+     * @param page Page object name
+     * @param action Action name
+     * @param selector Selector or URL the action targets
+     */
+    public static void actionStarted(String page, String action, String selector) {
+        Watched watched = current();
+        if (watched != null) {
+            watched.activity = page + "." + action + " " + selector;
+        }
+    }
+
+    /**
+     * Note the action the current test is starting.
+     *
+     * @param description Description of the action
+     */
+    public static void actionStarted(String description) {
+        Watched watched = current();
+        if (watched != null) {
+            watched.activity = description;
+        }
+    }
+
+    /**
+     * Note that an action of the current test succeeded.
+     */
+    public static void actionSucceeded() {
+        Watched watched = current();
+        if (watched != null) {
+            watched.lastProgressNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Check whether the current test has been aborted, e.g. so a retry loop gives up at once.
+     *
+     * @return true if the watchdog found the test stalled
+     */
+    public static boolean isStalled() {
+        Watched watched = current();
+        return watched != null && watched.stall != null;
+    }
+
+    /**
+     * Get the stall of the current test, if the watchdog aborted it.
+     *
+     * @return Stall, or empty
+     */
+    public static Optional<Stall> currentStall() {
+        Watched watched = CURRENT.get();
+        return watched != null ? Optional.ofNullable(watched.stall) : Optional.empty();
+    }
+
+    /**
+     * Stop interrupting the current test once its body or setup has ended, and clear the interrupt the
+     * watchdog left on the thread, so the teardown methods of every test class can use the browser again.
+     * The stall stays recorded until {@link #release()}.
+     */
+    public static void settle() {
+        Watched watched = CURRENT.get();
+        if (watched != null && watched.settle()) {
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Stop watching the current test. Clears the interrupt the watchdog left on the thread, so the
+     * test's cleanup can use the browser again.
+     *
+     * @return Stall, if the watchdog aborted the test
+     */
+    public static Optional<Stall> release() {
+        Watched watched = CURRENT.get();
+        if (watched == null) {
+            return Optional.empty();
+        }
+        CURRENT.remove();
+        WATCHED.remove(watched.testId, watched);
+        Stall stall = watched.release();
+        if (stall != null) {
+            Thread.interrupted();
+        }
+        return Optional.ofNullable(stall);
+    }
+
+    /**
+     * Log and write the stalls of the run. Called once when the run ends.
+     */
+    static void summarize() {
+        if (STALLS.isEmpty()) {
+            return;
+        }
+        List<Stall> stalls = new ArrayList<>(STALLS);
+        logger.warn("Watchdog aborted {} stalled test(s):", stalls.size());
+        stalls.forEach(stall -> logger.warn("  - {}", stall));
+        Path summary = Paths.get(TestConfig.getWatchdogDir(), "summary.txt");
+        try {
+            Files.createDirectories(summary.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(summary, StandardCharsets.UTF_8))) {
+                out.printf("%d stalled test(s), threshold %d ms%n", stalls.size(),
+                        TestConfig.getWatchdogStallThreshold());
+                for (Stall stall : stalls) {
+                    out.printf("%s [%s]%n", stall, stall.getBrowser());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write watchdog summary to {}: {}", summary, e.getMessage());
+        }
+    }
+
+    /**
+     * Name test-specific files after the test id.
+     *
+     * @param testId Test id
+     * @param suffix File name suffix, e.g. "-threads.txt"
+     * @return File in watchdog.dir
+     */
+    static Path fileOf(String testId, String suffix) {
+        return Paths.get(TestConfig.getWatchdogDir(), testId.replaceAll("[^A-Za-z0-9._-]", "_") + suffix);
+    }
+
+    private static Watched current() {
+        Watched watched = CURRENT.get();
+        if (watched != null || !ENABLED) {
+            return watched;
+        }
+        // Virtual users of a concurrent journey run on their own threads under the test's id
+        String testId = LogContext.currentTestId();
+        return testId != null ? WATCHED.get(testId) : null;
+    }
+
+    private static void check() {
+        long now = System.nanoTime();
+        for (Watched watched : WATCHED.values()) {
+            try {
+                watched.check(now);
+            } catch (RuntimeException e) {
+                logger.warn("Watchdog check of {} failed: {}", watched.testId, e.getMessage());
+            }
+        }
+    }
+
+    private static Path writeThreadDump(Watched watched, long idleMillis) {
+        Path file = fileOf(watched.testId, "-threads.txt");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+                out.printf("Test %s on thread \"%s\" made no progress for %d ms, last action: %s%n%n",
+                        watched.testId, watched.thread.getName(), idleMillis, watched.activity);
+                // The stalled thread first, then all others
+                List<ThreadInfo> threads = new ArrayList<>(List.of(
+                        ManagementFactory.getThreadMXBean().dumpAllThreads(true, true)));
+                threads.sort(Comparator.comparing(info -> info.getThreadId() != watched.thread.threadId()));
+                for (ThreadInfo info : threads) {
+                    // ThreadInfo.toString() cuts stacks off after 8 frames
+                    out.printf("\"%s\" #%d %s", info.getThreadName(), info.getThreadId(), info.getThreadState());
+                    if (info.getLockName() != null) {
+                        out.printf(" on %s", info.getLockName());
+                    }
+                    if (info.getLockOwnerName() != null) {
+                        out.printf(" owned by \"%s\"", info.getLockOwnerName());
+                    }
+                    out.println();
+                    for (StackTraceElement frame : info.getStackTrace()) {
+                        out.printf("\tat %s%n", frame);
+                    }
+                    out.println();
+                }
+            }
+            return file;
+        } catch (IOException e) {
+            logger.warn("Failed to write thread dump to {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class Watched {
+        private final String testId;
+        private final String browser;
+        private final Thread thread;
+        private volatile long lastProgressNanos = System.nanoTime();
+        private volatile String activity = "test setup";
+        // Written under the lock, read without it by the test's threads
+        private volatile Stall stall;
+        private boolean settled;
+        private boolean released;
+
+        private Watched(String testId, String browser, Thread thread) {
+            this.testId = testId;
+            this.browser = browser;
+            this.thread = thread;
+        }
+
+        private synchronized void check(long now) {
+            if (released) {
+                return;
+            }
+            if (stall != null) {
+                // Interrupt again until the test lets go, in case it swallowed the first one
+                if (!settled) {
+                    thread.interrupt();
+                }
+                return;
+            }
+            long idleNanos = now - lastProgressNanos;
+            if (idleNanos < THRESHOLD_NANOS) {
+                return;
+            }
+            long idleMillis = TimeUnit.NANOSECONDS.toMillis(idleNanos);
+            stall = new Stall(testId, browser, activity, idleMillis, writeThreadDump(this, idleMillis));
+            STALLS.add(stall);
+            Metrics.TEST_STALLS.inc(browser != null ? browser : "unknown");
+            logger.error("{}, aborting it", stall);
+            thread.interrupt();
+        }
+
+        /**
+         * Stop interrupting a stalled test.
+         *
+         * @return true if the test had stalled
+         */
+        private synchronized boolean settle() {
+            settled = stall != null;
+            return settled;
+        }
+
+        private synchronized Stall release() {
+            released = true;
+            return stall;
+        }
+    }
+
+    /**
+     * Single daemon thread checking all watched tests, started with the first one.
+     */
+    private static final class Checker {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "test-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            EXECUTOR.scheduleWithFixedDelay(TestWatchdog::check, CHECK_INTERVAL_MILLIS, CHECK_INTERVAL_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        private static void start() {
+            // Loading the class schedules the checks
+        }
+    }
+}
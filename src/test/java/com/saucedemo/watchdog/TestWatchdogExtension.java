@@ -0,0 +1,56 @@
+package com.saucedemo.watchdog;
+
+import com.saucedemo.config.TestConfig;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+
+import java.util.Optional;
+
+/**
+ * Reports tests aborted by the {@link TestWatchdog} as stalled rather than with the exception of the
+ * interrupted action, and summarizes the run's stalls once the whole run has finished. Once the test body or
+ * a setup method has failed, the watchdog stops interrupting, so that the @AfterEach methods run uninterrupted.
+ */
+public class TestWatchdogExtension implements BeforeAllCallback, AfterTestExecutionCallback,
+        TestExecutionExceptionHandler, LifecycleMethodExecutionExceptionHandler {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(TestWatchdogExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!TestConfig.isWatchdogEnabled()) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("summary",
+                key -> (ExtensionContext.Store.CloseableResource) TestWatchdog::summarize);
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        TestWatchdog.settle();
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        throw asStall(throwable);
+    }
+
+    @Override
+    public void handleBeforeEachMethodExecutionException(ExtensionContext context, Throwable throwable)
+            throws Throwable {
+        // A failed setup skips the test execution callbacks but still runs the @AfterEach methods
+        TestWatchdog.settle();
+        throw asStall(throwable);
+    }
+
+    private static Throwable asStall(Throwable throwable) {
+        Optional<Stall> stall = TestWatchdog.currentStall();
+        if (stall.isEmpty() || throwable instanceof TestStalledException) {
+            return throwable;
+        }
+        return new TestStalledException(stall.get(), throwable);
+    }
+}